@@ -15,6 +15,13 @@
 
 package com.spectralogic.ds3contractcomparator.cli;
 
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
+import com.spectralogic.ds3contractcomparator.filter.Ds3SpecFilter;
+import com.spectralogic.ds3contractcomparator.ignore.Ds3IgnoreProfile;
+
+import java.util.function.Function;
+
 public class Arguments {
 
     private final String oldApiSpec;
@@ -23,7 +30,26 @@ public class Arguments {
     private final boolean help;
     private final boolean properties;
     private final boolean annotations;
-    private final PrinterType printerType;
+    private final ImmutableList<ReportOutput> reports;
+    private final int parallelism;
+    private final boolean verifyFingerprints;
+    private final boolean detectRenames;
+    private final double renameThreshold;
+    private final ImmutableList<String> seriesSpecs;
+    private final String baseline;
+    private final String writeBaseline;
+    private final boolean check;
+    private final String rules;
+    private final String cacheDir;
+    private final Ds3SpecFilter filter;
+    private final String ignoreProfile;
+    private final boolean preserveOrder;
+    private final Integer servePort;
+    private final String serveDir;
+    private final int workers;
+    private final String batch;
+    private final boolean watch;
+    private final boolean streaming;
 
     public Arguments(
             final String oldApiSpec,
@@ -32,14 +58,52 @@ public class Arguments {
             final boolean help,
             final boolean properties,
             final boolean annotations,
-            final PrinterType printerType) {
+            final ImmutableList<ReportOutput> reports,
+            final int parallelism,
+            final boolean verifyFingerprints,
+            final boolean detectRenames,
+            final double renameThreshold,
+            final ImmutableList<String> seriesSpecs,
+            final String baseline,
+            final String writeBaseline,
+            final boolean check,
+            final String rules,
+            final String cacheDir,
+            final Ds3SpecFilter filter,
+            final String ignoreProfile,
+            final boolean preserveOrder,
+            final Integer servePort,
+            final String serveDir,
+            final int workers,
+            final String batch,
+            final boolean watch,
+            final boolean streaming) {
         this.oldApiSpec = oldApiSpec;
         this.newApiSpec = newApiSpec;
         this.outputFile = outputFile;
         this.help = help;
         this.properties = properties;
         this.annotations = annotations;
-        this.printerType = printerType;
+        this.reports = reports;
+        this.parallelism = parallelism;
+        this.verifyFingerprints = verifyFingerprints;
+        this.detectRenames = detectRenames;
+        this.renameThreshold = renameThreshold;
+        this.seriesSpecs = seriesSpecs;
+        this.baseline = baseline;
+        this.writeBaseline = writeBaseline;
+        this.check = check;
+        this.rules = rules;
+        this.cacheDir = cacheDir;
+        this.filter = filter;
+        this.ignoreProfile = ignoreProfile;
+        this.preserveOrder = preserveOrder;
+        this.servePort = servePort;
+        this.serveDir = serveDir;
+        this.workers = workers;
+        this.batch = batch;
+        this.watch = watch;
+        this.streaming = streaming;
     }
 
 
@@ -67,7 +131,187 @@ public class Arguments {
         return annotations;
     }
 
+    /**
+     * The reports written by a comparison, of which at most one is written to the -d output
+     */
+    public ImmutableList<ReportOutput> getReports() {
+        return reports;
+    }
+
+    /**
+     * The printer of the report written to the -d output, or null if every report is written to its own file
+     */
     public PrinterType getPrinterType() {
-        return printerType;
+        return reports.stream()
+                .filter(report -> report.getOutputFile() == null)
+                .map(ReportOutput::getPrinterType)
+                .findFirst()
+                .orElse(null);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public boolean isVerifyFingerprints() {
+        return verifyFingerprints;
+    }
+
+    public boolean isDetectRenames() {
+        return detectRenames;
+    }
+
+    public double getRenameThreshold() {
+        return renameThreshold;
+    }
+
+    /**
+     * The ordered spec files of a series comparison, or an empty list when comparing two specs
+     */
+    public ImmutableList<String> getSeriesSpecs() {
+        return seriesSpecs;
+    }
+
+    /**
+     * The baseline index file to compare against the newer spec in place of the older spec, or null
+     */
+    public String getBaseline() {
+        return baseline;
+    }
+
+    /**
+     * The file to write the baseline index of the older spec to, or null when comparing
+     */
+    public String getWriteBaseline() {
+        return writeBaseline;
+    }
+
+    /**
+     * If true, only checks whether -n is compatible with -o and does not write a report
+     */
+    public boolean isCheck() {
+        return check;
+    }
+
+    /**
+     * The properties file of breaking change rules which override the default rules, or null
+     */
+    public String getRules() {
+        return rules;
+    }
+
+    /**
+     * The directory of the cache of parsed spec files, or null if spec files are always parsed
+     */
+    public String getCacheDir() {
+        return cacheDir;
+    }
+
+    /**
+     * Selects the requests and types which are compared, which is {@link Ds3SpecFilter#all()} if no filters were specified
+     */
+    public Ds3SpecFilter getFilter() {
+        return filter;
+    }
+
+    /**
+     * The name of a predefined ignore profile, or a properties file describing one, or null if no fields are ignored
+     */
+    public String getIgnoreProfile() {
+        return ignoreProfile;
+    }
+
+    /**
+     * If true, the keyed lists of the contracts are compared in the order they are listed instead of being sorted by key
+     */
+    public boolean isPreserveOrder() {
+        return preserveOrder;
+    }
+
+    /**
+     * The localhost port on which to serve comparison jobs, or null when performing a single comparison
+     */
+    public Integer getServePort() {
+        return servePort;
+    }
+
+    /**
+     * The directory to which the paths of the server's jobs are confined, or null for the working directory
+     */
+    public String getServeDir() {
+        return serveDir;
+    }
+
+    /**
+     * The number of jobs a server or batch runs at once
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * The manifest of the jobs to run as a batch, or null when performing a single comparison
+     */
+    public String getBatch() {
+        return batch;
+    }
+
+    /**
+     * If true, -o and -n are compared again each time either file changes
+     */
+    public boolean isWatch() {
+        return watch;
+    }
+
+    /**
+     * If true, -o and -n are compared by reading each contract file one entity at a time instead of parsing it into a spec
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Creates a copy of these arguments in which each file and directory path is replaced using the function,
+     * such as to resolve relative paths against a directory other than the working directory. The ignore
+     * profile is replaced unless it is the name of a predefined profile.
+     */
+    Arguments withPaths(final Function<String, String> pathFunction) {
+        final Function<String, String> nullablePathFunction = path -> path == null ? null : pathFunction.apply(path);
+        final ImmutableList<ReportOutput> mappedReports = reports.stream()
+                .map(report -> new ReportOutput(report.getPrinterType(), nullablePathFunction.apply(report.getOutputFile())))
+                .collect(GuavaCollectors.immutableList());
+        final ImmutableList<String> mappedSeriesSpecs = seriesSpecs.stream()
+                .map(pathFunction)
+                .collect(GuavaCollectors.immutableList());
+        final String mappedIgnoreProfile = ignoreProfile == null || Ds3IgnoreProfile.getNames().contains(ignoreProfile)
+                ? ignoreProfile
+                : pathFunction.apply(ignoreProfile);
+        return new Arguments(
+                nullablePathFunction.apply(oldApiSpec),
+                nullablePathFunction.apply(newApiSpec),
+                nullablePathFunction.apply(outputFile),
+                help,
+                properties,
+                annotations,
+                mappedReports,
+                parallelism,
+                verifyFingerprints,
+                detectRenames,
+                renameThreshold,
+                mappedSeriesSpecs,
+                nullablePathFunction.apply(baseline),
+                nullablePathFunction.apply(writeBaseline),
+                check,
+                nullablePathFunction.apply(rules),
+                nullablePathFunction.apply(cacheDir),
+                filter,
+                mappedIgnoreProfile,
+                preserveOrder,
+                servePort,
+                nullablePathFunction.apply(serveDir),
+                workers,
+                nullablePathFunction.apply(batch),
+                watch,
+                streaming);
     }
 }
@@ -0,0 +1,246 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.cli;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.commons.cli.ParseException;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A CSV file of the comparison jobs run by --batch. The first line is a header naming the columns of the
+ * following lines, which may be in any order:
+ * <ul>
+ *     <li>old: the spec file for the older version of the API, passed as -o</li>
+ *     <li>new: the spec file for the newer version of the API, passed as -n</li>
+ *     <li>output: the report file, passed as -d, which may be empty when the flags include --check</li>
+ *     <li>printer: the optional report printer, passed as -p</li>
+ *     <li>flags: optional further arguments of the job separated by spaces, such as --detect-renames</li>
+ * </ul>
+ * Fields containing commas or quotes may be quoted, with quotes escaped by doubling them. The flags are split
+ * using the same quoting rules, so a flag containing spaces may be quoted within the flags field, such as
+ * {@code "--rules ""my rules.properties"""}. Blank lines and lines starting with # are ignored. Relative paths
+ * are resolved against the directory containing the manifest, including the files of -p printers and the
+ * files named by the flags.
+ */
+final class BatchManifest {
+
+    private static final String OLD = "old";
+    private static final String NEW = "new";
+    private static final String OUTPUT = "output";
+    private static final String PRINTER = "printer";
+    private static final String FLAGS = "flags";
+
+    private static final ImmutableList<String> COLUMNS = ImmutableList.of(OLD, NEW, OUTPUT, PRINTER, FLAGS);
+
+    private BatchManifest() {
+        //pass
+    }
+
+    /**
+     * A single job of the manifest
+     */
+    static final class BatchJob {
+
+        private final int line;
+        private final String name;
+        private final ImmutableList<String> arguments;
+        private final Path directory;
+
+        private BatchJob(final int line, final String name, final ImmutableList<String> arguments, final Path directory) {
+            this.line = line;
+            this.name = name;
+            this.arguments = arguments;
+            this.directory = directory;
+        }
+
+        /**
+         * The line of the manifest which describes the job
+         */
+        int getLine() {
+            return line;
+        }
+
+        /**
+         * Identifies the job within the summary, which is its output file, or its spec files when it has none
+         */
+        String getName() {
+            return name;
+        }
+
+        /**
+         * The command line arguments of the job, as written within the manifest
+         */
+        ImmutableList<String> getArguments() {
+            return arguments;
+        }
+
+        /**
+         * Parses the arguments of the job, resolving each relative path against the directory containing the manifest
+         */
+        Arguments toArguments() throws ParseException {
+            return CLI.getJobArguments(arguments.toArray(new String[arguments.size()]))
+                    .withPaths(path -> directory.resolve(path).toString());
+        }
+    }
+
+    static ImmutableList<BatchJob> read(final Path file) throws IOException {
+        final Path directory = file.toAbsolutePath().getParent();
+        final ImmutableList.Builder<BatchJob> jobs = ImmutableList.builder();
+        try (final BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Map<String, Integer> header = null;
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty() || line.trim().startsWith("#")) {
+                    continue;
+                }
+                final List<String> fields = split(line, false, file, lineNumber);
+                if (header == null) {
+                    header = toHeader(fields, file, lineNumber);
+                } else {
+                    jobs.add(toJob(header, fields, directory, file, lineNumber));
+                }
+            }
+        }
+        return jobs.build();
+    }
+
+    private static Map<String, Integer> toHeader(final List<String> fields, final Path file, final int lineNumber) {
+        final Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            final String column = fields.get(i).toLowerCase();
+            if (!COLUMNS.contains(column)) {
+                throw new IllegalArgumentException(toLocation(file, lineNumber) + "unknown column '" + fields.get(i)
+                        + "', the columns are " + COLUMNS);
+            }
+            if (header.put(column, i) != null) {
+                throw new IllegalArgumentException(toLocation(file, lineNumber) + "duplicate column '" + fields.get(i) + "'");
+            }
+        }
+        for (final String required : ImmutableList.of(OLD, NEW)) {
+            if (!header.containsKey(required)) {
+                throw new IllegalArgumentException(toLocation(file, lineNumber) + "the header must include the '" + required + "' column");
+            }
+        }
+        return ImmutableMap.copyOf(header);
+    }
+
+    private static BatchJob toJob(
+            final Map<String, Integer> header,
+            final List<String> fields,
+            final Path directory,
+            final Path file,
+            final int lineNumber) {
+        if (fields.size() > header.size()) {
+            throw new IllegalArgumentException(toLocation(file, lineNumber) + "expected at most " + header.size()
+                    + " fields but found " + fields.size());
+        }
+        final String oldSpec = getField(header, fields, OLD);
+        final String newSpec = getField(header, fields, NEW);
+        if (oldSpec == null || newSpec == null) {
+            throw new IllegalArgumentException(toLocation(file, lineNumber) + "the old and new spec files are required");
+        }
+        final String output = getField(header, fields, OUTPUT);
+
+        final ImmutableList.Builder<String> arguments = ImmutableList.builder();
+        arguments.add("-o", oldSpec, "-n", newSpec);
+        if (output != null) {
+            arguments.add("-d", output);
+        }
+        final String printer = getField(header, fields, PRINTER);
+        if (printer != null) {
+            arguments.add("-p", printer);
+        }
+        final String flags = getField(header, fields, FLAGS);
+        if (flags != null) {
+            arguments.addAll(split(flags, true, file, lineNumber));
+        }
+        return new BatchJob(lineNumber, output != null ? output : oldSpec + " to " + newSpec, arguments.build(), directory);
+    }
+
+    /**
+     * Retrieves the trimmed field of the column, or null if the column or field is missing or empty
+     */
+    @Nullable
+    private static String getField(final Map<String, Integer> header, final List<String> fields, final String column) {
+        final Integer index = header.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        final String field = fields.get(index).trim();
+        return field.isEmpty() ? null : field;
+    }
+
+    /**
+     * Splits a line into its fields, or the flags field into its arguments, removing the quotes from quoted
+     * values. Fields are separated by commas, while arguments are separated by any amount of whitespace.
+     */
+    private static List<String> split(final String text, final boolean flags, final Path file, final int lineNumber) {
+        final List<String> values = new ArrayList<>();
+        final StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        // Whether an argument has started, so that "" is an empty argument while repeated whitespace is not
+        boolean started = false;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+                started = true;
+            } else if (flags ? Character.isWhitespace(c) : c == ',') {
+                if (!flags || started) {
+                    values.add(value.toString());
+                }
+                value.setLength(0);
+                started = false;
+            } else {
+                value.append(c);
+                started = true;
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException(toLocation(file, lineNumber) + (flags ? "unterminated quoted flag" : "unterminated quoted field"));
+        }
+        if (!flags || started) {
+            values.add(value.toString());
+        }
+        return values;
+    }
+
+    private static String toLocation(final Path file, final int lineNumber) {
+        return file + " line " + lineNumber + ": ";
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.cli;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.spectralogic.ds3autogen.Ds3SpecParserImpl;
+import com.spectralogic.ds3autogen.api.Ds3SpecParser;
+import com.spectralogic.ds3contractcomparator.cache.Ds3SpecCache;
+import com.spectralogic.ds3contractcomparator.cache.Ds3SpecMemoryCache;
+import com.spectralogic.ds3contractcomparator.loader.Ds3SpecLoader;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
+import com.spectralogic.ds3contractcomparator.cli.BatchManifest.BatchJob;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the jobs of a {@link BatchManifest} within one process on a fixed number of worker threads. Every job
+ * shares one {@link Ds3NameTable} and one loader, whose {@link Ds3SpecMemoryCache} retains each parsed contract
+ * for the whole run so that a contract file referenced by several jobs is only parsed once.
+ *
+ * Each job's progress messages are printed when it completes, and once every job has completed a summary
+ * of each job's status and duration is printed in manifest order.
+ */
+class BatchRunner {
+
+    /**
+     * The outcome of a job
+     */
+    enum Status {
+        /** The job completed */
+        OK,
+        /** The job's --check found a breaking change */
+        INCOMPATIBLE,
+        /** The job could not be completed */
+        FAILED
+    }
+
+    private final ExecutorService workers;
+    /**
+     * Runs the comparisons of the jobs whose parallelism is greater than one
+     */
+    private final ForkJoinPool comparisonPool = new ForkJoinPool();
+    private final Ds3SpecLoader loader;
+    private final Ds3NameTable names = new Ds3NameTable();
+    private final PrintStream out;
+
+    /**
+     * @param workerCount the number of jobs which run at once
+     * @param jobCount the number of jobs, which bounds the number of distinct contract files
+     * @param cache the cache of parsed contracts shared with other processes, or null
+     * @param out receives the messages and summary of the run
+     */
+    BatchRunner(final int workerCount, final int jobCount, @Nullable final Ds3SpecCache cache, final PrintStream out) {
+        this(workerCount, jobCount, cache, out, Ds3SpecParserImpl::new);
+    }
+
+    /**
+     * @param parserFactory creates the parser used for each contract file
+     */
+    BatchRunner(
+            final int workerCount,
+            final int jobCount,
+            @Nullable final Ds3SpecCache cache,
+            final PrintStream out,
+            final Supplier<? extends Ds3SpecParser> parserFactory) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("The number of workers must be positive, but was: " + workerCount);
+        }
+        this.workers = Executors.newFixedThreadPool(workerCount, new ThreadFactoryBuilder()
+                .setNameFormat("ds3-comparator-batch-%d")
+                .setDaemon(true)
+                .build());
+        this.loader = new Ds3SpecLoader(parserFactory, true, null, cache, new Ds3SpecMemoryCache(Math.max(1, 2 * jobCount)));
+        this.out = out;
+    }
+
+    /**
+     * Runs every job and prints the summary
+     * @return true if every job completed and no check found a breaking change
+     */
+    boolean run(final ImmutableList<BatchJob> jobs) throws InterruptedException {
+        final long start = System.nanoTime();
+        final List<Future<JobResult>> futures = new ArrayList<>(jobs.size());
+        try {
+            for (final BatchJob job : jobs) {
+                futures.add(workers.submit(() -> runJob(job)));
+            }
+            final ImmutableList.Builder<JobResult> results = ImmutableList.builder();
+            for (final Future<JobResult> future : futures) {
+                results.add(join(future));
+            }
+            return printSummary(results.build(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } finally {
+            workers.shutdownNow();
+            comparisonPool.shutdownNow();
+        }
+    }
+
+    private JobResult runJob(final BatchJob job) throws UnsupportedEncodingException {
+        final long start = System.nanoTime();
+        final ByteArrayOutputStream messages = new ByteArrayOutputStream();
+        Status status;
+        String error = null;
+        try {
+            final Arguments arguments = job.toArguments();
+            final Main main = new Main(arguments, names, comparisonPool, new PrintStream(messages, true, "UTF-8"));
+            if (main.writesReport() && arguments.getPrinterType() != null && arguments.getOutputFile() == null) {
+                throw new IllegalArgumentException("The output column is required unless the job is a --check or each -p printer specifies its file");
+            }
+            status = main.run(loader, null) ? Status.OK : Status.INCOMPATIBLE;
+        } catch (final Exception e) {
+            status = Status.FAILED;
+            error = e.getMessage() != null ? e.getMessage() : e.toString();
+        }
+        final JobResult result = new JobResult(job, status, error, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        printMessages(result, messages.toString("UTF-8"));
+        return result;
+    }
+
+    private synchronized void printMessages(final JobResult result, final String messages) {
+        for (final String message : messages.split("\n")) {
+            if (!message.trim().isEmpty()) {
+                out.println("[line " + result.job.getLine() + "] " + message);
+            }
+        }
+        if (result.error != null) {
+            out.println("[line " + result.job.getLine() + "] " + result.status + ": " + result.error);
+        }
+    }
+
+    private static JobResult join(final Future<JobResult> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (final ExecutionException e) {
+            // runJob only fails if UTF-8 is unsupported
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private synchronized boolean printSummary(final ImmutableList<JobResult> results, final long millis) {
+        final int[] counts = new int[Status.values().length];
+        results.forEach(result -> counts[result.status.ordinal()]++);
+
+        out.println();
+        out.println(String.format("Batch of %d job(s) completed in %d ms: %d ok, %d incompatible, %d failed",
+                results.size(), millis, counts[Status.OK.ordinal()], counts[Status.INCOMPATIBLE.ordinal()], counts[Status.FAILED.ordinal()]));
+        for (final JobResult result : results) {
+            out.println(String.format("  line %-5d %-12s %8d ms  %s%s",
+                    result.job.getLine(),
+                    result.status,
+                    result.millis,
+                    result.job.getName(),
+                    result.error != null ? ": " + result.error : ""));
+        }
+        return counts[Status.OK.ordinal()] == results.size();
+    }
+
+    private static final class JobResult {
+
+        private final BatchJob job;
+        private final Status status;
+        @Nullable
+        private final String error;
+        private final long millis;
+
+        private JobResult(final BatchJob job, final Status status, @Nullable final String error, final long millis) {
+            this.job = job;
+            this.status = status;
+            this.error = error;
+            this.millis = millis;
+        }
+    }
+}
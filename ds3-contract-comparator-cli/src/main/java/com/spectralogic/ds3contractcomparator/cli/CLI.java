@@ -15,11 +15,17 @@
 
 package com.spectralogic.ds3contractcomparator.cli;
 
-import com.spectralogic.ds3autogen.utils.Guards;
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
+import com.spectralogic.ds3contractcomparator.ComparatorOptions;
+import com.spectralogic.ds3contractcomparator.filter.Ds3SpecFilter;
+import com.spectralogic.ds3contractcomparator.ignore.Ds3IgnoreProfile;
 import org.apache.commons.cli.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+
 class CLI {
 
     private static final Logger LOG = LoggerFactory.getLogger(CLI.class);
@@ -28,9 +34,10 @@ class CLI {
 
     private CLI() {
         this.options = new Options();
-        final Option oldSpec = new Option("o", true, "The spec file for the older version of the DS3 API");
+        final Option oldSpec = new Option("o", true, "The spec file for the older version of the DS3 API."
+                + " Spec files may be gzip or zstd compressed, or within a zip file such as bundle.zip!/contract.xml");
         final Option newSpec = new Option("n", true, "The spec file for the newer version of the DS3 API");
-        final Option outFile = new Option("d", true, "The file name for the output of the comparison");
+        final Option outFile = new Option("d", true, "The file name for the output of the comparison, or the output directory when comparing a --series");
         final Option help = new Option("h", false, "Print usage");
 
         final Option properties = new Option(null, false, "Prints EnumConstant Properties which are excluded by default");
@@ -39,7 +46,93 @@ class CLI {
         final Option annotations = new Option(null, false, "Prints all Element Annotations instead of filtering out less used annotations by default");
         annotations.setLongOpt("annotations");
 
-        final Option printer = new Option("p", true, "Specify report printer: " + PrinterType.valuesString());
+        final Option printer = new Option("p", true, "Specify report printer: " + PrinterType.valuesString() + "."
+                + " May be repeated as <printer>:<file>, such as -p html:report.html -p simple:report.txt, to write several reports from one comparison");
+
+        final Option parallelism = new Option(null, true, "The number of threads used to compare the contracts, defaults to 1");
+        parallelism.setLongOpt("parallelism");
+
+        final Option verifyFingerprints = new Option(null, false, "Verifies requests and types with matching fingerprints using a full equality check");
+        verifyFingerprints.setLongOpt("verify-fingerprints");
+
+        final Option detectRenames = new Option(null, false, "Reports deleted and added requests and types with similar structure as renamed");
+        detectRenames.setLongOpt("detect-renames");
+
+        final Option renameThreshold = new Option(null, true, "The minimum similarity, within (0, 1], for --detect-renames to report a rename, defaults to "
+                + ComparatorOptions.DEFAULT_RENAME_THRESHOLD);
+        renameThreshold.setLongOpt("rename-threshold");
+
+        final Option series = new Option(null, true, "A comma separated list of spec files, from oldest to newest, to compare as a series instead of -o and -n."
+                + " A report is written to the -d directory for each pair of adjacent versions and for the first and last versions");
+        series.setLongOpt("series");
+
+        final Option baseline = new Option(null, true, "A baseline index written by --write-baseline to compare against -n instead of parsing an -o spec file");
+        baseline.setLongOpt("baseline");
+
+        final Option writeBaseline = new Option(null, true, "Writes a baseline index of the -o spec file to this file instead of performing a comparison");
+        writeBaseline.setLongOpt("write-baseline");
+
+        final Option check = new Option(null, false, "Checks whether -n is compatible with -o without writing a report."
+                + " Stops at the first breaking change and exits with a nonzero status if one is found");
+        check.setLongOpt("check");
+
+        final Option rules = new Option(null, true, "A properties file of breaking change rules which override the defaults,"
+                + " such as PARAM.optionalQueryParams.DELETED=NON_BREAKING");
+        rules.setLongOpt("rules");
+
+        final Option cacheDir = new Option(null, true, "A directory in which parsed spec files are cached, so that unchanged spec files are not parsed again");
+        cacheDir.setLongOpt("cache-dir");
+
+        final Option requestFilter = new Option(null, true, "A comma separated list of request name patterns. Only requests whose name matches one of them are compared."
+                + " Patterns are globs, such as *.spectrads3.*, unless prefixed with regex:");
+        requestFilter.setLongOpt("request-filter");
+
+        final Option classificationFilter = new Option(null, true, "A comma separated list of classification patterns, such as spectrads3."
+                + " Only requests whose classification matches one of them are compared");
+        classificationFilter.setLongOpt("classification-filter");
+
+        final Option httpVerbFilter = new Option(null, true, "A comma separated list of http verb patterns, such as GET,PUT."
+                + " Only requests whose http verb matches one of them are compared");
+        httpVerbFilter.setLongOpt("http-verb-filter");
+
+        final Option typeFilter = new Option(null, true, "A comma separated list of type name patterns, such as com.spectralogic.s3.server.domain.*."
+                + " Only types whose name matches one of them are compared");
+        typeFilter.setLongOpt("type-filter");
+
+        final Option ignoreProfile = new Option(null, true, "Fields which are ignored when comparing, either one of the profiles "
+                + Ds3IgnoreProfile.getNames() + " or a properties file with annotationSuffixes, fields and extends keys");
+        ignoreProfile.setLongOpt("ignore-profile");
+
+        final Option preserveOrder = new Option(null, false, "Reports entities whose params, elements, annotations or enum constants are only"
+                + " listed in a different order as modified, instead of sorting those lists before comparing");
+        preserveOrder.setLongOpt("preserve-order");
+
+        final Option serve = new Option(null, true, "Runs a server on this localhost port which accepts comparison jobs instead of performing a comparison."
+                + " Each job is POSTed to /compare as the arguments of a comparison, one per line, and the report is returned unless the job specifies -d."
+                + " Every request must carry the token printed when the server starts, as Authorization: Bearer <token>");
+        serve.setLongOpt("serve");
+
+        final Option serveDir = new Option(null, true, "The directory against which the relative paths of --serve jobs are resolved, defaults to the"
+                + " working directory. A job may only read and write files within it");
+        serveDir.setLongOpt("serve-dir");
+
+        final Option workers = new Option(null, true, "The number of jobs a --serve server or --batch runs at once, defaults to the number of processors");
+        workers.setLongOpt("workers");
+
+        final Option batch = new Option(null, true, "A CSV manifest of comparison jobs to run instead of -o and -n. Its header names the columns,"
+                + " which are old, new, output, and optionally printer and flags, where flags are further arguments separated by spaces"
+                + " and quoted like the fields."
+                + " Exits with a nonzero status if any job fails");
+        batch.setLongOpt("batch");
+
+        final Option watch = new Option(null, false, "Compares -o and -n, and then compares them again and rewrites the reports"
+                + " each time either file changes, until stopped");
+        watch.setLongOpt("watch");
+
+        final Option streaming = new Option(null, false, "Compares -o and -n by reading each contract one request or type at a time instead of"
+                + " parsing it, for contracts too large to hold in memory. The contracts must list their requests and types in name order,"
+                + " and names are reported as written within the contracts");
+        streaming.setLongOpt("streaming");
 
         options.addOption(oldSpec);
         options.addOption(newSpec);
@@ -48,6 +141,28 @@ class CLI {
         options.addOption(properties);
         options.addOption(annotations);
         options.addOption(printer);
+        options.addOption(parallelism);
+        options.addOption(verifyFingerprints);
+        options.addOption(detectRenames);
+        options.addOption(renameThreshold);
+        options.addOption(series);
+        options.addOption(baseline);
+        options.addOption(writeBaseline);
+        options.addOption(check);
+        options.addOption(rules);
+        options.addOption(cacheDir);
+        options.addOption(requestFilter);
+        options.addOption(classificationFilter);
+        options.addOption(httpVerbFilter);
+        options.addOption(typeFilter);
+        options.addOption(ignoreProfile);
+        options.addOption(preserveOrder);
+        options.addOption(serve);
+        options.addOption(serveDir);
+        options.addOption(workers);
+        options.addOption(batch);
+        options.addOption(watch);
+        options.addOption(streaming);
     }
 
     static Arguments getArguments(final String[] args) throws Exception {
@@ -63,8 +178,40 @@ class CLI {
         return arguments;
     }
 
-    @SuppressWarnings("deprecation")
+    /**
+     * Parses the arguments of a job submitted to a {@link ComparatorServer} or listed in a {@link BatchManifest}.
+     * A job may omit -d, in which case a server returns the report to the client, but it cannot start another
+     * server or batch or use a different spec cache.
+     */
+    static Arguments getJobArguments(final String[] args) throws ParseException {
+        final Arguments arguments = new CLI().processArgs(args, false);
+        if (arguments.isHelp()) {
+            throw new IllegalArgumentException("-h cannot be used within a job");
+        }
+        if (arguments.getServePort() != null) {
+            throw new IllegalArgumentException("--serve cannot be used within a job");
+        }
+        if (arguments.getBatch() != null) {
+            throw new IllegalArgumentException("--batch cannot be used within a job");
+        }
+        if (arguments.isWatch()) {
+            throw new IllegalArgumentException("--watch cannot be used within a job");
+        }
+        if (arguments.getCacheDir() != null) {
+            throw new IllegalArgumentException("--cache-dir is specified when starting the server or batch and cannot be used within a job");
+        }
+        return arguments;
+    }
+
     private Arguments processArgs(final String[] args) throws ParseException {
+        return processArgs(args, true);
+    }
+
+    /**
+     * @param requireOutput whether a comparison of two specs must specify the -d output file
+     */
+    @SuppressWarnings("deprecation")
+    private Arguments processArgs(final String[] args, final boolean requireOutput) throws ParseException {
         final CommandLineParser parser = new BasicParser();
         final CommandLine cmd = parser.parse(options, args);
 
@@ -74,32 +221,215 @@ class CLI {
         final boolean help = cmd.hasOption("h");
         final boolean properties = cmd.hasOption("properties");
         final boolean annotations = cmd.hasOption("annotations");
-        final PrinterType printerType = processPrinterType(cmd);
+        final ImmutableList<ReportOutput> reports = processReports(cmd);
+        final int parallelism = processParallelism(cmd);
+        final boolean verifyFingerprints = cmd.hasOption("verify-fingerprints");
+        final boolean detectRenames = cmd.hasOption("detect-renames");
+        final double renameThreshold = processRenameThreshold(cmd);
+        final ImmutableList<String> seriesSpecs = processSeries(cmd);
+        final String baseline = cmd.getOptionValue("baseline");
+        final String writeBaseline = cmd.getOptionValue("write-baseline");
+        final boolean check = cmd.hasOption("check");
+        final String rules = cmd.getOptionValue("rules");
+        final String cacheDir = cmd.getOptionValue("cache-dir");
+        final Ds3SpecFilter filter = processFilter(cmd);
+        final String ignoreProfile = cmd.getOptionValue("ignore-profile");
+        final boolean preserveOrder = cmd.hasOption("preserve-order");
+        final Integer servePort = processServePort(cmd);
+        final String serveDir = cmd.getOptionValue("serve-dir");
+        final int workers = processWorkers(cmd);
+        final String batch = cmd.getOptionValue("batch");
+        final boolean watch = cmd.hasOption("watch");
+        final boolean streaming = cmd.hasOption("streaming");
 
-        final Arguments arguments = new Arguments(oldSpec, newSpec, outFile, help, properties, annotations, printerType);
+        final Arguments arguments = new Arguments(oldSpec, newSpec, outFile, help, properties, annotations, reports, parallelism, verifyFingerprints, detectRenames, renameThreshold, seriesSpecs, baseline, writeBaseline, check, rules, cacheDir, filter, ignoreProfile, preserveOrder, servePort, serveDir, workers, batch, watch, streaming);
 
-        validateArguments(arguments);
+        validateArguments(arguments, requireOutput);
 
         return arguments;
     }
 
-    private PrinterType processPrinterType(final CommandLine cmd) {
-        try {
-            return Guards.returnIfNull(cmd.getOptionValue("p").toUpperCase(), PrinterType::valueOf);
-        } catch (final NullPointerException e) {
+    /**
+     * Each -p value is either a printer, whose report is written to -d, or a printer and the file its report is written to
+     */
+    private ImmutableList<ReportOutput> processReports(final CommandLine cmd) {
+        final String[] values = cmd.getOptionValues("p");
+        if (values == null) {
             //Default to HTML printer
-            return PrinterType.HTML;
-        } catch (final Exception e) {
+            return ImmutableList.of(new ReportOutput(PrinterType.HTML, null));
+        }
+        final ImmutableList.Builder<ReportOutput> builder = ImmutableList.builder();
+        for (final String value : values) {
+            final int separator = value.indexOf(':');
+            final String printerType = separator < 0 ? value : value.substring(0, separator);
+            final String outputFile = separator < 0 ? null : value.substring(separator + 1).trim();
+            if (outputFile != null && outputFile.isEmpty()) {
+                throw new IllegalArgumentException("-p " + value + " must specify a file after the ':'");
+            }
+            builder.add(new ReportOutput(processPrinterType(printerType), outputFile));
+        }
+        return builder.build();
+    }
+
+    private PrinterType processPrinterType(final String printerType) {
+        try {
+            return PrinterType.valueOf(printerType.trim().toUpperCase());
+        } catch (final IllegalArgumentException e) {
             LOG.error("Unknown printer selection", e);
-            throw new IllegalArgumentException(cmd.getOptionValue("p") + " is not a supported printer type");
+            throw new IllegalArgumentException(printerType + " is not a supported printer type");
+        }
+    }
+
+    private int processParallelism(final CommandLine cmd) {
+        final String parallelism = cmd.getOptionValue("parallelism");
+        if (parallelism == null) {
+            return 1;
+        }
+        try {
+            final int result = Integer.parseInt(parallelism);
+            if (result < 1) {
+                throw new IllegalArgumentException("--parallelism must be a positive integer, but was: " + parallelism);
+            }
+            return result;
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("--parallelism must be a positive integer, but was: " + parallelism, e);
+        }
+    }
+
+    private double processRenameThreshold(final CommandLine cmd) {
+        final String renameThreshold = cmd.getOptionValue("rename-threshold");
+        if (renameThreshold == null) {
+            return ComparatorOptions.DEFAULT_RENAME_THRESHOLD;
+        }
+        try {
+            final double result = Double.parseDouble(renameThreshold);
+            if (result <= 0 || result > 1) {
+                throw new IllegalArgumentException("--rename-threshold must be within (0, 1], but was: " + renameThreshold);
+            }
+            return result;
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("--rename-threshold must be within (0, 1], but was: " + renameThreshold, e);
+        }
+    }
+
+    private Integer processServePort(final CommandLine cmd) {
+        final String port = cmd.getOptionValue("serve");
+        if (port == null) {
+            return null;
+        }
+        try {
+            final int result = Integer.parseInt(port);
+            if (result < 0 || result > 65535) {
+                throw new IllegalArgumentException("--serve must be a port within [0, 65535], but was: " + port);
+            }
+            return result;
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("--serve must be a port within [0, 65535], but was: " + port, e);
+        }
+    }
+
+    private int processWorkers(final CommandLine cmd) {
+        final String workers = cmd.getOptionValue("workers");
+        if (workers == null) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        try {
+            final int result = Integer.parseInt(workers);
+            if (result < 1) {
+                throw new IllegalArgumentException("--workers must be a positive integer, but was: " + workers);
+            }
+            return result;
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("--workers must be a positive integer, but was: " + workers, e);
+        }
+    }
+
+    private ImmutableList<String> processSeries(final CommandLine cmd) {
+        final String series = cmd.getOptionValue("series");
+        if (series == null) {
+            return ImmutableList.of();
+        }
+        final ImmutableList<String> specs = splitList(series);
+        if (specs.size() < 2) {
+            throw new IllegalArgumentException("--series must contain at least two spec files, but was: " + series);
+        }
+        return specs;
+    }
+
+    private Ds3SpecFilter processFilter(final CommandLine cmd) {
+        final Ds3SpecFilter.Builder builder = Ds3SpecFilter.builder();
+        splitList(cmd.getOptionValue("request-filter")).forEach(builder::withRequestName);
+        splitList(cmd.getOptionValue("classification-filter")).forEach(builder::withClassification);
+        splitList(cmd.getOptionValue("http-verb-filter")).forEach(builder::withHttpVerb);
+        splitList(cmd.getOptionValue("type-filter")).forEach(builder::withTypeName);
+        return builder.build();
+    }
+
+    /**
+     * Splits a comma separated option value into its trimmed, non-empty entries
+     */
+    private static ImmutableList<String> splitList(final String value) {
+        if (value == null) {
+            return ImmutableList.of();
         }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(entry -> !entry.isEmpty())
+                .collect(GuavaCollectors.immutableList());
     }
 
-    private void validateArguments(final Arguments arguments) throws MissingArgumentException {
+    private void validateArguments(final Arguments arguments, final boolean requireOutput) throws MissingArgumentException {
         if (arguments.isHelp()) return; //Nothing else to verify
-        if (arguments.getOldApiSpec() == null) throw new MissingArgumentException("-o is a required argument");
+        if (arguments.isWatch() && (arguments.getServePort() != null || arguments.getBatch() != null || !arguments.getSeriesSpecs().isEmpty()
+                || arguments.getBaseline() != null || arguments.getWriteBaseline() != null || arguments.isCheck())) {
+            throw new IllegalArgumentException("--watch compares -o and -n, and cannot be used with --serve, --batch, --series, --baseline,"
+                    + " --write-baseline or --check");
+        }
+        if (arguments.isStreaming() && (arguments.getServePort() != null || arguments.getBatch() != null || !arguments.getSeriesSpecs().isEmpty()
+                || arguments.getBaseline() != null || arguments.getWriteBaseline() != null || arguments.isCheck() || arguments.isWatch())) {
+            throw new IllegalArgumentException("--streaming compares -o and -n, and cannot be used with --serve, --batch, --series, --baseline,"
+                    + " --write-baseline, --check or --watch");
+        }
+        if (arguments.getServePort() != null && arguments.getBatch() != null) {
+            throw new IllegalArgumentException("--serve and --batch cannot be used together");
+        }
+        if (arguments.getServeDir() != null && arguments.getServePort() == null) {
+            throw new IllegalArgumentException("--serve-dir can only be used with --serve");
+        }
+        if (arguments.getServePort() != null || arguments.getBatch() != null) return; //Specs are specified by each job
+        if (arguments.getWriteBaseline() != null) {
+            if (arguments.getOldApiSpec() == null) throw new MissingArgumentException("-o is a required argument with --write-baseline");
+            return; //Writing a baseline does not perform a comparison
+        }
+        if (arguments.isCheck()) {
+            if (!arguments.getSeriesSpecs().isEmpty() || arguments.getBaseline() != null) {
+                throw new IllegalArgumentException("--check compares -o and -n and cannot be used with --series or --baseline");
+            }
+            if (arguments.getOldApiSpec() == null) throw new MissingArgumentException("-o is a required argument");
+            if (arguments.getNewApiSpec() == null) throw new MissingArgumentException("-n is a required argument");
+            return; //A check does not write a report
+        }
+        if (!arguments.getSeriesSpecs().isEmpty()) {
+            if (arguments.getOutputFile() == null) throw new MissingArgumentException("-d is a required argument with --series");
+            if (arguments.getReports().stream().anyMatch(report -> report.getOutputFile() != null)) {
+                throw new IllegalArgumentException("--series writes every report to the -d directory, so -p cannot specify a file");
+            }
+            if (arguments.getReports().stream().map(ReportOutput::getPrinterType).distinct().count() < arguments.getReports().size()) {
+                throw new IllegalArgumentException("--series writes one report per printer, so each -p printer may only be specified once");
+            }
+            return; //Series replaces -o and -n
+        }
+        if (arguments.getReports().stream().filter(report -> report.getOutputFile() == null).count() > 1) {
+            throw new IllegalArgumentException("Only one -p printer may write to -d, specify the other reports as <printer>:<file>");
+        }
+        if (requireOutput && arguments.getOutputFile() == null && arguments.getPrinterType() != null) {
+            throw new MissingArgumentException("-d is a required argument");
+        }
+        if (arguments.getBaseline() != null && arguments.getOldApiSpec() != null) {
+            throw new IllegalArgumentException("--baseline replaces -o and cannot be used with it");
+        }
+        if (arguments.getBaseline() == null && arguments.getOldApiSpec() == null) throw new MissingArgumentException("-o is a required argument");
         if (arguments.getNewApiSpec() == null) throw new MissingArgumentException("-n is a required argument");
-        if (arguments.getOutputFile() == null) throw new MissingArgumentException("-d is a required argument");
     }
 
     private void printUsage() {
@@ -0,0 +1,547 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.cli;
+
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.spectralogic.ds3autogen.Ds3SpecParserImpl;
+import com.spectralogic.ds3autogen.api.Ds3SpecParser;
+import com.spectralogic.ds3contractcomparator.cache.Ds3SpecCache;
+import com.spectralogic.ds3contractcomparator.cache.Ds3SpecMemoryCache;
+import com.spectralogic.ds3contractcomparator.loader.Ds3SpecInputs;
+import com.spectralogic.ds3contractcomparator.loader.Ds3SpecLoader;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.cli.ParseException;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs comparison jobs submitted over HTTP within a single long running process, so that each job does not
+ * pay for JVM startup, class loading, printer setup or parsing contracts which were recently parsed. The
+ * server only listens on the loopback address and provides the following endpoints:
+ * <ul>
+ *     <li>{@code POST /compare} runs a job. The request body contains the command line arguments of the job,
+ *     one per line, up to {@link #MAX_JOB_BYTES} bytes. Relative paths are resolved against the server's
+ *     directory, and a job which reads or writes a file outside of that directory is refused. When the job
+ *     compares two specs without specifying -d, the response is the report of the -p printer which does not
+ *     specify a file. Otherwise the response is the job's progress messages, with a 409 status if a --check finds a breaking change.</li>
+ *     <li>{@code GET /status} describes the jobs and caches of the server</li>
+ *     <li>{@code POST /shutdown} stops the server once the queued jobs complete</li>
+ * </ul>
+ *
+ * Every request must carry the token generated for the server, as {@code Authorization: Bearer <token>}, and
+ * is refused unless its {@code Host} is the loopback address. A request with an {@code Origin} header is
+ * refused, since it was sent by a web page rather than by a local client.
+ *
+ * At most {@code workers} jobs run at once, and up to {@link #QUEUED_JOBS_PER_WORKER} jobs per worker wait
+ * for a worker. Further jobs are refused with a 503 status until a worker is available. Parsed contracts are
+ * retained in a {@link Ds3SpecMemoryCache}, while each job interns its contract names in its own
+ * {@link Ds3NameTable}, so that the names submitted by earlier jobs are not retained.
+ */
+class ComparatorServer implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ComparatorServer.class);
+
+    static final String HOST = "127.0.0.1";
+    static final int QUEUED_JOBS_PER_WORKER = 4;
+    static final int MAX_JOB_BYTES = 64 * 1024;
+
+    private static final int TOKEN_BYTES = 32;
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 300;
+    /**
+     * How long the server waits for the responses of completed jobs to be written once the jobs complete
+     */
+    private static final int STOP_DELAY_SECONDS = 5;
+
+    private static final int OK = 200;
+    private static final int ACCEPTED = 202;
+    private static final int BAD_REQUEST = 400;
+    private static final int UNAUTHORIZED = 401;
+    private static final int FORBIDDEN = 403;
+    private static final int METHOD_NOT_ALLOWED = 405;
+    private static final int CONFLICT = 409;
+    private static final int PAYLOAD_TOO_LARGE = 413;
+    private static final int INTERNAL_ERROR = 500;
+    private static final int UNAVAILABLE = 503;
+
+    private final HttpServer server;
+    private final String token;
+    /**
+     * The real path of the directory to which the paths of every job are confined
+     */
+    private final Path root;
+    private final ThreadPoolExecutor workers;
+    /**
+     * Runs the comparisons of the jobs whose parallelism is greater than one
+     */
+    private final ForkJoinPool comparisonPool = new ForkJoinPool();
+    private final Ds3SpecMemoryCache memoryCache = new Ds3SpecMemoryCache();
+    @Nullable
+    private final Ds3SpecCache cache;
+    private final Ds3SpecLoader loader;
+    private final AtomicBoolean stopping = new AtomicBoolean();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final AtomicLong runningJobs = new AtomicLong();
+    private final AtomicLong completedJobs = new AtomicLong();
+    private final AtomicLong failedJobs = new AtomicLong();
+    private final AtomicLong refusedJobs = new AtomicLong();
+
+    /**
+     * @param port the loopback port to listen on, or 0 for any free port
+     * @param workerCount the number of jobs which run at once
+     * @param cache the cache of parsed contracts shared with other processes, or null
+     * @param root the directory against which the relative paths of jobs are resolved, and outside of which
+     *             jobs cannot read or write files
+     */
+    ComparatorServer(final int port, final int workerCount, @Nullable final Ds3SpecCache cache, final Path root) throws IOException {
+        this(port, workerCount, cache, root, Ds3SpecParserImpl::new);
+    }
+
+    /**
+     * @param parserFactory creates the parser used for each contract file
+     */
+    ComparatorServer(
+            final int port,
+            final int workerCount,
+            @Nullable final Ds3SpecCache cache,
+            final Path root,
+            final Supplier<? extends Ds3SpecParser> parserFactory) throws IOException {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("The number of workers must be positive, but was: " + workerCount);
+        }
+        this.cache = cache;
+        this.root = root.toRealPath();
+        this.token = createToken();
+        this.loader = new Ds3SpecLoader(parserFactory, true, null, cache, memoryCache);
+        this.workers = new ThreadPoolExecutor(
+                workerCount,
+                workerCount,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerCount * QUEUED_JOBS_PER_WORKER),
+                new ThreadFactoryBuilder().setNameFormat("ds3-comparator-job-%d").build());
+
+        // Handlers only dispatch, so they run on the server's own thread
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getByName(HOST), port), 0);
+        server.createContext("/compare", this::handleCompare);
+        server.createContext("/status", this::handleStatus);
+        server.createContext("/shutdown", this::handleShutdown);
+    }
+
+    void start() {
+        server.start();
+    }
+
+    /**
+     * The port the server is listening on
+     */
+    int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * The token which every request must carry as {@code Authorization: Bearer <token>}
+     */
+    String getToken() {
+        return token;
+    }
+
+    /**
+     * The directory to which the paths of every job are confined
+     */
+    Path getRoot() {
+        return root;
+    }
+
+    private static String createToken() {
+        final byte[] bytes = new byte[TOKEN_BYTES];
+        new SecureRandom().nextBytes(bytes);
+        return BaseEncoding.base16().lowerCase().encode(bytes);
+    }
+
+    /**
+     * Waits until the server has been shut down
+     */
+    void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+
+    /**
+     * Stops accepting jobs, waits for the running and queued jobs to complete, and then stops the server.
+     * If the jobs do not complete within the shutdown timeout, they are interrupted.
+     */
+    @Override
+    public void close() {
+        if (!stopping.compareAndSet(false, true)) {
+            try {
+                stopped.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return;
+        }
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOG.warn("Jobs did not complete within {} seconds of shutdown, interrupting them", SHUTDOWN_TIMEOUT_SECONDS);
+                workers.shutdownNow();
+            }
+        } catch (final InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            comparisonPool.shutdown();
+            // The workers have closed their exchanges, but the responses may still be being written
+            server.stop(STOP_DELAY_SECONDS);
+            stopped.countDown();
+        }
+    }
+
+    private void handleCompare(final HttpExchange exchange) throws IOException {
+        if (!isAuthorized(exchange) || !isMethod(exchange, "POST")) {
+            return;
+        }
+        if (stopping.get()) {
+            refusedJobs.incrementAndGet();
+            sendText(exchange, UNAVAILABLE, "The server is shutting down");
+            return;
+        }
+        try {
+            workers.execute(() -> runJob(exchange));
+        } catch (final RejectedExecutionException e) {
+            refusedJobs.incrementAndGet();
+            sendText(exchange, UNAVAILABLE, stopping.get() ? "The server is shutting down" : "Every worker is busy, retry the job later");
+        }
+    }
+
+    private void handleStatus(final HttpExchange exchange) throws IOException {
+        if (!isAuthorized(exchange) || !isMethod(exchange, "GET")) {
+            return;
+        }
+        final StringBuilder status = new StringBuilder()
+                .append("running jobs: ").append(runningJobs.get()).append('\n')
+                .append("queued jobs: ").append(workers.getQueue().size()).append('\n')
+                .append("completed jobs: ").append(completedJobs.get()).append('\n')
+                .append("failed jobs: ").append(failedJobs.get()).append('\n')
+                .append("refused jobs: ").append(refusedJobs.get()).append('\n')
+                .append("parsed specs: ").append(memoryCache.size()).append(" retained, ")
+                .append(memoryCache.getHits()).append(" hit(s), ").append(memoryCache.getMisses()).append(" miss(es)\n");
+        if (cache != null) {
+            status.append("spec cache ").append(cache.getDirectory()).append(": ")
+                    .append(cache.getHits()).append(" hit(s), ").append(cache.getMisses()).append(" miss(es)\n");
+        }
+        sendText(exchange, OK, status.toString());
+    }
+
+    private void handleShutdown(final HttpExchange exchange) throws IOException {
+        if (!isAuthorized(exchange) || !isMethod(exchange, "POST")) {
+            return;
+        }
+        sendText(exchange, ACCEPTED, "Shutting down once the queued jobs complete");
+        // Stopping the server waits for its own thread, so it cannot be stopped from a handler
+        new Thread(this::close, "ds3-comparator-server-shutdown").start();
+    }
+
+    /**
+     * Runs a job on a worker thread, and then completes its exchange. The job is counted as completed or
+     * failed before its response is completed, so that a client which has received the response sees the
+     * job counted in the server's status.
+     */
+    private void runJob(final HttpExchange exchange) {
+        runningJobs.incrementAndGet();
+        final AtomicBoolean finished = new AtomicBoolean();
+        try {
+            final String[] jobArguments = readJobArguments(exchange.getRequestBody());
+            if (jobArguments == null) {
+                finish(finished, failedJobs);
+                sendText(exchange, PAYLOAD_TOO_LARGE, "The arguments of a job cannot exceed " + MAX_JOB_BYTES + " bytes");
+                return;
+            }
+            final Arguments arguments;
+            try {
+                arguments = CLI.getJobArguments(jobArguments).withPaths(this::confine);
+            } catch (final ParseException | IllegalArgumentException e) {
+                finish(finished, failedJobs);
+                sendText(exchange, BAD_REQUEST, e.getMessage());
+                return;
+            }
+
+            final ByteArrayOutputStream messages = new ByteArrayOutputStream();
+            final Main job = new Main(arguments, new Ds3NameTable(), comparisonPool, new PrintStream(messages, true, "UTF-8"));
+            if (job.writesReport() && arguments.getPrinterType() != null && arguments.getOutputFile() == null) {
+                runReportJob(exchange, job, arguments.getPrinterType(), messages, finished);
+                return;
+            }
+
+            final boolean success;
+            try {
+                success = job.run(loader, null);
+            } catch (final Exception e) {
+                failJob(exchange, e, messages, finished);
+                return;
+            }
+            finish(finished, completedJobs);
+            sendText(exchange, success ? OK : CONFLICT, messages.toString("UTF-8"));
+        } catch (final IOException | RuntimeException e) {
+            LOG.warn("Unable to respond to a job", e);
+        } finally {
+            finish(finished, failedJobs);
+            exchange.close();
+        }
+    }
+
+    /**
+     * Counts a job as no longer running, adding it to the given count unless it has already been counted
+     */
+    private void finish(final AtomicBoolean finished, final AtomicLong count) {
+        if (finished.compareAndSet(false, true)) {
+            count.incrementAndGet();
+            runningJobs.decrementAndGet();
+        }
+    }
+
+    /**
+     * Runs a job whose report is the response. The response status is sent once the first part of the report
+     * is written, so a job which fails before then receives an error status. A job which fails after then
+     * closes the connection without completing the response.
+     */
+    private void runReportJob(
+            final HttpExchange exchange,
+            final Main job,
+            final PrinterType printerType,
+            final ByteArrayOutputStream messages,
+            final AtomicBoolean finished) throws IOException {
+        final ResponseStream response = new ResponseStream(exchange, printerType.getContentType());
+        try {
+            job.run(loader, new BufferedWriter(new OutputStreamWriter(response, StandardCharsets.UTF_8)));
+        } catch (final Exception e) {
+            if (!response.isCommitted()) {
+                failJob(exchange, e, messages, finished);
+                return;
+            }
+            finish(finished, failedJobs);
+            LOG.warn("Job failed after its report was partially sent", e);
+            return;
+        }
+        finish(finished, completedJobs);
+        response.complete();
+        LOG.info(messages.toString("UTF-8").trim());
+    }
+
+    private void failJob(
+            final HttpExchange exchange,
+            final Exception e,
+            final ByteArrayOutputStream messages,
+            final AtomicBoolean finished) throws IOException {
+        finish(finished, failedJobs);
+        LOG.warn("Job failed", e);
+        final int status = e instanceof IllegalArgumentException ? BAD_REQUEST : INTERNAL_ERROR;
+        sendText(exchange, status, messages.toString("UTF-8") + e + "\n");
+    }
+
+    /**
+     * Resolves a path of a job against the root directory, refusing a path outside of it. Symbolic links
+     * within the path, or within its nearest existing ancestor when it does not exist yet, are followed
+     * before it is checked. A zip entry path is checked by the zip file which contains the entry.
+     */
+    private String confine(final String path) {
+        final int entry = path.indexOf(Ds3SpecInputs.ZIP_ENTRY_SEPARATOR);
+        final String file = entry < 0 ? path : path.substring(0, entry);
+        final Path resolved = root.resolve(file).normalize();
+        if (!resolved.startsWith(root) || !toRealPath(resolved).startsWith(root)) {
+            throw new IllegalArgumentException(path + " is outside of the server's directory " + root);
+        }
+        return entry < 0 ? resolved.toString() : resolved + path.substring(entry);
+    }
+
+    private static Path toRealPath(final Path path) {
+        Path existing = path;
+        while (existing != null && !Files.exists(existing, LinkOption.NOFOLLOW_LINKS)) {
+            existing = existing.getParent();
+        }
+        if (existing == null) {
+            return path;
+        }
+        try {
+            return existing.toRealPath().resolve(existing.relativize(path));
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Unable to resolve " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the arguments of a job, one per line, ignoring blank lines
+     * @return the arguments, or null if the body exceeds {@link #MAX_JOB_BYTES}
+     */
+    @Nullable
+    private static String[] readJobArguments(final InputStream body) throws IOException {
+        final byte[] bytes = ByteStreams.toByteArray(ByteStreams.limit(body, MAX_JOB_BYTES + 1));
+        if (bytes.length > MAX_JOB_BYTES) {
+            return null;
+        }
+        final List<String> arguments = new ArrayList<>();
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.trim().isEmpty()) {
+                arguments.add(line.trim());
+            }
+        }
+        return arguments.toArray(new String[arguments.size()]);
+    }
+
+    /**
+     * Refuses a request unless it carries the server's token and is addressed to the loopback host. A browser
+     * sends an {@code Origin} header with a cross origin POST, and a page reached through DNS rebinding sends
+     * its own name as the {@code Host}, so neither can submit a job even if the token were known.
+     */
+    private boolean isAuthorized(final HttpExchange exchange) throws IOException {
+        if (exchange.getRequestHeaders().containsKey("Origin")) {
+            sendText(exchange, FORBIDDEN, "Requests from web pages are not accepted");
+            return false;
+        }
+        if (!isLoopbackHost(exchange.getRequestHeaders().getFirst("Host"))) {
+            sendText(exchange, FORBIDDEN, "The Host must be localhost or " + HOST);
+            return false;
+        }
+        final String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !MessageDigest.isEqual(
+                authorization.getBytes(StandardCharsets.UTF_8), ("Bearer " + token).getBytes(StandardCharsets.UTF_8))) {
+            exchange.getResponseHeaders().set("WWW-Authenticate", "Bearer");
+            sendText(exchange, UNAUTHORIZED, "The Authorization header must contain the server's token as: Bearer <token>");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Whether the Host header names the loopback address, with the server's port if it has one
+     */
+    private boolean isLoopbackHost(@Nullable final String host) {
+        if (host == null) {
+            return false;
+        }
+        final int separator = host.lastIndexOf(':');
+        if (separator >= 0 && !host.substring(separator + 1).equals(String.valueOf(getPort()))) {
+            return false;
+        }
+        final String name = separator < 0 ? host : host.substring(0, separator);
+        return name.equalsIgnoreCase("localhost") || name.equals(HOST);
+    }
+
+    private static boolean isMethod(final HttpExchange exchange, final String method) throws IOException {
+        if (method.equalsIgnoreCase(exchange.getRequestMethod())) {
+            return true;
+        }
+        exchange.getResponseHeaders().set("Allow", method);
+        sendText(exchange, METHOD_NOT_ALLOWED, exchange.getRequestMethod() + " is not supported, use " + method);
+        return false;
+    }
+
+    private static void sendText(final HttpExchange exchange, final int status, final String text) throws IOException {
+        final byte[] body = (text.endsWith("\n") ? text : text + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (final OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    /**
+     * Streams a report as a successful response, sending the response status when the first bytes are written.
+     * Closing the stream only flushes it, and the response is completed by {@link #complete()}.
+     */
+    private static final class ResponseStream extends OutputStream {
+
+        private final HttpExchange exchange;
+        private final String contentType;
+        @Nullable
+        private OutputStream body;
+
+        private ResponseStream(final HttpExchange exchange, final String contentType) {
+            this.exchange = exchange;
+            this.contentType = contentType;
+        }
+
+        private boolean isCommitted() {
+            return body != null;
+        }
+
+        private OutputStream body() throws IOException {
+            if (body == null) {
+                exchange.getResponseHeaders().set("Content-Type", contentType);
+                exchange.sendResponseHeaders(OK, 0);
+                body = exchange.getResponseBody();
+            }
+            return body;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            body().write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            body().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (body != null) {
+                body.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+        /**
+         * Completes the response, sending the response status if the report was empty
+         */
+        private void complete() throws IOException {
+            body().close();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.cli;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3contractcomparator.loader.Ds3SpecInputs;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches contract files for changes with a {@link WatchService} on the directories which contain them.
+ * A contract within a zip file is watched through its zip file. Editors often save a file as several
+ * events, such as a truncate followed by a write, or a write to a temporary file followed by a rename,
+ * so changes are debounced: once a watched file changes, {@link #awaitChange()} waits until no watched
+ * file has changed for {@link #DEBOUNCE_MILLIS}. If a watched directory is deleted or can no longer be
+ * watched, {@link #awaitChange()} fails rather than waiting for changes which will never be seen.
+ */
+class ContractWatcher implements Closeable {
+
+    static final long DEBOUNCE_MILLIS = 250;
+
+    private final WatchService watchService;
+    private final ImmutableSet<Path> files;
+
+    /**
+     * @param locations the contract files, or zip entry paths such as {@code bundle.zip!/contract.xml}
+     */
+    ContractWatcher(final ImmutableList<Path> locations) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        try {
+            final ImmutableSet.Builder<Path> builder = ImmutableSet.builder();
+            for (final Path location : locations) {
+                final Path file = toWatchedFile(location);
+                builder.add(file);
+                file.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            }
+            this.files = builder.build();
+        } catch (final IOException | RuntimeException e) {
+            watchService.close();
+            throw e;
+        }
+    }
+
+    /**
+     * The file whose changes are watched for a contract location, which is the zip file of a zip entry path
+     */
+    private static Path toWatchedFile(final Path location) {
+        final String name = location.toAbsolutePath().normalize().toString();
+        final int separator = name.indexOf(Ds3SpecInputs.ZIP_ENTRY_SEPARATOR);
+        return separator >= 0 ? Paths.get(name.substring(0, separator)) : Paths.get(name);
+    }
+
+    /**
+     * Waits until a watched file changes, and then until no watched file has changed for the debounce interval
+     * @return the watched files which changed
+     * @throws IOException if a watched directory can no longer be watched
+     */
+    ImmutableSet<Path> awaitChange() throws InterruptedException, IOException {
+        final Set<Path> changed = new LinkedHashSet<>();
+        while (changed.isEmpty()) {
+            collectChanges(watchService.take(), changed);
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DEBOUNCE_MILLIS);
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            final WatchKey key = watchService.poll(remaining, TimeUnit.NANOSECONDS);
+            if (key == null) {
+                break;
+            }
+            if (collectChanges(key, changed)) {
+                deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DEBOUNCE_MILLIS);
+            }
+        }
+        return ImmutableSet.copyOf(changed);
+    }
+
+    /**
+     * Adds the watched files changed by the events of the key, and then resets the key
+     * @return true if a watched file changed
+     * @throws IOException if the key's directory can no longer be watched
+     */
+    private boolean collectChanges(final WatchKey key, final Set<Path> changed) throws IOException {
+        final Path directory = (Path) key.watchable();
+        final boolean found = collectChanges(directory, key.pollEvents(), changed);
+        if (!key.reset()) {
+            throw new IOException("The directory " + directory + " can no longer be watched, it may have been deleted");
+        }
+        return found;
+    }
+
+    /**
+     * Adds the watched files changed by the events within the directory, ignoring the other files within it
+     * @return true if a watched file changed
+     */
+    boolean collectChanges(final Path directory, final List<WatchEvent<?>> events, final Set<Path> changed) {
+        boolean found = false;
+        for (final WatchEvent<?> event : events) {
+            if (event.kind() == OVERFLOW) {
+                //Events were lost, so any of the files may have changed
+                changed.addAll(files);
+                found = true;
+                continue;
+            }
+            final Path file = directory.resolve((Path) event.context());
+            if (files.contains(file)) {
+                changed.add(file);
+                found = true;
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
@@ -15,28 +15,70 @@
 
 package com.spectralogic.ds3contractcomparator.cli;
 
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.Closeables;
 import com.spectralogic.ds3autogen.Ds3SpecParserImpl;
-import com.spectralogic.ds3autogen.api.Ds3SpecParser;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
-import com.spectralogic.ds3contractcomparator.Ds3ApiSpecComparator;
+import com.spectralogic.ds3contractcomparator.ComparatorOptions;
 import com.spectralogic.ds3contractcomparator.Ds3ApiSpecComparatorImpl;
-import com.spectralogic.ds3contractcomparator.models.Ds3ApiSpecDiff;
-import com.spectralogic.ds3contractcomparator.print.Ds3SpecDiffPrinter;
+import com.spectralogic.ds3contractcomparator.Ds3FanOutSink;
+import com.spectralogic.ds3contractcomparator.Ds3SpecDiffSink;
+import com.spectralogic.ds3contractcomparator.Ds3StreamingSpecComparator;
+import com.spectralogic.ds3contractcomparator.baseline.Ds3BaselineIndex;
+import com.spectralogic.ds3contractcomparator.baseline.Ds3BaselineIndexWriter;
+import com.spectralogic.ds3contractcomparator.breaking.BreakingChangeRules;
+import com.spectralogic.ds3contractcomparator.breaking.Ds3CompatibilityResult;
+import com.spectralogic.ds3contractcomparator.cache.Ds3SpecCache;
+import com.spectralogic.ds3contractcomparator.cache.Ds3SpecMemoryCache;
+import com.spectralogic.ds3contractcomparator.canonical.Ds3SpecCanonicalizer;
+import com.spectralogic.ds3contractcomparator.ignore.Ds3IgnoreProfile;
+import com.spectralogic.ds3contractcomparator.loader.Ds3SpecFiles;
+import com.spectralogic.ds3contractcomparator.loader.Ds3SpecLoader;
+import com.spectralogic.ds3contractcomparator.loader.Ds3SpecPair;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.HtmlReportPrinter;
 import com.spectralogic.ds3contractcomparator.print.simpleprinter.Ds3SpecDiffSimplePrinter;
+import com.spectralogic.ds3contractcomparator.series.Ds3SpecInterner;
+import com.spectralogic.ds3contractcomparator.series.Ds3SpecSeriesComparator;
+import com.spectralogic.ds3contractcomparator.series.Ds3SpecVersion;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.text.ParseException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 public class Main {
     public static void main(final String[] args) {
         try {
             final Arguments arguments = getArgs(args);
-            final Main main = new Main(arguments);
-
-            runMain(main);
+            if (arguments.getServePort() != null) {
+                serve(arguments);
+                return;
+            }
+            if (arguments.getBatch() != null) {
+                runBatch(arguments);
+                return;
+            }
+            final ExecutorService executor = arguments.getParallelism() > 1 ? new ForkJoinPool(arguments.getParallelism()) : null;
+            try {
+                runMain(new Main(arguments, new Ds3NameTable(), executor, System.out));
+            } finally {
+                if (executor != null) {
+                    executor.shutdown();
+                }
+            }
 
         } catch(final Exception e) {
             e.printStackTrace();
@@ -60,47 +102,443 @@ public class Main {
         }
     }
 
+    /**
+     * Runs a {@link ComparatorServer} until it is shut down, either by a client or when the JVM is stopped
+     */
+    private static void serve(final Arguments arguments) throws Exception {
+        final Ds3SpecCache cache = arguments.getCacheDir() != null ? new Ds3SpecCache(Paths.get(arguments.getCacheDir())) : null;
+        final Path root = Paths.get(arguments.getServeDir() != null ? arguments.getServeDir() : "");
+        final ComparatorServer server = new ComparatorServer(arguments.getServePort(), arguments.getWorkers(), cache, root);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "ds3-comparator-server-shutdown"));
+
+        server.start();
+        System.out.println("Serving comparison jobs on http://" + ComparatorServer.HOST + ":" + server.getPort() + "/compare with "
+                + arguments.getWorkers() + " worker(s), for files within " + server.getRoot());
+        System.out.println("Send each request with the header: Authorization: Bearer " + server.getToken());
+        server.awaitStop();
+        System.out.println("Server stopped");
+    }
+
+    /**
+     * Runs the jobs of a {@link BatchManifest}, exiting with a nonzero status if any job fails
+     */
+    private static void runBatch(final Arguments arguments) throws Exception {
+        final ImmutableList<BatchManifest.BatchJob> jobs = BatchManifest.read(Paths.get(arguments.getBatch()));
+        final Ds3SpecCache cache = arguments.getCacheDir() != null ? new Ds3SpecCache(Paths.get(arguments.getCacheDir())) : null;
+        System.out.println("Running " + jobs.size() + " job(s) from " + arguments.getBatch() + " with " + arguments.getWorkers() + " worker(s)");
+
+        final boolean success = new BatchRunner(arguments.getWorkers(), jobs.size(), cache, System.out).run(jobs);
+        if (cache != null) {
+            System.out.println("Spec cache " + cache.getDirectory() + ": " + cache.getHits() + " hit(s), " + cache.getMisses() + " miss(es)");
+        }
+        if (!success) {
+            System.exit(1);
+        }
+    }
+
     private final Arguments args;
+    /**
+     * Shared by the comparisons and printers of this run, so each name's path is only removed once.
+     * A server or batch shares one table with all of its jobs.
+     */
+    private final Ds3NameTable names;
+    /**
+     * Runs the comparisons whose parallelism is greater than one. It is owned by the caller, so a server
+     * or batch shares one pool with all of its jobs.
+     */
+    @Nullable
+    private final ExecutorService executor;
+    private final PrintStream out;
 
-    private Main(final Arguments args) {
+    /**
+     * @param executor runs the comparisons whose parallelism is greater than one, or null to compare on the calling thread
+     * @param out receives the progress messages of the run
+     */
+    Main(final Arguments args, final Ds3NameTable names, @Nullable final ExecutorService executor, final PrintStream out) {
         this.args = args;
+        this.names = names;
+        this.executor = executor;
+        this.out = out;
     }
 
     private void run() throws Exception {
-        final Ds3SpecParser parser = new Ds3SpecParserImpl();
+        final Ds3SpecCache cache = args.getCacheDir() != null ? new Ds3SpecCache(Paths.get(args.getCacheDir())) : null;
+        //A watch retains the current and previous version of each contract
+        final Ds3SpecMemoryCache memoryCache = args.isWatch() ? new Ds3SpecMemoryCache(4) : null;
+        final Ds3SpecLoader loader = new Ds3SpecLoader(Ds3SpecParserImpl::new, true, null, cache, memoryCache);
 
-        System.out.println("Generating comparison for API contract: " + args.getOldApiSpec() + " to " + args.getNewApiSpec());
+        final boolean success;
+        try {
+            success = run(loader, null);
+        } finally {
+            if (cache != null) {
+                out.println("Spec cache " + cache.getDirectory() + ": " + cache.getHits() + " hit(s), " + cache.getMisses() + " miss(es)");
+            }
+        }
+        if (!success) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Whether the operation selected by the arguments writes a report
+     */
+    boolean writesReport() {
+        return args.getWriteBaseline() == null && !args.isCheck();
+    }
+
+    /**
+     * Performs the operation selected by the arguments
+     * @param reportWriter receives the report of a comparison of two specs in place of the -d file, or null
+     *                     to write the -d file. The writer is closed once the reports are written.
+     * @return false if the command should exit with a nonzero status
+     */
+    boolean run(final Ds3SpecLoader loader, @Nullable final Writer reportWriter) throws Exception {
+        if (args.getWriteBaseline() != null) {
+            out.println("Writing baseline index for API contract: " + args.getOldApiSpec() + " to " + args.getWriteBaseline());
+            Ds3BaselineIndexWriter.write(loader.load(Paths.get(args.getOldApiSpec())), Paths.get(args.getWriteBaseline()));
+            return true;
+        }
 
-        final Ds3ApiSpec oldSpec = getSpecFromFileName(args.getOldApiSpec(), parser);
-        final Ds3ApiSpec newSpec = getSpecFromFileName(args.getNewApiSpec(), parser);
+        if (!args.getFilter().isAll()) {
+            out.println("Comparing only requests and types where " + args.getFilter());
+        }
 
-        final Ds3ApiSpecComparator comparator = new Ds3ApiSpecComparatorImpl();
-        final Ds3ApiSpecDiff specDiff = comparator.compare(oldSpec, newSpec);
+        if (args.isCheck()) {
+            return runCheck(loader);
+        }
+
+        if (!args.getSeriesSpecs().isEmpty()) {
+            runSeries(loader);
+            return true;
+        }
 
-        final OutputStreamWriter outputStreamWriter = new OutputStreamWriter(new FileOutputStream(args.getOutputFile()), "UTF-8");
-        final Writer writer = new BufferedWriter(outputStreamWriter);
+        final String oldContractName = args.getBaseline() != null ? args.getBaseline() : args.getOldApiSpec();
+        out.println("Generating comparison for API contract: " + oldContractName + " to " + args.getNewApiSpec());
 
-        final Ds3SpecDiffPrinter printer;
-        switch (args.getPrinterType()) {
+        if (args.isWatch()) {
+            runWatch(loader, oldContractName);
+            return true;
+        }
+        if (args.isStreaming()) {
+            final Ds3StreamingSpecComparator comparator = new Ds3StreamingSpecComparator(toComparatorOptions());
+            writeReports(oldContractName, reportWriter,
+                    printer -> comparator.compare(Paths.get(args.getOldApiSpec()), Paths.get(args.getNewApiSpec()), printer));
+            return true;
+        }
+        try (final Ds3ApiSpecComparatorImpl comparator = new Ds3ApiSpecComparatorImpl(toComparatorOptions())) {
+            compare(loader, comparator, oldContractName, reportWriter, true);
+        }
+        return true;
+    }
+
+    /**
+     * Performs a comparison whose diffs are passed to the printers of the reports
+     */
+    @FunctionalInterface
+    private interface Comparison {
+        void compare(Ds3SpecDiffSink printer) throws Exception;
+    }
+
+    /**
+     * Compares the -o and -n contracts, or the baseline and the -n contract, and writes the reports
+     * @param reportWriter receives the report without a file in place of the -d file, or null
+     * @param skipIdentical whether the contract files are first compared byte for byte, skipping the comparison
+     *                      of identical files
+     */
+    private void compare(
+            final Ds3SpecLoader loader,
+            final Ds3ApiSpecComparatorImpl comparator,
+            final String oldContractName,
+            @Nullable final Writer reportWriter,
+            final boolean skipIdentical) throws Exception {
+        writeReports(oldContractName, reportWriter, printer -> {
+            if (args.getBaseline() != null) {
+                final Ds3BaselineIndex baseline = Ds3BaselineIndex.read(Paths.get(args.getBaseline()));
+                comparator.compare(baseline, loader.load(Paths.get(args.getNewApiSpec())), printer);
+            } else if (skipIdentical && Ds3SpecFiles.isIdentical(Paths.get(args.getOldApiSpec()), Paths.get(args.getNewApiSpec()))) {
+                out.println("The API contracts are identical, skipping the comparison");
+                comparator.compareIdentical(printer);
+            } else {
+                final Ds3SpecPair specs = loader.loadPair(Paths.get(args.getOldApiSpec()), Paths.get(args.getNewApiSpec()));
+                comparator.compare(specs.getOldSpec(), specs.getNewSpec(), printer);
+            }
+        });
+    }
+
+    /**
+     * Creates the printers of the reports, performs the comparison, and then writes the reports. Report
+     * files are written to a temporary file beside them and then moved into place, so a report file is either
+     * its previous or its new contents.
+     * @param reportWriter receives the report without a file in place of the -d file, or null
+     */
+    private void writeReports(
+            final String oldContractName,
+            @Nullable final Writer reportWriter,
+            final Comparison comparison) throws Exception {
+        final List<Writer> writers = new ArrayList<>();
+        final Map<Path, Path> reportFiles = new LinkedHashMap<>();
+        try {
+            final ImmutableList.Builder<Ds3SpecDiffSink> printers = ImmutableList.builder();
+            for (final ReportOutput report : args.getReports()) {
+                final Writer writer;
+                if (report.getOutputFile() == null && reportWriter != null) {
+                    writer = reportWriter;
+                } else {
+                    final Path outputFile = Paths.get(report.getOutputFile() != null ? report.getOutputFile() : args.getOutputFile())
+                            .toAbsolutePath();
+                    final Path tempFile = outputFile.resolveSibling("." + outputFile.getFileName() + "." + UUID.randomUUID() + ".tmp");
+                    reportFiles.put(tempFile, outputFile);
+                    writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW);
+                }
+                writers.add(writer);
+                printers.add(createPrinter(report.getPrinterType(), writer, oldContractName, args.getNewApiSpec()));
+            }
+            final Ds3SpecDiffSink printer = toSink(printers.build());
+
+            comparison.compare(printer);
+            for (final Writer writer : writers) {
+                writer.close();
+            }
+            for (final Map.Entry<Path, Path> reportFile : reportFiles.entrySet()) {
+                moveReport(reportFile.getKey(), reportFile.getValue());
+            }
+        } finally {
+            for (final Writer writer : writers) {
+                if (writer != reportWriter) {
+                    Closeables.close(writer, true);
+                }
+            }
+            for (final Path tempFile : reportFiles.keySet()) {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+    }
+
+    private static void moveReport(final Path tempFile, final Path outputFile) throws IOException {
+        try {
+            Files.move(tempFile, outputFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, outputFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Compares the -o and -n contracts, and then compares them again each time either file changes until the
+     * process is stopped. The loader retains the parsed contracts and the comparator retains their prepared
+     * specs and fingerprints, so only a changed contract is parsed, canonicalized and fingerprinted again, and
+     * only the requests and types whose fingerprints changed are compared field by field. The watch fails if the
+     * directory of either contract can no longer be watched.
+     */
+    private void runWatch(final Ds3SpecLoader loader, final String oldContractName) throws Exception {
+        try (final Ds3ApiSpecComparatorImpl comparator = new Ds3ApiSpecComparatorImpl(toComparatorOptions());
+             final ContractWatcher watcher = new ContractWatcher(
+                ImmutableList.of(Paths.get(args.getOldApiSpec()), Paths.get(args.getNewApiSpec())))) {
+            compareWatched(loader, comparator, oldContractName);
+            while (true) {
+                final ImmutableSet<Path> changed = watcher.awaitChange();
+                out.println("Changed: " + Joiner.on(", ").join(changed));
+                compareWatched(loader, comparator, oldContractName);
+            }
+        }
+    }
+
+    /**
+     * A contract may be invalid while it is being edited, so a failed comparison is reported and the
+     * previous reports are kept until the next change
+     */
+    private void compareWatched(
+            final Ds3SpecLoader loader,
+            final Ds3ApiSpecComparatorImpl comparator,
+            final String oldContractName) {
+        final long start = System.nanoTime();
+        try {
+            compare(loader, comparator, oldContractName, null, false);
+            out.println("Updated the report(s) in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+                    + " ms, watching for changes");
+        } catch (final Exception e) {
+            out.println("Unable to compare the API contracts, watching for changes: " + e);
+        }
+    }
+
+    /**
+     * Checks whether the newer contract is compatible with the older contract, printing the first
+     * breaking change if one is found. No report printer is created.
+     * @return true if the contracts are compatible
+     */
+    private boolean runCheck(final Ds3SpecLoader loader) throws Exception {
+        out.println("Checking compatibility of API contract: " + args.getNewApiSpec() + " with " + args.getOldApiSpec());
+
+        if (Ds3SpecFiles.isIdentical(Paths.get(args.getOldApiSpec()), Paths.get(args.getNewApiSpec()))) {
+            out.println(Ds3CompatibilityResult.compatible());
+            return true;
+        }
+
+        final Ds3SpecPair specs = loader.loadPair(Paths.get(args.getOldApiSpec()), Paths.get(args.getNewApiSpec()));
+        final Ds3CompatibilityResult result;
+        try (final Ds3ApiSpecComparatorImpl comparator = new Ds3ApiSpecComparatorImpl(toComparatorOptions())) {
+            result = comparator.checkCompatibility(specs.getOldSpec(), specs.getNewSpec());
+        }
+
+        out.println(result);
+        return result.isCompatible();
+    }
+
+    /**
+     * Compares a series of contract versions, writing a report for each pair of adjacent versions
+     * and for the first and last versions into the output directory. Each spec is parsed once, with
+     * all specs parsed concurrently, canonicalized unless the order is preserved, and then interned
+     * so that requests and types which did not change are shared.
+     */
+    private void runSeries(final Ds3SpecLoader loader) throws Exception {
+        out.println("Generating comparisons for API contract series: " + String.join(", ", args.getSeriesSpecs()));
+
+        final ImmutableList.Builder<Path> files = ImmutableList.builder();
+        args.getSeriesSpecs().forEach(fileName -> files.add(Paths.get(fileName)));
+        final ImmutableList<Ds3ApiSpec> specs = loader.loadAll(files.build());
+
+        final Ds3SpecInterner interner = new Ds3SpecInterner();
+        final ImmutableList<String> versionNames = toVersionNames(args.getSeriesSpecs());
+        final ImmutableList.Builder<Ds3SpecVersion> versions = ImmutableList.builder();
+        for (int i = 0; i < specs.size(); i++) {
+            final Ds3ApiSpec spec = args.isPreserveOrder() ? specs.get(i) : Ds3SpecCanonicalizer.canonicalize(specs.get(i));
+            versions.add(new Ds3SpecVersion(versionNames.get(i), interner.intern(spec)));
+        }
+
+        final Path outputDir = Paths.get(args.getOutputFile());
+        Files.createDirectories(outputDir);
+
+        final List<Writer> writers = Collections.synchronizedList(new ArrayList<>());
+        try {
+            new Ds3SpecSeriesComparator(toComparatorOptions()).compare(versions.build(), (oldVersion, newVersion) -> {
+                final ImmutableList.Builder<Ds3SpecDiffSink> printers = ImmutableList.builder();
+                for (final ReportOutput report : args.getReports()) {
+                    final Path outputFile = outputDir.resolve(
+                            oldVersion.getName() + "_to_" + newVersion.getName() + report.getPrinterType().getFileExtension());
+                    try {
+                        final Writer writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8);
+                        writers.add(writer);
+                        printers.add(createPrinter(report.getPrinterType(), writer, oldVersion.getName(), newVersion.getName()));
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException("Unable to create report file " + outputFile, e);
+                    }
+                }
+                return toSink(printers.build());
+            });
+        } finally {
+            for (final Writer writer : writers) {
+                writer.close();
+            }
+        }
+    }
+
+    private ComparatorOptions toComparatorOptions() throws IOException {
+        return ComparatorOptions.builder()
+                .withExecutor(args.getParallelism() > 1 ? executor : null)
+                .withParallelism(args.getParallelism())
+                .withVerifyFingerprints(args.isVerifyFingerprints())
+                .withChangesOnly(true)
+                .withDetectRenames(args.isDetectRenames())
+                .withRenameThreshold(args.getRenameThreshold())
+                .withBreakingChangeRules(toBreakingChangeRules())
+                .withFilter(args.getFilter())
+                .withIgnoreProfile(toIgnoreProfile())
+                .withCanonicalize(!args.isPreserveOrder())
+                .withNameTable(names)
+                .build();
+    }
+
+    /**
+     * The ignore profile is a predefined profile, unless a file with its name exists
+     */
+    private Ds3IgnoreProfile toIgnoreProfile() throws IOException {
+        if (args.getIgnoreProfile() == null) {
+            return Ds3IgnoreProfile.NONE;
+        }
+        final Path file = Paths.get(args.getIgnoreProfile());
+        if (Files.isRegularFile(file)) {
+            return Ds3IgnoreProfile.read(file);
+        }
+        return Ds3IgnoreProfile.named(args.getIgnoreProfile());
+    }
+
+    private BreakingChangeRules toBreakingChangeRules() throws IOException {
+        if (args.getRules() == null) {
+            return BreakingChangeRules.defaults();
+        }
+        return BreakingChangeRules.defaults().toBuilder()
+                .addProperties(Paths.get(args.getRules()))
+                .build();
+    }
+
+    private Ds3SpecDiffSink createPrinter(
+            final PrinterType printerType,
+            final Writer writer,
+            final String oldContractName,
+            final String newContractName) {
+        switch (printerType) {
             case HTML:
-                printer = new HtmlReportPrinter(writer, args.getOldApiSpec(), args.getNewApiSpec());
-                break;
+                return new HtmlReportPrinter(writer, oldContractName, newContractName, names);
             case SIMPLE:
-                printer = new Ds3SpecDiffSimplePrinter(writer, args.isProperties(), args.isAnnotations());
-                break;
+                return new Ds3SpecDiffSimplePrinter(writer, args.isProperties(), args.isAnnotations(), names);
             default:
-                throw new IllegalArgumentException("Unknown printer type " + args.getPrinterType().toString());
+                throw new IllegalArgumentException("Unknown printer type " + printerType.toString());
+        }
+    }
+
+    /**
+     * A single printer receives the diffs directly, while several printers each receive them on their own thread
+     * so that the reports are printed concurrently from one comparison
+     */
+    private static Ds3SpecDiffSink toSink(final ImmutableList<Ds3SpecDiffSink> printers) {
+        return printers.size() == 1 ? printers.get(0) : new Ds3FanOutSink(printers);
+    }
+
+    /**
+     * Names each version of a series, which names its reports. A version is named by {@link #toVersionName(String)}.
+     * Versions whose names collide, such as v1/contract.xml and v2/contract.xml, are prefixed with the name of
+     * their directory, and versions whose names still collide are suffixed with their position within the series.
+     */
+    static ImmutableList<String> toVersionNames(final ImmutableList<String> fileNames) {
+        final List<String> names = new ArrayList<>();
+        fileNames.forEach(fileName -> names.add(toVersionName(fileName)));
+
+        final Set<String> duplicateNames = findDuplicates(names);
+        for (int i = 0; i < names.size(); i++) {
+            if (duplicateNames.contains(names.get(i))) {
+                final Path parent = Paths.get(fileNames.get(i)).toAbsolutePath().normalize().getParent();
+                if (parent != null && parent.getFileName() != null) {
+                    names.set(i, parent.getFileName().toString().replaceFirst("!$", "") + "_" + names.get(i));
+                }
+            }
         }
 
-        printer.print(specDiff);
-        writer.close();
+        final Set<String> duplicateQualifiedNames = findDuplicates(names);
+        for (int i = 0; i < names.size(); i++) {
+            if (duplicateQualifiedNames.contains(names.get(i))) {
+                names.set(i, names.get(i) + "_" + (i + 1));
+            }
+        }
+        return ImmutableList.copyOf(names);
+    }
+
+    private static Set<String> findDuplicates(final List<String> names) {
+        final Set<String> seen = new HashSet<>();
+        final Set<String> duplicates = new HashSet<>();
+        for (final String name : names) {
+            if (!seen.add(name)) {
+                duplicates.add(name);
+            }
+        }
+        return duplicates;
     }
 
-    private static Ds3ApiSpec getSpecFromFileName(
-            final String fileName,
-            final Ds3SpecParser parser) throws IOException {
-        return parser.getSpec(
-                Files.newInputStream(Paths.get(fileName)),
-                true);
+    /**
+     * The name of a contract version is its file name without the directory, compression or extension
+     */
+    static String toVersionName(final String fileName) {
+        final String name = Paths.get(fileName).getFileName().toString().replaceFirst("\\.(gz|zst)$", "");
+        final int extension = name.lastIndexOf('.');
+        return extension > 0 ? name.substring(0, extension) : name;
     }
 }
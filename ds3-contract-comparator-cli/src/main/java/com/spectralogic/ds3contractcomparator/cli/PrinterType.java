@@ -22,10 +22,28 @@ import java.util.stream.Collectors;
  * The printers available for generating the report
  */
 public enum PrinterType {
-    SIMPLE, HTML;
+    SIMPLE(".txt", "text/plain; charset=utf-8"), HTML(".html", "text/html; charset=utf-8");
 
-    private PrinterType() {
-        //pass
+    private final String fileExtension;
+    private final String contentType;
+
+    private PrinterType(final String fileExtension, final String contentType) {
+        this.fileExtension = fileExtension;
+        this.contentType = contentType;
+    }
+
+    /**
+     * The extension of the report files written by this printer
+     */
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * The media type of the reports written by this printer
+     */
+    public String getContentType() {
+        return contentType;
     }
 
     public static String valuesString() {
@@ -0,0 +1,45 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.cli;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A report written by a comparison, which pairs a printer with the file it writes
+ */
+public final class ReportOutput {
+
+    private final PrinterType printerType;
+    @Nullable
+    private final String outputFile;
+
+    public ReportOutput(final PrinterType printerType, @Nullable final String outputFile) {
+        this.printerType = printerType;
+        this.outputFile = outputFile;
+    }
+
+    public PrinterType getPrinterType() {
+        return printerType;
+    }
+
+    /**
+     * The file the report is written to, or null if the report is written to the -d output
+     */
+    @Nullable
+    public String getOutputFile() {
+        return outputFile;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.cli;
+
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3contractcomparator.cli.BatchManifest.BatchJob;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class BatchManifest_Test {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Path createManifest(final String... lines) throws IOException {
+        final Path manifest = folder.newFolder("manifests").toPath().resolve("manifest.csv");
+        Files.write(manifest, ImmutableList.copyOf(lines), StandardCharsets.UTF_8);
+        return manifest;
+    }
+
+    private String resolve(final String path) {
+        return folder.getRoot().toPath().toAbsolutePath().resolve("manifests").resolve(path).toString();
+    }
+
+    @Test
+    public void read_Test() throws IOException {
+        final ImmutableList<BatchJob> jobs = BatchManifest.read(createManifest(
+                "old,new,output,printer,flags",
+                "v1.xml,v2.xml,report.html,html,--detect-renames",
+                "v2.xml,v3.xml,,,--check"));
+
+        assertThat(jobs.size(), is(2));
+        assertThat(jobs.get(0).getLine(), is(2));
+        assertThat(jobs.get(0).getName(), is("report.html"));
+        assertThat(jobs.get(0).getArguments(), is(ImmutableList.of(
+                "-o", "v1.xml", "-n", "v2.xml", "-d", "report.html", "-p", "html", "--detect-renames")));
+        assertThat(jobs.get(1).getName(), is("v2.xml to v3.xml"));
+        assertThat(jobs.get(1).getArguments(), is(ImmutableList.of("-o", "v2.xml", "-n", "v3.xml", "--check")));
+    }
+
+    @Test
+    public void read_ColumnOrder_Test() throws IOException {
+        final ImmutableList<BatchJob> jobs = BatchManifest.read(createManifest(
+                "Output,New,Old",
+                "report.html,v2.xml,v1.xml"));
+
+        assertThat(jobs.get(0).getArguments(), is(ImmutableList.of("-o", "v1.xml", "-n", "v2.xml", "-d", "report.html")));
+    }
+
+    @Test
+    public void toArguments_ResolvesPaths_Test() throws Exception {
+        final Path absolute = folder.getRoot().toPath().toAbsolutePath().resolve("specs").resolve("v1.xml");
+        final ImmutableList<BatchJob> jobs = BatchManifest.read(createManifest(
+                "old,new,output,printer,flags",
+                absolute + ",../specs/v2.xml,report.html,simple,-p html:reports/report.html --rules rules.properties --ignore-profile annotations"));
+
+        final Arguments arguments = jobs.get(0).toArguments();
+        assertThat(arguments.getOldApiSpec(), is(absolute.toString()));
+        assertThat(arguments.getNewApiSpec(), is(resolve("../specs/v2.xml")));
+        assertThat(arguments.getOutputFile(), is(resolve("report.html")));
+        assertThat(arguments.getReports().get(0).getOutputFile(), is(nullValue()));
+        assertThat(arguments.getReports().get(1).getOutputFile(), is(resolve("reports/report.html")));
+        assertThat(arguments.getRules(), is(resolve("rules.properties")));
+        assertThat(arguments.getIgnoreProfile(), is("annotations"));
+    }
+
+    @Test
+    public void toArguments_ResolvesPrinterColumn_Test() throws Exception {
+        final ImmutableList<BatchJob> jobs = BatchManifest.read(createManifest(
+                "old,new,printer",
+                "v1.xml,v2.xml,html:report.html"));
+
+        assertThat(jobs.get(0).toArguments().getReports().get(0).getOutputFile(), is(resolve("report.html")));
+    }
+
+    @Test
+    public void read_QuotedFields_Test() throws IOException {
+        final ImmutableList<BatchJob> jobs = BatchManifest.read(createManifest(
+                "old,new,output",
+                "\"v1, final.xml\",\"v2 \"\"beta\"\".xml\",report.html"));
+
+        assertThat(jobs.get(0).getArguments().get(1), is("v1, final.xml"));
+        assertThat(jobs.get(0).getArguments().get(3), is("v2 \"beta\".xml"));
+    }
+
+    @Test
+    public void read_QuotedFlags_Test() throws IOException {
+        final ImmutableList<BatchJob> jobs = BatchManifest.read(createManifest(
+                "old,new,flags",
+                "v1.xml,v2.xml,\"  --rules \"\"my rules.properties\"\"   --type-filter \"\"\"\" --detect-renames \""));
+
+        assertThat(jobs.get(0).getArguments().subList(4, jobs.get(0).getArguments().size()), is(ImmutableList.of(
+                "--rules", "my rules.properties", "--type-filter", "", "--detect-renames")));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void read_UnterminatedQuotedFlag_Test() throws IOException {
+        BatchManifest.read(createManifest(
+                "old,new,flags",
+                "v1.xml,v2.xml,\"--rules \"\"my rules.properties\""));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void read_UnterminatedQuotedField_Test() throws IOException {
+        BatchManifest.read(createManifest(
+                "old,new",
+                "\"v1.xml,v2.xml"));
+    }
+
+    @Test
+    public void read_CommentsAndBlankLines_Test() throws IOException {
+        final ImmutableList<BatchJob> jobs = BatchManifest.read(createManifest(
+                "# comparisons of the releases",
+                "",
+                "old,new",
+                "  # v1 is no longer supported",
+                "v2.xml,v3.xml",
+                "   "));
+
+        assertThat(jobs.size(), is(1));
+        assertThat(jobs.get(0).getLine(), is(5));
+    }
+
+    @Test
+    public void read_MissingTrailingColumns_Test() throws IOException {
+        final ImmutableList<BatchJob> jobs = BatchManifest.read(createManifest(
+                "old,new,output,printer,flags",
+                "v1.xml,v2.xml"));
+
+        assertThat(jobs.get(0).getArguments(), is(ImmutableList.of("-o", "v1.xml", "-n", "v2.xml")));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void read_MissingRequiredColumn_Test() throws IOException {
+        BatchManifest.read(createManifest(
+                "old,output",
+                "v1.xml,report.html"));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void read_MissingRequiredField_Test() throws IOException {
+        BatchManifest.read(createManifest(
+                "old,new,output",
+                ",v2.xml,report.html"));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void read_UnknownColumn_Test() throws IOException {
+        BatchManifest.read(createManifest("old,new,extra"));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void read_DuplicateColumn_Test() throws IOException {
+        BatchManifest.read(createManifest("old,new,old"));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void read_TooManyFields_Test() throws IOException {
+        BatchManifest.read(createManifest(
+                "old,new",
+                "v1.xml,v2.xml,report.html"));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.cli;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3autogen.api.models.enums.HttpVerb;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BatchRunner_Test {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * The old contract has one request which the new contract deletes
+     */
+    private static Ds3ApiSpec parse(final InputStream stream) throws IOException {
+        final String contents = new String(ByteStreams.toByteArray(stream), StandardCharsets.UTF_8).trim();
+        final ImmutableList<Ds3Request> requests = contents.equals("old")
+                ? ImmutableList.of(new Ds3Request("com.test.GetBucketRequest", HttpVerb.GET, Classification.spectrads3,
+                        null, null, null, null, null, null, false, null, null, null))
+                : ImmutableList.of();
+        return new Ds3ApiSpec(requests, ImmutableMap.of());
+    }
+
+    private Path createManifest(final String... lines) throws IOException {
+        for (final String contents : ImmutableList.of("old", "new")) {
+            Files.write(folder.getRoot().toPath().resolve(contents + ".xml"), contents.getBytes(StandardCharsets.UTF_8));
+        }
+        final Path manifest = folder.getRoot().toPath().resolve("manifest.csv");
+        Files.write(manifest, ImmutableList.copyOf(lines), StandardCharsets.UTF_8);
+        return manifest;
+    }
+
+    private static boolean run(final Path manifest, final ByteArrayOutputStream output) throws Exception {
+        final ImmutableList<BatchManifest.BatchJob> jobs = BatchManifest.read(manifest);
+        final BatchRunner runner = new BatchRunner(2, jobs.size(), null, new PrintStream(output, true, "UTF-8"),
+                () -> (stream, generateInternal) -> parse(stream));
+        return runner.run(jobs);
+    }
+
+    @Test
+    public void run_Test() throws Exception {
+        final Path manifest = createManifest(
+                "old,new,output,printer",
+                "old.xml,new.xml,report.txt,simple",
+                "new.xml,new.xml,same.txt,simple");
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        assertThat(run(manifest, output), is(true));
+
+        final String summary = output.toString("UTF-8");
+        assertThat(summary, containsString("Batch of 2 job(s) completed in"));
+        assertThat(summary, containsString(": 2 ok, 0 incompatible, 0 failed"));
+        assertThat(summary, containsString("[line 2] Generating comparison for API contract: "));
+        assertThat(new String(Files.readAllBytes(folder.getRoot().toPath().resolve("report.txt")), StandardCharsets.UTF_8),
+                containsString("GetBucketRequest"));
+        assertThat(Files.isRegularFile(folder.getRoot().toPath().resolve("same.txt")), is(true));
+    }
+
+    @Test
+    public void run_FailedJobs_Test() throws Exception {
+        final Path manifest = createManifest(
+                "old,new,output,printer,flags",
+                "old.xml,new.xml,report.txt,simple,",
+                "old.xml,new.xml,,,--check",
+                "missing.xml,new.xml,missing.txt,simple,",
+                "old.xml,new.xml,,simple,");
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        assertThat(run(manifest, output), is(false));
+
+        final String summary = output.toString("UTF-8");
+        assertThat(summary, containsString("Batch of 4 job(s) completed in"));
+        assertThat(summary, containsString(": 1 ok, 1 incompatible, 2 failed"));
+        assertThat(summary, containsString("[line 4] FAILED: "));
+        assertThat(summary, containsString("[line 5] FAILED: The output column is required"));
+        assertThat(Files.isRegularFile(folder.getRoot().toPath().resolve("report.txt")), is(true));
+        assertThat(Files.exists(folder.getRoot().toPath().resolve("missing.txt")), is(false));
+
+        // The summary lists the jobs in manifest order
+        final int[] lines = {summary.indexOf("  line 2 "), summary.indexOf("  line 3 "), summary.indexOf("  line 4 "), summary.indexOf("  line 5 ")};
+        for (int i = 1; i < lines.length; i++) {
+            assertThat(lines[i] > lines[i - 1], is(true));
+        }
+        assertThat(summary.substring(lines[1]), containsString("INCOMPATIBLE"));
+    }
+}
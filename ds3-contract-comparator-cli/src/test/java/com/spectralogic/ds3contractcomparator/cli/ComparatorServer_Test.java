@@ -0,0 +1,317 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.cli;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3autogen.api.models.enums.HttpVerb;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ComparatorServer_Test {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Released once the test completes, so that any job still waiting within the parser completes
+     */
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch blocked = new CountDownLatch(1);
+    private final ExecutorService clients = Executors.newCachedThreadPool();
+    private ComparatorServer server;
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        if (server != null) {
+            server.close();
+        }
+        clients.shutdownNow();
+    }
+
+    /**
+     * The old contract has one request which the new contract deletes, and the blocking contract
+     * waits within the parser until the test releases it
+     */
+    private static Ds3ApiSpec parse(final InputStream stream, final CountDownLatch blocked, final CountDownLatch release) throws IOException {
+        final String contents = new String(ByteStreams.toByteArray(stream), StandardCharsets.UTF_8).trim();
+        if (contents.equals("blocking")) {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+        }
+        final ImmutableList<Ds3Request> requests = contents.equals("old")
+                ? ImmutableList.of(new Ds3Request("com.test.GetBucketRequest", HttpVerb.GET, Classification.spectrads3,
+                        null, null, null, null, null, null, false, null, null, null))
+                : ImmutableList.of();
+        return new Ds3ApiSpec(requests, ImmutableMap.of());
+    }
+
+    private void startServer(final int workerCount) throws IOException {
+        startServer(workerCount, folder.getRoot().toPath());
+    }
+
+    private void startServer(final int workerCount, final Path root) throws IOException {
+        for (final String contents : ImmutableList.of("old", "new", "blocking")) {
+            Files.write(folder.getRoot().toPath().resolve(contents + ".xml"), contents.getBytes(StandardCharsets.UTF_8));
+        }
+        server = new ComparatorServer(0, workerCount, null, root,
+                () -> (stream, generateInternal) -> parse(stream, blocked, release));
+        server.start();
+    }
+
+    private static final class Response {
+        private final int status;
+        private final String body;
+
+        private Response(final int status, final String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Sends a request with the server's token and a loopback Host, followed by the extra headers
+     */
+    private Response send(final String method, final String path, final String body, final String... headers) throws IOException {
+        final List<String> allHeaders = new ArrayList<>();
+        allHeaders.add("Host: " + ComparatorServer.HOST + ":" + server.getPort());
+        allHeaders.add("Authorization: Bearer " + server.getToken());
+        allHeaders.addAll(ImmutableList.copyOf(headers));
+        return sendRaw(method, path, body, allHeaders);
+    }
+
+    private Response sendRaw(final String method, final String path, final String body, final List<String> headers) throws IOException {
+        try (final Socket socket = new Socket(ComparatorServer.HOST, server.getPort())) {
+            final byte[] content = body.getBytes(StandardCharsets.UTF_8);
+            final StringBuilder request = new StringBuilder(method).append(' ').append(path).append(" HTTP/1.1\r\n");
+            headers.forEach(header -> request.append(header).append("\r\n"));
+            request.append("Content-Length: ").append(content.length).append("\r\n")
+                    .append("Connection: close\r\n\r\n");
+            final OutputStream output = socket.getOutputStream();
+            output.write(request.toString().getBytes(StandardCharsets.UTF_8));
+            output.write(content);
+            output.flush();
+
+            final String response = new String(ByteStreams.toByteArray(socket.getInputStream()), StandardCharsets.UTF_8);
+            final int status = Integer.parseInt(response.split(" ", 3)[1]);
+            final int bodyStart = response.indexOf("\r\n\r\n");
+            return new Response(status, bodyStart < 0 ? "" : response.substring(bodyStart + 4));
+        }
+    }
+
+    private Response compare(final String... arguments) throws IOException {
+        return send("POST", "/compare", String.join("\n", arguments));
+    }
+
+    private Future<Response> compareAsync(final String... arguments) {
+        return clients.submit(() -> compare(arguments));
+    }
+
+    /**
+     * Waits until the server reports the number of queued jobs
+     */
+    private void awaitQueuedJobs(final int queuedJobs) throws Exception {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!send("GET", "/status", "").body.contains("queued jobs: " + queuedJobs + "\n")) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Expected " + queuedJobs + " queued job(s)");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void compare_ReturnsReport_Test() throws IOException {
+        startServer(1);
+        final Response response = compare("-o", "old.xml", "-n", "new.xml", "-p", "simple");
+        assertThat(response.status, is(200));
+        assertThat(response.body, containsString("GetBucketRequest"));
+    }
+
+    @Test
+    public void compare_WritesReportFile_Test() throws IOException {
+        startServer(1);
+        final Response response = compare("-o", "old.xml", "-n", "new.xml", "-p", "simple", "-d", "reports/../report.txt");
+        assertThat(response.status, is(200));
+        assertThat(response.body, containsString("Generating comparison"));
+        assertThat(Files.isRegularFile(folder.getRoot().toPath().resolve("report.txt")), is(true));
+    }
+
+    @Test
+    public void compare_CheckFindsBreakingChange_Test() throws IOException {
+        startServer(1);
+        assertThat(compare("-o", "old.xml", "-n", "old.xml", "--check").status, is(200));
+        assertThat(compare("-o", "old.xml", "-n", "new.xml", "--check").status, is(409));
+    }
+
+    @Test
+    public void compare_BadArguments_Test() throws IOException {
+        startServer(1);
+        assertThat(compare("-o", "old.xml").status, is(400));
+        assertThat(compare("-o", "old.xml", "-n", "new.xml", "--unknown").status, is(400));
+        assertThat(compare("--serve", "0").status, is(400));
+        assertThat(compare("-o", "missing.xml", "-n", "new.xml", "-p", "simple").status, is(500));
+        assertThat(send("GET", "/status", "").body, containsString("failed jobs: 4\n"));
+    }
+
+    @Test
+    public void compare_PathOutsideDirectory_Test() throws IOException {
+        startServer(1);
+        final Path outside = folder.newFolder("outside").toPath().resolve("../../report.html");
+        assertThat(compare("-o", "old.xml", "-n", "new.xml", "-d", "../report.html").status, is(400));
+        assertThat(compare("-o", "old.xml", "-n", "new.xml", "-d", outside.toString()).status, is(400));
+        assertThat(compare("-o", "old.xml", "-n", "new.xml", "-p", "html:../report.html").status, is(400));
+        assertThat(compare("--write-baseline", "../baseline", "-o", "old.xml").status, is(400));
+        assertThat(compare("-o", "old.xml", "-n", "new.xml", "--rules", "/etc/passwd").status, is(400));
+        assertThat(Files.exists(folder.getRoot().toPath().resolveSibling("report.html")), is(false));
+    }
+
+    @Test
+    public void compare_SymbolicLinkOutsideDirectory_Test() throws IOException {
+        final Path outside = folder.newFolder("outside").toPath();
+        startServer(1, folder.newFolder("root").toPath());
+        Files.createSymbolicLink(server.getRoot().resolve("link"), outside);
+
+        assertThat(compare("-o", "../old.xml", "-n", "../new.xml", "-p", "simple").status, is(400));
+        assertThat(compare("--write-baseline", "link/baseline", "-o", "../old.xml").status, is(400));
+        assertThat(compare("-o", "link/old.xml", "-n", "link/new.xml", "-p", "simple").status, is(400));
+        assertThat(Files.exists(outside.resolve("baseline")), is(false));
+    }
+
+    @Test
+    public void compare_BodyTooLarge_Test() throws IOException {
+        startServer(1);
+        final Response response = send("POST", "/compare", Strings.repeat("x", ComparatorServer.MAX_JOB_BYTES + 1));
+        assertThat(response.status, is(413));
+    }
+
+    @Test
+    public void compare_WrongMethod_Test() throws IOException {
+        startServer(1);
+        assertThat(send("GET", "/compare", "").status, is(405));
+        assertThat(send("POST", "/status", "").status, is(405));
+        assertThat(send("GET", "/shutdown", "").status, is(405));
+    }
+
+    @Test
+    public void compare_Unauthorized_Test() throws IOException {
+        startServer(1);
+        final String host = "Host: localhost:" + server.getPort();
+        assertThat(sendRaw("GET", "/status", "", ImmutableList.of(host)).status, is(401));
+        assertThat(sendRaw("GET", "/status", "", ImmutableList.of(host, "Authorization: Bearer wrong")).status, is(401));
+        assertThat(sendRaw("POST", "/shutdown", "", ImmutableList.of(host)).status, is(401));
+        assertThat(sendRaw("GET", "/status", "", ImmutableList.of(host, "Authorization: Bearer " + server.getToken())).status, is(200));
+    }
+
+    @Test
+    public void compare_ForeignHost_Test() throws IOException {
+        startServer(1);
+        final String authorization = "Authorization: Bearer " + server.getToken();
+        assertThat(sendRaw("GET", "/status", "", ImmutableList.of("Host: attacker.example.com", authorization)).status, is(403));
+        assertThat(sendRaw("GET", "/status", "", ImmutableList.of("Host: localhost:1", authorization)).status, is(403));
+        assertThat(sendRaw("GET", "/status", "", ImmutableList.of(authorization)).status, is(403));
+    }
+
+    @Test
+    public void compare_Origin_Test() throws IOException {
+        startServer(1);
+        final Response response = send("POST", "/compare", "-o\nold.xml\n-n\nnew.xml\n-d\nreport.html", "Origin: http://attacker.example.com");
+        assertThat(response.status, is(403));
+        assertThat(Files.exists(folder.getRoot().toPath().resolve("report.html")), is(false));
+    }
+
+    @Test
+    public void status_Test() throws IOException {
+        startServer(1);
+        assertThat(compare("-o", "old.xml", "-n", "new.xml", "-p", "simple").status, is(200));
+        final Response response = send("GET", "/status", "");
+        assertThat(response.status, is(200));
+        assertThat(response.body, containsString("completed jobs: 1\n"));
+        assertThat(response.body, containsString("refused jobs: 0\n"));
+    }
+
+    @Test
+    public void compare_EveryWorkerBusy_Test() throws Exception {
+        startServer(1);
+        final Future<Response> running = compareAsync("-o", "blocking.xml", "-n", "new.xml", "-p", "simple");
+        assertThat(blocked.await(10, TimeUnit.SECONDS), is(true));
+
+        final List<Future<Response>> queued = new ArrayList<>();
+        for (int i = 0; i < ComparatorServer.QUEUED_JOBS_PER_WORKER; i++) {
+            queued.add(compareAsync("-o", "old.xml", "-n", "new.xml", "-p", "simple"));
+        }
+        awaitQueuedJobs(ComparatorServer.QUEUED_JOBS_PER_WORKER);
+
+        final Response refused = compare("-o", "old.xml", "-n", "new.xml", "-p", "simple");
+        assertThat(refused.status, is(503));
+        assertThat(refused.body, containsString("Every worker is busy"));
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS).status, is(200));
+        for (final Future<Response> job : queued) {
+            assertThat(job.get(10, TimeUnit.SECONDS).status, is(200));
+        }
+        assertThat(send("GET", "/status", "").body, containsString("refused jobs: 1\n"));
+    }
+
+    @Test
+    public void shutdown_CompletesQueuedJobs_Test() throws Exception {
+        startServer(1);
+        final Future<Response> running = compareAsync("-o", "blocking.xml", "-n", "new.xml", "-p", "simple");
+        assertThat(blocked.await(10, TimeUnit.SECONDS), is(true));
+        final Future<Response> queued = compareAsync("-o", "old.xml", "-n", "new.xml", "-p", "simple");
+        awaitQueuedJobs(1);
+
+        assertThat(send("POST", "/shutdown", "").status, is(202));
+        final Response refused = compare("-o", "old.xml", "-n", "new.xml", "-p", "simple");
+        assertThat(refused.status, is(503));
+        assertThat(refused.body, containsString("shutting down"));
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS).status, is(200));
+        assertThat(queued.get(10, TimeUnit.SECONDS).status, is(200));
+        server.awaitStop();
+    }
+}
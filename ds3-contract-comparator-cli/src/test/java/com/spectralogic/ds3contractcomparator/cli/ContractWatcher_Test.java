@@ -0,0 +1,149 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.cli;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ContractWatcher_Test {
+
+    private static final long TIMEOUT_MILLIS = 30000;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private Path directory;
+    private Path oldFile;
+    private Path newFile;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = folder.getRoot().toPath().toRealPath();
+        oldFile = write(directory.resolve("old.xml"), "old");
+        newFile = write(directory.resolve("new.xml"), "new");
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static Path write(final Path file, final String contents) throws IOException {
+        return Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test (timeout = TIMEOUT_MILLIS)
+    public void awaitChange_Test() throws Exception {
+        try (final ContractWatcher watcher = new ContractWatcher(ImmutableList.of(oldFile, newFile))) {
+            write(newFile, "changed");
+            assertThat(watcher.awaitChange(), is(ImmutableSet.of(newFile)));
+        }
+    }
+
+    @Test (timeout = TIMEOUT_MILLIS)
+    public void awaitChange_IgnoresUnrelatedFiles_Test() throws Exception {
+        try (final ContractWatcher watcher = new ContractWatcher(ImmutableList.of(oldFile, newFile))) {
+            write(directory.resolve("notes.txt"), "unrelated");
+            write(directory.resolve(".old.xml.swp"), "unrelated");
+            write(oldFile, "changed");
+            assertThat(watcher.awaitChange(), is(ImmutableSet.of(oldFile)));
+        }
+    }
+
+    @Test (timeout = TIMEOUT_MILLIS)
+    public void awaitChange_Debounce_Test() throws Exception {
+        try (final ContractWatcher watcher = new ContractWatcher(ImmutableList.of(oldFile, newFile))) {
+            write(oldFile, "changed");
+            final Future<ImmutableSet<Path>> changed = executor.submit(watcher::awaitChange);
+
+            // The second change arrives within the debounce interval of the first, so both are returned together
+            Thread.sleep(ContractWatcher.DEBOUNCE_MILLIS / 3);
+            write(newFile, "changed");
+            assertThat(changed.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS), is(ImmutableSet.of(oldFile, newFile)));
+        }
+    }
+
+    @Test (timeout = TIMEOUT_MILLIS)
+    public void awaitChange_ZipEntry_Test() throws Exception {
+        final Path bundle = write(directory.resolve("bundle.zip"), "bundle");
+        try (final ContractWatcher watcher = new ContractWatcher(
+                ImmutableList.of(directory.resolve("bundle.zip!/contract.xml"), newFile))) {
+            write(bundle, "changed");
+            assertThat(watcher.awaitChange(), is(ImmutableSet.of(bundle)));
+        }
+    }
+
+    @Test (expected = IOException.class, timeout = TIMEOUT_MILLIS)
+    public void awaitChange_DirectoryDeleted_Test() throws Exception {
+        final Path subdirectory = Files.createDirectory(directory.resolve("contracts"));
+        final Path contract = write(subdirectory.resolve("contract.xml"), "contract");
+        try (final ContractWatcher watcher = new ContractWatcher(ImmutableList.of(oldFile, contract))) {
+            Files.delete(contract);
+            Files.delete(subdirectory);
+            // The deletion of the contract may be reported before the directory can no longer be watched
+            while (true) {
+                watcher.awaitChange();
+            }
+        }
+    }
+
+    @Test
+    public void collectChanges_Overflow_Test() throws IOException {
+        final WatchEvent<Object> overflow = new WatchEvent<Object>() {
+            @Override
+            public Kind<Object> kind() {
+                return StandardWatchEventKinds.OVERFLOW;
+            }
+
+            @Override
+            public int count() {
+                return 1;
+            }
+
+            @Override
+            public Object context() {
+                return null;
+            }
+        };
+        try (final ContractWatcher watcher = new ContractWatcher(ImmutableList.of(oldFile, newFile))) {
+            final Set<Path> changed = new LinkedHashSet<>();
+            assertThat(watcher.collectChanges(directory, ImmutableList.of(overflow), changed), is(true));
+            assertThat(changed, is(ImmutableSet.of(oldFile, newFile)));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.cli;
+
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3autogen.Ds3SpecParserImpl;
+import com.spectralogic.ds3contractcomparator.loader.Ds3SpecLoader;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class Main_Test {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Path createContract(final String... requestNames) throws IOException {
+        final StringBuilder contract = new StringBuilder("<Data><Contract><RequestHandlers>");
+        for (final String requestName : requestNames) {
+            contract.append("<RequestHandler Classification=\"spectrads3\" Name=\"").append(requestName).append("\">")
+                    .append("<Request HttpVerb=\"GET\" IncludeIdInPath=\"false\"/>")
+                    .append("</RequestHandler>");
+        }
+        contract.append("</RequestHandlers><Types/></Contract></Data>");
+        final Path file = folder.newFile().toPath();
+        Files.write(file, contract.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    public void run_Streaming_Test() throws Exception {
+        final Path oldFile = createContract("com.test.AGetRequestHandler", "com.test.BGetRequestHandler");
+        final Path newFile = createContract("com.test.BGetRequestHandler", "com.test.CGetRequestHandler");
+        final Arguments arguments = CLI.getJobArguments(new String[] {
+                "-o", oldFile.toString(), "-n", newFile.toString(), "-p", "simple", "--streaming"});
+        final StringWriter report = new StringWriter();
+
+        final Main main = new Main(arguments, new Ds3NameTable(), null, new PrintStream(new ByteArrayOutputStream(), true, "UTF-8"));
+        assertThat(main.run(new Ds3SpecLoader(Ds3SpecParserImpl::new, true, null, null, null), report), is(true));
+
+        assertThat(report.toString(), containsString("AGetRequestHandler"));
+        assertThat(report.toString(), containsString("CGetRequestHandler"));
+        assertThat(report.toString(), not(containsString("BGetRequestHandler")));
+    }
+
+    @Test
+    public void run_FailedComparisonKeepsReport_Test() throws Exception {
+        final Path oldFile = createContract("com.test.AGetRequestHandler");
+        // The streaming comparison fails on requests which are not in name order
+        final Path newFile = createContract("com.test.CGetRequestHandler", "com.test.BGetRequestHandler");
+        final Path report = folder.newFolder("reports").toPath().resolve("report.html");
+        Files.write(report, "previous report".getBytes(StandardCharsets.UTF_8));
+        final Arguments arguments = CLI.getJobArguments(new String[] {
+                "-o", oldFile.toString(), "-n", newFile.toString(), "-d", report.toString(), "--streaming"});
+
+        final Main main = new Main(arguments, new Ds3NameTable(), null, new PrintStream(new ByteArrayOutputStream(), true, "UTF-8"));
+        try {
+            main.run(new Ds3SpecLoader(Ds3SpecParserImpl::new, true, null, null, null), null);
+            fail("Expected the comparison to fail");
+        } catch (final IOException e) {
+            assertThat(e.getMessage(), containsString("not in name order"));
+        }
+
+        assertThat(new String(Files.readAllBytes(report), StandardCharsets.UTF_8), is("previous report"));
+        try (final Stream<Path> files = Files.list(report.getParent())) {
+            assertThat(files.collect(Collectors.toList()), is(ImmutableList.of(report)));
+        }
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void getJobArguments_StreamingCheck_Test() throws Exception {
+        CLI.getJobArguments(new String[] {"-o", "old.xml", "-n", "new.xml", "--streaming", "--check"});
+    }
+
+    @Test
+    public void toVersionName_Test() {
+        assertThat(Main.toVersionName("specs/contract_3.4.xml"), is("contract_3.4"));
+        assertThat(Main.toVersionName("specs/contract_3.xml.gz"), is("contract_3"));
+        assertThat(Main.toVersionName("bundle.zip!/contract_3.xml"), is("contract_3"));
+        assertThat(Main.toVersionName("contract"), is("contract"));
+    }
+
+    @Test
+    public void toVersionNames_Distinct_Test() {
+        assertThat(Main.toVersionNames(ImmutableList.of("a/contract_1.xml", "b/contract_2.xml")),
+                is(ImmutableList.of("contract_1", "contract_2")));
+    }
+
+    @Test
+    public void toVersionNames_SameFileName_Test() {
+        assertThat(Main.toVersionNames(ImmutableList.of("v1/contract.xml", "v2/contract.xml.gz", "v3/other.xml")),
+                is(ImmutableList.of("v1_contract", "v2_contract", "other")));
+    }
+
+    @Test
+    public void toVersionNames_ZipEntries_Test() {
+        assertThat(Main.toVersionNames(ImmutableList.of("v1.zip!/contract.xml", "v2.zip!/contract.xml")),
+                is(ImmutableList.of("v1.zip_contract", "v2.zip_contract")));
+    }
+
+    @Test
+    public void toVersionNames_SameDirectory_Test() {
+        assertThat(Main.toVersionNames(ImmutableList.of("v1/contract.xml", "v1/contract.xml.gz", "v2/contract.xml")),
+                is(ImmutableList.of("v1_contract_1", "v1_contract_2", "v2_contract")));
+    }
+}
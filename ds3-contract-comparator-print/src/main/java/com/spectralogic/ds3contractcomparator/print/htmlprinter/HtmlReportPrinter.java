@@ -16,22 +16,34 @@
 package com.spectralogic.ds3contractcomparator.print.htmlprinter;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
 import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
+import com.spectralogic.ds3contractcomparator.Ds3SpecDiffSink;
+import com.spectralogic.ds3contractcomparator.breaking.BreakingChangeSummary;
 import com.spectralogic.ds3contractcomparator.models.Ds3ApiSpecDiff;
+import com.spectralogic.ds3contractcomparator.models.Ds3DiffSummary;
+import com.spectralogic.ds3contractcomparator.models.Ds3TypeImpact;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
 import com.spectralogic.ds3contractcomparator.models.request.AbstractDs3RequestDiff;
 import com.spectralogic.ds3contractcomparator.models.request.AddedDs3RequestDiff;
 import com.spectralogic.ds3contractcomparator.models.request.DeletedDs3RequestDiff;
 import com.spectralogic.ds3contractcomparator.models.request.Ds3RequestDiff;
 import com.spectralogic.ds3contractcomparator.models.request.ModifiedDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.request.NoChangeDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.request.RenamedDs3RequestDiff;
 import com.spectralogic.ds3contractcomparator.models.type.AbstractDs3TypeDiff;
 import com.spectralogic.ds3contractcomparator.models.type.AddedDs3TypeDiff;
 import com.spectralogic.ds3contractcomparator.models.type.DeletedDs3TypeDiff;
 import com.spectralogic.ds3contractcomparator.models.type.Ds3TypeDiff;
 import com.spectralogic.ds3contractcomparator.models.type.ModifiedDs3TypeDiff;
+import com.spectralogic.ds3contractcomparator.models.type.NoChangeDs3TypeDiff;
+import com.spectralogic.ds3contractcomparator.models.type.RenamedDs3TypeDiff;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
 import com.spectralogic.ds3contractcomparator.print.Ds3SpecDiffPrinter;
+import com.spectralogic.ds3contractcomparator.print.exceptions.RuntimeIOException;
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.generators.HtmlRequestTableGenerator;
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.generators.HtmlTypeTableGenerator;
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.HtmlReport;
@@ -39,52 +51,132 @@ import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.body.Sect
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.body.Table;
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.index.IndexEntry;
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.index.IndexSection;
+import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.summary.SummaryRow;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
 import freemarker.template.TemplateExceptionHandler;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
 
-import static com.spectralogic.ds3autogen.utils.NormalizingContractNamesUtil.removePath;
 import static com.spectralogic.ds3contractcomparator.print.utils.HtmlPrinterUtils.toRequestAnchor;
 import static com.spectralogic.ds3contractcomparator.print.utils.HtmlPrinterUtils.toRequestTitle;
 
 /**
  * Generates and prints the HTML report highlighting the differences between
- * two {@link Ds3ApiSpec}.
+ * two {@link Ds3ApiSpec}. As a {@link Ds3SpecDiffSink}, only the diffs which
+ * changed between contract versions are retained, and the report is printed
+ * once all diffs have been received.
  */
-public class HtmlReportPrinter implements Ds3SpecDiffPrinter {
-
-    private static final Logger LOG = LoggerFactory.getLogger(HtmlReportPrinter.class);
+public class HtmlReportPrinter implements Ds3SpecDiffPrinter, Ds3SpecDiffSink {
 
     private final Configuration config = new Configuration(Configuration.VERSION_2_3_23);
     private final Writer writer;
     private final String oldContractName;
     private final String newContractName;
+    private final Ds3NameTable names;
+
+    private ImmutableList.Builder<AbstractDs3RequestDiff> changedRequests = ImmutableList.builder();
+    private ImmutableList.Builder<AbstractDs3TypeDiff> changedTypes = ImmutableList.builder();
+    private Ds3DiffSummary summary;
+    private Ds3TypeImpact impact = Ds3TypeImpact.empty();
+    private BreakingChangeSummary breakingChanges = BreakingChangeSummary.empty();
 
     public HtmlReportPrinter(final Writer writer, final String oldContractName, final String newContractName) {
+        this(writer, oldContractName, newContractName, new Ds3NameTable());
+    }
+
+    /**
+     * @param names the name table shared with the comparison, see
+     *              {@link com.spectralogic.ds3contractcomparator.ComparatorOptions#getNameTable()}
+     */
+    public HtmlReportPrinter(
+            final Writer writer,
+            final String oldContractName,
+            final String newContractName,
+            final Ds3NameTable names) {
         this.writer = writer;
         this.oldContractName = oldContractName;
         this.newContractName = newContractName;
+        this.names = names;
 
         config.setDefaultEncoding("UTF-8");
         config.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
         config.setClassForTemplateLoading(HtmlReportPrinter.class, "/tmpls");
     }
 
+    /**
+     * Prints the report. A failure is thrown rather than logged, since the writer then holds a partial
+     * report which must not replace a complete one.
+     * @throws RuntimeIOException if the report cannot be written
+     * @throws IllegalStateException if the report template cannot be rendered
+     */
     @Override
     public void print(final Ds3ApiSpecDiff specDiff) {
         try {
-            generateReport(specDiff, oldContractName, newContractName, config, writer);
-        } catch (final Exception e) {
-            LOG.error("Unable to print report: " + e.getMessage(), e);
+            generateReport(specDiff, oldContractName, newContractName, names, config, writer);
+        } catch (final IOException e) {
+            throw new RuntimeIOException(e);
+        } catch (final TemplateException e) {
+            throw new IllegalStateException("Unable to render report: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void acceptRequestDiff(final AbstractDs3RequestDiff requestDiff) {
+        if (!(requestDiff instanceof NoChangeDs3RequestDiff)) {
+            changedRequests.add(requestDiff);
+        }
+    }
+
+    @Override
+    public void acceptTypeDiff(final AbstractDs3TypeDiff typeDiff) {
+        if (!(typeDiff instanceof NoChangeDs3TypeDiff)) {
+            changedTypes.add(typeDiff);
         }
     }
 
+    @Override
+    public void acceptImpact(final Ds3TypeImpact impact) {
+        this.impact = impact;
+    }
+
+    @Override
+    public void acceptBreakingChanges(final BreakingChangeSummary breakingChanges) {
+        this.breakingChanges = breakingChanges;
+    }
+
+    @Override
+    public void acceptSummary(final Ds3DiffSummary summary) {
+        this.summary = summary;
+    }
+
+    /**
+     * Prints the report containing all changed diffs received since the last report was printed.
+     * The report summary uses the received {@link Ds3DiffSummary} if one was provided, so that
+     * unchanged entities are counted even though they are not retained.
+     */
+    @Override
+    public void complete() {
+        final ImmutableList<AbstractDs3RequestDiff> requestDiffs = changedRequests.build();
+        final ImmutableList<AbstractDs3TypeDiff> typeDiffs = changedTypes.build();
+        final Ds3ApiSpecDiff specDiff = new Ds3ApiSpecDiff(
+                requestDiffs,
+                typeDiffs,
+                summary == null ? Ds3DiffSummary.of(requestDiffs, typeDiffs) : summary,
+                impact,
+                breakingChanges);
+        changedRequests = ImmutableList.builder();
+        changedTypes = ImmutableList.builder();
+        summary = null;
+        impact = Ds3TypeImpact.empty();
+        breakingChanges = BreakingChangeSummary.empty();
+        print(specDiff);
+    }
+
     /**
      * Generates the HTML report from a {@link Ds3ApiSpecDiff}
      */
@@ -92,30 +184,64 @@ public class HtmlReportPrinter implements Ds3SpecDiffPrinter {
             final Ds3ApiSpecDiff specDiff,
             final String oldContractName,
             final String newContractName,
+            final Ds3NameTable names,
             final Configuration config,
             final Writer writer) throws IOException, TemplateException {
 
         final HtmlReport report = new HtmlReport(
                 oldContractName,
                 newContractName,
-                toIndex(specDiff),
-                toSections(specDiff));
+                toSummaryRows(specDiff.getSummary()),
+                toIndex(specDiff, names),
+                toSections(specDiff, names));
 
         final Template template = config.getTemplate("html_report.ftl");
         template.process(report, writer);
     }
 
+    /**
+     * Creates the rows of the summary table, containing the number of commands and types of each
+     * {@link DiffStatus}, followed by the number of commands of each status per classification
+     */
+    static ImmutableList<SummaryRow> toSummaryRows(final Ds3DiffSummary summary) {
+        final ImmutableList.Builder<SummaryRow> builder = ImmutableList.builder();
+        builder.add(new SummaryRow(
+                "Commands",
+                summary.getRequestCount(DiffStatus.MODIFIED),
+                summary.getRequestCount(DiffStatus.RENAMED),
+                summary.getRequestCount(DiffStatus.DELETED),
+                summary.getRequestCount(DiffStatus.ADDED),
+                summary.getRequestCount(DiffStatus.NO_CHANGE)));
+        summary.getClassifications().forEach(classification -> builder.add(new SummaryRow(
+                "Commands (" + classification + ")",
+                summary.getRequestCount(classification, DiffStatus.MODIFIED),
+                summary.getRequestCount(classification, DiffStatus.RENAMED),
+                summary.getRequestCount(classification, DiffStatus.DELETED),
+                summary.getRequestCount(classification, DiffStatus.ADDED),
+                summary.getRequestCount(classification, DiffStatus.NO_CHANGE))));
+        builder.add(new SummaryRow(
+                "Types",
+                summary.getTypeCount(DiffStatus.MODIFIED),
+                summary.getTypeCount(DiffStatus.RENAMED),
+                summary.getTypeCount(DiffStatus.DELETED),
+                summary.getTypeCount(DiffStatus.ADDED),
+                summary.getTypeCount(DiffStatus.NO_CHANGE)));
+        return builder.build();
+    }
+
     /**
      * Creates the models representing the report index
      */
-    private static ImmutableList<IndexSection> toIndex(final Ds3ApiSpecDiff specDiff) {
+    private static ImmutableList<IndexSection> toIndex(final Ds3ApiSpecDiff specDiff, final Ds3NameTable names) {
         return ImmutableList.of(
-                new IndexSection("Modified Commands", toRequestIndexEntryList(specDiff.getRequests(), ModifiedDs3RequestDiff.class)),
-                new IndexSection("Deleted Commands", toRequestIndexEntryList(specDiff.getRequests(), DeletedDs3RequestDiff.class)),
-                new IndexSection("Added Commands", toRequestIndexEntryList(specDiff.getRequests(), AddedDs3RequestDiff.class)),
-                new IndexSection("Modified Types", toTypeIndexEntryList(specDiff.getTypes(), ModifiedDs3TypeDiff.class)),
-                new IndexSection("Deleted Types", toTypeIndexEntryList(specDiff.getTypes(), DeletedDs3TypeDiff.class)),
-                new IndexSection("Added Types", toTypeIndexEntryList(specDiff.getTypes(), AddedDs3TypeDiff.class)));
+                new IndexSection("Modified Commands", toRequestIndexEntryList(specDiff.getRequests(), ModifiedDs3RequestDiff.class, names)),
+                new IndexSection("Renamed Commands", toRequestIndexEntryList(specDiff.getRequests(), RenamedDs3RequestDiff.class, names)),
+                new IndexSection("Deleted Commands", toRequestIndexEntryList(specDiff.getRequests(), DeletedDs3RequestDiff.class, names)),
+                new IndexSection("Added Commands", toRequestIndexEntryList(specDiff.getRequests(), AddedDs3RequestDiff.class, names)),
+                new IndexSection("Modified Types", toTypeIndexEntryList(specDiff.getTypes(), ModifiedDs3TypeDiff.class, names)),
+                new IndexSection("Renamed Types", toTypeIndexEntryList(specDiff.getTypes(), RenamedDs3TypeDiff.class, names)),
+                new IndexSection("Deleted Types", toTypeIndexEntryList(specDiff.getTypes(), DeletedDs3TypeDiff.class, names)),
+                new IndexSection("Added Types", toTypeIndexEntryList(specDiff.getTypes(), AddedDs3TypeDiff.class, names)));
     }
 
     /**
@@ -123,24 +249,25 @@ public class HtmlReportPrinter implements Ds3SpecDiffPrinter {
      */
     private static ImmutableList<IndexEntry> toTypeIndexEntryList(
             final ImmutableList<AbstractDs3TypeDiff> typeDiffs,
-            final Class<? extends AbstractDs3TypeDiff> typeClass) {
+            final Class<? extends AbstractDs3TypeDiff> typeClass,
+            final Ds3NameTable names) {
         return typeDiffs.stream()
                 .filter(t -> t.getClass() == typeClass)
-                .map(HtmlReportPrinter::toTypeIndexEntry)
+                .map(typeDiff -> toTypeIndexEntry(typeDiff, names))
                 .collect(GuavaCollectors.immutableList());
     }
 
     /**
      * Creates the index table entry representing a single {@link Ds3TypeDiff}
      */
-    private static IndexEntry toTypeIndexEntry(final AbstractDs3TypeDiff typeDiff) {
+    private static IndexEntry toTypeIndexEntry(final AbstractDs3TypeDiff typeDiff, final Ds3NameTable names) {
         final Ds3Type type;
         if (typeDiff instanceof DeletedDs3TypeDiff) {
             type = typeDiff.getOldDs3Type();
         } else {
             type = typeDiff.getNewDs3Type();
         }
-        final String name = removePath(type.getName());
+        final String name = names.simpleName(type.getName());
         return new IndexEntry(name, name);
     }
 
@@ -149,17 +276,18 @@ public class HtmlReportPrinter implements Ds3SpecDiffPrinter {
      */
     private static ImmutableList<IndexEntry> toRequestIndexEntryList(
             final ImmutableList<AbstractDs3RequestDiff> requestDiffs,
-            final Class<? extends  AbstractDs3RequestDiff> requestClass) {
+            final Class<? extends  AbstractDs3RequestDiff> requestClass,
+            final Ds3NameTable names) {
         return requestDiffs.stream()
                 .filter(r -> r.getClass() == requestClass)
-                .map(HtmlReportPrinter::toRequestIndexEntry)
+                .map(requestDiff -> toRequestIndexEntry(requestDiff, names))
                 .collect(GuavaCollectors.immutableList());
     }
 
     /**
      * Creates the index table entry for a single {@link Ds3RequestDiff}
      */
-    private static IndexEntry toRequestIndexEntry(final AbstractDs3RequestDiff requestDiff) {
+    private static IndexEntry toRequestIndexEntry(final AbstractDs3RequestDiff requestDiff, final Ds3NameTable names) {
         final Ds3Request request;
         if (requestDiff instanceof DeletedDs3RequestDiff) {
             request = requestDiff.getOldDs3Request();
@@ -167,21 +295,23 @@ public class HtmlReportPrinter implements Ds3SpecDiffPrinter {
             request = requestDiff.getNewDs3Request();
         }
         return new IndexEntry(
-                toRequestTitle(request.getName(), request.getClassification()),
-                toRequestAnchor(request.getName(), request.getClassification()));
+                toRequestTitle(request.getName(), request.getClassification(), names),
+                toRequestAnchor(request.getName(), request.getClassification(), names));
     }
 
     /**
      * Creates the body sections of the report
      */
-    private static ImmutableList<Section> toSections(final Ds3ApiSpecDiff specDiff) {
+    private static ImmutableList<Section> toSections(final Ds3ApiSpecDiff specDiff, final Ds3NameTable names) {
         return ImmutableList.of(
-                new Section("Modified Commands", toRequestTableList(specDiff.getRequests(), ModifiedDs3RequestDiff.class)),
-                new Section("Deleted Commands", toRequestTableList(specDiff.getRequests(), DeletedDs3RequestDiff.class)),
-                new Section("Added Commands", toRequestTableList(specDiff.getRequests(), AddedDs3RequestDiff.class)),
-                new Section("Modified Types", toTypeTableList(specDiff.getTypes(), ModifiedDs3TypeDiff.class)),
-                new Section("Deleted Types", toTypeTableList(specDiff.getTypes(), DeletedDs3TypeDiff.class)),
-                new Section("Added Types", toTypeTableList(specDiff.getTypes(), AddedDs3TypeDiff.class)));
+                new Section("Modified Commands", toRequestTableList(specDiff.getRequests(), ModifiedDs3RequestDiff.class, names)),
+                new Section("Renamed Commands", toRequestTableList(specDiff.getRequests(), RenamedDs3RequestDiff.class, names)),
+                new Section("Deleted Commands", toRequestTableList(specDiff.getRequests(), DeletedDs3RequestDiff.class, names)),
+                new Section("Added Commands", toRequestTableList(specDiff.getRequests(), AddedDs3RequestDiff.class, names)),
+                new Section("Modified Types", toTypeTableList(specDiff, ModifiedDs3TypeDiff.class, names)),
+                new Section("Renamed Types", toTypeTableList(specDiff, RenamedDs3TypeDiff.class, names)),
+                new Section("Deleted Types", toTypeTableList(specDiff, DeletedDs3TypeDiff.class, names)),
+                new Section("Added Types", toTypeTableList(specDiff, AddedDs3TypeDiff.class, names)));
     }
 
     /**
@@ -189,22 +319,62 @@ public class HtmlReportPrinter implements Ds3SpecDiffPrinter {
      */
     private static ImmutableList<Table> toRequestTableList(
             final ImmutableList<AbstractDs3RequestDiff> requestDiffs,
-            final Class<? extends  AbstractDs3RequestDiff> requestClass) {
+            final Class<? extends  AbstractDs3RequestDiff> requestClass,
+            final Ds3NameTable names) {
         return requestDiffs.stream()
                 .filter(r -> r.getClass() == requestClass)
-                .map(HtmlRequestTableGenerator::toRequestTable)
+                .map(requestDiff -> HtmlRequestTableGenerator.toRequestTable(requestDiff, names))
                 .collect(GuavaCollectors.immutableList());
     }
 
     /**
-     * Creates the report tables for the specified type of {@link AbstractDs3TypeDiff}
+     * Creates the report tables for the specified type of {@link AbstractDs3TypeDiff}, each listing
+     * the commands affected by the type according to the {@link Ds3TypeImpact} of the diff
      */
     private static ImmutableList<Table> toTypeTableList(
-            final ImmutableList<AbstractDs3TypeDiff> typeDiffs,
-            final Class<? extends AbstractDs3TypeDiff> typeClass) {
-        return typeDiffs.stream()
+            final Ds3ApiSpecDiff specDiff,
+            final Class<? extends AbstractDs3TypeDiff> typeClass,
+            final Ds3NameTable names) {
+        return specDiff.getTypes().stream()
                 .filter(t -> t.getClass() == typeClass)
-                .map(HtmlTypeTableGenerator::toTypeTable)
+                .map(typeDiff -> {
+                    final Table table = HtmlTypeTableGenerator.toTypeTable(typeDiff, names);
+                    final Ds3Type type = typeDiff instanceof DeletedDs3TypeDiff ? typeDiff.getOldDs3Type() : typeDiff.getNewDs3Type();
+                    final ImmutableList<IndexEntry> affectedRequests = toAffectedRequestEntries(
+                            specDiff.getImpact().getAffectedRequests(type.getName()), specDiff.getRequests(), names);
+                    return affectedRequests.isEmpty()
+                            ? table
+                            : new Table(table.getTitle(), table.getAnchor(), table.getRows(), affectedRequests);
+                })
+                .collect(GuavaCollectors.immutableList());
+    }
+
+    /**
+     * Creates an entry for each affected request, which links to the request's table when the request
+     * also changed, and otherwise only names it because unchanged requests are not within the report
+     */
+    static ImmutableList<IndexEntry> toAffectedRequestEntries(
+            final ImmutableSet<String> affectedRequests,
+            final ImmutableList<AbstractDs3RequestDiff> requestDiffs,
+            final Ds3NameTable names) {
+        if (affectedRequests.isEmpty()) {
+            return ImmutableList.of();
+        }
+        final Map<String, IndexEntry> changedRequests = new HashMap<>();
+        for (final AbstractDs3RequestDiff requestDiff : requestDiffs) {
+            if (!(requestDiff instanceof NoChangeDs3RequestDiff)) {
+                final IndexEntry entry = toRequestIndexEntry(requestDiff, names);
+                if (requestDiff.getOldDs3Request() != null) {
+                    changedRequests.put(requestDiff.getOldDs3Request().getName(), entry);
+                }
+                if (requestDiff.getNewDs3Request() != null) {
+                    changedRequests.put(requestDiff.getNewDs3Request().getName(), entry);
+                }
+            }
+        }
+        return affectedRequests.stream()
+                .sorted()
+                .map(name -> changedRequests.getOrDefault(name, new IndexEntry(names.simpleName(name), "")))
                 .collect(GuavaCollectors.immutableList());
     }
 }
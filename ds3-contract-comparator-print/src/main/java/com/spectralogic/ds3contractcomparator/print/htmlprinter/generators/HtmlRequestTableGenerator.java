@@ -18,12 +18,11 @@ package com.spectralogic.ds3contractcomparator.print.htmlprinter.generators;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
 import com.spectralogic.ds3autogen.api.models.enums.Classification;
 import com.spectralogic.ds3contractcomparator.models.request.*;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.body.Table;
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.body.rows.RowConstants;
 
-import static com.spectralogic.ds3contractcomparator.print.htmlprinter.generators.row.AddedHtmlRowGenerator.createAddedRows;
-import static com.spectralogic.ds3contractcomparator.print.htmlprinter.generators.row.DeletedHtmlRowGenerator.createDeletedRows;
-import static com.spectralogic.ds3contractcomparator.print.htmlprinter.generators.row.ModifiedHtmlRowGenerator.createModifiedRows;
+import static com.spectralogic.ds3contractcomparator.print.htmlprinter.generators.row.DeltaHtmlRowGenerator.createDeltaRows;
 import static com.spectralogic.ds3contractcomparator.print.utils.HtmlPrinterUtils.toRequestAnchor;
 import static com.spectralogic.ds3contractcomparator.print.utils.HtmlPrinterUtils.toRequestTitle;
 
@@ -41,15 +40,15 @@ public final class HtmlRequestTableGenerator {
      * either a {@link AddedDs3RequestDiff}, {@link DeletedDs3RequestDiff}, or
      * a {@link ModifiedDs3RequestDiff}. Else an exception is thrown.
      */
-    public static Table toRequestTable(final AbstractDs3RequestDiff requestDiff) {
+    public static Table toRequestTable(final AbstractDs3RequestDiff requestDiff, final Ds3NameTable names) {
         if (requestDiff instanceof AddedDs3RequestDiff) {
-            return toAddedRequestTable(requestDiff);
+            return toAddedRequestTable(requestDiff, names);
         }
         if (requestDiff instanceof DeletedDs3RequestDiff) {
-            return toDeletedRequestTable(requestDiff);
+            return toDeletedRequestTable(requestDiff, names);
         }
         if (requestDiff instanceof ModifiedDs3RequestDiff) {
-            return toModifiedRequestTable(requestDiff);
+            return toModifiedRequestTable(requestDiff, names);
         }
         throw new IllegalArgumentException("Cannot convert AbstractDs3RequestDiff of class: " + requestDiff.getClass());
     }
@@ -58,38 +57,38 @@ public final class HtmlRequestTableGenerator {
      * Converts a {@link AddedDs3RequestDiff} into a {@link Table} representing
      * the {@link Ds3Request} that was added.
      */
-    static Table toAddedRequestTable(final AbstractDs3RequestDiff requestDiff) {
+    static Table toAddedRequestTable(final AbstractDs3RequestDiff requestDiff, final Ds3NameTable names) {
         if (!(requestDiff instanceof AddedDs3RequestDiff)) {
             throw new IllegalArgumentException("Only converts classes of AddedDs3RequestDiff to Table, does not support: " + requestDiff.getClass());
         }
         final Ds3Request added = requestDiff.getNewDs3Request();
 
         return new Table(
-                toRequestTitle(added.getName(), added.getClassification()),
-                toRequestAnchor(added.getName(), added.getClassification()),
-                createAddedRows(added, RowConstants.STARTING_INDENT));
+                toRequestTitle(added.getName(), added.getClassification(), names),
+                toRequestAnchor(added.getName(), added.getClassification(), names),
+                createDeltaRows(requestDiff.getDelta(), RowConstants.STARTING_INDENT, names));
     }
 
     /**
      * Converts a {@link DeletedDs3RequestDiff} into a {@link Table} representing
      * the {@link Ds3Request} that was removed.
      */
-    static Table toDeletedRequestTable(final AbstractDs3RequestDiff requestDiff) {
+    static Table toDeletedRequestTable(final AbstractDs3RequestDiff requestDiff, final Ds3NameTable names) {
         if (!(requestDiff instanceof DeletedDs3RequestDiff)) {
             throw new IllegalArgumentException("Only converts classes of DeletedDs3RequestDiff to Table, does not support: " + requestDiff.getClass());
         }
         final Ds3Request deleted = requestDiff.getOldDs3Request();
         return new Table(
-                toRequestTitle(deleted.getName(), deleted.getClassification()),
-                toRequestAnchor(deleted.getName(), deleted.getClassification()),
-                createDeletedRows(deleted, RowConstants.STARTING_INDENT));
+                toRequestTitle(deleted.getName(), deleted.getClassification(), names),
+                toRequestAnchor(deleted.getName(), deleted.getClassification(), names),
+                createDeltaRows(requestDiff.getDelta(), RowConstants.STARTING_INDENT, names));
     }
 
     /**
      * Converts a {@link ModifiedDs3RequestDiff} into a {@link Table} representing
      * the changes between versions of the {@link Ds3Request}.
      */
-    static Table toModifiedRequestTable(final AbstractDs3RequestDiff requestDiff) {
+    static Table toModifiedRequestTable(final AbstractDs3RequestDiff requestDiff, final Ds3NameTable names) {
         if (!(requestDiff instanceof ModifiedDs3RequestDiff)) {
             throw new IllegalArgumentException("Only converts classes of ModifiedDs3RequestDiff to Table, does not support: " + requestDiff.getClass());
         }
@@ -97,8 +96,8 @@ public final class HtmlRequestTableGenerator {
         final String name = requestDiff.getNewDs3Request().getName();
         final Classification classification = requestDiff.getNewDs3Request().getClassification();
         return new Table(
-                toRequestTitle(name, classification),
-                toRequestAnchor(name, classification),
-                createModifiedRows(requestDiff.getOldDs3Request(), requestDiff.getNewDs3Request(), RowConstants.STARTING_INDENT));
+                toRequestTitle(name, classification, names),
+                toRequestAnchor(name, classification, names),
+                createDeltaRows(requestDiff.getDelta(), RowConstants.STARTING_INDENT, names));
     }
 }
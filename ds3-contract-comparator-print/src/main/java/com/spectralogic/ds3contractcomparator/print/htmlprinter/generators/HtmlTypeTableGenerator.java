@@ -17,13 +17,11 @@ package com.spectralogic.ds3contractcomparator.print.htmlprinter.generators;
 
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
 import com.spectralogic.ds3contractcomparator.models.type.*;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.body.Table;
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.body.rows.RowConstants;
 
-import static com.spectralogic.ds3autogen.utils.NormalizingContractNamesUtil.removePath;
-import static com.spectralogic.ds3contractcomparator.print.htmlprinter.generators.row.AddedHtmlRowGenerator.createAddedRows;
-import static com.spectralogic.ds3contractcomparator.print.htmlprinter.generators.row.DeletedHtmlRowGenerator.createDeletedRows;
-import static com.spectralogic.ds3contractcomparator.print.htmlprinter.generators.row.ModifiedHtmlRowGenerator.createModifiedRows;
+import static com.spectralogic.ds3contractcomparator.print.htmlprinter.generators.row.DeltaHtmlRowGenerator.createDeltaRows;
 
 /**
  * Generates the {@link Table} that represents the HTML representation of a {@link Ds3TypeDiff}.
@@ -39,15 +37,15 @@ public final class HtmlTypeTableGenerator {
      * either an {@link AddedDs3TypeDiff}, {@link DeletedDs3TypeDiff}, or
      * a {@link ModifiedDs3TypeDiff}. Else an exception is thrown.
      */
-    public static Table toTypeTable(final AbstractDs3TypeDiff typeDiff) {
+    public static Table toTypeTable(final AbstractDs3TypeDiff typeDiff, final Ds3NameTable names) {
         if (typeDiff instanceof AddedDs3TypeDiff) {
-            return toAddedTypeTable(typeDiff);
+            return toAddedTypeTable(typeDiff, names);
         }
         if (typeDiff instanceof DeletedDs3TypeDiff) {
-            return toDeletedTypeTable(typeDiff);
+            return toDeletedTypeTable(typeDiff, names);
         }
         if (typeDiff instanceof ModifiedDs3TypeDiff) {
-            return toModifiedTypeTable(typeDiff);
+            return toModifiedTypeTable(typeDiff, names);
         }
         throw new IllegalArgumentException("Cannot convert AbstractDs3TypeDiff of class: " + typeDiff.getClass());
     }
@@ -56,41 +54,41 @@ public final class HtmlTypeTableGenerator {
      * Converts a {@link AddedDs3TypeDiff} into a {@link Table} representing
      * the {@link Ds3Type} that was added.
      */
-    static Table toAddedTypeTable(final AbstractDs3TypeDiff typDiff) {
+    static Table toAddedTypeTable(final AbstractDs3TypeDiff typDiff, final Ds3NameTable names) {
         if (!(typDiff instanceof AddedDs3TypeDiff)) {
             throw new IllegalArgumentException("Only converts classes of AddedDs3TypeDiff to Table, does not support: " + typDiff.getClass());
         }
         final Ds3Type added = typDiff.getNewDs3Type();
-        final String name = removePath(added.getName());
-        return new Table(name, name, createAddedRows(added, RowConstants.STARTING_INDENT));
+        final String name = names.simpleName(added.getName());
+        return new Table(name, name, createDeltaRows(typDiff.getDelta(), RowConstants.STARTING_INDENT, names));
     }
 
     /**
      * Converts a {@link DeletedDs3TypeDiff} into a {@link Table} representing
      * the {@link Ds3Type} that was removed.
      */
-    static Table toDeletedTypeTable(final AbstractDs3TypeDiff typeDiff) {
+    static Table toDeletedTypeTable(final AbstractDs3TypeDiff typeDiff, final Ds3NameTable names) {
         if (!(typeDiff instanceof DeletedDs3TypeDiff)) {
             throw new IllegalArgumentException("Only converts classes of DeletedDs3TypeDiff to Table, does not support: " + typeDiff.getClass());
         }
         final Ds3Type deleted = typeDiff.getOldDs3Type();
-        final String name = removePath(deleted.getName());
-        return new Table(name, name, createDeletedRows(deleted, RowConstants.STARTING_INDENT));
+        final String name = names.simpleName(deleted.getName());
+        return new Table(name, name, createDeltaRows(typeDiff.getDelta(), RowConstants.STARTING_INDENT, names));
     }
 
     /**
      * Converts a {@link ModifiedDs3TypeDiff} into a {@link Table} representing
      * the changes between versions of the {@link Ds3Type}.
      */
-    static Table toModifiedTypeTable(final AbstractDs3TypeDiff typeDiff) {
+    static Table toModifiedTypeTable(final AbstractDs3TypeDiff typeDiff, final Ds3NameTable names) {
         if (!(typeDiff instanceof ModifiedDs3TypeDiff)) {
             throw new IllegalArgumentException("Only converts classes of ModifiedDs3TypeDiff to Table, does not support: " + typeDiff.getClass());
         }
 
-        final String name = removePath(typeDiff.getNewDs3Type().getName());
+        final String name = names.simpleName(typeDiff.getNewDs3Type().getName());
         return new Table(
                 name,
                 name,
-                createModifiedRows(typeDiff.getOldDs3Type(), typeDiff.getNewDs3Type(), RowConstants.STARTING_INDENT));
+                createDeltaRows(typeDiff.getDelta(), RowConstants.STARTING_INDENT, names));
     }
 }
@@ -0,0 +1,166 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.print.htmlprinter.generators.row;
+
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3contractcomparator.models.delta.*;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
+import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.body.rows.*;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Utilities for generating the {@link ImmutableList} of {@link Row} which represent
+ * a Ds3 Object by walking its {@link Ds3EntityDelta}. Added and deleted entities are
+ * rendered entirely as added or deleted rows, and modified entities are rendered
+ * with the old and new values of each property side by side.
+ */
+public final class DeltaHtmlRowGenerator {
+
+    private DeltaHtmlRowGenerator() {
+        //pass
+    }
+
+    /**
+     * Constructs the rows that represent the entity delta, retrieving the simple names of
+     * displayed names from the {@code names} table
+     */
+    public static ImmutableList<Row> createDeltaRows(final Ds3EntityDelta delta, final int indent, final Ds3NameTable names) {
+        final ImmutableList.Builder<Row> builder = ImmutableList.builder();
+        switch (delta.getStatus()) {
+            case ADDED:
+                addAddedRows(delta, indent, names, builder);
+                break;
+            case DELETED:
+                addDeletedRows(delta, indent, names, builder);
+                break;
+            default:
+                addModifiedRows(delta, indent, names, builder);
+                break;
+        }
+        return builder.build();
+    }
+
+    /**
+     * Adds a row for each property within the newer version of the entity
+     */
+    private static void addAddedRows(
+            final Ds3EntityDelta delta,
+            final int indent,
+            final Ds3NameTable names,
+            final ImmutableList.Builder<Row> builder) {
+        for (final Ds3DeltaNode field : delta.getFields()) {
+            final int fieldIndent = toFieldIndent(indent, delta, field);
+            if (field instanceof Ds3ListDelta) {
+                final Ds3ListDelta list = (Ds3ListDelta) field;
+                if (!list.getEntries().isEmpty()) {
+                    builder.add(new NoChangeRow(fieldIndent, field.getProperty(), ""));
+                    list.getEntries().forEach(entry -> addAddedRows(entry, fieldIndent + 1, names, builder));
+                }
+            } else {
+                final String newValue = toDisplayValue(field.getProperty(), ((Ds3ValueDelta) field).getNewValue(), names);
+                if (newValue != null) {
+                    builder.add(new AddedRow(fieldIndent, field.getProperty(), newValue));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a row for each property within the older version of the entity
+     */
+    private static void addDeletedRows(
+            final Ds3EntityDelta delta,
+            final int indent,
+            final Ds3NameTable names,
+            final ImmutableList.Builder<Row> builder) {
+        for (final Ds3DeltaNode field : delta.getFields()) {
+            final int fieldIndent = toFieldIndent(indent, delta, field);
+            if (field instanceof Ds3ListDelta) {
+                final Ds3ListDelta list = (Ds3ListDelta) field;
+                if (!list.getEntries().isEmpty()) {
+                    builder.add(new NoChangeRow(fieldIndent, field.getProperty(), ""));
+                    list.getEntries().forEach(entry -> addDeletedRows(entry, fieldIndent + 1, names, builder));
+                }
+            } else {
+                final String oldValue = toDisplayValue(field.getProperty(), ((Ds3ValueDelta) field).getOldValue(), names);
+                if (oldValue != null) {
+                    builder.add(new DeletedRow(fieldIndent, field.getProperty(), oldValue));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a row for each property within either version of the entity. Unchanged values are
+     * added as {@link NoChangeRow}, and values which differ or only exist within one version are
+     * added as {@link ModifiedRow}.
+     */
+    private static void addModifiedRows(
+            final Ds3EntityDelta delta,
+            final int indent,
+            final Ds3NameTable names,
+            final ImmutableList.Builder<Row> builder) {
+        for (final Ds3DeltaNode field : delta.getFields()) {
+            final int fieldIndent = toFieldIndent(indent, delta, field);
+            if (field instanceof Ds3ListDelta) {
+                final Ds3ListDelta list = (Ds3ListDelta) field;
+                if (!list.getEntries().isEmpty()) {
+                    builder.add(new NoChangeRow(fieldIndent, field.getProperty(), ""));
+                    list.getEntries().forEach(entry -> addModifiedRows(entry, fieldIndent + 1, names, builder));
+                }
+            } else {
+                final Ds3ValueDelta value = (Ds3ValueDelta) field;
+                final String oldValue = toDisplayValue(field.getProperty(), value.getOldValue(), names);
+                final String newValue = toDisplayValue(field.getProperty(), value.getNewValue(), names);
+                if (oldValue != null && oldValue.equals(newValue)) {
+                    builder.add(new NoChangeRow(fieldIndent, field.getProperty(), oldValue));
+                } else if (oldValue != null || newValue != null) {
+                    builder.add(new ModifiedRow(
+                            fieldIndent,
+                            field.getProperty(),
+                            oldValue != null ? oldValue : RowConstants.NA,
+                            newValue != null ? newValue : RowConstants.NA));
+                }
+            }
+        }
+    }
+
+    /**
+     * The unique property of an entity remains at the current indent, while all other
+     * properties are indented one additional level so that list entries are visually distinct.
+     */
+    static int toFieldIndent(final int curIndent, final Ds3EntityDelta delta, final Ds3DeltaNode field) {
+        return delta.isUniqueProperty(field) ? curIndent : curIndent + 1;
+    }
+
+    /**
+     * Converts a value into the form displayed within the report. Any path is removed
+     * from "name" and "type" properties, and the simple name is shared by every value with that path.
+     */
+    @Nullable
+    static String toDisplayValue(final String property, @Nullable final String value, final Ds3NameTable names) {
+        if (value == null) {
+            return null;
+        }
+        switch (property.toLowerCase()) {
+            case "name":
+            case "type":
+                return value.contains(".") ? names.simpleName(value) : value;
+            default:
+                return value;
+        }
+    }
+}
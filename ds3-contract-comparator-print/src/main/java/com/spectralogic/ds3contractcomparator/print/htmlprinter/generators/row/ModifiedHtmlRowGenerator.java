@@ -16,12 +16,11 @@
 package com.spectralogic.ds3contractcomparator.print.htmlprinter.generators.row;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableSet;
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.body.rows.ModifiedRow;
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.body.rows.NoChangeRow;
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.body.rows.Row;
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.body.rows.RowConstants;
+import com.spectralogic.ds3contractcomparator.utils.AlignedPair;
 import org.apache.commons.beanutils.BeanUtils;
 import org.apache.commons.beanutils.PropertyUtils;
 import org.jetbrains.annotations.Nullable;
@@ -33,8 +32,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.Optional;
 
 import static com.spectralogic.ds3autogen.utils.ConverterUtil.hasContent;
-import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
 import static com.spectralogic.ds3contractcomparator.print.utils.HtmlRowGeneratorUtils.*;
+import static com.spectralogic.ds3contractcomparator.utils.AlignmentUtils.align;
 
 /**
  * Utilities for generating the {@link ImmutableList} of {@link Row} which
@@ -80,13 +79,14 @@ public final class ModifiedHtmlRowGenerator {
                     if (hasContent(oldObjList) || hasContent(newObjList)) {
                         final String uniqueProperty = getPropertyNameFromList(oldObjList, newObjList);
 
-                        final ImmutableSet<String> parameterUnion = toPropertyUnion(oldObjList, newObjList, uniqueProperty);
-                        final ImmutableMap<String, Object> oldMap = toPropertyMap(oldObjList, uniqueProperty);
-                        final ImmutableMap<String, Object> newMap = toPropertyMap(newObjList, uniqueProperty);
+                        final ImmutableList<AlignedPair<Object, Object>> entries = align(
+                                oldObjList,
+                                newObjList,
+                                object -> getPropertyKey(object, uniqueProperty));
 
-                        parameterUnion.forEach(param -> builder.addAll(createModifiedRows(
-                                oldMap.get(param),
-                                newMap.get(param),
+                        entries.forEach(entry -> builder.addAll(createModifiedRows(
+                                entry.getOld(),
+                                entry.getNew(),
                                 fieldIndent + 1)));
                     }
                 } else if (oldValue.isPresent() && newValue.isPresent() && oldValue.get().equals(newValue.get())) {
@@ -186,55 +186,17 @@ public final class ModifiedHtmlRowGenerator {
     }
 
     /**
-     * Creates a union of all values for the specified property in both lists of objects
+     * Retrieves the value of the specified property in string form, which is used to align
+     * the entries of two lists of objects. Returns null if the property cannot be read.
      */
-    static <T> ImmutableSet<String> toPropertyUnion(
-            final ImmutableList<T> oldList,
-            final ImmutableList<T> newList,
-            final String property) {
-        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
-        builder.addAll(getPropertyValues(oldList, property));
-        builder.addAll(getPropertyValues(newList, property));
-        return builder.build();
-    }
-
-    /**
-     * Gets the set of property values from a list of objects
-     */
-    static <T> ImmutableSet<String> getPropertyValues(final ImmutableList<T> list, final String property) {
-        if (isEmpty(list)) {
-            return ImmutableSet.of();
+    @Nullable
+    static String getPropertyKey(final Object object, final String property) {
+        try {
+            return BeanUtils.getProperty(object, property);
+        } catch (final IllegalAccessException|InvocationTargetException|NoSuchMethodException e) {
+            LOG.warn("Cannot retrieve property " + property + " of object from class " + object.getClass().toString()
+                            + ": " + e.getMessage(), e);
+            return null;
         }
-        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
-        list.forEach(o -> {
-            try {
-                builder.add(BeanUtils.getProperty(o, property));
-            } catch (final IllegalAccessException|InvocationTargetException |NoSuchMethodException e) {
-                LOG.error("Cannot create property union of objects from class " + o.getClass().toString()
-                                + " using property " + property + ": " + e.getMessage(), e);
-            }
-        });
-
-        return builder.build();
-    }
-
-    /**
-     * Creates a map between the specified property in string form, and the object containing the property.
-     */
-    static <T> ImmutableMap<String, T> toPropertyMap(final ImmutableList<T> objects, final String property) {
-        if (isEmpty(objects)) {
-            return ImmutableMap.of();
-        }
-        final ImmutableMap.Builder<String, T> builder = ImmutableMap.builder();
-
-        objects.forEach(o -> {
-            try {
-                builder.put(BeanUtils.getProperty(o, property), o);
-            } catch (final IllegalAccessException|InvocationTargetException|NoSuchMethodException e) {
-                LOG.warn("Cannot create property map of object from class " + o.getClass().toString()
-                                + " using property " + property + ": " + e.getMessage(), e);
-            }
-        });
-        return builder.build();
     }
 }
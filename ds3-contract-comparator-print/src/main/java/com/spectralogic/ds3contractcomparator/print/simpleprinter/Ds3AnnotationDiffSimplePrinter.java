@@ -15,20 +15,16 @@
 
 package com.spectralogic.ds3contractcomparator.print.simpleprinter;
 
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableSet;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Annotation;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3AnnotationElement;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityDelta;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3ListDelta;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
 import com.spectralogic.ds3contractcomparator.print.utils.WriterHelper;
-import org.jetbrains.annotations.Nullable;
 
-import static com.spectralogic.ds3autogen.utils.ConverterUtil.hasContent;
-import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
-import static com.spectralogic.ds3autogen.utils.NormalizingContractNamesUtil.removePath;
 import static com.spectralogic.ds3contractcomparator.print.simpleprinter.Ds3AnnotationElementDiffSimplePrinter.printAnnotationElementDiff;
 import static com.spectralogic.ds3contractcomparator.print.utils.SimplePrinterUtils.indent;
-import static com.spectralogic.ds3contractcomparator.print.utils.SimplePrinterUtils.printModifiedLine;
+import static com.spectralogic.ds3contractcomparator.print.utils.SimplePrinterUtils.printKeyLine;
 
 /**
  * Prints the difference in a {@link Ds3Annotation} between two versions of a contract
@@ -40,102 +36,21 @@ final class Ds3AnnotationDiffSimplePrinter {
     /**
      * Prints the difference in a {@link Ds3Annotation} between two versions of a contract
      */
-    static void printAnnotationDiff(
-            @Nullable final Ds3Annotation oldAnnotation,
-            @Nullable final Ds3Annotation newAnnotation,
-            final WriterHelper writer) {
-        if (oldAnnotation == null && newAnnotation == null) {
-            throw new IllegalArgumentException("Cannot print difference between two null Ds3Annotations");
-        }
-        if (oldAnnotation == null) {
-            printAddedAnnotation(newAnnotation, writer);
-            return;
-        }
-        if (newAnnotation == null) {
-            printDeletedAnnotation(oldAnnotation, writer);
-            return;
-        }
-        printModifiedAnnotation(oldAnnotation, newAnnotation, writer);
-    }
-
-    /**
-     * Prints a {@link Ds3Annotation} that exists in the newer contract but not in the older contract
-     */
-    private static void printAddedAnnotation(final Ds3Annotation newAnnotation, final WriterHelper writer) {
-        printModifiedLine("AnnotationName:", "N/A", removePath(newAnnotation.getName()), INDENT, writer);
-        printAnnotationElements(ImmutableList.of(), newAnnotation.getDs3AnnotationElements(), writer);
-    }
-
-    /**
-     * Prints a {@link Ds3Annotation} that exists in the older contract but not in the newer contract
-     */
-    private static void printDeletedAnnotation(final Ds3Annotation oldAnnotation, final WriterHelper writer) {
-        printModifiedLine("AnnotationName:", removePath(oldAnnotation.getName()), "N/A", INDENT, writer);
-        printAnnotationElements(oldAnnotation.getDs3AnnotationElements(), ImmutableList.of(), writer);
-    }
-
-    /**
-     * Prints a {@link Ds3Annotation} that was modified between contract versions
-     */
-    private static void printModifiedAnnotation(
-            final Ds3Annotation oldAnnotation,
-            final Ds3Annotation newAnnotation,
-            final WriterHelper writer) {
-        printModifiedLine("AnnotationName:", removePath(oldAnnotation.getName()), removePath(newAnnotation.getName()), INDENT, writer);
-        printAnnotationElements(oldAnnotation.getDs3AnnotationElements(), newAnnotation.getDs3AnnotationElements(), writer);
+    static void printAnnotationDiff(final Ds3EntityDelta annotation, final WriterHelper writer, final Ds3NameTable names) {
+        printKeyLine("AnnotationName:", annotation.getValue("name"), names::simpleName, INDENT, writer);
+        printAnnotationElements(annotation.getList("ds3AnnotationElements"), writer, names);
     }
 
     /**
-     * Prints the changes between two {@link ImmutableList} of {@link Ds3AnnotationElement}. If both lists are
-     * empty, then nothing is printed.
+     * Prints the changes within a list of {@link Ds3AnnotationElement}. If both versions
+     * of the list are empty, then nothing is printed.
      */
-    private static void printAnnotationElements(
-            final ImmutableList<Ds3AnnotationElement> oldElements,
-            final ImmutableList<Ds3AnnotationElement> newElements,
-            final WriterHelper writer) {
-        if (isEmpty(oldElements) && isEmpty(newElements)) {
+    private static void printAnnotationElements(final Ds3ListDelta elements, final WriterHelper writer, final Ds3NameTable names) {
+        if (elements.getEntries().isEmpty()) {
             //do not print empty values
             return;
         }
         writer.append(indent(INDENT + 1)).append("AnnotationElements:").append("\n");
-
-        final ImmutableSet<String> annotationNames = getAnnotationElementNameUnion(oldElements, newElements);
-        final ImmutableMap<String, Ds3AnnotationElement> oldParamMap = toAnnotationElementMap(oldElements);
-        final ImmutableMap<String, Ds3AnnotationElement> newParamMap = toAnnotationElementMap(newElements);
-
-        annotationNames.forEach(name -> printAnnotationElementDiff(
-                oldParamMap.get(name),
-                newParamMap.get(name),
-                writer));
-    }
-
-    /**
-     * Gets the union of names of all params within two {@link ImmutableList} of {@link Ds3AnnotationElement}
-     */
-    private static ImmutableSet<String> getAnnotationElementNameUnion(
-            final ImmutableList<Ds3AnnotationElement> oldElements,
-            final ImmutableList<Ds3AnnotationElement> newElements) {
-        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
-        if (hasContent(oldElements)) {
-            oldElements.forEach(element -> builder.add(element.getName()));
-        }
-        if (hasContent(newElements)) {
-            newElements.forEach(element -> builder.add(element.getName()));
-        }
-        return builder.build();
-    }
-
-    /**
-     * Converts an {@link ImmutableList} of {@link Ds3AnnotationElement} into an {@link ImmutableMap} of
-     * annotation names and {@link Ds3AnnotationElement}
-     */
-    private static ImmutableMap<String, Ds3AnnotationElement> toAnnotationElementMap(
-            final ImmutableList<Ds3AnnotationElement> elements) {
-        if (isEmpty(elements)) {
-            return ImmutableMap.of();
-        }
-        final ImmutableMap.Builder<String, Ds3AnnotationElement> builder = ImmutableMap.builder();
-        elements.forEach(element -> builder.put(element.getName(), element));
-        return builder.build();
+        elements.getEntries().forEach(element -> printAnnotationElementDiff(element, writer, names));
     }
 }
@@ -15,17 +15,16 @@
 
 package com.spectralogic.ds3contractcomparator.print.simpleprinter;
 
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableSet;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Annotation;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Element;
+import com.spectralogic.ds3contractcomparator.ignore.Ds3IgnoreProfile;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityDelta;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3ListDelta;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
 import com.spectralogic.ds3contractcomparator.print.utils.WriterHelper;
-import org.jetbrains.annotations.Nullable;
 
-import static com.spectralogic.ds3autogen.utils.ConverterUtil.hasContent;
-import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
-import static com.spectralogic.ds3autogen.utils.NormalizingContractNamesUtil.removePath;
+import java.util.function.Function;
+
 import static com.spectralogic.ds3contractcomparator.print.simpleprinter.Ds3AnnotationDiffSimplePrinter.printAnnotationDiff;
 import static com.spectralogic.ds3contractcomparator.print.utils.SimplePrinterUtils.*;
 
@@ -40,138 +39,42 @@ final class Ds3ElementDiffSimplePrinter {
      * Prints the difference in a {@link Ds3Element} between two versions of a contract
      */
     static void printElementDiff(
-            @Nullable final Ds3Element oldElement,
-            @Nullable final Ds3Element newElement,
-            final WriterHelper writer,
-            final boolean printAllAnnotations) {
-        if (oldElement == null && newElement == null) {
-            throw new IllegalArgumentException("Cannot print difference between two null Ds3Elements");
-        }
-        if (oldElement == null) {
-            printAddedElement(newElement, writer, printAllAnnotations);
-            return;
-        }
-        if (newElement == null) {
-            printDeletedElement(oldElement, writer, printAllAnnotations);
-            return;
-        }
-        printModifiedElement(oldElement, newElement, writer, printAllAnnotations);
-    }
-
-    /**
-     * Prints a {@link Ds3Element} that exists in the newer contract but not in the older contract
-     */
-    private static void printAddedElement(
-            final Ds3Element newElement,
-            final WriterHelper writer,
-            final boolean printAllAnnotations) {
-        printModifiedLine("ElementName:", "N/A", removePath(newElement.getName()), INDENT, writer);
-        printAddedLine("Type:", removePath(newElement.getType()), INDENT + 1, writer);
-        printAddedLine("ComponentType:", removePath(newElement.getComponentType()), INDENT + 1, writer);
-        printAddedLine("Nullable:", newElement.getNullable(), INDENT + 1, writer);
-        printAnnotations(ImmutableList.of(), newElement.getDs3Annotations(), writer, printAllAnnotations);
-    }
-
-    /**
-     * Prints a {@link Ds3Element} that exists in the older contract but not in the newer contract
-     */
-    private static void printDeletedElement(
-            final Ds3Element oldElement,
+            final Ds3EntityDelta element,
             final WriterHelper writer,
+            final Ds3NameTable names,
             final boolean printAllAnnotations) {
-        printModifiedLine("ElementName:", removePath(oldElement.getName()), "N/A", INDENT, writer);
-        printDeletedLine("Type:", removePath(oldElement.getType()), INDENT + 1, writer);
-        printDeletedLine("ComponentType:", removePath(oldElement.getComponentType()), INDENT + 1, writer);
-        printDeletedLine("Nullable:", oldElement.getNullable(), INDENT + 1, writer);
-        printAnnotations(oldElement.getDs3Annotations(), ImmutableList.of(), writer, printAllAnnotations);
+        printKeyLine("ElementName:", element.getValue("name"), names::simpleName, INDENT, writer);
+        printValueLine("Type:", element.getStatus(), element.getValue("type"), names::simpleName, INDENT + 1, writer);
+        printValueLine("ComponentType:", element.getStatus(), element.getValue("componentType"), names::simpleName, INDENT + 1, writer);
+        printValueLine("Nullable:", element.getStatus(), element.getValue("nullable"), Function.identity(), INDENT + 1, writer);
+        printAnnotations(element.getList("ds3Annotations"), writer, names, printAllAnnotations);
     }
 
     /**
-     * Prints a {@link Ds3Element} that was modified between contract versions
-     */
-    private static void printModifiedElement(
-            final Ds3Element oldElement,
-            final Ds3Element newElement,
-            final WriterHelper writer,
-            final boolean printAllAnnotations) {
-        printModifiedLine("ElementName:", removePath(oldElement.getName()), removePath(newElement.getName()), INDENT, writer);
-        printModifiedLine("Type:", removePath(oldElement.getType()), removePath(newElement.getType()), INDENT + 1, writer);
-        printModifiedLine("ComponentType:", removePath(oldElement.getComponentType()), removePath(newElement.getComponentType()), INDENT + 1, writer);
-        printModifiedLine("Nullable:", oldElement.getNullable(), newElement.getNullable(), INDENT + 1, writer);
-        printAnnotations(oldElement.getDs3Annotations(), newElement.getDs3Annotations(), writer, printAllAnnotations);
-    }
-
-    /**
-     * Prints the changes between two {@link ImmutableList} of {@link Ds3Annotation}. If both lists are
-     * empty, then nothing is printed.
+     * Prints the changes within a list of {@link Ds3Annotation}. If both versions
+     * of the list are empty, then nothing is printed.
      */
     private static void printAnnotations(
-            final ImmutableList<Ds3Annotation> oldAnnotations,
-            final ImmutableList<Ds3Annotation> newAnnotations,
+            final Ds3ListDelta annotations,
             final WriterHelper writer,
+            final Ds3NameTable names,
             final boolean printAllAnnotations) {
-        if (isEmpty(oldAnnotations) && isEmpty(newAnnotations)) {
+        if (annotations.getEntries().isEmpty()) {
             //do not print empty values
             return;
         }
         writer.append(indent(INDENT + 1)).append("Annotations:").append("\n");
 
-        final ImmutableSet<String> annotationNames = getAnnotationNameUnion(oldAnnotations, newAnnotations);
-        final ImmutableMap<String, Ds3Annotation> oldParamMap = toAnnotationMap(oldAnnotations);
-        final ImmutableMap<String, Ds3Annotation> newParamMap = toAnnotationMap(newAnnotations);
-
-        annotationNames.stream()
-                .filter((annotationName) -> shouldPrintAnnotation(annotationName, printAllAnnotations))
-                .forEach(name -> printAnnotationDiff(
-                oldParamMap.get(name),
-                newParamMap.get(name),
-                writer));
+        annotations.getEntries().stream()
+                .filter(annotation -> shouldPrintAnnotation(annotation.getKey(), printAllAnnotations))
+                .forEach(annotation -> printAnnotationDiff(annotation, writer, names));
     }
 
     /**
      * Determines if an annotation should be printed based on filtering of commonly non-relevant annotations
+     * @see Ds3IgnoreProfile#ANNOTATIONS
      */
     private static boolean shouldPrintAnnotation(final String annotationName, final boolean printAllAnnotations) {
-        return printAllAnnotations ||
-                !annotationName.endsWith("SortBy") &&
-                !annotationName.endsWith("MustMatchRegularExpression") &&
-                !annotationName.endsWith("References") &&
-                !annotationName.endsWith("DefaultBooleanValue") &&
-                !annotationName.endsWith("DefaultEnumValue") &&
-                !annotationName.endsWith("DefaultToCurrentDate") &&
-                !annotationName.endsWith("DefaultStringValue") &&
-                !annotationName.endsWith("DefaultLongValue") &&
-                !annotationName.endsWith("DefaultIntegerValue") &&
-                !annotationName.endsWith("DefaultDoubleValue") &&
-                !annotationName.endsWith("CascadeDelete");
-    }
-
-    /**
-     * Gets the union of names of all params within two {@link ImmutableList} of {@link Ds3Annotation}
-     */
-    private static ImmutableSet<String> getAnnotationNameUnion(
-            final ImmutableList<Ds3Annotation> oldAnnotations,
-            final ImmutableList<Ds3Annotation> newAnnotations) {
-        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
-        if (hasContent(oldAnnotations)) {
-            oldAnnotations.forEach(annotation -> builder.add(annotation.getName()));
-        }
-        if (hasContent(newAnnotations)) {
-            newAnnotations.forEach(annotation -> builder.add(annotation.getName()));
-        }
-        return builder.build();
-    }
-
-    /**
-     * Converts an {@link ImmutableList} of {@link Ds3Annotation} into an {@link ImmutableMap} of
-     * annotation names and {@link Ds3Annotation}
-     */
-    private static ImmutableMap<String, Ds3Annotation> toAnnotationMap(final ImmutableList<Ds3Annotation> annotations) {
-        if (isEmpty(annotations)) {
-            return ImmutableMap.of();
-        }
-        final ImmutableMap.Builder<String, Ds3Annotation> builder = ImmutableMap.builder();
-        annotations.forEach(annotation -> builder.put(annotation.getName(), annotation));
-        return builder.build();
+        return printAllAnnotations || !Ds3IgnoreProfile.ANNOTATIONS.isIgnoredAnnotation(annotationName);
     }
 }
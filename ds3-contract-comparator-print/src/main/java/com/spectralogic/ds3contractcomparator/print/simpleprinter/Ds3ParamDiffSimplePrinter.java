@@ -16,11 +16,14 @@
 package com.spectralogic.ds3contractcomparator.print.simpleprinter;
 
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Param;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityDelta;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
 import com.spectralogic.ds3contractcomparator.print.utils.WriterHelper;
-import org.jetbrains.annotations.Nullable;
 
-import static com.spectralogic.ds3autogen.utils.NormalizingContractNamesUtil.removePath;
-import static com.spectralogic.ds3contractcomparator.print.utils.SimplePrinterUtils.*;
+import java.util.function.Function;
+
+import static com.spectralogic.ds3contractcomparator.print.utils.SimplePrinterUtils.printKeyLine;
+import static com.spectralogic.ds3contractcomparator.print.utils.SimplePrinterUtils.printValueLine;
 
 /**
  * Prints the difference in a {@link Ds3Param} between two versions of a contract.
@@ -32,48 +35,9 @@ final class Ds3ParamDiffSimplePrinter {
     /**
      * Prints the changes in a {@link Ds3Param} between two versions of a contract
      */
-    static void printParamDiff(
-            @Nullable final Ds3Param oldParam,
-            @Nullable final Ds3Param newParam,
-            final WriterHelper writer) {
-        if (oldParam == null && newParam == null) {
-            throw new IllegalArgumentException("Cannot print difference between two null Ds3Params");
-        }
-        if (oldParam == null) {
-            printAddedParam(newParam, writer);
-            return;
-        }
-        if (newParam == null) {
-            printDeletedParam(oldParam, writer);
-            return;
-        }
-        printModifiedParam(oldParam, newParam, writer);
-    }
-
-    /**
-     * Prints a {@link Ds3Param} that exists in the newer contract but not in the older contract
-     */
-    private static void printAddedParam(final Ds3Param newParam, final WriterHelper writer) {
-        printModifiedLine("ParamName:", "N/A", newParam.getName(), INDENT, writer);
-        printAddedLine("Type:", removePath(newParam.getType()), INDENT + 1, writer);
-        printAddedLine("Nullable:", newParam.getNullable(), INDENT + 1, writer);
-    }
-
-    /**
-     * Prints a {@link Ds3Param} that exists in the older contract but not in the newer contract
-     */
-    private static void printDeletedParam(final Ds3Param oldParam, final WriterHelper writer) {
-        printModifiedLine("ParamName:", oldParam.getName(), "N/A", INDENT, writer);
-        printDeletedLine("Type:", removePath(oldParam.getType()), INDENT + 1, writer);
-        printDeletedLine("Nullable:", oldParam.getNullable(), INDENT + 1, writer);
-    }
-
-    /**
-     * Prints a {@link Ds3Param} that was modified between the contract versions
-     */
-    private static void printModifiedParam(final Ds3Param oldParam, final Ds3Param newParam, final WriterHelper writer) {
-        printModifiedLine("ParamName:", oldParam.getName(), newParam.getName(), INDENT, writer);
-        printModifiedLine("Type:", removePath(oldParam.getType()), removePath(newParam.getType()), INDENT + 1, writer);
-        printModifiedLine("Nullable:", oldParam.getNullable(), newParam.getNullable(), INDENT + 1, writer);
+    static void printParamDiff(final Ds3EntityDelta param, final WriterHelper writer, final Ds3NameTable names) {
+        printKeyLine("ParamName:", param.getValue("name"), Function.identity(), INDENT, writer);
+        printValueLine("Type:", param.getStatus(), param.getValue("type"), names::simpleName, INDENT + 1, writer);
+        printValueLine("Nullable:", param.getStatus(), param.getValue("nullable"), Function.identity(), INDENT + 1, writer);
     }
 }
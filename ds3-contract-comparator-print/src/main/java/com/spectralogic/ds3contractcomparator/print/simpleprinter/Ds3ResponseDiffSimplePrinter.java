@@ -17,13 +17,17 @@ package com.spectralogic.ds3contractcomparator.print.simpleprinter;
 
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ResponseCode;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ResponseType;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityDelta;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3ValueDelta;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
 import com.spectralogic.ds3contractcomparator.print.utils.WriterHelper;
 import org.jetbrains.annotations.Nullable;
 
-import static com.spectralogic.ds3autogen.utils.NormalizingContractNamesUtil.removePath;
-import static com.spectralogic.ds3contractcomparator.print.utils.SimplePrinterUtils.printAddedLine;
-import static com.spectralogic.ds3contractcomparator.print.utils.SimplePrinterUtils.printDeletedLine;
-import static com.spectralogic.ds3contractcomparator.print.utils.SimplePrinterUtils.printModifiedLine;
+import java.util.function.Function;
+
+import static com.spectralogic.ds3contractcomparator.print.utils.SimplePrinterUtils.printKeyLine;
+import static com.spectralogic.ds3contractcomparator.print.utils.SimplePrinterUtils.printValueLine;
 
 /**
  * Prints the difference in a {@link Ds3ResponseCode} between two versions of a contract.
@@ -36,58 +40,34 @@ final class Ds3ResponseDiffSimplePrinter {
 
     /**
      * Prints the changes in a {@link Ds3ResponseCode} between two versions of a contract.
-     * @param oldCode The {@link Ds3ResponseCode} in the older version of the contract if exists, else null.
-     * @param newCode The {@link Ds3ResponseCode} in the newer version of the contract if exists, else null.
-     */
-    static void printResponseCodeDiff(
-            @Nullable final Ds3ResponseCode oldCode,
-            @Nullable final Ds3ResponseCode newCode,
-            final WriterHelper writer) {
-        if (oldCode == null && newCode == null) {
-            throw new IllegalArgumentException("Cannot print difference between two null Ds3ResponseCodes");
-        }
-        if (oldCode == null) {
-            printAddedCode(newCode, writer);
-            return;
-        }
-        if (newCode == null) {
-            printDeletedCode(oldCode, writer);
-            return;
-        }
-        printModifiedCode(oldCode, newCode, writer);
-    }
-
-    /**
-     * Prints a {@link Ds3ResponseCode} that exists in both versions of the contract, but has been modified
      */
-    private static void printModifiedCode(final Ds3ResponseCode oldCode, final Ds3ResponseCode newCode, final WriterHelper writer) {
-        final Ds3ResponseType oldResponseType = oldCode.getDs3ResponseTypes().get(0);
-        final Ds3ResponseType newResponseType = newCode.getDs3ResponseTypes().get(0);
-        printModifiedLine("ResponseCode:", oldCode.getCode(), newCode.getCode(), INDENT, writer);
-        printModifiedLine("Type:", removePath(oldResponseType.getType()), removePath(newResponseType.getType()), INDENT + 1, writer);
-        printModifiedLine("ComponentType:", removePath(oldResponseType.getComponentType()), removePath(newResponseType.getComponentType()), INDENT + 1, writer);
+    static void printResponseCodeDiff(final Ds3EntityDelta code, final WriterHelper writer, final Ds3NameTable names) {
+        printKeyLine("ResponseCode:", code.getValue("code"), Function.identity(), INDENT, writer);
+        printValueLine("Type:", code.getStatus(), toResponseTypeValue(code, "type"), names::simpleName, INDENT + 1, writer);
+        printValueLine("ComponentType:", code.getStatus(), toResponseTypeValue(code, "componentType"), names::simpleName, INDENT + 1, writer);
     }
 
     /**
-     * Prints a {@link Ds3ResponseCode} that exists in the older contract but not in the newer contract
+     * Creates the change in a property between the first {@link Ds3ResponseType} of the
+     * {@link Ds3ResponseCode} in each contract version
      */
-    private static void printDeletedCode(final Ds3ResponseCode oldCode, final WriterHelper writer) {
-        final Ds3ResponseType oldResponseType = oldCode.getDs3ResponseTypes().get(0);
-        printModifiedLine("ResponseCode:", Integer.toString(oldCode.getCode()), "N/A", INDENT, writer);
-        printDeletedLine("Type:", removePath(oldResponseType.getType()), INDENT + 1, writer);
-        printDeletedLine("ComponentType:", removePath(oldResponseType.getComponentType()), INDENT + 1, writer);
+    private static Ds3ValueDelta toResponseTypeValue(final Ds3EntityDelta code, final String property) {
+        return new Ds3ValueDelta(
+                property,
+                code.getStatus() == DiffStatus.ADDED ? null : getFirstResponseType(code, DiffStatus.ADDED).getValue(property).getOldValue(),
+                code.getStatus() == DiffStatus.DELETED ? null : getFirstResponseType(code, DiffStatus.DELETED).getValue(property).getNewValue());
     }
 
     /**
-     * Prints a {@link Ds3ResponseCode} that exists in the newer contract but not in the older contract
+     * Retrieves the first {@link Ds3ResponseType} of a contract version, which is the first
+     * response type that was not {@code excludedStatus} within that version
+     * @throws IllegalArgumentException if the response code does not have a response type
      */
-    private static void printAddedCode(final Ds3ResponseCode newCode, final WriterHelper writer) {
-        final Ds3ResponseType newResponseType = newCode.getDs3ResponseTypes().get(0);
-        if (newResponseType == null) {
-            throw new IllegalArgumentException("Ds3ResponseCode does not have an associated Ds3ResponseType: " + newCode.getCode());
-        }
-        printModifiedLine("ResponseCode:", "N/A", Integer.toString(newCode.getCode()), INDENT, writer);
-        printAddedLine("Type:", removePath(newResponseType.getType()), INDENT + 1, writer);
-        printAddedLine("ComponentType:", removePath(newResponseType.getComponentType()), INDENT + 1, writer);
+    private static Ds3EntityDelta getFirstResponseType(final Ds3EntityDelta code, @Nullable final DiffStatus excludedStatus) {
+        return code.getList("ds3ResponseTypes").getEntries().stream()
+                .filter(responseType -> responseType.getStatus() != excludedStatus)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Ds3ResponseCode does not have an associated Ds3ResponseType: " + code.getKey()));
     }
 }
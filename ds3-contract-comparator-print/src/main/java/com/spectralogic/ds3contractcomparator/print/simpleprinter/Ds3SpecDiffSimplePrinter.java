@@ -15,11 +15,18 @@
 
 package com.spectralogic.ds3contractcomparator.print.simpleprinter;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedSet;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3contractcomparator.Ds3SpecDiffSink;
 import com.spectralogic.ds3contractcomparator.models.Ds3ApiSpecDiff;
+import com.spectralogic.ds3contractcomparator.models.Ds3TypeImpact;
+import com.spectralogic.ds3contractcomparator.models.request.AbstractDs3RequestDiff;
 import com.spectralogic.ds3contractcomparator.models.request.NoChangeDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.type.AbstractDs3TypeDiff;
 import com.spectralogic.ds3contractcomparator.models.type.NoChangeDs3TypeDiff;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
 import com.spectralogic.ds3contractcomparator.print.Ds3SpecDiffPrinter;
 import com.spectralogic.ds3contractcomparator.print.utils.WriterHelper;
 
@@ -27,25 +34,43 @@ import java.io.Writer;
 
 import static com.spectralogic.ds3contractcomparator.print.simpleprinter.Ds3RequestDiffSimplePrinter.printRequestDiff;
 import static com.spectralogic.ds3contractcomparator.print.simpleprinter.Ds3TypeDiffSimplePrinter.printTypeDiff;
+import static com.spectralogic.ds3contractcomparator.print.utils.SimplePrinterUtils.indent;
 
 /**
  * Simple printer for printing the contents of a {@link Ds3ApiSpecDiff}.
  * Prints {@link Ds3Request} and {@link Ds3Type} that were added, deleted or modified.
- * All items that were not changed between contract versions are not printed.
+ * All items that were not changed between contract versions are not printed, and the
+ * commands affected by each modified or deleted type are printed after the types.
+ * As a {@link Ds3SpecDiffSink}, each diff is printed as soon as it is received.
+ * The simple names of all printed names are retrieved from a {@link Ds3NameTable}.
  */
-public class Ds3SpecDiffSimplePrinter implements Ds3SpecDiffPrinter {
+public class Ds3SpecDiffSimplePrinter implements Ds3SpecDiffPrinter, Ds3SpecDiffSink {
 
     private final WriterHelper writer;
     private final boolean printProperties;
     private final boolean printAllAnnotations;
+    private final Ds3NameTable names;
 
     public Ds3SpecDiffSimplePrinter(
             final Writer writer,
             final boolean printProperties,
             final boolean printAllAnnotations) {
+        this(writer, printProperties, printAllAnnotations, new Ds3NameTable());
+    }
+
+    /**
+     * @param names the name table shared with the comparison, see
+     *              {@link com.spectralogic.ds3contractcomparator.ComparatorOptions#getNameTable()}
+     */
+    public Ds3SpecDiffSimplePrinter(
+            final Writer writer,
+            final boolean printProperties,
+            final boolean printAllAnnotations,
+            final Ds3NameTable names) {
         this.writer = new WriterHelper(writer);
         this.printProperties = printProperties;
         this.printAllAnnotations = printAllAnnotations;
+        this.names = names;
     }
 
     /**
@@ -53,12 +78,45 @@ public class Ds3SpecDiffSimplePrinter implements Ds3SpecDiffPrinter {
      */
     @Override
     public void print(final Ds3ApiSpecDiff specDiff) {
-        specDiff.getRequests().stream()
-                .filter(request -> !(request instanceof NoChangeDs3RequestDiff))
-                .forEach(request -> printRequestDiff(request, writer));
+        specDiff.getRequests().forEach(this::acceptRequestDiff);
+        specDiff.getTypes().forEach(this::acceptTypeDiff);
+        acceptImpact(specDiff.getImpact());
+    }
 
-        specDiff.getTypes().stream()
-                .filter(type -> !(type instanceof NoChangeDs3TypeDiff))
-                .forEach(type -> printTypeDiff(type, writer, printProperties, printAllAnnotations));
+    /**
+     * Prints the {@link Ds3Request} if it was changed between contract versions
+     */
+    @Override
+    public void acceptRequestDiff(final AbstractDs3RequestDiff requestDiff) {
+        if (!(requestDiff instanceof NoChangeDs3RequestDiff)) {
+            printRequestDiff(requestDiff, writer, names);
+        }
+    }
+
+    /**
+     * Prints the {@link Ds3Type} if it was changed between contract versions
+     */
+    @Override
+    public void acceptTypeDiff(final AbstractDs3TypeDiff typeDiff) {
+        if (!(typeDiff instanceof NoChangeDs3TypeDiff)) {
+            printTypeDiff(typeDiff, writer, names, printProperties, printAllAnnotations);
+        }
+    }
+
+    /**
+     * Prints the commands affected by each modified or deleted type, following the printed types
+     */
+    @Override
+    public void acceptImpact(final Ds3TypeImpact impact) {
+        for (final String typeName : ImmutableSortedSet.copyOf(impact.getChangedTypes())) {
+            final ImmutableSet<String> requests = impact.getAffectedRequests(typeName);
+            if (requests.isEmpty()) {
+                continue;
+            }
+            writer.append("******************** COMMANDS AFFECTED BY TYPE ").append(names.simpleName(typeName))
+                    .append(" ********************\n\n");
+            ImmutableSortedSet.copyOf(requests).forEach(request -> writer.append(indent(1)).append(names.simpleName(request)).append("\n"));
+            writer.append("\n");
+        }
     }
 }
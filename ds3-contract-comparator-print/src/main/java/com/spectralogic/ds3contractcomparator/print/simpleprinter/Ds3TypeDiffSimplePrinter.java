@@ -15,18 +15,18 @@
 
 package com.spectralogic.ds3contractcomparator.print.simpleprinter;
 
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableSet;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Element;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3EnumConstant;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityDelta;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3ListDelta;
 import com.spectralogic.ds3contractcomparator.models.type.*;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
 import com.spectralogic.ds3contractcomparator.print.utils.WriterHelper;
 
-import static com.spectralogic.ds3autogen.utils.ConverterUtil.hasContent;
-import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
-import static com.spectralogic.ds3autogen.utils.NormalizingContractNamesUtil.removePath;
+import java.util.function.Function;
+
 import static com.spectralogic.ds3contractcomparator.print.simpleprinter.Ds3ElementDiffSimplePrinter.printElementDiff;
 import static com.spectralogic.ds3contractcomparator.print.simpleprinter.Ds3EnumConstantDiffSimplePrinter.printEnumConstantDiff;
 import static com.spectralogic.ds3contractcomparator.print.utils.SimplePrinterUtils.*;
@@ -47,18 +47,19 @@ final class Ds3TypeDiffSimplePrinter {
     static void printTypeDiff(
             final Ds3TypeDiff typeDiff,
             final WriterHelper writer,
+            final Ds3NameTable names,
             final boolean printProperties,
             final boolean printAllAnnotations) {
         if (typeDiff instanceof ModifiedDs3TypeDiff) {
-            printModifiedType(typeDiff.getOldDs3Type(), typeDiff.getNewDs3Type(), writer, printProperties, printAllAnnotations);
+            printType("MODIFIED", typeDiff.getDelta(), writer, names, printProperties, printAllAnnotations);
             return;
         }
         if (typeDiff instanceof AddedDs3TypeDiff) {
-            printAddedType(typeDiff.getNewDs3Type(), writer, printProperties, printAllAnnotations);
+            printType("ADDED", typeDiff.getDelta(), writer, names, printProperties, printAllAnnotations);
             return;
         }
         if (typeDiff instanceof DeletedDs3TypeDiff) {
-            printDeletedType(typeDiff.getOldDs3Type(), writer, printProperties, printAllAnnotations);
+            printType("DELETED", typeDiff.getDelta(), writer, names, printProperties, printAllAnnotations);
             return;
         }
         if (typeDiff instanceof NoChangeDs3TypeDiff) {
@@ -69,162 +70,62 @@ final class Ds3TypeDiffSimplePrinter {
     }
 
     /**
-     * Prints a {@link Ds3Type} that exists in the older contract but not in the newer contract
+     * Prints a {@link Ds3Type} that was added, deleted or modified between the contract versions
+     * @param label Label describing the change to the type, such as ADDED, DELETED or MODIFIED
      */
-    private static void printDeletedType(
-            final Ds3Type oldType,
+    private static void printType(
+            final String label,
+            final Ds3EntityDelta type,
             final WriterHelper writer,
+            final Ds3NameTable names,
             final boolean printProperties,
             final boolean printAllAnnotations) {
-        writer.append("******************** DELETED TYPE ").append(removePath(oldType.getName()))
+        final DiffStatus status = type.getStatus();
+        final String name = status == DiffStatus.ADDED
+                ? type.getValue("name").getNewValue()
+                : type.getValue("name").getOldValue();
+        writer.append("******************** ").append(label).append(" TYPE ").append(names.simpleName(name))
                 .append(" ********************\n\n");
 
-        printModifiedLine("TypeName:", removePath(oldType.getName()), "N/A", INDENT, writer);
-        printDeletedLine("NameToMarshal:", oldType.getNameToMarshal(), INDENT, writer);
-        printElements(oldType.getElements(), ImmutableList.of(), writer, printAllAnnotations);
-        printEnumConstants(oldType.getEnumConstants(), ImmutableList.of(), writer, printProperties);
+        printKeyLine("TypeName:", type.getValue("name"), names::simpleName, INDENT, writer);
+        printValueLine("NameToMarshal:", status, type.getValue("nameToMarshal"), Function.identity(), INDENT, writer);
+        printElements(type.getList("elements"), writer, names, printAllAnnotations);
+        printEnumConstants(type.getList("enumConstants"), writer, names, printProperties);
 
         writer.append("\n\n");
     }
 
     /**
-     * Prints a {@link Ds3Type} that exists in the newer contract but not in the older contract
-     */
-    private static void printAddedType(
-            final Ds3Type newType,
-            final WriterHelper writer,
-            final boolean printProperties,
-            final boolean printAllAnnotations) {
-        writer.append("******************** ADDED TYPE ").append(removePath(newType.getName()))
-                .append(" ********************\n\n");
-
-        printModifiedLine("TypeName:", "N/A", removePath(newType.getName()), INDENT, writer);
-        printAddedLine("NameToMarshal:", newType.getNameToMarshal(), INDENT, writer);
-        printElements(ImmutableList.of(), newType.getElements(), writer, printAllAnnotations);
-        printEnumConstants(ImmutableList.of(), newType.getEnumConstants(), writer, printProperties);
-
-        writer.append("\n\n");
-    }
-
-    /**
-     * Prints a {@link Ds3Type} that exists in both contracts but was modified between versions
-     */
-    private static void printModifiedType(
-            final Ds3Type oldType,
-            final Ds3Type newType,
-            final WriterHelper writer,
-            final boolean printProperties,
-            final boolean printAllAnnotations) {
-        writer.append("******************** MODIFIED TYPE ").append(removePath(oldType.getName()))
-                .append(" ********************\n\n");
-
-        printModifiedLine("TypeName:", removePath(oldType.getName()), removePath(newType.getName()), INDENT, writer);
-        printModifiedLine("NameToMarshal:", oldType.getNameToMarshal(), newType.getNameToMarshal(), INDENT, writer);
-        printElements(oldType.getElements(), newType.getElements(), writer, printAllAnnotations);
-        printEnumConstants(oldType.getEnumConstants(), newType.getEnumConstants(), writer, printProperties);
-
-        writer.append("\n\n");
-    }
-
-    /**
-     * Prints the changes between two {@link ImmutableList} of {@link Ds3Element}. If both lists are
-     * empty, then nothing is printed.
+     * Prints the changes within a list of {@link Ds3Element}. If both versions
+     * of the list are empty, then nothing is printed.
      */
     private static void printElements(
-            final ImmutableList<Ds3Element> oldElements,
-            final ImmutableList<Ds3Element> newElements,
+            final Ds3ListDelta elements,
             final WriterHelper writer,
+            final Ds3NameTable names,
             final boolean printAllAnnotations) {
-        if (isEmpty(oldElements) && isEmpty(newElements)) {
+        if (elements.getEntries().isEmpty()) {
             //do not print empty values
             return;
         }
         writer.append(indent(INDENT)).append("Elements:").append("\n");
-
-        final ImmutableSet<String> elementNames = getElementNameUnion(oldElements, newElements);
-        final ImmutableMap<String, Ds3Element> oldMap = toElementMap(oldElements);
-        final ImmutableMap<String, Ds3Element> newMap = toElementMap(newElements);
-
-        elementNames.forEach(name -> printElementDiff(oldMap.get(name), newMap.get(name), writer, printAllAnnotations));
+        elements.getEntries().forEach(element -> printElementDiff(element, writer, names, printAllAnnotations));
     }
 
     /**
-     * Gets the union of names of all params within two {@link ImmutableList} of {@link Ds3Element}
-     */
-    private static ImmutableSet<String> getElementNameUnion(
-            final ImmutableList<Ds3Element> oldElements,
-            final ImmutableList<Ds3Element> newElements) {
-        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
-        if (hasContent(oldElements)) {
-            oldElements.forEach(element -> builder.add(element.getName()));
-        }
-        if (hasContent(newElements)) {
-            newElements.forEach(element -> builder.add(element.getName()));
-        }
-        return builder.build();
-    }
-
-    /**
-     * Converts a {@link ImmutableList} of {@link Ds3Element} into an {@link ImmutableMap} of
-     * element names and {@link Ds3Element}
-     */
-    private static ImmutableMap<String, Ds3Element> toElementMap(final ImmutableList<Ds3Element> elements) {
-        if (isEmpty(elements)) {
-            return ImmutableMap.of();
-        }
-        final ImmutableMap.Builder<String, Ds3Element> builder = ImmutableMap.builder();
-        elements.forEach(element -> builder.put(element.getName(), element));
-        return builder.build();
-    }
-
-    /**
-     * Prints the changes between two {@link ImmutableList} of {@link Ds3Element}. If both lists are
-     * empty, then nothing is printed.
+     * Prints the changes within a list of {@link Ds3EnumConstant}. If both versions
+     * of the list are empty, then nothing is printed.
      */
     private static void printEnumConstants(
-            final ImmutableList<Ds3EnumConstant> oldEnums,
-            final ImmutableList<Ds3EnumConstant> newEnums,
+            final Ds3ListDelta enumConstants,
             final WriterHelper writer,
+            final Ds3NameTable names,
             final boolean printProperties) {
-        if (isEmpty(oldEnums) && isEmpty(newEnums)) {
+        if (enumConstants.getEntries().isEmpty()) {
             //do not print empty values
             return;
         }
         writer.append(indent(INDENT)).append("EnumConstants:").append("\n");
-
-        final ImmutableSet<String> enumNames = getEnumConstantNameUnion(oldEnums, newEnums);
-        final ImmutableMap<String, Ds3EnumConstant> oldMap = toEnumConstantMap(oldEnums);
-        final ImmutableMap<String, Ds3EnumConstant> newMap = toEnumConstantMap(newEnums);
-
-        enumNames.forEach(name -> printEnumConstantDiff(oldMap.get(name), newMap.get(name), writer, printProperties));
-    }
-
-    /**
-     * Gets the union of names of all params within two {@link ImmutableList} of {@link Ds3EnumConstant}
-     */
-    private static ImmutableSet<String> getEnumConstantNameUnion(
-            final ImmutableList<Ds3EnumConstant> oldEnums,
-            final ImmutableList<Ds3EnumConstant> newEnums) {
-        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
-        if (hasContent(oldEnums)) {
-            oldEnums.forEach(enumConstant -> builder.add(enumConstant.getName()));
-        }
-        if (hasContent(newEnums)) {
-            newEnums.forEach(enumConstant -> builder.add(enumConstant.getName()));
-        }
-        return builder.build();
-    }
-
-    /**
-     * Converts a {@link ImmutableList} of {@link Ds3EnumConstant} into an {@link ImmutableMap} of
-     * enum values (i.e. names) and {@link Ds3EnumConstant}
-     */
-    private static ImmutableMap<String, Ds3EnumConstant> toEnumConstantMap(final ImmutableList<Ds3EnumConstant> enumConstants) {
-        if (isEmpty(enumConstants)) {
-            return ImmutableMap.of();
-        }
-        final ImmutableMap.Builder<String, Ds3EnumConstant> builder = ImmutableMap.builder();
-        enumConstants.forEach(enumConstant -> builder.put(enumConstant.getName(), enumConstant));
-        return builder.build();
+        enumConstants.getEntries().forEach(enumConstant -> printEnumConstantDiff(enumConstant, writer, names, printProperties));
     }
 }
@@ -16,8 +16,7 @@
 package com.spectralogic.ds3contractcomparator.print.utils;
 
 import com.spectralogic.ds3autogen.api.models.enums.Classification;
-
-import static com.spectralogic.ds3autogen.utils.NormalizingContractNamesUtil.removePath;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
 
 /**
  * Utils used in the generation of the HTML report.
@@ -31,14 +30,14 @@ public final class HtmlPrinterUtils {
     /**
      * Creates the title for a request used in index and request headers
      */
-    public static String toRequestTitle(final String name, final Classification classification) {
-        return removePath(name) + " (" + classification.toString() + ")";
+    public static String toRequestTitle(final String name, final Classification classification, final Ds3NameTable names) {
+        return names.simpleName(name) + " (" + classification.toString() + ")";
     }
 
     /**
      * Creates the HTML anchor for a request used in creating internal links
      */
-    public static String toRequestAnchor(final String name, final Classification classification) {
-        return removePath(name) + classification.toString();
+    public static String toRequestAnchor(final String name, final Classification classification, final Ds3NameTable names) {
+        return names.simpleName(name) + classification.toString();
     }
 }
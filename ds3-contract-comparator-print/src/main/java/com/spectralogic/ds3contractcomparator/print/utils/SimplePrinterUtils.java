@@ -15,8 +15,13 @@
 
 package com.spectralogic.ds3contractcomparator.print.utils;
 
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3ValueDelta;
 import com.spectralogic.ds3contractcomparator.print.simpleprinter.Ds3SpecDiffSimplePrinter;
 import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Function;
 
 import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
 
@@ -285,6 +290,62 @@ public final class SimplePrinterUtils {
 
     }
 
+    /**
+     * Prints the line for the unique property of an entity, such as its name. The value
+     * "N/A" is used to denote the absence of the entity within a contract version.
+     * @param format Formats a non-null value for printing, such as removing its path
+     */
+    public static void printKeyLine(
+            final String label,
+            final Ds3ValueDelta value,
+            final Function<String, String> format,
+            final int indent,
+            final WriterHelper writer) {
+        printModifiedLine(
+                label,
+                value.getOldValue() == null ? "N/A" : format.apply(value.getOldValue()),
+                value.getNewValue() == null ? "N/A" : format.apply(value.getNewValue()),
+                indent,
+                writer);
+    }
+
+    /**
+     * Prints the line for a property of an entity. The line is printed as an added, deleted
+     * or modified line depending upon the status of the entity containing the property.
+     * @param entityStatus The status of the entity which contains the property
+     * @param format Formats a non-null value for printing, such as removing its path
+     */
+    public static void printValueLine(
+            final String label,
+            final DiffStatus entityStatus,
+            final Ds3ValueDelta value,
+            final Function<String, String> format,
+            final int indent,
+            final WriterHelper writer) {
+        switch (entityStatus) {
+            case ADDED:
+                printAddedLine(label, toPrintValue(value.getNewValue(), format), indent, writer);
+                return;
+            case DELETED:
+                printDeletedLine(label, toPrintValue(value.getOldValue(), format), indent, writer);
+                return;
+            default:
+                printModifiedLine(
+                        label,
+                        toPrintValue(value.getOldValue(), format),
+                        toPrintValue(value.getNewValue(), format),
+                        indent,
+                        writer);
+        }
+    }
+
+    /**
+     * Formats a value for printing, where a null value is printed as an empty string
+     */
+    private static String toPrintValue(@Nullable final String value, final Function<String, String> format) {
+        return value == null ? "" : format.apply(value);
+    }
+
     /**
      * Creates the string format used to format printing
      * @param indent The indentation level of the line to be printed
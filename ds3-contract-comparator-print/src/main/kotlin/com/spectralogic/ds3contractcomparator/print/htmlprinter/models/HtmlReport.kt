@@ -18,11 +18,13 @@ package com.spectralogic.ds3contractcomparator.print.htmlprinter.models
 import com.google.common.collect.ImmutableList
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.body.Section
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.index.IndexSection
+import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.summary.SummaryRow
 
 /**
  * Represents the Html report
  */
 data class HtmlReport(val oldContract: String,
                       val newContract: String,
+                      val summaryRows: ImmutableList<SummaryRow>,
                       val indexSections: ImmutableList<IndexSection>,
                       val sections: ImmutableList<Section>)
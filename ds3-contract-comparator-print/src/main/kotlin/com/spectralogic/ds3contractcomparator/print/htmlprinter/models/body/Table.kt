@@ -17,11 +17,14 @@ package com.spectralogic.ds3contractcomparator.print.htmlprinter.models.body
 
 import com.google.common.collect.ImmutableList
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.body.rows.Row
+import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.index.IndexEntry
 
 /**
- * Represents an HTML table used to print both request and type differences
+ * Represents an HTML table used to print both request and type differences. The table of a
+ * modified or deleted type lists the commands affected by the change.
  */
-data class Table(
+data class Table @JvmOverloads constructor(
         val title: String,
         val anchor: String,
-        val rows: ImmutableList<Row>)
+        val rows: ImmutableList<Row>,
+        val affectedRequests: ImmutableList<IndexEntry> = ImmutableList.of())
@@ -15,6 +15,28 @@ table, th, td {
 <h1>Contract Comparison</h1>
 <h2>${oldContract} VS ${newContract}</h2>
 
+<h3>Summary</h3>
+<table>
+<tr>
+  <th></th>
+  <th>Modified</th>
+  <th>Renamed</th>
+  <th>Deleted</th>
+  <th>Added</th>
+  <th>Unchanged</th>
+</tr>
+<#list summaryRows as summaryRow>
+<tr>
+  <td>${summaryRow.label}</td>
+  <td>${summaryRow.modified}</td>
+  <td>${summaryRow.renamed}</td>
+  <td>${summaryRow.deleted}</td>
+  <td>${summaryRow.added}</td>
+  <td>${summaryRow.unchanged}</td>
+</tr>
+</#list>
+</table>
+
 <h3>Index</h3>
 <table>
 <#list indexSections as indexSection>
@@ -31,6 +53,9 @@ table, th, td {
 <h2>${section.title}</h2>
 <#list section.tables as table>
 <h3 id="${table.anchor}">${table.title}</h3>
+<#if table.affectedRequests?has_content>
+<p>Affected commands: <#list table.affectedRequests as request><#if request.anchor?has_content><a href="#${request.anchor}">${request.entry}</a><#else>${request.entry}</#if><#sep>, </#sep></#list></p>
+</#if>
 <table>
 <tr>
   <th>Element</th>
@@ -0,0 +1,143 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.print.htmlprinter;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3contractcomparator.models.Ds3DiffSummary;
+import com.spectralogic.ds3contractcomparator.models.Ds3TypeImpact;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.request.ModifiedDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
+import com.spectralogic.ds3contractcomparator.print.exceptions.RuntimeIOException;
+import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.index.IndexEntry;
+import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.summary.SummaryRow;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import static com.spectralogic.ds3contractcomparator.print.htmlprinter.HtmlReportPrinter.toSummaryRows;
+import static com.spectralogic.ds3contractcomparator.print.utils.Ds3SpecDiffFixture.getAddedType;
+import static com.spectralogic.ds3contractcomparator.print.utils.Ds3SpecDiffFixture.getModdifiedType;
+import static com.spectralogic.ds3contractcomparator.print.utils.Ds3SpecDiffFixture.getModifiedRequest;
+import static com.spectralogic.ds3contractcomparator.print.utils.HtmlPrinterUtils.toRequestAnchor;
+import static com.spectralogic.ds3contractcomparator.print.utils.HtmlPrinterUtils.toRequestTitle;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class HtmlReportPrinter_Test {
+
+    @Test
+    public void toSummaryRows_Test() {
+        final Ds3DiffSummary summary = Ds3DiffSummary.builder()
+                .addRequest(DiffStatus.NO_CHANGE, Classification.amazons3)
+                .addRequest(DiffStatus.NO_CHANGE, Classification.spectrads3)
+                .addRequest(DiffStatus.ADDED, Classification.spectrads3)
+                .addType(DiffStatus.MODIFIED)
+                .addType(DiffStatus.NO_CHANGE)
+                .build();
+
+        final ImmutableList<SummaryRow> result = toSummaryRows(summary);
+
+        assertThat(result.size(), is(4));
+        assertThat(result.get(0), is(new SummaryRow("Commands", 0, 0, 0, 1, 2)));
+        assertThat(result.get(1), is(new SummaryRow("Commands (amazons3)", 0, 0, 0, 0, 1)));
+        assertThat(result.get(2), is(new SummaryRow("Commands (spectrads3)", 0, 0, 0, 1, 1)));
+        assertThat(result.get(3), is(new SummaryRow("Types", 1, 0, 0, 0, 1)));
+    }
+
+    @Test
+    public void complete_UsesReceivedSummary_Test() {
+        final StringWriter writer = new StringWriter();
+        final HtmlReportPrinter printer = new HtmlReportPrinter(writer, "OldContract", "NewContract");
+
+        printer.acceptRequestDiff(getModifiedRequest());
+        printer.acceptTypeDiff(getAddedType());
+        printer.acceptSummary(Ds3DiffSummary.builder()
+                .addRequest(DiffStatus.MODIFIED, Classification.spectrads3)
+                .addRequest(DiffStatus.NO_CHANGE, Classification.spectrads3)
+                .addType(DiffStatus.ADDED)
+                .build());
+        printer.complete();
+
+        final String result = writer.toString();
+        assertThat(result, containsString("<h3>Summary</h3>"));
+        assertThat(result, containsString("<td>Commands (spectrads3)</td>\n  <td>1</td>\n  <td>0</td>\n  <td>0</td>\n  <td>0</td>\n  <td>1</td>"));
+        assertThat(result, containsString("<td>Types</td>\n  <td>0</td>\n  <td>0</td>\n  <td>0</td>\n  <td>1</td>\n  <td>0</td>"));
+    }
+
+    @Test (expected = RuntimeIOException.class)
+    public void complete_WriterFails_Test() {
+        final Writer writer = new Writer() {
+            @Override
+            public void write(final char[] buffer, final int offset, final int length) throws IOException {
+                throw new IOException("The disk is full");
+            }
+
+            @Override
+            public void flush() {
+                //pass
+            }
+
+            @Override
+            public void close() {
+                //pass
+            }
+        };
+        final HtmlReportPrinter printer = new HtmlReportPrinter(writer, "OldContract", "NewContract");
+
+        printer.acceptRequestDiff(getModifiedRequest());
+        printer.complete();
+    }
+
+    @Test
+    public void complete_RendersAffectedRequests_Test() {
+        final StringWriter writer = new StringWriter();
+        final HtmlReportPrinter printer = new HtmlReportPrinter(writer, "OldContract", "NewContract");
+        final ModifiedDs3RequestDiff modifiedRequest = getModifiedRequest();
+        final Ds3Request request = modifiedRequest.getNewDs3Request();
+
+        printer.acceptRequestDiff(modifiedRequest);
+        printer.acceptTypeDiff(getModdifiedType());
+        printer.acceptTypeDiff(getAddedType());
+        printer.acceptImpact(new Ds3TypeImpact(ImmutableMap.of(
+                "com.test.ModifiedType", ImmutableSet.of("com.test.UnchangedRequest", request.getName()))));
+        printer.complete();
+
+        final Ds3NameTable names = new Ds3NameTable();
+        final String result = writer.toString();
+        assertThat(result, containsString("<h3 id=\"ModifiedType\">ModifiedType</h3>\n<p>Affected commands: "
+                + "<a href=\"#" + toRequestAnchor(request.getName(), request.getClassification(), names) + "\">"
+                + toRequestTitle(request.getName(), request.getClassification(), names) + "</a>, UnchangedRequest</p>"));
+        assertThat(result, containsString("<h3 id=\"AddedType\">AddedType</h3>\n<table>"));
+    }
+
+    @Test
+    public void toAffectedRequestEntries_Test() {
+        final ImmutableList<IndexEntry> result = HtmlReportPrinter.toAffectedRequestEntries(
+                ImmutableSet.of("com.test.B", "com.test.A"),
+                ImmutableList.of(),
+                new Ds3NameTable());
+
+        assertThat(result, is(ImmutableList.of(new IndexEntry("A", ""), new IndexEntry("B", ""))));
+    }
+}
@@ -16,6 +16,7 @@
 package com.spectralogic.ds3contractcomparator.print.htmlprinter.generators;
 
 import com.spectralogic.ds3contractcomparator.models.request.NoChangeDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.body.Table;
 import org.junit.Test;
 
@@ -34,12 +35,12 @@ public class HtmlRequestTableGenerator_Test {
 
     @Test (expected = IllegalArgumentException.class)
     public void toModifiedRequestTable_Exception_Test() {
-        toModifiedRequestTable(getAddedRequest());
+        toModifiedRequestTable(getAddedRequest(), new Ds3NameTable());
     }
 
     @Test
     public void toModifiedRequestTable_Test() {
-        final Table result = toModifiedRequestTable(getModifiedRequest());
+        final Table result = toModifiedRequestTable(getModifiedRequest(), new Ds3NameTable());
         assertThat(result.getTitle(), is("TestRequest (amazons3)"));
         assertThat(result.getAnchor(), is("TestRequestamazons3"));
         assertTrue(hasContent(result.getRows()));
@@ -47,12 +48,12 @@ public class HtmlRequestTableGenerator_Test {
 
     @Test (expected = IllegalArgumentException.class)
     public void toDeletedRequestTable_Exception_Test() {
-        toDeletedRequestTable(getAddedRequest());
+        toDeletedRequestTable(getAddedRequest(), new Ds3NameTable());
     }
 
     @Test
     public void toDeletedRequestTable_Test() {
-        final Table result = toDeletedRequestTable(getDeletedRequest());
+        final Table result = toDeletedRequestTable(getDeletedRequest(), new Ds3NameTable());
         assertThat(result.getTitle(), is("GetBucketRequestHandler (amazons3)"));
         assertThat(result.getAnchor(), is("GetBucketRequestHandleramazons3"));
         assertTrue(hasContent(result.getRows()));
@@ -60,12 +61,12 @@ public class HtmlRequestTableGenerator_Test {
 
     @Test (expected = IllegalArgumentException.class)
     public void toAddedRequestTable_Exception_Test() {
-        toAddedRequestTable(getDeletedRequest());
+        toAddedRequestTable(getDeletedRequest(), new Ds3NameTable());
     }
 
     @Test
     public void toAddedRequestTable_Test() {
-        final Table result = toAddedRequestTable(getAddedRequest());
+        final Table result = toAddedRequestTable(getAddedRequest(), new Ds3NameTable());
         assertThat(result.getTitle(), is("HeadBucketRequestHandler (amazons3)"));
         assertThat(result.getAnchor(), is("HeadBucketRequestHandleramazons3"));
         assertTrue(hasContent(result.getRows()));
@@ -73,7 +74,7 @@ public class HtmlRequestTableGenerator_Test {
 
     @Test
     public void toRequestTable_Added_Test() {
-        final Table result = toRequestTable(getAddedRequest());
+        final Table result = toRequestTable(getAddedRequest(), new Ds3NameTable());
         assertThat(result.getTitle(), is("HeadBucketRequestHandler (amazons3)"));
         assertThat(result.getAnchor(), is("HeadBucketRequestHandleramazons3"));
         assertTrue(hasContent(result.getRows()));
@@ -81,7 +82,7 @@ public class HtmlRequestTableGenerator_Test {
 
     @Test
     public void toRequestTable_Deleted_Test() {
-        final Table result = toRequestTable(getDeletedRequest());
+        final Table result = toRequestTable(getDeletedRequest(), new Ds3NameTable());
         assertThat(result.getTitle(), is("GetBucketRequestHandler (amazons3)"));
         assertThat(result.getAnchor(), is("GetBucketRequestHandleramazons3"));
         assertTrue(hasContent(result.getRows()));
@@ -89,7 +90,7 @@ public class HtmlRequestTableGenerator_Test {
 
     @Test
     public void toRequestTable_Modified_Test() {
-        final Table result = toRequestTable(getModifiedRequest());
+        final Table result = toRequestTable(getModifiedRequest(), new Ds3NameTable());
         assertThat(result.getTitle(), is("TestRequest (amazons3)"));
         assertThat(result.getAnchor(), is("TestRequestamazons3"));
         assertTrue(hasContent(result.getRows()));
@@ -98,6 +99,6 @@ public class HtmlRequestTableGenerator_Test {
 
     @Test (expected = IllegalArgumentException.class)
     public void toRequestTable_NoChange_Test() {
-        toRequestTable(new NoChangeDs3RequestDiff(getBucketRequest()));
+        toRequestTable(new NoChangeDs3RequestDiff(getBucketRequest()), new Ds3NameTable());
     }
 }
@@ -16,6 +16,7 @@
 package com.spectralogic.ds3contractcomparator.print.htmlprinter.generators;
 
 import com.spectralogic.ds3contractcomparator.models.type.NoChangeDs3TypeDiff;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.body.Table;
 import org.junit.Test;
 
@@ -30,12 +31,12 @@ public class HtmlTypeTableGenerator_Test {
 
     @Test (expected = IllegalArgumentException.class)
     public void toModifiedTypeTable_Exception_Test() {
-        toModifiedTypeTable(getDeletedType());
+        toModifiedTypeTable(getDeletedType(), new Ds3NameTable());
     }
 
     @Test
     public void toModifiedTypeTable_Test() {
-        final Table result = toModifiedTypeTable(getModdifiedType());
+        final Table result = toModifiedTypeTable(getModdifiedType(), new Ds3NameTable());
         assertThat(result.getTitle(), is("ModifiedType"));
         assertThat(result.getAnchor(), is("ModifiedType"));
         assertTrue(hasContent(result.getRows()));
@@ -43,12 +44,12 @@ public class HtmlTypeTableGenerator_Test {
 
     @Test (expected = IllegalArgumentException.class)
     public void toDeletedTypeTable_Exception_Test() {
-        toDeletedTypeTable(getAddedType());
+        toDeletedTypeTable(getAddedType(), new Ds3NameTable());
     }
 
     @Test
     public void toDeletedTypeTable_Test() {
-        final Table result = toDeletedTypeTable(getDeletedType());
+        final Table result = toDeletedTypeTable(getDeletedType(), new Ds3NameTable());
         assertThat(result.getTitle(), is("DeletedType"));
         assertThat(result.getAnchor(), is("DeletedType"));
         assertTrue(hasContent(result.getRows()));
@@ -56,12 +57,12 @@ public class HtmlTypeTableGenerator_Test {
 
     @Test (expected = IllegalArgumentException.class)
     public void toAddedTypeTable_Exception_Test() {
-        toAddedTypeTable(getDeletedType());
+        toAddedTypeTable(getDeletedType(), new Ds3NameTable());
     }
 
     @Test
     public void toAddedTypeTable_Test() {
-        final Table result = toAddedTypeTable(getAddedType());
+        final Table result = toAddedTypeTable(getAddedType(), new Ds3NameTable());
         assertThat(result.getTitle(), is("AddedType"));
         assertThat(result.getAnchor(), is("AddedType"));
         assertTrue(hasContent(result.getRows()));
@@ -69,7 +70,7 @@ public class HtmlTypeTableGenerator_Test {
 
     @Test
     public void toTypeTable_Added_Test() {
-        final Table result = toTypeTable(getAddedType());
+        final Table result = toTypeTable(getAddedType(), new Ds3NameTable());
         assertThat(result.getTitle(), is("AddedType"));
         assertThat(result.getAnchor(), is("AddedType"));
         assertTrue(hasContent(result.getRows()));
@@ -77,7 +78,7 @@ public class HtmlTypeTableGenerator_Test {
 
     @Test
     public void toTypeTable_Deleted_Test() {
-        final Table result = toTypeTable(getDeletedType());
+        final Table result = toTypeTable(getDeletedType(), new Ds3NameTable());
         assertThat(result.getTitle(), is("DeletedType"));
         assertThat(result.getAnchor(), is("DeletedType"));
         assertTrue(hasContent(result.getRows()));
@@ -85,7 +86,7 @@ public class HtmlTypeTableGenerator_Test {
 
     @Test
     public void toTypeTable_Modified_Test() {
-        final Table result = toTypeTable(getModdifiedType());
+        final Table result = toTypeTable(getModdifiedType(), new Ds3NameTable());
         assertThat(result.getTitle(), is("ModifiedType"));
         assertThat(result.getAnchor(), is("ModifiedType"));
         assertTrue(hasContent(result.getRows()));
@@ -93,6 +94,6 @@ public class HtmlTypeTableGenerator_Test {
 
     @Test (expected = IllegalArgumentException.class)
     public void toTypeTable_NoChange_Test() {
-        toTypeTable(new NoChangeDs3TypeDiff(getTestType()));
+        toTypeTable(new NoChangeDs3TypeDiff(getTestType()), new Ds3NameTable());
     }
 }
@@ -0,0 +1,99 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.print.htmlprinter.generators.row;
+
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3contractcomparator.models.request.Ds3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.type.Ds3TypeDiff;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
+import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.body.rows.Row;
+import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.body.rows.RowConstants;
+import org.junit.Test;
+
+import java.util.stream.Collectors;
+
+import static com.spectralogic.ds3contractcomparator.print.htmlprinter.generators.row.AddedHtmlRowGenerator.createAddedRows;
+import static com.spectralogic.ds3contractcomparator.print.htmlprinter.generators.row.DeletedHtmlRowGenerator.createDeletedRows;
+import static com.spectralogic.ds3contractcomparator.print.htmlprinter.generators.row.DeltaHtmlRowGenerator.createDeltaRows;
+import static com.spectralogic.ds3contractcomparator.print.htmlprinter.generators.row.ModifiedHtmlRowGenerator.createModifiedRows;
+import static com.spectralogic.ds3contractcomparator.print.utils.Ds3SpecDiffFixture.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Verifies that rows generated from the delta tree are identical to the rows
+ * generated by traversing the contract entities using reflection
+ */
+public class DeltaHtmlRowGenerator_Test {
+
+    private static final int INDENT = RowConstants.STARTING_INDENT;
+
+    private static ImmutableList<String> toRowStrings(final ImmutableList<Row> rows) {
+        return rows.stream()
+                .map(row -> row.getClass().getSimpleName() + "|" + row.getIndent() + "|" + row.getLabel()
+                        + "|" + row.getOldVal() + "|" + row.getNewVal()
+                        + "|" + row.getOldColor() + "|" + row.getNewColor())
+                .collect(Collectors.collectingAndThen(Collectors.toList(), ImmutableList::copyOf));
+    }
+
+    @Test
+    public void createDeltaRows_AddedRequest_Test() {
+        final Ds3RequestDiff diff = getAddedRequest();
+        assertThat(
+                toRowStrings(createDeltaRows(diff.getDelta(), INDENT, new Ds3NameTable())),
+                is(toRowStrings(createAddedRows(diff.getNewDs3Request(), INDENT))));
+    }
+
+    @Test
+    public void createDeltaRows_DeletedRequest_Test() {
+        final Ds3RequestDiff diff = getDeletedRequest();
+        assertThat(
+                toRowStrings(createDeltaRows(diff.getDelta(), INDENT, new Ds3NameTable())),
+                is(toRowStrings(createDeletedRows(diff.getOldDs3Request(), INDENT))));
+    }
+
+    @Test
+    public void createDeltaRows_ModifiedRequest_Test() {
+        final Ds3RequestDiff diff = getModifiedRequest();
+        assertThat(
+                toRowStrings(createDeltaRows(diff.getDelta(), INDENT, new Ds3NameTable())),
+                is(toRowStrings(createModifiedRows(diff.getOldDs3Request(), diff.getNewDs3Request(), INDENT))));
+    }
+
+    @Test
+    public void createDeltaRows_AddedType_Test() {
+        final Ds3TypeDiff diff = getAddedType();
+        assertThat(
+                toRowStrings(createDeltaRows(diff.getDelta(), INDENT, new Ds3NameTable())),
+                is(toRowStrings(createAddedRows(diff.getNewDs3Type(), INDENT))));
+    }
+
+    @Test
+    public void createDeltaRows_DeletedType_Test() {
+        final Ds3TypeDiff diff = getDeletedType();
+        assertThat(
+                toRowStrings(createDeltaRows(diff.getDelta(), INDENT, new Ds3NameTable())),
+                is(toRowStrings(createDeletedRows(diff.getOldDs3Type(), INDENT))));
+    }
+
+    @Test
+    public void createDeltaRows_ModifiedType_Test() {
+        final Ds3TypeDiff diff = getModdifiedType();
+        assertThat(
+                toRowStrings(createDeltaRows(diff.getDelta(), INDENT, new Ds3NameTable())),
+                is(toRowStrings(createModifiedRows(diff.getOldDs3Type(), diff.getNewDs3Type(), INDENT))));
+    }
+}
@@ -16,9 +16,8 @@
 package com.spectralogic.ds3contractcomparator.print.htmlprinter.generators.row;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableSet;
-import com.spectralogic.ds3autogen.api.models.apispec.Ds3Param;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Annotation;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3AnnotationElement;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ResponseCode;
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.body.rows.ModifiedRow;
 import com.spectralogic.ds3contractcomparator.print.htmlprinter.models.body.rows.NoChangeRow;
@@ -31,8 +30,8 @@ import java.lang.reflect.Field;
 import static com.spectralogic.ds3contractcomparator.print.htmlprinter.generators.row.ModifiedHtmlRowGenerator.*;
 import static com.spectralogic.ds3contractcomparator.print.utils.Ds3ObjectFixture.*;
 import static com.spectralogic.ds3contractcomparator.print.utils.TestUtils.getObjectField;
-import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.*;
 
 public class ModifiedHtmlRowGenerator_Test {
@@ -192,90 +191,13 @@ public class ModifiedHtmlRowGenerator_Test {
     }
 
     @Test
-    public void toPropertyMap_NullList_Test() {
-        final ImmutableMap<String, Ds3Param> result = toPropertyMap(null, "name");
-        assertThat(result.size(), is(0));
-    }
-
-    @Test
-    public void toPropertyMap_EmptyList_Test() {
-        final ImmutableMap<String, Ds3Param> result = toPropertyMap(ImmutableList.of(), "name");
-        assertThat(result.size(), is(0));
-    }
-
-    @Test
-    public void toPropertyMap_Test() {
-        final ImmutableMap<String, Ds3Param> result = toPropertyMap(getOldParamList(), "name");
-        assertThat(result.size(), is(3));
-
-        assertTrue(result.containsKey(NO_CHANGE_PARAM.getName()));
-        assertTrue(result.containsKey(OLD_PARAM.getName()));
-        assertTrue(result.containsKey(DELETED_PARAM.getName()));
-
-        assertThat(result.get(NO_CHANGE_PARAM.getName()), is(NO_CHANGE_PARAM));
-        assertThat(result.get(OLD_PARAM.getName()), is(OLD_PARAM));
-        assertThat(result.get(DELETED_PARAM.getName()), is(DELETED_PARAM));
-    }
-
-    @Test
-    public void toPropertyUnion_NullLists_Test() {
-        final ImmutableSet<String> result = toPropertyUnion(null, null, "name");
-        assertThat(result.size(), is(0));
-    }
-
-    @Test
-    public void toPropertyUnion_EmptyLists_Test() {
-        final ImmutableSet<String> result = toPropertyUnion(ImmutableList.of(), ImmutableList.of(), "name");
-        assertThat(result.size(), is(0));
-    }
-
-    @Test
-    public void toPropertyUnion_NullOld_Test() {
-        final ImmutableSet<String> result = toPropertyUnion(null, getNewParamList(), "name");
-        assertThat(result.size(), is(3));
-        assertThat(result, hasItem(NO_CHANGE_PARAM.getName()));
-        assertThat(result, hasItem(NEW_PARAM.getName()));
-        assertThat(result, hasItem(ADDED_PARAM.getName()));
+    public void getPropertyKey_Test() {
+        assertThat(getPropertyKey(OLD_PARAM, "name"), is(OLD_PARAM.getName()));
     }
 
     @Test
-    public void toPropertyUnion_NullNew_Test() {
-        final ImmutableSet<String> result = toPropertyUnion(getOldParamList(), null, "name");
-        assertThat(result.size(), is(3));
-        assertThat(result, hasItem(NO_CHANGE_PARAM.getName()));
-        assertThat(result, hasItem(OLD_PARAM.getName()));
-        assertThat(result, hasItem(DELETED_PARAM.getName()));
-    }
-
-    @Test
-    public void toPropertyUnion_Test() {
-        final ImmutableSet<String> result = toPropertyUnion(getOldParamList(), getNewParamList(), "name");
-        assertThat(result.size(), is(4));
-        assertThat(result, hasItem(NO_CHANGE_PARAM.getName()));
-        assertThat(result, hasItem(OLD_PARAM.getName()));
-        assertThat(result, hasItem(DELETED_PARAM.getName()));
-        assertThat(result, hasItem(ADDED_PARAM.getName()));
-    }
-
-    @Test
-    public void getPropertyValues_NullList_Test() {
-        final ImmutableSet<String> result = getPropertyValues(null, "name");
-        assertThat(result.size(), is(0));
-    }
-
-    @Test
-    public void getPropertyValues_EmptyList_Test() {
-        final ImmutableSet<String> result = getPropertyValues(ImmutableList.of(), "name");
-        assertThat(result.size(), is(0));
-    }
-
-    @Test
-    public void getPropertyValues_Test() {
-        final ImmutableSet<String> result = getPropertyValues(getOldParamList(), "name");
-        assertThat(result.size(), is(3));
-        assertThat(result, hasItem(NO_CHANGE_PARAM.getName()));
-        assertThat(result, hasItem(OLD_PARAM.getName()));
-        assertThat(result, hasItem(DELETED_PARAM.getName()));
+    public void getPropertyKey_UnknownProperty_Test() {
+        assertThat(getPropertyKey(OLD_PARAM, "unknownProperty"), is(nullValue()));
     }
 
     @Test
@@ -347,6 +269,28 @@ public class ModifiedHtmlRowGenerator_Test {
         assertThat(result.get(7).getNewVal(), is("ValType3"));
     }
 
+    @Test
+    public void createModifiedRows_ListInputSortedByUniqueProperty_Test() {
+        final ImmutableList<Row> result = createModifiedRows(
+                new Ds3Annotation("Name", ImmutableList.of(
+                        new Ds3AnnotationElement("Removed", "Val", "ValType"),
+                        new Ds3AnnotationElement("Changed", "Val1", "ValType"))),
+                new Ds3Annotation("Name", ImmutableList.of(
+                        new Ds3AnnotationElement("Changed", "Val2", "ValType"),
+                        new Ds3AnnotationElement("Added", "Val", "ValType"))),
+                0);
+
+        assertThat(result.size(), is(11));
+        assertThat(result.get(2).getLabel(), is("name"));
+        assertThat(result.get(2).getNewVal(), is("Added"));
+        assertThat(result.get(5).getLabel(), is("name"));
+        assertThat(result.get(5).getNewVal(), is("Changed"));
+        assertThat(result.get(6).getOldVal(), is("Val1"));
+        assertThat(result.get(6).getNewVal(), is("Val2"));
+        assertThat(result.get(8).getLabel(), is("name"));
+        assertThat(result.get(8).getOldVal(), is("Removed"));
+    }
+
     @Test (expected = IllegalArgumentException.class)
     public void toModifiedFieldIndent_NullObjects_Test() throws NoSuchFieldException {
         final Field field = getObjectField(NEW_PARAM, "name");
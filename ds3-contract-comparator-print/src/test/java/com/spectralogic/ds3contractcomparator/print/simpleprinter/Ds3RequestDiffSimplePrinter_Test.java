@@ -17,6 +17,7 @@ package com.spectralogic.ds3contractcomparator.print.simpleprinter;
 
 import com.spectralogic.ds3contractcomparator.models.request.AddedDs3RequestDiff;
 import com.spectralogic.ds3contractcomparator.models.request.Ds3RequestDiff;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
 import com.spectralogic.ds3contractcomparator.print.utils.WriterHelper;
 import org.junit.Test;
 
@@ -65,7 +66,7 @@ public class Ds3RequestDiffSimplePrinter_Test {
         final Writer writer = new OutputStreamWriter(outputStream);
         final WriterHelper helper = new WriterHelper(writer);
 
-        Ds3RequestDiffSimplePrinter.printRequestDiff(diff, helper);
+        Ds3RequestDiffSimplePrinter.printRequestDiff(diff, helper, new Ds3NameTable());
         helper.close();
 
         final String result = new String(outputStream.toByteArray());
@@ -105,7 +106,7 @@ public class Ds3RequestDiffSimplePrinter_Test {
         final Writer writer = new OutputStreamWriter(outputStream);
         final WriterHelper helper = new WriterHelper(writer);
 
-        Ds3RequestDiffSimplePrinter.printRequestDiff(diff, helper);
+        Ds3RequestDiffSimplePrinter.printRequestDiff(diff, helper, new Ds3NameTable());
         helper.close();
 
         final String result = new String(outputStream.toByteArray());
@@ -125,31 +126,31 @@ public class Ds3RequestDiffSimplePrinter_Test {
                 "\\s+Operation:\\s+ALLOCATE\\s+ALLOCATE" +
                 "\\s+IncludeInPath:\\s+false\\s+false" +
                 "\\s+OptionalParameters:" +
-                "\\s+ParamName:\\s+StaticParam\\s+StaticParam" +
-                "\\s+Type:\\s+TestType\\s+TestType" +
-                "\\s+Nullable:\\s+true\\s+true" +
+                "\\s+ParamName:\\s+N/A-+> AddedParam" +
+                "\\s+Type:\\s+N/A\\s+TestType" +
+                "\\s+Nullable:\\s+N/A\\s+true" +
                 "\\s+ParamName:\\s+DeletedParam-+> N/A" +
                 "\\s+Type:\\s+TestType\\s+N/A" +
                 "\\s+Nullable:\\s+true\\s+N/A" +
                 "\\s+ParamName:\\s+ModifiedParam\\s+ModifiedParam" +
                 "\\s+Type:\\s+TestType-+> ModifiedTestType" +
                 "\\s+Nullable:\\s+true-+> false" +
-                "\\s+ParamName:\\s+N/A-+> AddedParam" +
-                "\\s+Type:\\s+N/A\\s+TestType" +
-                "\\s+Nullable:\\s+N/A\\s+true" +
+                "\\s+ParamName:\\s+StaticParam\\s+StaticParam" +
+                "\\s+Type:\\s+TestType\\s+TestType" +
+                "\\s+Nullable:\\s+true\\s+true" +
                 "\\s+ResponseCodes:" +
                 "\\s+ResponseCode:\\s+200\\s+200" +
                 "\\s+Type:\\s+StaticType\\s+StaticType" +
                 "\\s+ComponentType:\\s+ComponentType\\s+ComponentType" +
+                "\\s+ResponseCode:\\s+N/A-+> 201" +
+                "\\s+Type:\\s+N/A\\s+AddedType" +
+                "\\s+ComponentType:\\s+N/A\\s+ComponentType" +
                 "\\s+ResponseCode:\\s+202-+> N/A" +
                 "\\s+Type:\\s+DeletedType\\s+N/A" +
                 "\\s+ComponentType:\\s+ComponentType\\s+N/A" +
                 "\\s+ResponseCode:\\s+203\\s+203" +
                 "\\s+Type:\\s+ModifiedType\\s+ModifiedType" +
-                "\\s+ComponentType:\\s+ComponentType-+> ModifiedComponentType" +
-                "\\s+ResponseCode:\\s+N/A-+> 201" +
-                "\\s+Type:\\s+N/A\\s+AddedType" +
-                "\\s+ComponentType:\\s+N/A\\s+ComponentType",
+                "\\s+ComponentType:\\s+ComponentType-+> ModifiedComponentType",
                 Pattern.MULTILINE | Pattern.UNIX_LINES);
 
         final Ds3RequestDiff diff = getModifiedRequest();
@@ -158,7 +159,7 @@ public class Ds3RequestDiffSimplePrinter_Test {
         final Writer writer = new OutputStreamWriter(outputStream);
         final WriterHelper helper = new WriterHelper(writer);
 
-        Ds3RequestDiffSimplePrinter.printRequestDiff(diff, helper);
+        Ds3RequestDiffSimplePrinter.printRequestDiff(diff, helper, new Ds3NameTable());
         helper.close();
 
         final String result = new String(outputStream.toByteArray());
@@ -0,0 +1,91 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.print.simpleprinter;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3contractcomparator.models.Ds3ApiSpecDiff;
+import com.spectralogic.ds3contractcomparator.models.Ds3TypeImpact;
+import com.spectralogic.ds3contractcomparator.models.request.NoChangeDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.type.NoChangeDs3TypeDiff;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.getBucketRequest;
+import static com.spectralogic.ds3contractcomparator.print.utils.Ds3SpecDiffFixture.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class Ds3SpecDiffSimplePrinter_Test {
+
+    private static Ds3ApiSpecDiff getTestSpecDiff() {
+        return new Ds3ApiSpecDiff(
+                ImmutableList.of(
+                        getModifiedRequest(),
+                        new NoChangeDs3RequestDiff(getBucketRequest()),
+                        getAddedRequest(),
+                        getDeletedRequest()),
+                ImmutableList.of(
+                        getModdifiedType(),
+                        new NoChangeDs3TypeDiff(getTestType()),
+                        getAddedType(),
+                        getDeletedType()));
+    }
+
+    @Test
+    public void acceptDiffs_SameAsPrint_Test() {
+        final Ds3ApiSpecDiff specDiff = getTestSpecDiff();
+
+        final StringWriter printWriter = new StringWriter();
+        new Ds3SpecDiffSimplePrinter(printWriter, true, true).print(specDiff);
+
+        final StringWriter sinkWriter = new StringWriter();
+        final Ds3SpecDiffSimplePrinter sinkPrinter = new Ds3SpecDiffSimplePrinter(sinkWriter, true, true);
+        specDiff.getRequests().forEach(sinkPrinter::acceptRequestDiff);
+        specDiff.getTypes().forEach(sinkPrinter::acceptTypeDiff);
+        sinkPrinter.complete();
+
+        assertThat(sinkWriter.toString(), is(printWriter.toString()));
+    }
+
+    @Test
+    public void acceptDiffs_NoChange_Test() {
+        final StringWriter writer = new StringWriter();
+        final Ds3SpecDiffSimplePrinter printer = new Ds3SpecDiffSimplePrinter(writer, true, true);
+        printer.acceptRequestDiff(new NoChangeDs3RequestDiff(getBucketRequest()));
+        printer.acceptTypeDiff(new NoChangeDs3TypeDiff(getTestType()));
+        printer.complete();
+
+        assertThat(writer.toString(), is(""));
+    }
+
+    @Test
+    public void acceptImpact_Test() {
+        final StringWriter writer = new StringWriter();
+        final Ds3SpecDiffSimplePrinter printer = new Ds3SpecDiffSimplePrinter(writer, true, true);
+        printer.acceptImpact(new Ds3TypeImpact(ImmutableMap.of(
+                "com.test.ModifiedType", ImmutableSet.of("com.test.SecondRequest", "com.test.FirstRequest"),
+                "com.test.UnreferencedType", ImmutableSet.of())));
+        printer.complete();
+
+        assertThat(writer.toString(), is("******************** COMMANDS AFFECTED BY TYPE ModifiedType ********************\n\n"
+                + "  FirstRequest\n"
+                + "  SecondRequest\n"
+                + "\n"));
+    }
+}
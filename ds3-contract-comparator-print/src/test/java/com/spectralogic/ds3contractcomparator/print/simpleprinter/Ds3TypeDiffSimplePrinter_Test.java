@@ -21,6 +21,7 @@ import com.spectralogic.ds3contractcomparator.models.type.AddedDs3TypeDiff;
 import com.spectralogic.ds3contractcomparator.models.type.DeletedDs3TypeDiff;
 import com.spectralogic.ds3contractcomparator.models.type.Ds3TypeDiff;
 import com.spectralogic.ds3contractcomparator.models.type.ModifiedDs3TypeDiff;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
 import com.spectralogic.ds3contractcomparator.print.utils.WriterHelper;
 import org.junit.Test;
 
@@ -65,7 +66,7 @@ public class Ds3TypeDiffSimplePrinter_Test {
         final Writer writer = new OutputStreamWriter(outputStream);
         final WriterHelper helper = new WriterHelper(writer);
 
-        Ds3TypeDiffSimplePrinter.printTypeDiff(diff, helper, true, true);
+        Ds3TypeDiffSimplePrinter.printTypeDiff(diff, helper, new Ds3NameTable(), true, true);
         helper.close();
 
         final String result = new String(outputStream.toByteArray());
@@ -93,7 +94,7 @@ public class Ds3TypeDiffSimplePrinter_Test {
         final Writer writer = new OutputStreamWriter(outputStream);
         final WriterHelper helper = new WriterHelper(writer);
 
-        Ds3TypeDiffSimplePrinter.printTypeDiff(diff, helper, false, false);
+        Ds3TypeDiffSimplePrinter.printTypeDiff(diff, helper, new Ds3NameTable(), false, false);
         helper.close();
 
         final String result = new String(outputStream.toByteArray());
@@ -130,7 +131,7 @@ public class Ds3TypeDiffSimplePrinter_Test {
         final Writer writer = new OutputStreamWriter(outputStream);
         final WriterHelper helper = new WriterHelper(writer);
 
-        Ds3TypeDiffSimplePrinter.printTypeDiff(diff, helper, true, true);
+        Ds3TypeDiffSimplePrinter.printTypeDiff(diff, helper, new Ds3NameTable(), true, true);
         helper.close();
 
         final String result = new String(outputStream.toByteArray());
@@ -158,7 +159,7 @@ public class Ds3TypeDiffSimplePrinter_Test {
         final Writer writer = new OutputStreamWriter(outputStream);
         final WriterHelper helper = new WriterHelper(writer);
 
-        Ds3TypeDiffSimplePrinter.printTypeDiff(diff, helper, false, false);
+        Ds3TypeDiffSimplePrinter.printTypeDiff(diff, helper, new Ds3NameTable(), false, false);
         helper.close();
 
         final String result = new String(outputStream.toByteArray());
@@ -190,7 +191,7 @@ public class Ds3TypeDiffSimplePrinter_Test {
         final Writer writer = new OutputStreamWriter(outputStream);
         final WriterHelper helper = new WriterHelper(writer);
 
-        Ds3TypeDiffSimplePrinter.printTypeDiff(diff, helper, false, false);
+        Ds3TypeDiffSimplePrinter.printTypeDiff(diff, helper, new Ds3NameTable(), false, false);
         helper.close();
 
         final String result = new String(outputStream.toByteArray());
@@ -16,6 +16,7 @@
 package com.spectralogic.ds3contractcomparator.print.utils;
 
 import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
 import org.junit.Test;
 
 import static com.spectralogic.ds3contractcomparator.print.utils.HtmlPrinterUtils.toRequestAnchor;
@@ -27,15 +28,15 @@ public class HtmlPrinterUtils_Test {
 
     @Test
     public void toRequestTitle_Test() {
-        assertThat(toRequestTitle("com.test.Request", Classification.amazons3), is("Request (amazons3)"));
-        assertThat(toRequestTitle("com.test.Request", Classification.spectrads3), is("Request (spectrads3)"));
-        assertThat(toRequestTitle("com.test.Request", Classification.spectrainternal), is("Request (spectrainternal)"));
+        assertThat(toRequestTitle("com.test.Request", Classification.amazons3, new Ds3NameTable()), is("Request (amazons3)"));
+        assertThat(toRequestTitle("com.test.Request", Classification.spectrads3, new Ds3NameTable()), is("Request (spectrads3)"));
+        assertThat(toRequestTitle("com.test.Request", Classification.spectrainternal, new Ds3NameTable()), is("Request (spectrainternal)"));
     }
 
     @Test
     public void toRequestAnchor_Test() {
-        assertThat(toRequestAnchor("com.test.Request", Classification.amazons3), is("Requestamazons3"));
-        assertThat(toRequestAnchor("com.test.Request", Classification.spectrads3), is("Requestspectrads3"));
-        assertThat(toRequestAnchor("com.test.Request", Classification.spectrainternal), is("Requestspectrainternal"));
+        assertThat(toRequestAnchor("com.test.Request", Classification.amazons3, new Ds3NameTable()), is("Requestamazons3"));
+        assertThat(toRequestAnchor("com.test.Request", Classification.spectrads3, new Ds3NameTable()), is("Requestspectrads3"));
+        assertThat(toRequestAnchor("com.test.Request", Classification.spectrainternal, new Ds3NameTable()), is("Requestspectrainternal"));
     }
 }
@@ -0,0 +1,319 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator;
+
+import com.spectralogic.ds3contractcomparator.breaking.BreakingChangeRules;
+import com.spectralogic.ds3contractcomparator.filter.Ds3SpecFilter;
+import com.spectralogic.ds3contractcomparator.ignore.Ds3IgnoreProfile;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Options which control how {@link Ds3ApiSpecComparatorImpl} performs a comparison.
+ * Created through {@link ComparatorOptions#builder()}.
+ */
+public final class ComparatorOptions {
+
+    public static final double DEFAULT_RENAME_THRESHOLD = 0.7;
+
+    @Nullable
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final boolean verifyFingerprints;
+    private final boolean changesOnly;
+    private final boolean detectRenames;
+    private final double renameThreshold;
+    private final BreakingChangeRules breakingChangeRules;
+    private final Ds3SpecFilter filter;
+    private final Ds3IgnoreProfile ignoreProfile;
+    private final boolean canonicalize;
+    @Nullable
+    private final Ds3NameTable nameTable;
+
+    private ComparatorOptions(
+            @Nullable final ExecutorService executor,
+            final int parallelism,
+            final boolean verifyFingerprints,
+            final boolean changesOnly,
+            final boolean detectRenames,
+            final double renameThreshold,
+            final BreakingChangeRules breakingChangeRules,
+            final Ds3SpecFilter filter,
+            final Ds3IgnoreProfile ignoreProfile,
+            final boolean canonicalize,
+            @Nullable final Ds3NameTable nameTable) {
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.verifyFingerprints = verifyFingerprints;
+        this.changesOnly = changesOnly;
+        this.detectRenames = detectRenames;
+        this.renameThreshold = renameThreshold;
+        this.breakingChangeRules = breakingChangeRules;
+        this.filter = filter;
+        this.ignoreProfile = ignoreProfile;
+        this.canonicalize = canonicalize;
+        this.nameTable = nameTable;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a builder containing these options
+     */
+    public Builder toBuilder() {
+        return new Builder()
+                .withExecutor(executor)
+                .withParallelism(parallelism)
+                .withVerifyFingerprints(verifyFingerprints)
+                .withChangesOnly(changesOnly)
+                .withDetectRenames(detectRenames)
+                .withRenameThreshold(renameThreshold)
+                .withBreakingChangeRules(breakingChangeRules)
+                .withFilter(filter)
+                .withIgnoreProfile(ignoreProfile)
+                .withCanonicalize(canonicalize)
+                .withNameTable(nameTable);
+    }
+
+    /**
+     * The executor used to run the comparison, or null if the comparison runs on the calling thread
+     */
+    @Nullable
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * If true, entities with matching fingerprints are also checked with equals before being reported as unchanged
+     */
+    public boolean isVerifyFingerprints() {
+        return verifyFingerprints;
+    }
+
+    /**
+     * If true, unchanged entities are only counted within the summary and no diff is created for them
+     */
+    public boolean isChangesOnly() {
+        return changesOnly;
+    }
+
+    /**
+     * If true, deleted and added entities with similar structure are reported as renamed
+     */
+    public boolean isDetectRenames() {
+        return detectRenames;
+    }
+
+    /**
+     * The minimum Jaccard similarity of the structural features of a deleted and an added entity
+     * for them to be reported as renamed
+     */
+    public double getRenameThreshold() {
+        return renameThreshold;
+    }
+
+    /**
+     * The rules used to classify every change found by the comparison
+     */
+    public BreakingChangeRules getBreakingChangeRules() {
+        return breakingChangeRules;
+    }
+
+    /**
+     * Selects the requests and types which are compared. Excluded entities are neither compared nor
+     * counted within the summary.
+     */
+    public Ds3SpecFilter getFilter() {
+        return filter;
+    }
+
+    /**
+     * The fields which are removed from every request and type before they are compared
+     */
+    public Ds3IgnoreProfile getIgnoreProfile() {
+        return ignoreProfile;
+    }
+
+    /**
+     * If true, the keyed lists of every request and type are sorted by key before they are compared,
+     * so that entities which only differ in the order of those lists are unchanged
+     */
+    public boolean isCanonicalize() {
+        return canonicalize;
+    }
+
+    /**
+     * The table used to intern the names of the compared entities, or null if each comparison uses its own table
+     */
+    @Nullable
+    public Ds3NameTable getNameTable() {
+        return nameTable;
+    }
+
+    public static final class Builder {
+
+        @Nullable
+        private ExecutorService executor;
+        private int parallelism = 1;
+        private boolean verifyFingerprints = false;
+        private boolean changesOnly = false;
+        private boolean detectRenames = false;
+        private double renameThreshold = DEFAULT_RENAME_THRESHOLD;
+        private BreakingChangeRules breakingChangeRules = BreakingChangeRules.defaults();
+        private Ds3SpecFilter filter = Ds3SpecFilter.all();
+        private Ds3IgnoreProfile ignoreProfile = Ds3IgnoreProfile.NONE;
+        private boolean canonicalize = false;
+        @Nullable
+        private Ds3NameTable nameTable;
+
+        private Builder() {
+            //pass
+        }
+
+        /**
+         * Splits the comparison into {@code parallelism} partitions. If no executor is
+         * specified, a {@link Ds3ApiSpecComparatorImpl} creates its own {@link ForkJoinPool}
+         * when parallelism is greater than one, which is shut down when the comparator is closed.
+         */
+        public Builder withParallelism(final int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Runs the comparison on the specified executor. The caller retains ownership of
+         * the executor and is responsible for shutting it down.
+         */
+        public Builder withExecutor(@Nullable final ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Verifies entities with matching fingerprints using equals before reporting them as unchanged
+         */
+        public Builder withVerifyFingerprints(final boolean verifyFingerprints) {
+            this.verifyFingerprints = verifyFingerprints;
+            return this;
+        }
+
+        /**
+         * Leaves unchanged requests and types out of the comparison results. They are
+         * still counted within the {@link com.spectralogic.ds3contractcomparator.models.Ds3DiffSummary}.
+         */
+        public Builder withChangesOnly(final boolean changesOnly) {
+            this.changesOnly = changesOnly;
+            return this;
+        }
+
+        /**
+         * Pairs deleted and added requests, and deleted and added types, whose structure is similar
+         * and reports each pair as renamed instead of as unrelated deleted and added entities
+         */
+        public Builder withDetectRenames(final boolean detectRenames) {
+            this.detectRenames = detectRenames;
+            return this;
+        }
+
+        /**
+         * The minimum Jaccard similarity, within (0, 1], of the structural features of a deleted and
+         * an added entity for them to be reported as renamed. Defaults to {@value #DEFAULT_RENAME_THRESHOLD}.
+         * Pairs with a similarity below 0.5 are increasingly likely to be missed by the candidate lookup.
+         */
+        public Builder withRenameThreshold(final double renameThreshold) {
+            this.renameThreshold = renameThreshold;
+            return this;
+        }
+
+        /**
+         * The rules used to classify every change found by the comparison. Defaults to
+         * {@link BreakingChangeRules#defaults()}.
+         */
+        public Builder withBreakingChangeRules(final BreakingChangeRules breakingChangeRules) {
+            this.breakingChangeRules = breakingChangeRules;
+            return this;
+        }
+
+        /**
+         * Compares only the requests and types included by the filter. Defaults to {@link Ds3SpecFilter#all()}.
+         */
+        public Builder withFilter(final Ds3SpecFilter filter) {
+            this.filter = filter;
+            return this;
+        }
+
+        /**
+         * Ignores the fields of the profile when comparing, so that entities which only differ
+         * within those fields are unchanged. Defaults to {@link Ds3IgnoreProfile#NONE}.
+         */
+        public Builder withIgnoreProfile(final Ds3IgnoreProfile ignoreProfile) {
+            this.ignoreProfile = ignoreProfile;
+            return this;
+        }
+
+        /**
+         * Sorts the params, response codes, response types, elements, annotations, annotation elements,
+         * enum constants and properties of every entity by key before comparing, using
+         * {@link com.spectralogic.ds3contractcomparator.canonical.Ds3SpecCanonicalizer}. Defaults to false.
+         */
+        public Builder withCanonicalize(final boolean canonicalize) {
+            this.canonicalize = canonicalize;
+            return this;
+        }
+
+        /**
+         * Interns the names of the compared entities into the specified table, so that it can be shared
+         * with the printers which receive the diffs. Defaults to a new table for each comparison.
+         */
+        public Builder withNameTable(@Nullable final Ds3NameTable nameTable) {
+            this.nameTable = nameTable;
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if the parallelism is not positive, or the rename threshold is not within (0, 1]
+         */
+        public ComparatorOptions build() {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Parallelism must be positive, but was: " + parallelism);
+            }
+            if (renameThreshold <= 0 || renameThreshold > 1) {
+                throw new IllegalArgumentException("Rename threshold must be within (0, 1], but was: " + renameThreshold);
+            }
+            return new ComparatorOptions(
+                    executor,
+                    parallelism,
+                    verifyFingerprints,
+                    changesOnly,
+                    detectRenames,
+                    renameThreshold,
+                    breakingChangeRules,
+                    filter,
+                    ignoreProfile,
+                    canonicalize,
+                    nameTable);
+        }
+    }
+}
@@ -17,6 +17,8 @@ package com.spectralogic.ds3contractcomparator;
 
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3contractcomparator.models.Ds3ApiSpecDiff;
+import com.spectralogic.ds3contractcomparator.models.request.AbstractDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.type.AbstractDs3TypeDiff;
 
 /**
  * Interface for comparing two {@link Ds3ApiSpec}
@@ -30,4 +32,23 @@ public interface Ds3ApiSpecComparator {
      * @param newSpec the newer API version of the {@link Ds3ApiSpec}
      */
     Ds3ApiSpecDiff compare(final Ds3ApiSpec oldSpec, final Ds3ApiSpec newSpec);
+
+    /**
+     * Takes in two {@link Ds3ApiSpec} and passes each {@link AbstractDs3RequestDiff} and
+     * {@link AbstractDs3TypeDiff} to the {@code sink}, followed by the type impact, the breaking changes, the summary and
+     * {@link Ds3SpecDiffSink#complete()}.
+     * By default the full {@link Ds3ApiSpecDiff} is computed first, implementations may instead
+     * emit each diff as soon as it is produced.
+     * @param oldSpec the older API version of the {@link Ds3ApiSpec}
+     * @param newSpec the newer API version of the {@link Ds3ApiSpec}
+     */
+    default void compare(final Ds3ApiSpec oldSpec, final Ds3ApiSpec newSpec, final Ds3SpecDiffSink sink) {
+        final Ds3ApiSpecDiff specDiff = compare(oldSpec, newSpec);
+        specDiff.getRequests().forEach(sink::acceptRequestDiff);
+        specDiff.getTypes().forEach(sink::acceptTypeDiff);
+        sink.acceptImpact(specDiff.getImpact());
+        sink.acceptBreakingChanges(specDiff.getBreakingChanges());
+        sink.acceptSummary(specDiff.getSummary());
+        sink.complete();
+    }
 }
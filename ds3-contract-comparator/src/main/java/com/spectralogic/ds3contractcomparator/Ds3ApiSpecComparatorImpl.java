@@ -15,32 +15,572 @@
 
 package com.spectralogic.ds3contractcomparator;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashCode;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
-import com.spectralogic.ds3autogen.utils.ConverterUtil;
 import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
+import com.spectralogic.ds3contractcomparator.baseline.Ds3BaselineIndex;
+import com.spectralogic.ds3contractcomparator.breaking.BreakingChangeSummary;
+import com.spectralogic.ds3contractcomparator.breaking.Ds3CompatibilityChecker;
+import com.spectralogic.ds3contractcomparator.breaking.Ds3CompatibilityResult;
+import com.spectralogic.ds3contractcomparator.canonical.Ds3SpecCanonicalizer;
+import com.spectralogic.ds3contractcomparator.filter.Ds3SpecFilter;
+import com.spectralogic.ds3contractcomparator.fingerprint.Ds3FingerprintCache;
+import com.spectralogic.ds3contractcomparator.fingerprint.Ds3Fingerprints;
+import com.spectralogic.ds3contractcomparator.fingerprint.Ds3SpecFingerprints;
+import com.spectralogic.ds3contractcomparator.impact.Ds3TypeReferenceGraph;
 import com.spectralogic.ds3contractcomparator.models.Ds3ApiSpecDiff;
+import com.spectralogic.ds3contractcomparator.models.Ds3DiffSummary;
+import com.spectralogic.ds3contractcomparator.models.Ds3TypeImpact;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
 import com.spectralogic.ds3contractcomparator.models.request.AbstractDs3RequestDiff;
 import com.spectralogic.ds3contractcomparator.models.type.AbstractDs3TypeDiff;
+import com.spectralogic.ds3contractcomparator.rename.Ds3RenameDetectingSink;
+import com.spectralogic.ds3contractcomparator.utils.AlignedPair;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
-import static com.spectralogic.ds3autogen.utils.ConverterUtil.hasContent;
 import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
+import static com.spectralogic.ds3contractcomparator.utils.AlignmentUtils.align;
+import static com.spectralogic.ds3contractcomparator.utils.ConcurrencyUtils.joinPartitions;
+import static com.spectralogic.ds3contractcomparator.utils.ConcurrencyUtils.submitPartitions;
 
 /**
  * Implements {@link Ds3ApiSpecComparator} and performs the {@link Ds3ApiSpec} comparison
- * using {@link Ds3RequestComparatorImpl} and {@link Ds3TypeComparatorImpl}
+ * using {@link Ds3RequestComparatorImpl} and {@link Ds3TypeComparatorImpl}. A comparator
+ * whose options have a parallelism greater than one but no executor owns a {@link ForkJoinPool},
+ * which is shut down by {@link #close()}.
  */
-public class Ds3ApiSpecComparatorImpl implements Ds3ApiSpecComparator {
+public class Ds3ApiSpecComparatorImpl implements Ds3ApiSpecComparator, Closeable {
+
+    private final ComparatorOptions options;
+    @Nullable
+    private final ForkJoinPool ownedPool;
+    private final Ds3FingerprintCache fingerprintCache = new Ds3FingerprintCache();
+    /**
+     * The prepared version of each spec which differs from the spec itself, so that a spec which is
+     * compared again by this comparator keeps the same prepared instance and is only fingerprinted once.
+     * Specs are keyed by identity and held weakly.
+     */
+    private final Cache<Ds3ApiSpec, Ds3ApiSpec> preparedSpecs = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    /**
+     * Creates a comparator which performs the entire comparison on the calling thread
+     */
+    public Ds3ApiSpecComparatorImpl() {
+        this(ComparatorOptions.builder().build());
+    }
+
+    /**
+     * Creates a comparator which splits the comparison across its own {@link ForkJoinPool}
+     * with the specified level of parallelism, which is shut down when the comparator is
+     * closed. A parallelism of one performs the comparison on the calling thread.
+     */
+    public Ds3ApiSpecComparatorImpl(final int parallelism) {
+        this(ComparatorOptions.builder().withParallelism(parallelism).build());
+    }
+
+    /**
+     * Creates a comparator which splits the comparison across the specified {@link ExecutorService}.
+     * The requests and types are each divided into {@code parallelism} partitions. The caller
+     * retains ownership of the executor and is responsible for shutting it down.
+     * @param executor the executor used to run the comparison, or null to use the comparator's own
+     *                 {@link ForkJoinPool} when {@code parallelism} is greater than one
+     */
+    public Ds3ApiSpecComparatorImpl(@Nullable final ExecutorService executor, final int parallelism) {
+        this(ComparatorOptions.builder().withExecutor(executor).withParallelism(parallelism).build());
+    }
+
+    /**
+     * Creates a comparator which performs the comparison as described by the {@link ComparatorOptions}
+     */
+    public Ds3ApiSpecComparatorImpl(final ComparatorOptions options) {
+        if (options.getExecutor() == null && options.getParallelism() > 1) {
+            this.ownedPool = new ForkJoinPool(options.getParallelism());
+            this.options = options.toBuilder().withExecutor(ownedPool).build();
+        } else {
+            this.ownedPool = null;
+            this.options = options;
+        }
+    }
 
+    /**
+     * Shuts down the {@link ForkJoinPool} created by this comparator, if any. An executor
+     * specified within the {@link ComparatorOptions} is not shut down.
+     */
+    @Override
+    public void close() {
+        if (ownedPool != null) {
+            ownedPool.shutdown();
+        }
+    }
+
+    /**
+     * Compares two {@link Ds3ApiSpec} by collecting the diffs produced by
+     * {@link #compare(Ds3ApiSpec, Ds3ApiSpec, Ds3SpecDiffSink)} into a {@link Ds3ApiSpecDiff}
+     */
     @Override
     public Ds3ApiSpecDiff compare(final Ds3ApiSpec oldSpec, final Ds3ApiSpec newSpec) {
-        return new Ds3ApiSpecDiff(
-                compareDs3Requests(oldSpec.getRequests(), newSpec.getRequests()),
-                compareDs3Types(oldSpec.getTypes(), newSpec.getTypes()));
+        final Ds3ApiSpecDiffCollector collector = new Ds3ApiSpecDiffCollector();
+        compare(oldSpec, newSpec, collector);
+        return collector.toDs3ApiSpecDiff();
+    }
+
+    /**
+     * Compares two {@link Ds3ApiSpec} and passes each diff to the {@code sink} as it is produced.
+     * The structural fingerprints of both specs are computed first, and cached for reuse if either
+     * spec is compared again by this comparator. Requests and types whose fingerprints match are
+     * reported as unchanged without a deep equals walk. When no executor is configured, each diff
+     * is produced lazily on the calling thread and no diffs are retained by the comparator.
+     * If {@link ComparatorOptions#isChangesOnly()}, unchanged requests and types are only counted
+     * within the summary passed to {@link Ds3SpecDiffSink#acceptSummary}. If
+     * {@link ComparatorOptions#isDetectRenames()}, deleted and added entities with similar structure
+     * are paired by a {@link Ds3RenameDetectingSink} before they are passed to the {@code sink}.
+     * After all diffs, the requests of either spec which reference each modified or deleted type
+     * are passed to {@link Ds3SpecDiffSink#acceptImpact}. Every changed request and type is classified
+     * by the {@link ComparatorOptions#getBreakingChangeRules()} as soon as its diff is produced, and
+     * the classified changes are passed to {@link Ds3SpecDiffSink#acceptBreakingChanges}.
+     * If {@link ComparatorOptions#isChangesOnly()} and the root fingerprints of both specs match, no
+     * per-entity comparison is performed and every request and type is counted as unchanged.
+     * Requests and types excluded by the {@link ComparatorOptions#getFilter()} are removed from both
+     * specs before they are fingerprinted, and are neither compared nor counted. The fields ignored by
+     * the {@link ComparatorOptions#getIgnoreProfile()} are then removed from the remaining entities.
+     * If {@link ComparatorOptions#isCanonicalize()}, the keyed lists of the remaining entities are
+     * sorted by key so that reordered lists are not reported as changes. A spec which is compared
+     * again by this comparator is neither prepared nor fingerprinted again.
+     */
+    @Override
+    public void compare(final Ds3ApiSpec oldSpec, final Ds3ApiSpec newSpec, final Ds3SpecDiffSink sink) {
+        compareFiltered(prepare(oldSpec), prepare(newSpec), sink);
+    }
+
+    /**
+     * Removes the entities excluded by the filter and the fields ignored by the ignore profile,
+     * and canonicalizes the remaining entities if requested
+     */
+    private Ds3ApiSpec prepare(final Ds3ApiSpec spec) {
+        final Ds3ApiSpec cachedSpec = preparedSpecs.getIfPresent(spec);
+        if (cachedSpec != null) {
+            return cachedSpec;
+        }
+        final Ds3ApiSpec preparedSpec = canonicalize(options.getIgnoreProfile().apply(options.getFilter().apply(spec)));
+        if (preparedSpec != spec) {
+            preparedSpecs.put(spec, preparedSpec);
+        }
+        return preparedSpec;
+    }
+
+    private Ds3ApiSpec canonicalize(final Ds3ApiSpec spec) {
+        return options.isCanonicalize()
+                ? Ds3SpecCanonicalizer.canonicalize(spec, options.getExecutor(), options.getParallelism())
+                : spec;
+    }
+
+    private void compareFiltered(final Ds3ApiSpec oldSpec, final Ds3ApiSpec newSpec, final Ds3SpecDiffSink sink) {
+        final ExecutorService executor = options.getExecutor();
+        final int parallelism = options.getParallelism();
+
+        final Ds3SpecFingerprints oldFingerprints = fingerprintCache.get(oldSpec, executor, parallelism);
+        final Ds3SpecFingerprints newFingerprints = fingerprintCache.get(newSpec, executor, parallelism);
+        if (isUnchanged(Ds3Fingerprints.rootFingerprint(oldFingerprints), newFingerprints)) {
+            acceptUnchanged(newSpec, sink);
+            return;
+        }
+        final Ds3RequestComparator requestComparator = new Ds3RequestComparatorImpl(
+                oldFingerprints, newFingerprints, options.isVerifyFingerprints());
+        final Ds3TypeComparator typeComparator = new Ds3TypeComparatorImpl(
+                oldFingerprints, newFingerprints, options.isVerifyFingerprints());
+        final Ds3DiffSummary.Builder summary = Ds3DiffSummary.builder();
+        final BreakingChangeSummary.Builder breakingChanges = BreakingChangeSummary.builder(options.getBreakingChangeRules());
+        final Ds3SpecDiffSink target = options.isDetectRenames()
+                ? new Ds3RenameDetectingSink(sink, options.getRenameThreshold(), options.getNameTable())
+                : sink;
+
+        if (executor == null) {
+            streamDs3Requests(oldSpec.getRequests(), newSpec.getRequests(), requestComparator, options.isChangesOnly(), summary, breakingChanges)
+                    .forEach(target::acceptRequestDiff);
+            streamDs3Types(oldSpec.getTypes(), newSpec.getTypes(), typeComparator, options.isChangesOnly(), summary, breakingChanges)
+                    .forEach(target::acceptTypeDiff);
+        } else {
+            compareInParallel(oldSpec, newSpec, requestComparator, typeComparator, options, summary, breakingChanges, target);
+        }
+        target.acceptImpact(Ds3TypeReferenceGraph.of(oldSpec, newSpec).computeImpact(oldFingerprints, newFingerprints));
+        target.acceptBreakingChanges(breakingChanges.build());
+        target.acceptSummary(summary.build());
+        target.complete();
+    }
+
+    /**
+     * Determines whether the newer spec is compatible with the older spec according to the
+     * {@link ComparatorOptions#getBreakingChangeRules()}, stopping at the first breaking change
+     * without creating a {@link Ds3ApiSpecDiff}. Only the requests and types included by the
+     * {@link ComparatorOptions#getFilter()} are checked, and the fields ignored by the
+     * {@link ComparatorOptions#getIgnoreProfile()} are not checked. Reordered lists are not checked
+     * if {@link ComparatorOptions#isCanonicalize()}.
+     * @see Ds3CompatibilityChecker
+     */
+    public Ds3CompatibilityResult checkCompatibility(final Ds3ApiSpec oldSpec, final Ds3ApiSpec newSpec) {
+        return new Ds3CompatibilityChecker(options.getBreakingChangeRules()).check(prepare(oldSpec), prepare(newSpec));
+    }
+
+    /**
+     * Determines whether the newer spec is compatible with the older spec
+     * @see #checkCompatibility(Ds3ApiSpec, Ds3ApiSpec)
+     */
+    public boolean isCompatible(final Ds3ApiSpec oldSpec, final Ds3ApiSpec newSpec) {
+        return checkCompatibility(oldSpec, newSpec).isCompatible();
+    }
+
+    /**
+     * Compares a {@link Ds3BaselineIndex} of the older spec against the newer {@link Ds3ApiSpec} by
+     * collecting the diffs produced by {@link #compare(Ds3BaselineIndex, Ds3ApiSpec, Ds3SpecDiffSink)}
+     * into a {@link Ds3ApiSpecDiff}
+     */
+    public Ds3ApiSpecDiff compare(final Ds3BaselineIndex baseline, final Ds3ApiSpec newSpec) {
+        final Ds3ApiSpecDiffCollector collector = new Ds3ApiSpecDiffCollector();
+        compare(baseline, newSpec, collector);
+        return collector.toDs3ApiSpecDiff();
+    }
+
+    /**
+     * Compares a {@link Ds3BaselineIndex} of the older spec against the newer {@link Ds3ApiSpec} and
+     * passes each diff to the {@code sink} as it is produced, in the same order and with the same
+     * options as {@link #compare(Ds3ApiSpec, Ds3ApiSpec, Ds3SpecDiffSink)}. Only the newer spec is
+     * fingerprinted. Requests and types whose fingerprint matches the baseline are unchanged and are
+     * never decoded from the baseline, unless {@link ComparatorOptions#isVerifyFingerprints()}. The
+     * comparison itself runs on the calling thread. Since the older types are not decoded, the type
+     * impact only contains the requests of the newer spec which reference each changed type.
+     * If {@link ComparatorOptions#isChangesOnly()} and the root fingerprint of the baseline matches
+     * the newer spec, no per-entity comparison is performed. When the {@link ComparatorOptions#getFilter()}
+     * selects requests by classification or http verb, each older request whose name is included is
+     * decoded from the baseline to determine whether it is included. Since the fingerprints of the
+     * baseline include every field, the whole baseline is decoded and compared as a spec when the
+     * {@link ComparatorOptions#getIgnoreProfile()} ignores any fields. The baseline fingerprints are
+     * computed before canonicalization, so if {@link ComparatorOptions#isCanonicalize()} each entity
+     * whose fingerprint does not match is decoded, canonicalized and compared using equals.
+     */
+    public void compare(final Ds3BaselineIndex baseline, final Ds3ApiSpec unfilteredNewSpec, final Ds3SpecDiffSink sink) {
+        if (!options.getIgnoreProfile().isEmpty()) {
+            compare(baseline.toSpec(), unfilteredNewSpec, sink);
+            return;
+        }
+        final Ds3SpecFilter filter = options.getFilter();
+        final boolean canonicalize = options.isCanonicalize();
+        final Ds3ApiSpec newSpec = canonicalize(filter.apply(unfilteredNewSpec));
+        final Ds3SpecFingerprints oldFingerprints = baseline.getFingerprints();
+        final Ds3SpecFingerprints newFingerprints = fingerprintCache.get(
+                newSpec, options.getExecutor(), options.getParallelism());
+        if (isUnchanged(baseline.getRootFingerprint(), newFingerprints)) {
+            acceptUnchanged(newSpec, sink);
+            return;
+        }
+        final Ds3SpecFingerprints comparedOldFingerprints = canonicalize ? null : oldFingerprints;
+        final Ds3RequestComparator requestComparator = new Ds3RequestComparatorImpl(
+                comparedOldFingerprints, newFingerprints, options.isVerifyFingerprints());
+        final Ds3TypeComparator typeComparator = new Ds3TypeComparatorImpl(
+                comparedOldFingerprints, newFingerprints, options.isVerifyFingerprints());
+        final Ds3DiffSummary.Builder summary = Ds3DiffSummary.builder();
+        final BreakingChangeSummary.Builder breakingChanges = BreakingChangeSummary.builder(options.getBreakingChangeRules());
+        final Ds3SpecDiffSink target = options.isDetectRenames()
+                ? new Ds3RenameDetectingSink(sink, options.getRenameThreshold(), options.getNameTable())
+                : sink;
+
+        final Map<String, HashCode> canonicalTypeFingerprints = new HashMap<>();
+        final Function<AlignedPair<String, Ds3Request>, Ds3Request> oldRequests = toBaselineLookup(
+                oldFingerprints::getRequestFingerprint,
+                newFingerprints::getRequestFingerprint,
+                canonicalize ? name -> Ds3SpecCanonicalizer.canonicalize(baseline.getRequest(name)) : baseline::getRequest);
+        final BiFunction<Ds3Request, Ds3Request, Optional<AbstractDs3RequestDiff>> requestDiffFunction =
+                toRequestDiffFunction(requestComparator, options.isChangesOnly(), summary, breakingChanges);
+        align(filterRequestNames(baseline, filter), Function.identity(), newSpec.getRequests(), Ds3Request::getName)
+                .forEach(pair -> requestDiffFunction.apply(oldRequests.apply(pair), pair.getNew())
+                        .ifPresent(target::acceptRequestDiff));
+
+        final Function<AlignedPair<String, Ds3Type>, Ds3Type> oldTypes = toBaselineLookup(
+                oldFingerprints::getTypeFingerprint,
+                newFingerprints::getTypeFingerprint,
+                canonicalize ? name -> toCanonicalType(baseline.getType(name), canonicalTypeFingerprints) : baseline::getType);
+        final BiFunction<Ds3Type, Ds3Type, Optional<AbstractDs3TypeDiff>> typeDiffFunction =
+                toTypeDiffFunction(typeComparator, options.isChangesOnly(), summary, breakingChanges);
+        align(filterTypeNames(baseline, filter), Function.identity(), toTypeList(newSpec.getTypes()), Ds3Type::getName)
+                .forEach(pair -> typeDiffFunction.apply(oldTypes.apply(pair), pair.getNew())
+                        .ifPresent(target::acceptTypeDiff));
+
+        final Ds3SpecFingerprints impactOldFingerprints = canonicalTypeFingerprints.isEmpty()
+                ? oldFingerprints
+                : withTypeFingerprints(oldFingerprints, canonicalTypeFingerprints);
+        target.acceptImpact(Ds3TypeReferenceGraph.of(newSpec).computeImpact(impactOldFingerprints, newFingerprints));
+        target.acceptBreakingChanges(breakingChanges.build());
+        target.acceptSummary(summary.build());
+        target.complete();
+    }
+
+    /**
+     * Canonicalizes a type decoded from the baseline, and records its canonical fingerprint
+     */
+    private static Ds3Type toCanonicalType(final Ds3Type type, final Map<String, HashCode> canonicalTypeFingerprints) {
+        final Ds3Type canonicalType = Ds3SpecCanonicalizer.canonicalize(type);
+        if (canonicalType != type) {
+            canonicalTypeFingerprints.put(canonicalType.getName(), Ds3Fingerprints.fingerprint(canonicalType));
+        }
+        return canonicalType;
+    }
+
+    /**
+     * Replaces the fingerprints of the specified types
+     */
+    private static Ds3SpecFingerprints withTypeFingerprints(
+            final Ds3SpecFingerprints fingerprints,
+            final Map<String, HashCode> replacements) {
+        final ImmutableMap.Builder<String, HashCode> builder = ImmutableMap.builder();
+        fingerprints.getTypeFingerprints().forEach((name, fingerprint) ->
+                builder.put(name, replacements.getOrDefault(name, fingerprint)));
+        return new Ds3SpecFingerprints(fingerprints.getRequestFingerprints(), builder.build());
+    }
+
+    /**
+     * Retrieves the names of the baseline requests included by the filter
+     */
+    private static ImmutableList<String> filterRequestNames(final Ds3BaselineIndex baseline, final Ds3SpecFilter filter) {
+        if (filter.isAllRequests()) {
+            return baseline.getRequestNames().asList();
+        }
+        return baseline.getRequestNames().stream()
+                .filter(filter::includesRequestName)
+                .filter(name -> filter.isRequestNameOnly() || filter.includesRequest(baseline.getRequest(name)))
+                .collect(GuavaCollectors.immutableList());
+    }
+
+    /**
+     * Retrieves the names of the baseline types included by the filter
+     */
+    private static ImmutableList<String> filterTypeNames(final Ds3BaselineIndex baseline, final Ds3SpecFilter filter) {
+        if (filter.isAllTypes()) {
+            return baseline.getTypeNames().asList();
+        }
+        return baseline.getTypeNames().stream()
+                .filter(filter::includesTypeName)
+                .collect(GuavaCollectors.immutableList());
+    }
+
+    /**
+     * Reports two contracts which are known to be identical, such as when their files are byte
+     * identical, without parsing or comparing them. The {@code sink} receives no diffs, an empty
+     * impact and breaking change summary, and a summary without counts since the contents of the
+     * contracts are unknown.
+     */
+    public void compareIdentical(final Ds3SpecDiffSink sink) {
+        sink.acceptImpact(Ds3TypeImpact.empty());
+        sink.acceptBreakingChanges(BreakingChangeSummary.empty());
+        sink.acceptSummary(Ds3DiffSummary.builder().build());
+        sink.complete();
+    }
+
+    /**
+     * Determines whether the whole comparison can be skipped because the root fingerprints match.
+     * Only the summary of unchanged entities can be produced without comparing them, so the
+     * comparison is not skipped when unchanged diffs are requested or fingerprints are verified.
+     */
+    private boolean isUnchanged(final HashCode oldRootFingerprint, final Ds3SpecFingerprints newFingerprints) {
+        return options.isChangesOnly()
+                && !options.isVerifyFingerprints()
+                && oldRootFingerprint.equals(Ds3Fingerprints.rootFingerprint(newFingerprints));
+    }
+
+    /**
+     * Counts every request and type of the spec as unchanged, and passes the summary to the
+     * {@code sink} along with an empty impact and breaking change summary
+     */
+    private static void acceptUnchanged(final Ds3ApiSpec spec, final Ds3SpecDiffSink sink) {
+        final Ds3DiffSummary.Builder summary = Ds3DiffSummary.builder();
+        if (!isEmpty(spec.getRequests())) {
+            spec.getRequests().forEach(request -> summary.addRequest(DiffStatus.NO_CHANGE, request.getClassification()));
+        }
+        if (!isEmpty(spec.getTypes())) {
+            spec.getTypes().values().forEach(type -> summary.addType(DiffStatus.NO_CHANGE));
+        }
+        sink.acceptImpact(Ds3TypeImpact.empty());
+        sink.acceptBreakingChanges(BreakingChangeSummary.empty());
+        sink.acceptSummary(summary.build());
+        sink.complete();
+    }
+
+    /**
+     * Creates the function which retrieves the older version of an entity aligned by name from a
+     * baseline. If the fingerprints of both versions match, the entities are value equal and the
+     * newer entity is returned in place of the older one so that it is not decoded. The baseline
+     * is always consulted when {@link ComparatorOptions#isVerifyFingerprints()}.
+     */
+    private <T> Function<AlignedPair<String, T>, T> toBaselineLookup(
+            final Function<String, HashCode> oldFingerprints,
+            final Function<String, HashCode> newFingerprints,
+            final Function<String, T> baselineEntities) {
+        return pair -> {
+            final String name = pair.getOld();
+            if (name == null) {
+                return null;
+            }
+            final T newEntity = pair.getNew();
+            if (newEntity != null
+                    && !options.isVerifyFingerprints()
+                    && oldFingerprints.apply(name).equals(newFingerprints.apply(name))) {
+                return newEntity;
+            }
+            return baselineEntities.apply(name);
+        };
+    }
+
+    /**
+     * Compares two {@link Ds3ApiSpec} by splitting both the request and the type comparisons
+     * into partitions which run concurrently on the {@code executor}. All partitions of both
+     * passes are submitted before any are joined, so the request and type passes overlap.
+     * The resulting lists are in the same order as the sequential comparison.
+     */
+    static Ds3ApiSpecDiff compareInParallel(
+            final Ds3ApiSpec oldSpec,
+            final Ds3ApiSpec newSpec,
+            final ExecutorService executor,
+            final int parallelism) {
+        return compareInParallel(
+                oldSpec,
+                newSpec,
+                new Ds3RequestComparatorImpl(),
+                new Ds3TypeComparatorImpl(),
+                executor,
+                parallelism);
+    }
+
+    /**
+     * Compares two {@link Ds3ApiSpec} in parallel using the specified comparators
+     */
+    static Ds3ApiSpecDiff compareInParallel(
+            final Ds3ApiSpec oldSpec,
+            final Ds3ApiSpec newSpec,
+            final Ds3RequestComparator requestComparator,
+            final Ds3TypeComparator typeComparator,
+            final ExecutorService executor,
+            final int parallelism) {
+        final ComparatorOptions parallelOptions = ComparatorOptions.builder()
+                .withExecutor(executor)
+                .withParallelism(parallelism)
+                .build();
+        final Ds3DiffSummary.Builder summary = Ds3DiffSummary.builder();
+        final Ds3ApiSpecDiffCollector collector = new Ds3ApiSpecDiffCollector();
+        compareInParallel(oldSpec, newSpec, requestComparator, typeComparator, parallelOptions, summary, null, collector);
+        collector.acceptSummary(summary.build());
+        return collector.toDs3ApiSpecDiff();
+    }
+
+    /**
+     * Compares two {@link Ds3ApiSpec} in parallel on the executor specified within the {@code options}.
+     * The diffs within each partition are passed to the {@code sink} as soon as that partition and all
+     * preceding partitions have completed, preserving the order of the sequential comparison.
+     * Every request and type is counted within the {@code summary}, and classified within the
+     * {@code breakingChanges} if specified, by the partition that compared it.
+     */
+    static void compareInParallel(
+            final Ds3ApiSpec oldSpec,
+            final Ds3ApiSpec newSpec,
+            final Ds3RequestComparator requestComparator,
+            final Ds3TypeComparator typeComparator,
+            final ComparatorOptions options,
+            final Ds3DiffSummary.Builder summary,
+            @Nullable final BreakingChangeSummary.Builder breakingChanges,
+            final Ds3SpecDiffSink sink) {
+        final ExecutorService executor = options.getExecutor();
+        if (executor == null) {
+            throw new IllegalArgumentException("Cannot compare in parallel without an executor");
+        }
+        final BiFunction<Ds3Request, Ds3Request, Optional<AbstractDs3RequestDiff>> requestDiffFunction =
+                toRequestDiffFunction(requestComparator, options.isChangesOnly(), summary, breakingChanges);
+        final ImmutableList<Future<ImmutableList<Optional<AbstractDs3RequestDiff>>>> requestPartitions = submitPartitions(
+                executor,
+                alignRequests(oldSpec.getRequests(), newSpec.getRequests()),
+                options.getParallelism(),
+                pair -> requestDiffFunction.apply(pair.getOld(), pair.getNew()));
+
+        final BiFunction<Ds3Type, Ds3Type, Optional<AbstractDs3TypeDiff>> typeDiffFunction =
+                toTypeDiffFunction(typeComparator, options.isChangesOnly(), summary, breakingChanges);
+        final ImmutableList<Future<ImmutableList<Optional<AbstractDs3TypeDiff>>>> typePartitions = submitPartitions(
+                executor,
+                alignTypes(oldSpec.getTypes(), newSpec.getTypes()),
+                options.getParallelism(),
+                pair -> typeDiffFunction.apply(pair.getOld(), pair.getNew()));
+
+        try {
+            joinPartitions(requestPartitions, diff -> diff.ifPresent(sink::acceptRequestDiff));
+        } catch (final RuntimeException e) {
+            typePartitions.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        joinPartitions(typePartitions, diff -> diff.ifPresent(sink::acceptTypeDiff));
+    }
+
+    /**
+     * Creates the function which compares two versions of a request and counts the result
+     * within the {@code summary}. If {@code changesOnly}, unchanged requests are counted without
+     * creating a diff and the function returns an empty {@link Optional}. Changed requests are
+     * classified within the {@code breakingChanges} if specified.
+     */
+    static BiFunction<Ds3Request, Ds3Request, Optional<AbstractDs3RequestDiff>> toRequestDiffFunction(
+            final Ds3RequestComparator comparator,
+            final boolean changesOnly,
+            final Ds3DiffSummary.Builder summary,
+            @Nullable final BreakingChangeSummary.Builder breakingChanges) {
+        return (oldRequest, newRequest) -> {
+            if (changesOnly && comparator.isUnchanged(oldRequest, newRequest)) {
+                summary.addRequest(DiffStatus.NO_CHANGE, newRequest.getClassification());
+                return Optional.empty();
+            }
+            final AbstractDs3RequestDiff diff = comparator.compare(oldRequest, newRequest);
+            summary.addRequest(diff);
+            if (breakingChanges != null && diff.getStatus() != DiffStatus.NO_CHANGE) {
+                breakingChanges.add(diff.getDelta());
+            }
+            return Optional.of(diff);
+        };
+    }
+
+    /**
+     * Creates the function which compares two versions of a type and counts the result
+     * within the {@code summary}. If {@code changesOnly}, unchanged types are counted without
+     * creating a diff and the function returns an empty {@link Optional}. Changed types are
+     * classified within the {@code breakingChanges} if specified.
+     */
+    static BiFunction<Ds3Type, Ds3Type, Optional<AbstractDs3TypeDiff>> toTypeDiffFunction(
+            final Ds3TypeComparator comparator,
+            final boolean changesOnly,
+            final Ds3DiffSummary.Builder summary,
+            @Nullable final BreakingChangeSummary.Builder breakingChanges) {
+        return (oldType, newType) -> {
+            if (changesOnly && comparator.isUnchanged(oldType, newType)) {
+                summary.addType(DiffStatus.NO_CHANGE);
+                return Optional.empty();
+            }
+            final AbstractDs3TypeDiff diff = comparator.compare(oldType, newType);
+            summary.addType(diff);
+            if (breakingChanges != null && diff.getStatus() != DiffStatus.NO_CHANGE) {
+                breakingChanges.add(diff.getDelta());
+            }
+            return Optional.of(diff);
+        };
     }
 
     /**
@@ -50,42 +590,59 @@ public class Ds3ApiSpecComparatorImpl implements Ds3ApiSpecComparator {
      */
     static ImmutableList<AbstractDs3RequestDiff> compareDs3Requests(
             final ImmutableList<Ds3Request> oldRequests, final ImmutableList<Ds3Request> newRequests) {
-        final ImmutableSet<String> requestNames = getRequestNameUnion(oldRequests, newRequests);
-        final ImmutableMap<String, Ds3Request> oldMap = toRequestMap(oldRequests);
-        final ImmutableMap<String, Ds3Request> newMap = toRequestMap(newRequests);
+        return compareDs3Requests(oldRequests, newRequests, new Ds3RequestComparatorImpl());
+    }
 
-        final Ds3RequestComparator comparator = new Ds3RequestComparatorImpl();
-        return requestNames.stream()
-                .map(name -> comparator.compare(oldMap.get(name), newMap.get(name)))
+    /**
+     * Compares two {@link ImmutableList} of {@link Ds3Request} using the specified comparator
+     */
+    static ImmutableList<AbstractDs3RequestDiff> compareDs3Requests(
+            final ImmutableList<Ds3Request> oldRequests,
+            final ImmutableList<Ds3Request> newRequests,
+            final Ds3RequestComparator comparator) {
+        return streamDs3Requests(oldRequests, newRequests, comparator)
                 .collect(GuavaCollectors.immutableList());
     }
 
     /**
-     * Gets the union of all {@link Ds3Request} names in both lists
+     * Lazily compares two {@link ImmutableList} of {@link Ds3Request}. Each request is compared
+     * only when the stream reaches it, in the name order of {@link #alignRequests}.
      */
-    static ImmutableSet<String> getRequestNameUnion(
+    static Stream<AbstractDs3RequestDiff> streamDs3Requests(
             final ImmutableList<Ds3Request> oldRequests,
-            final ImmutableList<Ds3Request> newRequests) {
-        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
-        if (ConverterUtil.hasContent(oldRequests)) {
-            oldRequests.forEach(request -> builder.add(request.getName()));
-        }
-        if (ConverterUtil.hasContent(newRequests)) {
-            newRequests.forEach(request -> builder.add(request.getName()));
-        }
-        return builder.build();
+            final ImmutableList<Ds3Request> newRequests,
+            final Ds3RequestComparator comparator) {
+        return streamDs3Requests(oldRequests, newRequests, comparator, false, Ds3DiffSummary.builder(), null);
     }
 
     /**
-     * Creates an {@link ImmutableMap} of {@link Ds3Request#getName()} to {@link Ds3Request} for easy searching
+     * Lazily compares two {@link ImmutableList} of {@link Ds3Request}, counting each request within
+     * the {@code summary} and classifying each changed request within the {@code breakingChanges}
+     * as it is compared. If {@code changesOnly}, unchanged requests are counted but left out of the stream.
      */
-    static ImmutableMap<String, Ds3Request> toRequestMap(final ImmutableList<Ds3Request> requests) {
-        if (isEmpty(requests)) {
-            return ImmutableMap.of();
-        }
-        final ImmutableMap.Builder<String, Ds3Request> builder = ImmutableMap.builder();
-        requests.forEach(request -> builder.put(request.getName(), request));
-        return builder.build();
+    static Stream<AbstractDs3RequestDiff> streamDs3Requests(
+            final ImmutableList<Ds3Request> oldRequests,
+            final ImmutableList<Ds3Request> newRequests,
+            final Ds3RequestComparator comparator,
+            final boolean changesOnly,
+            final Ds3DiffSummary.Builder summary,
+            @Nullable final BreakingChangeSummary.Builder breakingChanges) {
+        final BiFunction<Ds3Request, Ds3Request, Optional<AbstractDs3RequestDiff>> diffFunction =
+                toRequestDiffFunction(comparator, changesOnly, summary, breakingChanges);
+        return alignRequests(oldRequests, newRequests).stream()
+                .map(pair -> diffFunction.apply(pair.getOld(), pair.getNew()))
+                .filter(Optional::isPresent)
+                .map(Optional::get);
+    }
+
+    /**
+     * Aligns the {@link Ds3Request} within both lists by name, in ascending name order.
+     * Either list may be null.
+     */
+    static ImmutableList<AlignedPair<Ds3Request, Ds3Request>> alignRequests(
+            @Nullable final ImmutableList<Ds3Request> oldRequests,
+            @Nullable final ImmutableList<Ds3Request> newRequests) {
+        return align(oldRequests, newRequests, Ds3Request::getName);
     }
 
     /**
@@ -96,26 +653,66 @@ public class Ds3ApiSpecComparatorImpl implements Ds3ApiSpecComparator {
     static ImmutableList<AbstractDs3TypeDiff> compareDs3Types(
             final ImmutableMap<String, Ds3Type> oldTypes,
             final ImmutableMap<String, Ds3Type> newTypes) {
-        final ImmutableSet<String> typeNames = getTypeNameUnion(oldTypes, newTypes);
-        final Ds3TypeComparator comparator = new Ds3TypeComparatorImpl();
-        return typeNames.stream()
-                .map(name -> comparator.compare(oldTypes.get(name), newTypes.get(name)))
-                .collect(GuavaCollectors.immutableList());
+        return compareDs3Types(oldTypes, newTypes, new Ds3TypeComparatorImpl());
     }
 
     /**
-     * Gets the union of all {@link Ds3Type} names in both maps
+     * Compares two {@link ImmutableMap} of {@link Ds3Type} using the specified comparator
      */
-    static ImmutableSet<String> getTypeNameUnion(
+    static ImmutableList<AbstractDs3TypeDiff> compareDs3Types(
             final ImmutableMap<String, Ds3Type> oldTypes,
-            final ImmutableMap<String, Ds3Type> newTypes) {
-        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
-        if (hasContent(oldTypes)) {
-            oldTypes.keySet().forEach(builder::add);
-        }
-        if (hasContent(newTypes)) {
-            newTypes.keySet().forEach(builder::add);
-        }
-        return builder.build();
+            final ImmutableMap<String, Ds3Type> newTypes,
+            final Ds3TypeComparator comparator) {
+        return streamDs3Types(oldTypes, newTypes, comparator)
+                .collect(GuavaCollectors.immutableList());
+    }
+
+    /**
+     * Lazily compares two {@link ImmutableMap} of {@link Ds3Type}. Each type is compared
+     * only when the stream reaches it, in the name order of {@link #alignTypes}.
+     */
+    static Stream<AbstractDs3TypeDiff> streamDs3Types(
+            @Nullable final ImmutableMap<String, Ds3Type> oldTypes,
+            @Nullable final ImmutableMap<String, Ds3Type> newTypes,
+            final Ds3TypeComparator comparator) {
+        return streamDs3Types(oldTypes, newTypes, comparator, false, Ds3DiffSummary.builder(), null);
+    }
+
+    /**
+     * Lazily compares two {@link ImmutableMap} of {@link Ds3Type}, counting each type within
+     * the {@code summary} and classifying each changed type within the {@code breakingChanges}
+     * as it is compared. If {@code changesOnly}, unchanged types are counted but left out of the stream.
+     */
+    static Stream<AbstractDs3TypeDiff> streamDs3Types(
+            @Nullable final ImmutableMap<String, Ds3Type> oldTypes,
+            @Nullable final ImmutableMap<String, Ds3Type> newTypes,
+            final Ds3TypeComparator comparator,
+            final boolean changesOnly,
+            final Ds3DiffSummary.Builder summary,
+            @Nullable final BreakingChangeSummary.Builder breakingChanges) {
+        final BiFunction<Ds3Type, Ds3Type, Optional<AbstractDs3TypeDiff>> diffFunction =
+                toTypeDiffFunction(comparator, changesOnly, summary, breakingChanges);
+        return alignTypes(oldTypes, newTypes).stream()
+                .map(pair -> diffFunction.apply(pair.getOld(), pair.getNew()))
+                .filter(Optional::isPresent)
+                .map(Optional::get);
+    }
+
+    /**
+     * Aligns the {@link Ds3Type} within both maps by name, in ascending name order.
+     * Either map may be null.
+     */
+    static ImmutableList<AlignedPair<Ds3Type, Ds3Type>> alignTypes(
+            @Nullable final ImmutableMap<String, Ds3Type> oldTypes,
+            @Nullable final ImmutableMap<String, Ds3Type> newTypes) {
+        return align(toTypeList(oldTypes), toTypeList(newTypes), Ds3Type::getName);
+    }
+
+    /**
+     * Returns the list of {@link Ds3Type} within the map, or null if {@code types} is null
+     */
+    @Nullable
+    private static ImmutableList<Ds3Type> toTypeList(@Nullable final ImmutableMap<String, Ds3Type> types) {
+        return types == null ? null : types.values().asList();
     }
 }
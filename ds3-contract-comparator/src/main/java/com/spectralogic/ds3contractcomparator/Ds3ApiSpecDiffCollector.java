@@ -0,0 +1,79 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator;
+
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3contractcomparator.breaking.BreakingChangeSummary;
+import com.spectralogic.ds3contractcomparator.models.Ds3ApiSpecDiff;
+import com.spectralogic.ds3contractcomparator.models.Ds3DiffSummary;
+import com.spectralogic.ds3contractcomparator.models.Ds3TypeImpact;
+import com.spectralogic.ds3contractcomparator.models.request.AbstractDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.type.AbstractDs3TypeDiff;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link Ds3SpecDiffSink} which collects all received diffs into a {@link Ds3ApiSpecDiff}
+ */
+public class Ds3ApiSpecDiffCollector implements Ds3SpecDiffSink {
+
+    private final ImmutableList.Builder<AbstractDs3RequestDiff> requests = ImmutableList.builder();
+    private final ImmutableList.Builder<AbstractDs3TypeDiff> types = ImmutableList.builder();
+    @Nullable
+    private Ds3DiffSummary summary;
+    private Ds3TypeImpact impact = Ds3TypeImpact.empty();
+    private BreakingChangeSummary breakingChanges = BreakingChangeSummary.empty();
+
+    @Override
+    public void acceptRequestDiff(final AbstractDs3RequestDiff requestDiff) {
+        requests.add(requestDiff);
+    }
+
+    @Override
+    public void acceptTypeDiff(final AbstractDs3TypeDiff typeDiff) {
+        types.add(typeDiff);
+    }
+
+    @Override
+    public void acceptImpact(final Ds3TypeImpact impact) {
+        this.impact = impact;
+    }
+
+    @Override
+    public void acceptBreakingChanges(final BreakingChangeSummary breakingChanges) {
+        this.breakingChanges = breakingChanges;
+    }
+
+    @Override
+    public void acceptSummary(final Ds3DiffSummary summary) {
+        this.summary = summary;
+    }
+
+    /**
+     * Creates the {@link Ds3ApiSpecDiff} containing all diffs received so far. If no summary
+     * was received, then the summary is counted from the received diffs. If no impact or
+     * breaking changes were received, then they are empty.
+     */
+    public Ds3ApiSpecDiff toDs3ApiSpecDiff() {
+        final ImmutableList<AbstractDs3RequestDiff> requestDiffs = requests.build();
+        final ImmutableList<AbstractDs3TypeDiff> typeDiffs = types.build();
+        return new Ds3ApiSpecDiff(
+                requestDiffs,
+                typeDiffs,
+                summary == null ? Ds3DiffSummary.of(requestDiffs, typeDiffs) : summary,
+                impact,
+                breakingChanges);
+    }
+}
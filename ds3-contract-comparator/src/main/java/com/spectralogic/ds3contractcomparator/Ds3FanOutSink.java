@@ -0,0 +1,158 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.spectralogic.ds3contractcomparator.breaking.BreakingChangeSummary;
+import com.spectralogic.ds3contractcomparator.exceptions.ComparisonException;
+import com.spectralogic.ds3contractcomparator.models.Ds3DiffSummary;
+import com.spectralogic.ds3contractcomparator.models.Ds3TypeImpact;
+import com.spectralogic.ds3contractcomparator.models.request.AbstractDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.type.AbstractDs3TypeDiff;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Ds3SpecDiffSink} which forwards every diff to several sinks, such as the printers of different
+ * report formats, so that one comparison produces all of their reports. Each sink receives the diffs on its
+ * own thread in the order they were produced, so the sinks run concurrently with the comparison and with
+ * each other.
+ *
+ * A fan out sink receives the diffs of a single comparison, and {@link #complete()} waits for every sink
+ * to complete. A sink which fails receives no further diffs, and
+ * once the other sinks have completed the first failure is thrown by {@link #complete()}.
+ */
+public class Ds3FanOutSink implements Ds3SpecDiffSink {
+
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder()
+            .setNameFormat("ds3-fan-out-sink-%d")
+            .setDaemon(true)
+            .build();
+
+    private final ImmutableList<Lane> lanes;
+
+    public Ds3FanOutSink(final ImmutableList<? extends Ds3SpecDiffSink> sinks) {
+        if (sinks.isEmpty()) {
+            throw new IllegalArgumentException("A fan out sink requires at least one sink");
+        }
+        final ImmutableList.Builder<Lane> builder = ImmutableList.builder();
+        sinks.forEach(sink -> builder.add(new Lane(sink)));
+        this.lanes = builder.build();
+    }
+
+    @Override
+    public void acceptRequestDiff(final AbstractDs3RequestDiff requestDiff) {
+        forward(sink -> sink.acceptRequestDiff(requestDiff));
+    }
+
+    @Override
+    public void acceptTypeDiff(final AbstractDs3TypeDiff typeDiff) {
+        forward(sink -> sink.acceptTypeDiff(typeDiff));
+    }
+
+    @Override
+    public void acceptImpact(final Ds3TypeImpact impact) {
+        forward(sink -> sink.acceptImpact(impact));
+    }
+
+    @Override
+    public void acceptBreakingChanges(final BreakingChangeSummary breakingChanges) {
+        forward(sink -> sink.acceptBreakingChanges(breakingChanges));
+    }
+
+    @Override
+    public void acceptSummary(final Ds3DiffSummary summary) {
+        forward(sink -> sink.acceptSummary(summary));
+    }
+
+    /**
+     * Completes every sink concurrently and waits for them all to finish
+     * @throws ComparisonException if interrupted while waiting, or if a sink failed with a checked exception.
+     *                             Unchecked exceptions thrown by a sink are re-thrown as is.
+     */
+    @Override
+    public void complete() {
+        forward(Ds3SpecDiffSink::complete);
+        try {
+            for (final Lane lane : lanes) {
+                lane.awaitCompletion();
+            }
+        } catch (final InterruptedException e) {
+            lanes.forEach(lane -> lane.executor.shutdownNow());
+            Thread.currentThread().interrupt();
+            throw new ComparisonException("Interrupted while waiting for the sinks to complete", e);
+        }
+        for (final Lane lane : lanes) {
+            if (lane.failure instanceof RuntimeException) {
+                throw (RuntimeException) lane.failure;
+            }
+            if (lane.failure instanceof Error) {
+                throw (Error) lane.failure;
+            }
+            if (lane.failure != null) {
+                throw new ComparisonException("Sink failed: " + lane.failure.getMessage(), lane.failure);
+            }
+        }
+    }
+
+    private void forward(final Consumer<Ds3SpecDiffSink> action) {
+        lanes.forEach(lane -> lane.submit(action));
+    }
+
+    /**
+     * A sink and the single thread which passes it the diffs in order. The thread stops when the lane is idle,
+     * so a lane whose sink is never completed does not retain a thread.
+     */
+    private static final class Lane {
+
+        private final Ds3SpecDiffSink sink;
+        private final ThreadPoolExecutor executor;
+        @Nullable
+        private volatile Throwable failure;
+
+        private Lane(final Ds3SpecDiffSink sink) {
+            this.sink = sink;
+            this.executor = new ThreadPoolExecutor(1, 1, 1L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), THREAD_FACTORY);
+            executor.allowCoreThreadTimeOut(true);
+        }
+
+        private void submit(final Consumer<Ds3SpecDiffSink> action) {
+            executor.execute(() -> {
+                if (failure != null) {
+                    return;
+                }
+                try {
+                    action.accept(sink);
+                } catch (final Throwable t) {
+                    failure = t;
+                }
+            });
+        }
+
+        private void awaitCompletion() throws InterruptedException {
+            executor.shutdown();
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                //The sink is still completing
+            }
+        }
+    }
+}
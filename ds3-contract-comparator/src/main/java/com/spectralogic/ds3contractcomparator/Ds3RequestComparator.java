@@ -17,6 +17,7 @@ package com.spectralogic.ds3contractcomparator;
 
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
 import com.spectralogic.ds3contractcomparator.models.request.AbstractDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.request.NoChangeDs3RequestDiff;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
@@ -33,4 +34,14 @@ public interface Ds3RequestComparator {
      * @param newRequest the newer API version of the {@link Ds3Request} or null if it does not exist in the new version
      */
     AbstractDs3RequestDiff compare(@Nullable final Ds3Request oldRequest, @Nullable final Ds3Request newRequest);
+
+    /**
+     * Determines if a {@link Ds3Request} exists within both API versions and has not changed. This
+     * allows unchanged requests to be skipped without creating a {@link NoChangeDs3RequestDiff}.
+     * By default the requests are compared using {@link #compare(Ds3Request, Ds3Request)}.
+     */
+    default boolean isUnchanged(@Nullable final Ds3Request oldRequest, @Nullable final Ds3Request newRequest) {
+        return oldRequest != null && newRequest != null
+                && compare(oldRequest, newRequest) instanceof NoChangeDs3RequestDiff;
+    }
 }
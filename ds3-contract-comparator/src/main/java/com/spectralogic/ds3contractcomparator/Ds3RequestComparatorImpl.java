@@ -15,12 +15,41 @@
 
 package com.spectralogic.ds3contractcomparator;
 
+import com.google.common.hash.HashCode;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3contractcomparator.fingerprint.Ds3SpecFingerprints;
 import com.spectralogic.ds3contractcomparator.models.request.*;
 import org.jetbrains.annotations.Nullable;
 
 public class Ds3RequestComparatorImpl implements Ds3RequestComparator {
 
+    @Nullable
+    private final Ds3SpecFingerprints oldFingerprints;
+    @Nullable
+    private final Ds3SpecFingerprints newFingerprints;
+    private final boolean verifyFingerprints;
+
+    /**
+     * Creates a comparator which determines whether two {@link Ds3Request} are the same using equals
+     */
+    public Ds3RequestComparatorImpl() {
+        this(null, null, false);
+    }
+
+    /**
+     * Creates a comparator which determines whether two {@link Ds3Request} are the same using
+     * their structural fingerprints, falling back to equals if either fingerprint is unavailable
+     * @param verifyFingerprints if true, requests with matching fingerprints are also verified using equals
+     */
+    public Ds3RequestComparatorImpl(
+            @Nullable final Ds3SpecFingerprints oldFingerprints,
+            @Nullable final Ds3SpecFingerprints newFingerprints,
+            final boolean verifyFingerprints) {
+        this.oldFingerprints = oldFingerprints;
+        this.newFingerprints = newFingerprints;
+        this.verifyFingerprints = verifyFingerprints;
+    }
+
     /**
      * Compares two {@link Ds3Request} and creates a {@link AbstractDs3RequestDiff} representing the
      * change(s) in status, if change(s) exist between the {@link Ds3Request}.
@@ -45,9 +74,43 @@ public class Ds3RequestComparatorImpl implements Ds3RequestComparator {
         if (newRequest == null) {
             return new DeletedDs3RequestDiff(oldRequest);
         }
-        if (oldRequest.equals(newRequest)) {
+        if (isSame(oldRequest, newRequest)) {
             return new NoChangeDs3RequestDiff(newRequest);
         }
         return new ModifiedDs3RequestDiff(oldRequest, newRequest);
     }
+
+    /**
+     * Determines if two {@link Ds3Request} are unchanged using the same check as {@link #compare},
+     * without creating a diff
+     */
+    @Override
+    public boolean isUnchanged(@Nullable final Ds3Request oldRequest, @Nullable final Ds3Request newRequest) {
+        return oldRequest != null && newRequest != null && isSame(oldRequest, newRequest);
+    }
+
+    /**
+     * Determines if two {@link Ds3Request} are value equal. The same instance, such as a request shared
+     * between versions by a {@link com.spectralogic.ds3contractcomparator.series.Ds3SpecInterner}, is
+     * always unchanged. When both fingerprints are available,
+     * differing fingerprints prove the requests differ, and matching fingerprints are treated as equal
+     * unless verification was requested.
+     */
+    private boolean isSame(final Ds3Request oldRequest, final Ds3Request newRequest) {
+        if (oldRequest == newRequest) {
+            return true;
+        }
+        if (oldFingerprints == null || newFingerprints == null) {
+            return oldRequest.equals(newRequest);
+        }
+        final HashCode oldFingerprint = oldFingerprints.getRequestFingerprint(oldRequest.getName());
+        final HashCode newFingerprint = newFingerprints.getRequestFingerprint(newRequest.getName());
+        if (oldFingerprint == null || newFingerprint == null) {
+            return oldRequest.equals(newRequest);
+        }
+        if (!oldFingerprint.equals(newFingerprint)) {
+            return false;
+        }
+        return !verifyFingerprints || oldRequest.equals(newRequest);
+    }
 }
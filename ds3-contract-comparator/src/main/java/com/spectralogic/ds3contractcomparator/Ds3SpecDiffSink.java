@@ -0,0 +1,73 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator;
+
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3contractcomparator.breaking.BreakingChangeSummary;
+import com.spectralogic.ds3contractcomparator.models.Ds3DiffSummary;
+import com.spectralogic.ds3contractcomparator.models.Ds3TypeImpact;
+import com.spectralogic.ds3contractcomparator.models.request.AbstractDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.type.AbstractDs3TypeDiff;
+
+/**
+ * Receives the differences between two {@link Ds3ApiSpec} as they are produced by a
+ * {@link Ds3ApiSpecComparator}. All request diffs are received before any type diffs,
+ * and each are received in the same order as they would appear within a
+ * {@link com.spectralogic.ds3contractcomparator.models.Ds3ApiSpecDiff}.
+ */
+public interface Ds3SpecDiffSink {
+
+    /**
+     * Receives the difference between two versions of a single request
+     */
+    void acceptRequestDiff(final AbstractDs3RequestDiff requestDiff);
+
+    /**
+     * Receives the difference between two versions of a single type
+     */
+    void acceptTypeDiff(final AbstractDs3TypeDiff typeDiff);
+
+    /**
+     * Receives the requests affected by each modified or deleted type. Called at most once
+     * after all request and type diffs and before {@link #acceptSummary(Ds3DiffSummary)}.
+     */
+    default void acceptImpact(final Ds3TypeImpact impact) {
+        //pass
+    }
+
+    /**
+     * Receives the classification of every change. Called at most once after the type impact
+     * and before {@link #acceptSummary(Ds3DiffSummary)}.
+     */
+    default void acceptBreakingChanges(final BreakingChangeSummary breakingChanges) {
+        //pass
+    }
+
+    /**
+     * Receives the counts of all requests and types, including those whose diffs were not
+     * emitted. Called once after all request and type diffs and before {@link #complete()}.
+     */
+    default void acceptSummary(final Ds3DiffSummary summary) {
+        //pass
+    }
+
+    /**
+     * Called once after all request and type diffs have been received
+     */
+    default void complete() {
+        //pass
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.HashCode;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3contractcomparator.breaking.BreakingChangeSummary;
+import com.spectralogic.ds3contractcomparator.fingerprint.Ds3Fingerprints;
+import com.spectralogic.ds3contractcomparator.fingerprint.Ds3SpecFingerprints;
+import com.spectralogic.ds3contractcomparator.canonical.Ds3SpecCanonicalizer;
+import com.spectralogic.ds3contractcomparator.ignore.Ds3IgnoreProfile;
+import com.spectralogic.ds3contractcomparator.impact.Ds3TypeReferenceGraph;
+import com.spectralogic.ds3contractcomparator.models.Ds3DiffSummary;
+import com.spectralogic.ds3contractcomparator.models.request.AbstractDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.type.AbstractDs3TypeDiff;
+import com.spectralogic.ds3contractcomparator.rename.Ds3RenameDetectingSink;
+import com.spectralogic.ds3contractcomparator.stream.Ds3ContractReader;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static com.spectralogic.ds3contractcomparator.Ds3ApiSpecComparatorImpl.toRequestDiffFunction;
+import static com.spectralogic.ds3contractcomparator.Ds3ApiSpecComparatorImpl.toTypeDiffFunction;
+
+/**
+ * Compares two contract files without creating a {@link com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec}
+ * for either. Each contract is opened once, and its requests and then its types are read one at a time by
+ * a single {@link Ds3ContractReader}. The entities of both contracts are aligned by name in a merge pass,
+ * and each diff is passed to the sink as soon as both versions of the entity have been read. Only the
+ * entities being compared are held in memory, along with the names, type references and type fingerprints
+ * needed for the type impact.
+ *
+ * The merge requires the requests and types of each contract to be listed in ascending name order, with
+ * every request before the first type, and the comparison fails if they are not. The diffs are passed to
+ * the sink in the same order, with the same summary, impact and breaking change classification as
+ * {@link Ds3ApiSpecComparatorImpl}. Since the contracts are not normalized by the parser, see
+ * {@link Ds3ContractReader}, request and type names are those written within the contract.
+ *
+ * Requests and types excluded by the {@link ComparatorOptions#getFilter()} are skipped by the readers
+ * as they are parsed, so they are never created, compared or counted. The fields ignored by the
+ * {@link ComparatorOptions#getIgnoreProfile()} are removed from each entity as soon as it is read, and
+ * the entity is then canonicalized if {@link ComparatorOptions#isCanonicalize()}.
+ */
+public class Ds3StreamingSpecComparator {
+
+    private final ComparatorOptions options;
+
+    public Ds3StreamingSpecComparator() {
+        this(ComparatorOptions.builder().build());
+    }
+
+    /**
+     * Creates a comparator using the options. The comparison always runs on the calling thread,
+     * so the executor and parallelism are not used, and entities are compared using equals.
+     */
+    public Ds3StreamingSpecComparator(final ComparatorOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * Supplies the requests or types of one contract in the order they are read, returning
+     * null once all have been read
+     */
+    @FunctionalInterface
+    private interface EntitySource<T> {
+        @Nullable
+        T next() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface EntityConsumer<T> {
+        void accept(@Nullable T oldEntity, @Nullable T newEntity);
+    }
+
+    /**
+     * Compares the contract files and passes each diff to the {@code sink} as it is produced
+     * @throws IOException if either contract cannot be read, lists its entities out of name order,
+     *                     or lists a request after its types
+     */
+    public void compare(final Path oldFile, final Path newFile, final Ds3SpecDiffSink sink) throws IOException {
+        final Ds3DiffSummary.Builder summary = Ds3DiffSummary.builder();
+        final BreakingChangeSummary.Builder breakingChanges = BreakingChangeSummary.builder(options.getBreakingChangeRules());
+        final Ds3TypeReferenceGraph.Builder graph = Ds3TypeReferenceGraph.builder();
+        final Ds3IgnoreProfile ignoreProfile = options.getIgnoreProfile();
+        final Function<Ds3Request, Ds3Request> prepareRequest = options.isCanonicalize()
+                ? request -> Ds3SpecCanonicalizer.canonicalize(ignoreProfile.apply(request))
+                : ignoreProfile::apply;
+        final Function<Ds3Type, Ds3Type> prepareType = options.isCanonicalize()
+                ? type -> Ds3SpecCanonicalizer.canonicalize(ignoreProfile.apply(type))
+                : ignoreProfile::apply;
+        final ImmutableMap.Builder<String, HashCode> oldTypeFingerprints = ImmutableMap.builder();
+        final ImmutableMap.Builder<String, HashCode> newTypeFingerprints = ImmutableMap.builder();
+        final Ds3SpecDiffSink target = options.isDetectRenames()
+                ? new Ds3RenameDetectingSink(sink, options.getRenameThreshold(), options.getNameTable())
+                : sink;
+
+        final BiFunction<Ds3Request, Ds3Request, Optional<AbstractDs3RequestDiff>> requestDiffFunction =
+                toRequestDiffFunction(new Ds3RequestComparatorImpl(), options.isChangesOnly(), summary, breakingChanges);
+        final BiFunction<Ds3Type, Ds3Type, Optional<AbstractDs3TypeDiff>> typeDiffFunction =
+                toTypeDiffFunction(new Ds3TypeComparatorImpl(), options.isChangesOnly(), summary, breakingChanges);
+        try (final Ds3ContractReader oldReader = Ds3ContractReader.open(oldFile, options.getFilter());
+             final Ds3ContractReader newReader = Ds3ContractReader.open(newFile, options.getFilter())) {
+            merge(
+                    inNameOrder(() -> prepare(oldReader.nextRequest(), prepareRequest), Ds3Request::getName, "requests", oldFile),
+                    inNameOrder(() -> prepare(newReader.nextRequest(), prepareRequest), Ds3Request::getName, "requests", newFile),
+                    Ds3Request::getName,
+                    (oldRequest, newRequest) -> {
+                        if (oldRequest != null) {
+                            graph.addRequest(oldRequest);
+                        }
+                        if (newRequest != null) {
+                            graph.addRequest(newRequest);
+                        }
+                        requestDiffFunction.apply(oldRequest, newRequest).ifPresent(target::acceptRequestDiff);
+                    });
+
+            // The readers now stand at the first type of each contract, so the types are merged without reopening either file
+            merge(
+                    inNameOrder(() -> prepare(oldReader.nextType(), prepareType), Ds3Type::getName, "types", oldFile),
+                    inNameOrder(() -> prepare(newReader.nextType(), prepareType), Ds3Type::getName, "types", newFile),
+                    Ds3Type::getName,
+                    (oldType, newType) -> {
+                        if (oldType != null) {
+                            graph.addType(oldType);
+                            oldTypeFingerprints.put(oldType.getName(), Ds3Fingerprints.fingerprint(oldType));
+                        }
+                        if (newType != null) {
+                            graph.addType(newType);
+                            newTypeFingerprints.put(newType.getName(), Ds3Fingerprints.fingerprint(newType));
+                        }
+                        typeDiffFunction.apply(oldType, newType).ifPresent(target::acceptTypeDiff);
+                    });
+        }
+
+        target.acceptImpact(graph.build().computeImpact(
+                new Ds3SpecFingerprints(ImmutableMap.of(), oldTypeFingerprints.build()),
+                new Ds3SpecFingerprints(ImmutableMap.of(), newTypeFingerprints.build())));
+        target.acceptBreakingChanges(breakingChanges.build());
+        target.acceptSummary(summary.build());
+        target.complete();
+    }
+
+    /**
+     * Removes the ignored fields from an entity as it is read, and canonicalizes it if requested
+     */
+    @Nullable
+    private static <T> T prepare(@Nullable final T entity, final Function<T, T> prepareFunction) {
+        return entity == null ? null : prepareFunction.apply(entity);
+    }
+
+    /**
+     * Walks two sources in ascending name order, passing each pair of entities with the same name
+     * to the {@code consumer}. An entity which only exists within one source is paired with null.
+     */
+    private static <T> void merge(
+            final EntitySource<T> oldSource,
+            final EntitySource<T> newSource,
+            final Function<T, String> nameFunction,
+            final EntityConsumer<T> consumer) throws IOException {
+        T oldEntity = oldSource.next();
+        T newEntity = newSource.next();
+        while (oldEntity != null || newEntity != null) {
+            final int order;
+            if (newEntity == null) {
+                order = -1;
+            } else if (oldEntity == null) {
+                order = 1;
+            } else {
+                order = nameFunction.apply(oldEntity).compareTo(nameFunction.apply(newEntity));
+            }
+
+            if (order < 0) {
+                consumer.accept(oldEntity, null);
+                oldEntity = oldSource.next();
+            } else if (order > 0) {
+                consumer.accept(null, newEntity);
+                newEntity = newSource.next();
+            } else {
+                consumer.accept(oldEntity, newEntity);
+                oldEntity = oldSource.next();
+                newEntity = newSource.next();
+            }
+        }
+    }
+
+    private static <T> EntitySource<T> inNameOrder(
+            final EntitySource<T> source,
+            final Function<T, String> nameFunction,
+            final String entities,
+            final Path file) {
+        return new OrderedSource<>(source, nameFunction, entities, file);
+    }
+
+    /**
+     * Wraps a source so that an entity whose name precedes the name of the previous entity,
+     * or which has no name, fails the comparison
+     */
+    private static final class OrderedSource<T> implements EntitySource<T> {
+
+        private final EntitySource<T> source;
+        private final Function<T, String> nameFunction;
+        private final String entities;
+        private final Path file;
+        @Nullable
+        private String previousName;
+
+        private OrderedSource(
+                final EntitySource<T> source,
+                final Function<T, String> nameFunction,
+                final String entities,
+                final Path file) {
+            this.source = source;
+            this.nameFunction = nameFunction;
+            this.entities = entities;
+            this.file = file;
+        }
+
+        @Nullable
+        @Override
+        public T next() throws IOException {
+            final T entity = source.next();
+            if (entity == null) {
+                return null;
+            }
+            final String name = nameFunction.apply(entity);
+            if (name == null) {
+                throw new IOException("The " + entities + " of " + file + " contain an entry without a name");
+            }
+            if (previousName != null && name.compareTo(previousName) < 0) {
+                throw new IOException("The " + entities + " of " + file + " are not in name order: "
+                        + name + " follows " + previousName);
+            }
+            previousName = name;
+            return entity;
+        }
+    }
+}
@@ -17,6 +17,7 @@ package com.spectralogic.ds3contractcomparator;
 
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
 import com.spectralogic.ds3contractcomparator.models.type.AbstractDs3TypeDiff;
+import com.spectralogic.ds3contractcomparator.models.type.NoChangeDs3TypeDiff;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -31,4 +32,14 @@ public interface Ds3TypeComparator {
      * @param newDs3Type the newer API version of the {@link Ds3Type} or null if it does not exist within the new version
      */
     AbstractDs3TypeDiff compare(@Nullable final Ds3Type oldDs3Type, @Nullable final Ds3Type newDs3Type);
+
+    /**
+     * Determines if a {@link Ds3Type} exists within both API versions and has not changed. This
+     * allows unchanged types to be skipped without creating a {@link NoChangeDs3TypeDiff}.
+     * By default the types are compared using {@link #compare(Ds3Type, Ds3Type)}.
+     */
+    default boolean isUnchanged(@Nullable final Ds3Type oldDs3Type, @Nullable final Ds3Type newDs3Type) {
+        return oldDs3Type != null && newDs3Type != null
+                && compare(oldDs3Type, newDs3Type) instanceof NoChangeDs3TypeDiff;
+    }
 }
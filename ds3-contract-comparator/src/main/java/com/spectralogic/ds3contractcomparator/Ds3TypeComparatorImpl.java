@@ -15,12 +15,41 @@
 
 package com.spectralogic.ds3contractcomparator;
 
+import com.google.common.hash.HashCode;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3contractcomparator.fingerprint.Ds3SpecFingerprints;
 import com.spectralogic.ds3contractcomparator.models.type.*;
 import org.jetbrains.annotations.Nullable;
 
 public class Ds3TypeComparatorImpl implements Ds3TypeComparator {
 
+    @Nullable
+    private final Ds3SpecFingerprints oldFingerprints;
+    @Nullable
+    private final Ds3SpecFingerprints newFingerprints;
+    private final boolean verifyFingerprints;
+
+    /**
+     * Creates a comparator which determines whether two {@link Ds3Type} are the same using equals
+     */
+    public Ds3TypeComparatorImpl() {
+        this(null, null, false);
+    }
+
+    /**
+     * Creates a comparator which determines whether two {@link Ds3Type} are the same using
+     * their structural fingerprints, falling back to equals if either fingerprint is unavailable
+     * @param verifyFingerprints if true, types with matching fingerprints are also verified using equals
+     */
+    public Ds3TypeComparatorImpl(
+            @Nullable final Ds3SpecFingerprints oldFingerprints,
+            @Nullable final Ds3SpecFingerprints newFingerprints,
+            final boolean verifyFingerprints) {
+        this.oldFingerprints = oldFingerprints;
+        this.newFingerprints = newFingerprints;
+        this.verifyFingerprints = verifyFingerprints;
+    }
+
     /**
      * Compares two {@link Ds3Type} and creates a {@link AbstractDs3TypeDiff} representing the
      * change(s) in status, if change(s) exist between the {@link Ds3Type}.
@@ -45,9 +74,43 @@ public class Ds3TypeComparatorImpl implements Ds3TypeComparator {
         if (newDs3Type == null) {
             return new DeletedDs3TypeDiff(oldDs3Type);
         }
-        if (oldDs3Type.equals(newDs3Type)) {
+        if (isSame(oldDs3Type, newDs3Type)) {
             return new NoChangeDs3TypeDiff(newDs3Type);
         }
         return new ModifiedDs3TypeDiff(oldDs3Type, newDs3Type);
     }
+
+    /**
+     * Determines if two {@link Ds3Type} are unchanged using the same check as {@link #compare},
+     * without creating a diff
+     */
+    @Override
+    public boolean isUnchanged(@Nullable final Ds3Type oldDs3Type, @Nullable final Ds3Type newDs3Type) {
+        return oldDs3Type != null && newDs3Type != null && isSame(oldDs3Type, newDs3Type);
+    }
+
+    /**
+     * Determines if two {@link Ds3Type} are value equal. The same instance, such as a type shared
+     * between versions by a {@link com.spectralogic.ds3contractcomparator.series.Ds3SpecInterner}, is
+     * always unchanged. When both fingerprints are available,
+     * differing fingerprints prove the types differ, and matching fingerprints are treated as equal
+     * unless verification was requested.
+     */
+    private boolean isSame(final Ds3Type oldDs3Type, final Ds3Type newDs3Type) {
+        if (oldDs3Type == newDs3Type) {
+            return true;
+        }
+        if (oldFingerprints == null || newFingerprints == null) {
+            return oldDs3Type.equals(newDs3Type);
+        }
+        final HashCode oldFingerprint = oldFingerprints.getTypeFingerprint(oldDs3Type.getName());
+        final HashCode newFingerprint = newFingerprints.getTypeFingerprint(newDs3Type.getName());
+        if (oldFingerprint == null || newFingerprint == null) {
+            return oldDs3Type.equals(newDs3Type);
+        }
+        if (!oldFingerprint.equals(newFingerprint)) {
+            return false;
+        }
+        return !verifyFingerprints || oldDs3Type.equals(newDs3Type);
+    }
 }
@@ -0,0 +1,237 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.baseline;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashCode;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3contractcomparator.exceptions.ComparisonException;
+import com.spectralogic.ds3contractcomparator.fingerprint.Ds3SpecFingerprints;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A persisted baseline of a {@link Ds3ApiSpec} written by {@link Ds3BaselineIndexWriter}. Only the
+ * header, containing the name and fingerprint of every request and type, is decoded when the index
+ * is read. The full {@link Ds3Request} or {@link Ds3Type} is decoded on demand, which allows a new
+ * spec to be compared against the baseline without parsing the old contract.
+ */
+public final class Ds3BaselineIndex {
+
+    static final int MAGIC = 0x44334249;
+    static final int FORMAT_VERSION = 1;
+
+    private final HashCode rootFingerprint;
+    private final ImmutableMap<String, Entry> requests;
+    private final ImmutableMap<String, Entry> types;
+    private final Ds3SpecFingerprints fingerprints;
+    private final ByteBuffer entities;
+
+    private Ds3BaselineIndex(
+            final HashCode rootFingerprint,
+            final ImmutableMap<String, Entry> requests,
+            final ImmutableMap<String, Entry> types,
+            final ByteBuffer entities) {
+        this.rootFingerprint = rootFingerprint;
+        this.requests = requests;
+        this.types = types;
+        this.fingerprints = new Ds3SpecFingerprints(toFingerprints(requests), toFingerprints(types));
+        this.entities = entities;
+    }
+
+    /**
+     * Reads the baseline index within the file. The file is memory mapped, and only the header
+     * is decoded until a request or type is retrieved.
+     * @throws IOException if the file cannot be read or is not a baseline index of a supported version
+     */
+    public static Ds3BaselineIndex read(final Path file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Reads the baseline index within the buffer, starting at the buffer's position
+     * @throws IOException if the buffer does not contain a baseline index of a supported version
+     */
+    public static Ds3BaselineIndex read(final ByteBuffer buffer) throws IOException {
+        final ByteBuffer index = buffer.slice();
+        if (index.remaining() < 3 * Integer.BYTES || index.getInt() != MAGIC) {
+            throw new IOException("The input is not a baseline index");
+        }
+        final int formatVersion = index.getInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported baseline index version " + formatVersion);
+        }
+        final int headerLength = index.getInt();
+        if (headerLength < 0 || headerLength > index.remaining()) {
+            throw new IOException("The baseline index header is truncated");
+        }
+        final byte[] headerBytes = new byte[headerLength];
+        index.get(headerBytes);
+        final ByteBuffer entities = index.slice();
+
+        final DataInput header = new DataInputStream(new ByteArrayInputStream(headerBytes));
+        final HashCode rootFingerprint = readFingerprint(header);
+        final ImmutableMap<String, Entry> requests = readEntries(header, entities.capacity());
+        final ImmutableMap<String, Entry> types = readEntries(header, entities.capacity());
+        return new Ds3BaselineIndex(rootFingerprint, requests, types, entities);
+    }
+
+    private static ImmutableMap<String, Entry> readEntries(final DataInput header, final int entitiesLength) throws IOException {
+        final int count = header.readInt();
+        final ImmutableMap.Builder<String, Entry> builder = ImmutableMap.builder();
+        for (int i = 0; i < count; i++) {
+            final String name = header.readUTF();
+            final HashCode fingerprint = readFingerprint(header);
+            final int offset = header.readInt();
+            final int length = header.readInt();
+            if (offset < 0 || length < 0 || offset > entitiesLength - length) {
+                throw new IOException("The baseline index entry for " + name + " is out of bounds");
+            }
+            builder.put(name, new Entry(fingerprint, offset, length));
+        }
+        return builder.build();
+    }
+
+    private static HashCode readFingerprint(final DataInput input) throws IOException {
+        final byte[] bytes = new byte[input.readUnsignedShort()];
+        input.readFully(bytes);
+        return HashCode.fromBytes(bytes);
+    }
+
+    private static ImmutableMap<String, HashCode> toFingerprints(final ImmutableMap<String, Entry> entries) {
+        final ImmutableMap.Builder<String, HashCode> builder = ImmutableMap.builder();
+        entries.forEach((name, entry) -> builder.put(name, entry.fingerprint));
+        return builder.build();
+    }
+
+    /**
+     * The root fingerprint of the spec the baseline was written from
+     */
+    public HashCode getRootFingerprint() {
+        return rootFingerprint;
+    }
+
+    /**
+     * The fingerprints of every request and type within the baseline
+     */
+    public Ds3SpecFingerprints getFingerprints() {
+        return fingerprints;
+    }
+
+    /**
+     * The names of every request within the baseline, in the order of the original spec
+     */
+    public ImmutableSet<String> getRequestNames() {
+        return requests.keySet();
+    }
+
+    /**
+     * The names of every type within the baseline, in the order of the original spec
+     */
+    public ImmutableSet<String> getTypeNames() {
+        return types.keySet();
+    }
+
+    /**
+     * Decodes every request and type within the baseline into a {@link Ds3ApiSpec}. Requests and
+     * types are in the order of the original spec, and a spec without requests or types is
+     * decoded with empty collections.
+     * @throws ComparisonException if a request or type cannot be decoded
+     */
+    public Ds3ApiSpec toSpec() {
+        final ImmutableList.Builder<Ds3Request> requestBuilder = ImmutableList.builder();
+        requests.keySet().forEach(requestName -> requestBuilder.add(getRequest(requestName)));
+        final ImmutableMap.Builder<String, Ds3Type> typeBuilder = ImmutableMap.builder();
+        types.keySet().forEach(typeName -> typeBuilder.put(typeName, getType(typeName)));
+        return new Ds3ApiSpec(requestBuilder.build(), typeBuilder.build());
+    }
+
+    /**
+     * Decodes the named {@link Ds3Request}, or returns null if the request is not within the baseline
+     * @throws ComparisonException if the request cannot be decoded
+     */
+    @Nullable
+    public Ds3Request getRequest(final String requestName) {
+        final Entry entry = requests.get(requestName);
+        if (entry == null) {
+            return null;
+        }
+        try {
+            return Ds3EntityCodec.readRequest(toDataInput(entry));
+        } catch (final IOException e) {
+            throw new ComparisonException("Could not decode the baseline request " + requestName, e);
+        }
+    }
+
+    /**
+     * Decodes the named {@link Ds3Type}, or returns null if the type is not within the baseline
+     * @throws ComparisonException if the type cannot be decoded
+     */
+    @Nullable
+    public Ds3Type getType(final String typeName) {
+        final Entry entry = types.get(typeName);
+        if (entry == null) {
+            return null;
+        }
+        try {
+            return Ds3EntityCodec.readType(toDataInput(entry));
+        } catch (final IOException e) {
+            throw new ComparisonException("Could not decode the baseline type " + typeName, e);
+        }
+    }
+
+    /**
+     * Copies the encoding of the entry out of the shared buffer. A duplicate of the buffer
+     * is used so that entities may be decoded concurrently.
+     */
+    private DataInput toDataInput(final Entry entry) {
+        final ByteBuffer buffer = entities.duplicate();
+        buffer.position(entry.offset);
+        final byte[] bytes = new byte[entry.length];
+        buffer.get(bytes);
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * The fingerprint and the location of the encoding of a single request or type
+     */
+    private static final class Entry {
+
+        private final HashCode fingerprint;
+        private final int offset;
+        private final int length;
+
+        private Entry(final HashCode fingerprint, final int offset, final int length) {
+            this.fingerprint = fingerprint;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
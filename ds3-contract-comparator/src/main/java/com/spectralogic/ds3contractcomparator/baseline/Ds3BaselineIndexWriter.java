@@ -0,0 +1,114 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.baseline;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashCode;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3contractcomparator.fingerprint.Ds3Fingerprints;
+import com.spectralogic.ds3contractcomparator.fingerprint.Ds3SpecFingerprints;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
+
+/**
+ * Writes the {@link Ds3BaselineIndex} of a {@link Ds3ApiSpec}. The index consists of a header
+ * containing the root fingerprint of the spec and a table entry for every request and type,
+ * followed by the encoded requests and types. Each table entry holds the name and fingerprint
+ * of the entity, and the offset and length of its encoding.
+ */
+public final class Ds3BaselineIndexWriter {
+
+    private Ds3BaselineIndexWriter() {
+        //pass
+    }
+
+    /**
+     * Writes the baseline index of the spec to the file, replacing the file if it exists
+     */
+    public static void write(final Ds3ApiSpec spec, final Path file) throws IOException {
+        try (final OutputStream output = new BufferedOutputStream(Files.newOutputStream(file))) {
+            write(spec, output);
+        }
+    }
+
+    /**
+     * Writes the baseline index of the spec to the stream. The stream is not closed.
+     */
+    public static void write(final Ds3ApiSpec spec, final OutputStream output) throws IOException {
+        final ImmutableList<Ds3Request> requests = isEmpty(spec.getRequests())
+                ? ImmutableList.of()
+                : spec.getRequests();
+        final ImmutableList<Ds3Type> types = isEmpty(spec.getTypes())
+                ? ImmutableList.of()
+                : spec.getTypes().values().asList();
+        final Ds3SpecFingerprints fingerprints = Ds3SpecFingerprints.compute(spec);
+
+        final ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        final DataOutputStream header = new DataOutputStream(headerBytes);
+        final ByteArrayOutputStream entityBytes = new ByteArrayOutputStream();
+        final DataOutputStream entities = new DataOutputStream(entityBytes);
+
+        writeFingerprint(header, Ds3Fingerprints.rootFingerprint(fingerprints));
+
+        header.writeInt(requests.size());
+        for (final Ds3Request request : requests) {
+            final int offset = entities.size();
+            Ds3EntityCodec.writeRequest(entities, request);
+            writeEntry(header, request.getName(), fingerprints.getRequestFingerprint(request.getName()), offset, entities.size() - offset);
+        }
+
+        header.writeInt(types.size());
+        for (final Ds3Type type : types) {
+            final int offset = entities.size();
+            Ds3EntityCodec.writeType(entities, type);
+            writeEntry(header, type.getName(), fingerprints.getTypeFingerprint(type.getName()), offset, entities.size() - offset);
+        }
+
+        header.flush();
+        entities.flush();
+        final DataOutputStream dataOutput = new DataOutputStream(output);
+        dataOutput.writeInt(Ds3BaselineIndex.MAGIC);
+        dataOutput.writeInt(Ds3BaselineIndex.FORMAT_VERSION);
+        dataOutput.writeInt(headerBytes.size());
+        headerBytes.writeTo(dataOutput);
+        entityBytes.writeTo(dataOutput);
+        dataOutput.flush();
+    }
+
+    private static void writeEntry(
+            final DataOutput header,
+            final String name,
+            final HashCode fingerprint,
+            final int offset,
+            final int length) throws IOException {
+        header.writeUTF(name);
+        writeFingerprint(header, fingerprint);
+        header.writeInt(offset);
+        header.writeInt(length);
+    }
+
+    private static void writeFingerprint(final DataOutput output, final HashCode fingerprint) throws IOException {
+        final byte[] bytes = fingerprint.asBytes();
+        output.writeShort(bytes.length);
+        output.write(bytes);
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.baseline;
+
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+import com.spectralogic.ds3autogen.api.models.enums.*;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Encodes and decodes {@link Ds3Request} and {@link Ds3Type} in the compact binary form stored
+ * within a {@link Ds3BaselineIndex}. Every property of the contract entity is written in the order
+ * of its constructor. Strings and lists may be null, enums are stored by name.
+ */
+final class Ds3EntityCodec {
+
+    private static final int NULL_LIST = -1;
+
+    private Ds3EntityCodec() {
+        //pass
+    }
+
+    @FunctionalInterface
+    private interface Writer<T> {
+        void write(DataOutput output, T value) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Reader<T> {
+        T read(DataInput input) throws IOException;
+    }
+
+    static void writeRequest(final DataOutput output, final Ds3Request request) throws IOException {
+        writeString(output, request.getName());
+        writeEnum(output, request.getHttpVerb());
+        writeEnum(output, request.getClassification());
+        writeEnum(output, request.getBucketRequirement());
+        writeEnum(output, request.getObjectRequirement());
+        writeEnum(output, request.getAction());
+        writeEnum(output, request.getResource());
+        writeEnum(output, request.getResourceType());
+        writeEnum(output, request.getOperation());
+        output.writeBoolean(request.getIncludeInPath());
+        writeList(output, request.getDs3ResponseCodes(), Ds3EntityCodec::writeResponseCode);
+        writeList(output, request.getOptionalQueryParams(), Ds3EntityCodec::writeParam);
+        writeList(output, request.getRequiredQueryParams(), Ds3EntityCodec::writeParam);
+    }
+
+    static Ds3Request readRequest(final DataInput input) throws IOException {
+        return new Ds3Request(
+                readString(input),
+                readEnum(input, HttpVerb.class),
+                readEnum(input, Classification.class),
+                readEnum(input, Requirement.class),
+                readEnum(input, Requirement.class),
+                readEnum(input, Action.class),
+                readEnum(input, Resource.class),
+                readEnum(input, ResourceType.class),
+                readEnum(input, Operation.class),
+                input.readBoolean(),
+                readList(input, Ds3EntityCodec::readResponseCode),
+                readList(input, Ds3EntityCodec::readParam),
+                readList(input, Ds3EntityCodec::readParam));
+    }
+
+    private static void writeParam(final DataOutput output, final Ds3Param param) throws IOException {
+        writeString(output, param.getName());
+        writeString(output, param.getType());
+        output.writeBoolean(param.getNullable());
+    }
+
+    private static Ds3Param readParam(final DataInput input) throws IOException {
+        return new Ds3Param(readString(input), readString(input), input.readBoolean());
+    }
+
+    private static void writeResponseCode(final DataOutput output, final Ds3ResponseCode responseCode) throws IOException {
+        output.writeInt(responseCode.getCode());
+        writeList(output, responseCode.getDs3ResponseTypes(), Ds3EntityCodec::writeResponseType);
+    }
+
+    private static Ds3ResponseCode readResponseCode(final DataInput input) throws IOException {
+        return new Ds3ResponseCode(input.readInt(), readList(input, Ds3EntityCodec::readResponseType));
+    }
+
+    private static void writeResponseType(final DataOutput output, final Ds3ResponseType responseType) throws IOException {
+        writeString(output, responseType.getType());
+        writeString(output, responseType.getComponentType());
+        writeString(output, responseType.getOriginalTypeName());
+    }
+
+    private static Ds3ResponseType readResponseType(final DataInput input) throws IOException {
+        return new Ds3ResponseType(readString(input), readString(input), readString(input));
+    }
+
+    static void writeType(final DataOutput output, final Ds3Type type) throws IOException {
+        writeString(output, type.getName());
+        writeString(output, type.getNameToMarshal());
+        writeList(output, type.getElements(), Ds3EntityCodec::writeElement);
+        writeList(output, type.getEnumConstants(), Ds3EntityCodec::writeEnumConstant);
+    }
+
+    static Ds3Type readType(final DataInput input) throws IOException {
+        return new Ds3Type(
+                readString(input),
+                readString(input),
+                readList(input, Ds3EntityCodec::readElement),
+                readList(input, Ds3EntityCodec::readEnumConstant));
+    }
+
+    private static void writeElement(final DataOutput output, final Ds3Element element) throws IOException {
+        writeString(output, element.getName());
+        writeString(output, element.getType());
+        writeString(output, element.getComponentType());
+        writeList(output, element.getDs3Annotations(), Ds3EntityCodec::writeAnnotation);
+        output.writeBoolean(element.getNullable());
+    }
+
+    private static Ds3Element readElement(final DataInput input) throws IOException {
+        return new Ds3Element(
+                readString(input),
+                readString(input),
+                readString(input),
+                readList(input, Ds3EntityCodec::readAnnotation),
+                input.readBoolean());
+    }
+
+    private static void writeAnnotation(final DataOutput output, final Ds3Annotation annotation) throws IOException {
+        writeString(output, annotation.getName());
+        writeList(output, annotation.getDs3AnnotationElements(), Ds3EntityCodec::writeAnnotationElement);
+    }
+
+    private static Ds3Annotation readAnnotation(final DataInput input) throws IOException {
+        return new Ds3Annotation(readString(input), readList(input, Ds3EntityCodec::readAnnotationElement));
+    }
+
+    private static void writeAnnotationElement(final DataOutput output, final Ds3AnnotationElement element) throws IOException {
+        writeString(output, element.getName());
+        writeString(output, element.getValue());
+        writeString(output, element.getValueType());
+    }
+
+    private static Ds3AnnotationElement readAnnotationElement(final DataInput input) throws IOException {
+        return new Ds3AnnotationElement(readString(input), readString(input), readString(input));
+    }
+
+    private static void writeEnumConstant(final DataOutput output, final Ds3EnumConstant enumConstant) throws IOException {
+        writeString(output, enumConstant.getName());
+        writeList(output, enumConstant.getDs3Properties(), Ds3EntityCodec::writeProperty);
+    }
+
+    private static Ds3EnumConstant readEnumConstant(final DataInput input) throws IOException {
+        return new Ds3EnumConstant(readString(input), readList(input, Ds3EntityCodec::readProperty));
+    }
+
+    private static void writeProperty(final DataOutput output, final Ds3Property property) throws IOException {
+        writeString(output, property.getName());
+        writeString(output, property.getValue());
+        writeString(output, property.getValueType());
+    }
+
+    private static Ds3Property readProperty(final DataInput input) throws IOException {
+        return new Ds3Property(readString(input), readString(input), readString(input));
+    }
+
+    static void writeString(final DataOutput output, @Nullable final String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    @Nullable
+    static String readString(final DataInput input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    private static void writeEnum(final DataOutput output, @Nullable final Enum<?> value) throws IOException {
+        writeString(output, value == null ? null : value.name());
+    }
+
+    @Nullable
+    private static <E extends Enum<E>> E readEnum(final DataInput input, final Class<E> enumClass) throws IOException {
+        final String name = readString(input);
+        return name == null ? null : Enum.valueOf(enumClass, name);
+    }
+
+    private static <T> void writeList(
+            final DataOutput output,
+            @Nullable final ImmutableList<T> list,
+            final Writer<T> writer) throws IOException {
+        if (list == null) {
+            output.writeInt(NULL_LIST);
+            return;
+        }
+        output.writeInt(list.size());
+        for (final T item : list) {
+            writer.write(output, item);
+        }
+    }
+
+    @Nullable
+    private static <T> ImmutableList<T> readList(final DataInput input, final Reader<T> reader) throws IOException {
+        final int size = input.readInt();
+        if (size == NULL_LIST) {
+            return null;
+        }
+        final ImmutableList.Builder<T> builder = ImmutableList.builder();
+        for (int i = 0; i < size; i++) {
+            builder.add(reader.read(input));
+        }
+        return builder.build();
+    }
+}
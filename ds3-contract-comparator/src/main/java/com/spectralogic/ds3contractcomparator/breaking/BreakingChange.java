@@ -0,0 +1,136 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.breaking;
+
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityKind;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A single classified change within a request or type. The path locates the change within the
+ * entity, such as {@code requiredQueryParams[Id]} for an added or deleted param, or
+ * {@code elements[Name].type} for a modified value, and is empty if the entity itself was added
+ * or deleted. Entities are only ever added or deleted, and values are only ever modified.
+ */
+public final class BreakingChange {
+
+    private final Severity severity;
+    private final Ds3EntityKind entityKind;
+    private final String entityName;
+    private final Ds3EntityKind kind;
+    @Nullable
+    private final String property;
+    private final DiffStatus status;
+    private final String path;
+    @Nullable
+    private final String oldValue;
+    @Nullable
+    private final String newValue;
+
+    public BreakingChange(
+            final Severity severity,
+            final Ds3EntityKind entityKind,
+            final String entityName,
+            final Ds3EntityKind kind,
+            @Nullable final String property,
+            final DiffStatus status,
+            final String path,
+            @Nullable final String oldValue,
+            @Nullable final String newValue) {
+        this.severity = severity;
+        this.entityKind = entityKind;
+        this.entityName = entityName;
+        this.kind = kind;
+        this.property = property;
+        this.status = status;
+        this.path = path;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    public Severity getSeverity() {
+        return severity;
+    }
+
+    /**
+     * The kind of the top level entity containing the change, either a request or a type
+     */
+    public Ds3EntityKind getEntityKind() {
+        return entityKind;
+    }
+
+    /**
+     * The name of the top level entity containing the change
+     */
+    public String getEntityName() {
+        return entityName;
+    }
+
+    /**
+     * The kind of the entity which was added, deleted or modified
+     */
+    public Ds3EntityKind getKind() {
+        return kind;
+    }
+
+    /**
+     * The list containing the added or deleted entity, or the modified value, or null if the
+     * top level entity itself was added or deleted
+     */
+    @Nullable
+    public String getProperty() {
+        return property;
+    }
+
+    public DiffStatus getStatus() {
+        return status;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * The older value of a modified value, or null if the change is not to a value
+     */
+    @Nullable
+    public String getOldValue() {
+        return oldValue;
+    }
+
+    /**
+     * The newer value of a modified value, or null if the change is not to a value
+     */
+    @Nullable
+    public String getNewValue() {
+        return newValue;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder()
+                .append(severity).append(' ')
+                .append(status).append(' ')
+                .append(entityName);
+        if (!path.isEmpty()) {
+            builder.append(' ').append(path);
+        }
+        if (status == DiffStatus.MODIFIED) {
+            builder.append(": ").append(oldValue).append(" -> ").append(newValue);
+        }
+        return builder.toString();
+    }
+}
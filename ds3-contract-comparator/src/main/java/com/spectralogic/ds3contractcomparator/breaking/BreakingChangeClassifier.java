@@ -0,0 +1,132 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.breaking;
+
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3DeltaNode;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityDelta;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3ListDelta;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3ValueDelta;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Predicate;
+
+/**
+ * Classifies every change within the {@link Ds3EntityDelta} of a request or type using a set of
+ * {@link BreakingChangeRules}. An added or deleted entity is classified as a whole, while the
+ * values and list entries of a modified entity are each classified separately. Changes to a
+ * value are classified as {@link DiffStatus#MODIFIED} even if the older or newer value is null.
+ */
+public final class BreakingChangeClassifier {
+
+    private final BreakingChangeRules rules;
+
+    public BreakingChangeClassifier(final BreakingChangeRules rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Classifies all changes within the delta of a request or type, in the order of its fields
+     */
+    public ImmutableList<BreakingChange> classify(final Ds3EntityDelta delta) {
+        final ImmutableList.Builder<BreakingChange> builder = ImmutableList.builder();
+        classifyEntity(delta, delta, null, "", change -> {
+            builder.add(change);
+            return true;
+        });
+        return builder.build();
+    }
+
+    /**
+     * Retrieves the first change within the delta of a request or type which has the specified
+     * severity, without classifying any of the changes which follow it
+     * @return the first change with the severity, or null if there is no such change
+     */
+    @Nullable
+    public BreakingChange findFirst(final Ds3EntityDelta delta, final Severity severity) {
+        final BreakingChange[] found = new BreakingChange[1];
+        classifyEntity(delta, delta, null, "", change -> {
+            if (change.getSeverity() != severity) {
+                return true;
+            }
+            found[0] = change;
+            return false;
+        });
+        return found[0];
+    }
+
+    /**
+     * Passes each change within the entity to the {@code visitor} until the visitor returns false
+     * @return false if the visitor stopped the traversal
+     */
+    private boolean classifyEntity(
+            final Ds3EntityDelta root,
+            final Ds3EntityDelta entity,
+            @Nullable final String listProperty,
+            final String path,
+            final Predicate<BreakingChange> visitor) {
+        switch (entity.getStatus()) {
+            case NO_CHANGE:
+                return true;
+            case ADDED:
+            case DELETED:
+                return visitor.test(toChange(root, entity, listProperty, entity.getStatus(), path, null, null));
+            default:
+                break;
+        }
+        for (final Ds3DeltaNode field : entity.getFields()) {
+            if (field.getStatus() == DiffStatus.NO_CHANGE) {
+                continue;
+            }
+            final String fieldPath = path.isEmpty() ? field.getProperty() : path + "." + field.getProperty();
+            if (field instanceof Ds3ValueDelta) {
+                final Ds3ValueDelta value = (Ds3ValueDelta) field;
+                if (!visitor.test(toChange(root, entity, field.getProperty(), DiffStatus.MODIFIED, fieldPath,
+                        value.getOldValue(), value.getNewValue()))) {
+                    return false;
+                }
+            } else {
+                for (final Ds3EntityDelta entry : ((Ds3ListDelta) field).getEntries()) {
+                    if (!classifyEntity(root, entry, field.getProperty(), fieldPath + "[" + entry.getKey() + "]", visitor)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private BreakingChange toChange(
+            final Ds3EntityDelta root,
+            final Ds3EntityDelta entity,
+            @Nullable final String property,
+            final DiffStatus status,
+            final String path,
+            @Nullable final String oldValue,
+            @Nullable final String newValue) {
+        return new BreakingChange(
+                rules.classify(entity.getKind(), property, status),
+                root.getKind(),
+                root.getKey(),
+                entity.getKind(),
+                property,
+                status,
+                path,
+                oldValue,
+                newValue);
+    }
+}
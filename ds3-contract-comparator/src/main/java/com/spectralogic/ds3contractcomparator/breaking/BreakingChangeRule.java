@@ -0,0 +1,71 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.breaking;
+
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityKind;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Assigns a {@link Severity} to the changes of a kind of contract entity. The property is either
+ * the name of the list containing an added or deleted entity, or the name of a modified value of
+ * the entity. A rule without a property matches the changes of every property.
+ */
+public final class BreakingChangeRule {
+
+    private final Ds3EntityKind kind;
+    @Nullable
+    private final String property;
+    private final DiffStatus status;
+    private final Severity severity;
+
+    public BreakingChangeRule(
+            final Ds3EntityKind kind,
+            @Nullable final String property,
+            final DiffStatus status,
+            final Severity severity) {
+        this.kind = kind;
+        this.property = property;
+        this.status = status;
+        this.severity = severity;
+    }
+
+    /**
+     * Determines if this rule applies to a change
+     */
+    public boolean matches(final Ds3EntityKind kind, @Nullable final String property, final DiffStatus status) {
+        return this.kind == kind
+                && this.status == status
+                && (this.property == null || this.property.equals(property));
+    }
+
+    public Ds3EntityKind getKind() {
+        return kind;
+    }
+
+    @Nullable
+    public String getProperty() {
+        return property;
+    }
+
+    public DiffStatus getStatus() {
+        return status;
+    }
+
+    public Severity getSeverity() {
+        return severity;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.breaking;
+
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityKind;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * The configurable set of {@link BreakingChangeRule} used to classify changes. A rule for a specific
+ * property takes precedence over a rule for all properties of the same kind of entity, and among
+ * rules of equal precedence the most recently added rule is used. Changes matched by no rule are
+ * assigned the default severity.
+ */
+public final class BreakingChangeRules {
+
+    private static final String DEFAULT_SEVERITY_KEY = "default";
+
+    private static final BreakingChangeRules DEFAULTS = builder()
+            .add(Ds3EntityKind.REQUEST, null, DiffStatus.DELETED, Severity.BREAKING)
+            .add(Ds3EntityKind.REQUEST, null, DiffStatus.ADDED, Severity.NON_BREAKING)
+            .add(Ds3EntityKind.REQUEST, null, DiffStatus.MODIFIED, Severity.BREAKING)
+            .add(Ds3EntityKind.PARAM, null, DiffStatus.DELETED, Severity.BREAKING)
+            .add(Ds3EntityKind.PARAM, null, DiffStatus.ADDED, Severity.BREAKING)
+            .add(Ds3EntityKind.PARAM, "optionalQueryParams", DiffStatus.ADDED, Severity.NON_BREAKING)
+            .add(Ds3EntityKind.PARAM, null, DiffStatus.MODIFIED, Severity.BREAKING)
+            .add(Ds3EntityKind.PARAM, "nullable", DiffStatus.MODIFIED, Severity.NON_BREAKING)
+            .add(Ds3EntityKind.RESPONSE_CODE, null, DiffStatus.DELETED, Severity.BREAKING)
+            .add(Ds3EntityKind.RESPONSE_CODE, null, DiffStatus.ADDED, Severity.NON_BREAKING)
+            .add(Ds3EntityKind.RESPONSE_TYPE, null, DiffStatus.DELETED, Severity.BREAKING)
+            .add(Ds3EntityKind.RESPONSE_TYPE, null, DiffStatus.ADDED, Severity.NON_BREAKING)
+            .add(Ds3EntityKind.RESPONSE_TYPE, null, DiffStatus.MODIFIED, Severity.BREAKING)
+            .add(Ds3EntityKind.RESPONSE_TYPE, "originalTypeName", DiffStatus.MODIFIED, Severity.INFORMATIONAL)
+            .add(Ds3EntityKind.TYPE, null, DiffStatus.DELETED, Severity.BREAKING)
+            .add(Ds3EntityKind.TYPE, null, DiffStatus.ADDED, Severity.NON_BREAKING)
+            .add(Ds3EntityKind.TYPE, null, DiffStatus.MODIFIED, Severity.BREAKING)
+            .add(Ds3EntityKind.ELEMENT, null, DiffStatus.DELETED, Severity.BREAKING)
+            .add(Ds3EntityKind.ELEMENT, null, DiffStatus.ADDED, Severity.NON_BREAKING)
+            .add(Ds3EntityKind.ELEMENT, null, DiffStatus.MODIFIED, Severity.BREAKING)
+            .add(Ds3EntityKind.ELEMENT, "nullable", DiffStatus.MODIFIED, Severity.NON_BREAKING)
+            .add(Ds3EntityKind.ENUM_CONSTANT, null, DiffStatus.DELETED, Severity.BREAKING)
+            .add(Ds3EntityKind.ENUM_CONSTANT, null, DiffStatus.ADDED, Severity.NON_BREAKING)
+            .build();
+
+    private final ImmutableList<BreakingChangeRule> rules;
+    private final Severity defaultSeverity;
+
+    private BreakingChangeRules(final ImmutableList<BreakingChangeRule> rules, final Severity defaultSeverity) {
+        this.rules = rules;
+        this.defaultSeverity = defaultSeverity;
+    }
+
+    /**
+     * Retrieves the default rules. Removing or changing any request, param, response code, response
+     * type, type, element or enum constant is breaking, except for changing whether a param or element
+     * is nullable. Adding a required param is breaking, while adding any other entity is not. Changes
+     * to annotations and enum constant properties are informational.
+     */
+    public static BreakingChangeRules defaults() {
+        return DEFAULTS;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a builder containing these rules, to which overriding rules may be added
+     */
+    public Builder toBuilder() {
+        final Builder builder = new Builder().withDefaultSeverity(defaultSeverity);
+        builder.rules.addAll(rules);
+        return builder;
+    }
+
+    /**
+     * Determines the severity of a change to a kind of entity
+     * @param property the list containing the added or deleted entity, or the modified value of the entity
+     */
+    public Severity classify(final Ds3EntityKind kind, @Nullable final String property, final DiffStatus status) {
+        BreakingChangeRule wildcardMatch = null;
+        for (int i = rules.size() - 1; i >= 0; i--) {
+            final BreakingChangeRule rule = rules.get(i);
+            if (!rule.matches(kind, property, status)) {
+                continue;
+            }
+            if (rule.getProperty() != null) {
+                return rule.getSeverity();
+            }
+            if (wildcardMatch == null) {
+                wildcardMatch = rule;
+            }
+        }
+        return wildcardMatch == null ? defaultSeverity : wildcardMatch.getSeverity();
+    }
+
+    public ImmutableList<BreakingChangeRule> getRules() {
+        return rules;
+    }
+
+    public Severity getDefaultSeverity() {
+        return defaultSeverity;
+    }
+
+    public static final class Builder {
+
+        private final List<BreakingChangeRule> rules = new ArrayList<>();
+        private Severity defaultSeverity = Severity.INFORMATIONAL;
+
+        private Builder() {
+            //pass
+        }
+
+        /**
+         * Adds a rule, which takes precedence over all previously added rules of equal precedence
+         * @param property the property matched by the rule, or null to match all properties
+         */
+        public Builder add(
+                final Ds3EntityKind kind,
+                @Nullable final String property,
+                final DiffStatus status,
+                final Severity severity) {
+            rules.add(new BreakingChangeRule(kind, property, status, severity));
+            return this;
+        }
+
+        /**
+         * The severity of changes which are not matched by any rule. Defaults to {@link Severity#INFORMATIONAL}.
+         */
+        public Builder withDefaultSeverity(final Severity defaultSeverity) {
+            this.defaultSeverity = defaultSeverity;
+            return this;
+        }
+
+        /**
+         * Adds the rules within a properties file
+         * @see #addProperties(Properties)
+         */
+        public Builder addProperties(final Path file) throws IOException {
+            final Properties properties = new Properties();
+            try (final Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            return addProperties(properties);
+        }
+
+        /**
+         * Adds a rule for each property. Keys have the form {@code KIND.STATUS} to match all properties,
+         * or {@code KIND.property.STATUS} to match a single property, such as
+         * {@code PARAM.optionalQueryParams.ADDED}, and each value is a {@link Severity}. The key
+         * {@code default} sets the default severity.
+         * @throws IllegalArgumentException if a key or value cannot be parsed
+         */
+        public Builder addProperties(final Properties properties) {
+            for (final String key : properties.stringPropertyNames()) {
+                final Severity severity = parse(Severity.class, properties.getProperty(key).trim(), key);
+                if (key.equals(DEFAULT_SEVERITY_KEY)) {
+                    defaultSeverity = severity;
+                    continue;
+                }
+                final String[] parts = key.split("\\.");
+                if (parts.length != 2 && parts.length != 3) {
+                    throw new IllegalArgumentException("Breaking change rule must have the form KIND[.property].STATUS, but was: " + key);
+                }
+                add(parse(Ds3EntityKind.class, parts[0], key),
+                        parts.length == 3 ? parts[1] : null,
+                        parse(DiffStatus.class, parts[parts.length - 1], key),
+                        severity);
+            }
+            return this;
+        }
+
+        private static <E extends Enum<E>> E parse(final Class<E> enumClass, final String value, final String key) {
+            try {
+                return Enum.valueOf(enumClass, value);
+            } catch (final IllegalArgumentException e) {
+                throw new IllegalArgumentException("Breaking change rule '" + key + "' contains an unknown "
+                        + enumClass.getSimpleName() + ": " + value, e);
+            }
+        }
+
+        public BreakingChangeRules build() {
+            return new BreakingChangeRules(ImmutableList.copyOf(rules), defaultSeverity);
+        }
+    }
+}
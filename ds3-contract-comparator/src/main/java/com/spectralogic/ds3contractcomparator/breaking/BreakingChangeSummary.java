@@ -0,0 +1,148 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.breaking;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedSet;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityDelta;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityKind;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Contains every classified change between two contract versions, indexed by {@link Severity}.
+ * Changes are ordered by requests before types, then by entity name, then by their position
+ * within the entity.
+ */
+public class BreakingChangeSummary {
+
+    private static final BreakingChangeSummary EMPTY = new BreakingChangeSummary(ImmutableList.of());
+
+    private final ImmutableList<BreakingChange> changes;
+    private final ImmutableListMultimap<Severity, BreakingChange> changesBySeverity;
+
+    public BreakingChangeSummary(final ImmutableList<BreakingChange> changes) {
+        this.changes = changes;
+        final ImmutableListMultimap.Builder<Severity, BreakingChange> builder = ImmutableListMultimap.builder();
+        changes.forEach(change -> builder.put(change.getSeverity(), change));
+        this.changesBySeverity = builder.build();
+    }
+
+    /**
+     * Retrieves the summary of a comparison without any changes
+     */
+    public static BreakingChangeSummary empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a builder which classifies changes using the specified rules
+     */
+    public static Builder builder(final BreakingChangeRules rules) {
+        return new Builder(new BreakingChangeClassifier(rules));
+    }
+
+    public ImmutableList<BreakingChange> getChanges() {
+        return changes;
+    }
+
+    public ImmutableList<BreakingChange> getChanges(final Severity severity) {
+        return changesBySeverity.get(severity);
+    }
+
+    public int getCount(final Severity severity) {
+        return changesBySeverity.get(severity).size();
+    }
+
+    /**
+     * Determines if any change is {@link Severity#BREAKING}
+     */
+    public boolean isBreaking() {
+        return changesBySeverity.containsKey(Severity.BREAKING);
+    }
+
+    /**
+     * Retrieves the names of the requests with at least one change of the severity, in ascending order
+     */
+    public ImmutableSet<String> getRequestNames(final Severity severity) {
+        return getEntityNames(Ds3EntityKind.REQUEST, severity);
+    }
+
+    /**
+     * Retrieves the names of the types with at least one change of the severity, in ascending order
+     */
+    public ImmutableSet<String> getTypeNames(final Severity severity) {
+        return getEntityNames(Ds3EntityKind.TYPE, severity);
+    }
+
+    private ImmutableSet<String> getEntityNames(final Ds3EntityKind entityKind, final Severity severity) {
+        final ImmutableSortedSet.Builder<String> builder = ImmutableSortedSet.naturalOrder();
+        changesBySeverity.get(severity).stream()
+                .filter(change -> change.getEntityKind() == entityKind)
+                .forEach(change -> builder.add(change.getEntityName()));
+        return builder.build();
+    }
+
+    /**
+     * Accumulates the classified changes of a {@link BreakingChangeSummary}. A single builder may be
+     * shared by concurrent comparison tasks: {@link #add(Ds3EntityDelta)} classifies a delta without
+     * holding the builder's lock, and only the accumulation in {@link #addAll(List)} and the copy in
+     * {@link #build()} are synchronized.
+     */
+    public static class Builder {
+
+        private static final Comparator<BreakingChange> ENTITY_ORDER = Comparator
+                .comparing(BreakingChange::getEntityKind)
+                .thenComparing(BreakingChange::getEntityName);
+
+        private final BreakingChangeClassifier classifier;
+        private final List<BreakingChange> changes = new ArrayList<>();
+
+        private Builder(final BreakingChangeClassifier classifier) {
+            this.classifier = classifier;
+        }
+
+        /**
+         * Classifies and adds all changes within the delta of a request or type
+         */
+        public Builder add(final Ds3EntityDelta delta) {
+            final ImmutableList<BreakingChange> classified = classifier.classify(delta);
+            if (!classified.isEmpty()) {
+                addAll(classified);
+            }
+            return this;
+        }
+
+        public synchronized Builder addAll(final List<BreakingChange> classified) {
+            changes.addAll(classified);
+            return this;
+        }
+
+        /**
+         * Creates the summary. The changes of each entity are added together, so a stable sort
+         * by entity retains their position within the entity.
+         */
+        public synchronized BreakingChangeSummary build() {
+            final List<BreakingChange> sorted = new ArrayList<>(changes);
+            sorted.sort(ENTITY_ORDER);
+            return new BreakingChangeSummary(ImmutableList.copyOf(sorted));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.breaking;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.HashCode;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3contractcomparator.fingerprint.Ds3Fingerprints;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3DeltaFactory;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityDelta;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityKind;
+import com.spectralogic.ds3contractcomparator.utils.AlignedPair;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
+import static com.spectralogic.ds3contractcomparator.utils.AlignmentUtils.align;
+
+/**
+ * Determines whether a newer {@link Ds3ApiSpec} is compatible with an older one, stopping at the
+ * first {@link Severity#BREAKING} change. No {@link com.spectralogic.ds3contractcomparator.models.Ds3ApiSpecDiff}
+ * is created. Requests and types are checked in three passes, from cheapest to most expensive:
+ * <ol>
+ *     <li>Names, which finds the added and deleted requests and types</li>
+ *     <li>Fingerprints, which finds the requests and types that exist in both specs but changed</li>
+ *     <li>Fields, which computes and classifies the delta of each changed request and type</li>
+ * </ol>
+ * Entities are checked in ascending name order within each pass, requests before types.
+ */
+public class Ds3CompatibilityChecker {
+
+    private final BreakingChangeRules rules;
+    private final BreakingChangeClassifier classifier;
+
+    public Ds3CompatibilityChecker() {
+        this(BreakingChangeRules.defaults());
+    }
+
+    public Ds3CompatibilityChecker(final BreakingChangeRules rules) {
+        this.rules = rules;
+        this.classifier = new BreakingChangeClassifier(rules);
+    }
+
+    public Ds3CompatibilityResult check(final Ds3ApiSpec oldSpec, final Ds3ApiSpec newSpec) {
+        final ImmutableList<AlignedPair<Ds3Request, Ds3Request>> requests =
+                align(oldSpec.getRequests(), newSpec.getRequests(), Ds3Request::getName);
+        final ImmutableList<AlignedPair<Ds3Type, Ds3Type>> types =
+                align(toTypeList(oldSpec.getTypes()), toTypeList(newSpec.getTypes()), Ds3Type::getName);
+
+        BreakingChange breakingChange = checkNames(Ds3EntityKind.REQUEST, requests, Ds3Request::getName);
+        if (breakingChange == null) {
+            breakingChange = checkNames(Ds3EntityKind.TYPE, types, Ds3Type::getName);
+        }
+        if (breakingChange != null) {
+            return Ds3CompatibilityResult.incompatible(breakingChange);
+        }
+
+        final List<AlignedPair<Ds3Request, Ds3Request>> changedRequests =
+                toChangedPairs(requests, Ds3Fingerprints::fingerprint);
+        final List<AlignedPair<Ds3Type, Ds3Type>> changedTypes =
+                toChangedPairs(types, Ds3Fingerprints::fingerprint);
+
+        breakingChange = checkFields(changedRequests, Ds3DeltaFactory::toRequestDelta);
+        if (breakingChange == null) {
+            breakingChange = checkFields(changedTypes, Ds3DeltaFactory::toTypeDelta);
+        }
+        return breakingChange == null
+                ? Ds3CompatibilityResult.compatible()
+                : Ds3CompatibilityResult.incompatible(breakingChange);
+    }
+
+    /**
+     * Finds the first entity which exists within only one of the specs, and whose addition or deletion is breaking
+     */
+    @Nullable
+    private <T> BreakingChange checkNames(
+            final Ds3EntityKind kind,
+            final ImmutableList<AlignedPair<T, T>> pairs,
+            final Function<T, String> nameFunction) {
+        for (final AlignedPair<T, T> pair : pairs) {
+            final DiffStatus status;
+            final String name;
+            if (pair.getNew() == null) {
+                status = DiffStatus.DELETED;
+                name = nameFunction.apply(pair.getOld());
+            } else if (pair.getOld() == null) {
+                status = DiffStatus.ADDED;
+                name = nameFunction.apply(pair.getNew());
+            } else {
+                continue;
+            }
+            if (rules.classify(kind, null, status) == Severity.BREAKING) {
+                return new BreakingChange(Severity.BREAKING, kind, name, kind, null, status, "", null, null);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the pairs which exist within both specs and whose fingerprints differ
+     */
+    private static <T> List<AlignedPair<T, T>> toChangedPairs(
+            final ImmutableList<AlignedPair<T, T>> pairs,
+            final Function<T, HashCode> fingerprintFunction) {
+        final List<AlignedPair<T, T>> changed = new ArrayList<>();
+        for (final AlignedPair<T, T> pair : pairs) {
+            if (pair.getOld() != null
+                    && pair.getNew() != null
+                    && !fingerprintFunction.apply(pair.getOld()).equals(fingerprintFunction.apply(pair.getNew()))) {
+                changed.add(pair);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Finds the first breaking change within the deltas of the changed pairs
+     */
+    @Nullable
+    private <T> BreakingChange checkFields(
+            final List<AlignedPair<T, T>> changedPairs,
+            final BiFunction<T, T, Ds3EntityDelta> deltaFunction) {
+        for (final AlignedPair<T, T> pair : changedPairs) {
+            final BreakingChange breakingChange = classifier.findFirst(
+                    deltaFunction.apply(pair.getOld(), pair.getNew()),
+                    Severity.BREAKING);
+            if (breakingChange != null) {
+                return breakingChange;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static ImmutableList<Ds3Type> toTypeList(@Nullable final ImmutableMap<String, Ds3Type> types) {
+        return isEmpty(types) ? null : types.values().asList();
+    }
+}
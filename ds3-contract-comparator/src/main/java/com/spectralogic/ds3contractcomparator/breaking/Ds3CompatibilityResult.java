@@ -0,0 +1,59 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.breaking;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The result of a {@link Ds3CompatibilityChecker}, containing the breaking change which
+ * stopped the check if the contracts are not compatible
+ */
+public final class Ds3CompatibilityResult {
+
+    private static final Ds3CompatibilityResult COMPATIBLE = new Ds3CompatibilityResult(null);
+
+    @Nullable
+    private final BreakingChange breakingChange;
+
+    private Ds3CompatibilityResult(@Nullable final BreakingChange breakingChange) {
+        this.breakingChange = breakingChange;
+    }
+
+    public static Ds3CompatibilityResult compatible() {
+        return COMPATIBLE;
+    }
+
+    public static Ds3CompatibilityResult incompatible(final BreakingChange breakingChange) {
+        return new Ds3CompatibilityResult(breakingChange);
+    }
+
+    public boolean isCompatible() {
+        return breakingChange == null;
+    }
+
+    /**
+     * The first breaking change found, or null if the contracts are compatible
+     */
+    @Nullable
+    public BreakingChange getBreakingChange() {
+        return breakingChange;
+    }
+
+    @Override
+    public String toString() {
+        return breakingChange == null ? "Compatible" : "Incompatible: " + breakingChange;
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.breaking;
+
+/**
+ * The severity of a single change between two contract versions, ordered from most to least severe
+ */
+public enum Severity {
+    /** The change breaks clients generated from the older contract */
+    BREAKING,
+    /** The change is visible to clients, but clients generated from the older contract continue to work */
+    NON_BREAKING,
+    /** The change does not affect generated clients */
+    INFORMATIONAL
+}
@@ -0,0 +1,285 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.cache;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.spectralogic.ds3autogen.Ds3SpecParserImpl;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3contractcomparator.baseline.Ds3BaselineIndex;
+import com.spectralogic.ds3contractcomparator.baseline.Ds3BaselineIndexWriter;
+import com.spectralogic.ds3contractcomparator.exceptions.ComparisonException;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * A content addressed cache of parsed {@link Ds3ApiSpec}s within a directory. Each entry is keyed
+ * by a SHA-256 of the contract file's bytes, the parser version, and whether internal requests
+ * were included when parsing. Entries are stored as {@link Ds3BaselineIndex} files, which decode
+ * faster than the contract XML can be parsed.
+ *
+ * The total size of the entries is bounded. When an entry is written and the bound is exceeded,
+ * the least recently used entries are removed, where an entry's last modified time records when
+ * it was last written or read. The cache may be shared by concurrent loads, and entries are
+ * written atomically so that a partially written entry is never read.
+ */
+public class Ds3SpecCache {
+
+    public static final long DEFAULT_MAX_SIZE = 256L * 1024 * 1024;
+
+    private static final String ENTRY_EXTENSION = ".spec";
+
+    @Nullable
+    private static volatile String defaultParserVersion;
+
+    private final Path directory;
+    private final long maxSize;
+    private final String parserVersion;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a cache within the directory bounded by {@link #DEFAULT_MAX_SIZE}, keyed by the
+     * version of {@link Ds3SpecParserImpl}
+     * @throws IOException if the version of the parser cannot be determined, since entries written
+     *                     by a different parser could then be used
+     */
+    public Ds3SpecCache(final Path directory) throws IOException {
+        this(directory, DEFAULT_MAX_SIZE, defaultParserVersion());
+    }
+
+    /**
+     * @param directory the directory containing the entries, which is created if it does not exist
+     * @param maxSize the maximum total size in bytes of the entries
+     * @param parserVersion the version of the parser, so that entries written by a different
+     *                      parser version are not used
+     */
+    public Ds3SpecCache(final Path directory, final long maxSize, final String parserVersion) throws IOException {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The maximum cache size must be positive, but was: " + maxSize);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.maxSize = maxSize;
+        this.parserVersion = parserVersion;
+    }
+
+    /**
+     * The version of {@link Ds3SpecParserImpl} on the classpath, which is computed once per process
+     * since it may require reading the parser's classes
+     */
+    static String defaultParserVersion() throws IOException {
+        if (defaultParserVersion == null) {
+            try {
+                defaultParserVersion = parserVersion(Ds3SpecParserImpl.class);
+            } catch (final IOException e) {
+                throw new IOException("Unable to determine the version of " + Ds3SpecParserImpl.class.getName()
+                        + ", so parsed contracts cannot be cached", e);
+            }
+        }
+        return defaultParserVersion;
+    }
+
+    /**
+     * The version recorded by the jar of the parser class. A parser built from source, such as
+     * one from an included build, often records no version, so it is instead identified by a
+     * digest of the jar or class directory containing it.
+     */
+    static String parserVersion(final Class<?> parserClass) throws IOException {
+        final Package parserPackage = parserClass.getPackage();
+        final String version = parserPackage == null ? null : parserPackage.getImplementationVersion();
+        if (version != null) {
+            return version;
+        }
+        final CodeSource codeSource = parserClass.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            throw new IOException("The location of " + parserClass.getName() + " is unknown");
+        }
+        try {
+            return "sha256:" + digestOf(Paths.get(codeSource.getLocation().toURI()));
+        } catch (final URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+            throw new IOException("Unable to read the location of " + parserClass.getName() + ": " + codeSource.getLocation(), e);
+        }
+    }
+
+    /**
+     * Computes a digest of a jar file, or of the relative paths and contents of every file within
+     * a class directory
+     */
+    static HashCode digestOf(final Path location) throws IOException {
+        if (!Files.isDirectory(location)) {
+            return Hashing.sha256().hashBytes(Files.readAllBytes(location));
+        }
+        final List<Path> files = new ArrayList<>();
+        try (final Stream<Path> stream = Files.walk(location)) {
+            stream.filter(Files::isRegularFile).forEach(files::add);
+        }
+        files.sort(Comparator.comparing(file -> location.relativize(file).toString()));
+        final Hasher hasher = Hashing.sha256().newHasher();
+        for (final Path file : files) {
+            final String name = location.relativize(file).toString();
+            final byte[] contents = Files.readAllBytes(file);
+            hasher.putInt(name.length()).putString(name, StandardCharsets.UTF_8)
+                    .putInt(contents.length).putBytes(contents);
+        }
+        return hasher.hash();
+    }
+
+    /**
+     * Computes the key of a contract file's contents
+     * @param contents the bytes of the contract file
+     * @param generateInternal whether internal requests are included when the contract is parsed
+     */
+    public HashCode keyOf(final byte[] contents, final boolean generateInternal) {
+        return Hashing.sha256().newHasher()
+                .putInt(parserVersion.length())
+                .putString(parserVersion, StandardCharsets.UTF_8)
+                .putBoolean(generateInternal)
+                .putBytes(contents)
+                .hash();
+    }
+
+    /**
+     * Retrieves the spec stored under the key, or returns null if there is no such entry. An entry
+     * which cannot be decoded is removed and reported as a miss.
+     */
+    @Nullable
+    public Ds3ApiSpec get(final HashCode key) {
+        final Path entry = toEntry(key);
+        try {
+            final Ds3ApiSpec spec = Ds3BaselineIndex.read(entry).toSpec();
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            hits.incrementAndGet();
+            return spec;
+        } catch (final NoSuchFileException e) {
+            misses.incrementAndGet();
+            return null;
+        } catch (final IOException | ComparisonException e) {
+            deleteQuietly(entry);
+            misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Stores the spec under the key, replacing any existing entry, and then removes the least
+     * recently used entries until the cache is within its maximum size
+     */
+    public void put(final HashCode key, final Ds3ApiSpec spec) throws IOException {
+        final Path entry = toEntry(key);
+        final Path tempFile = Files.createTempFile(directory, key.toString(), ".tmp");
+        try {
+            Ds3BaselineIndexWriter.write(spec, tempFile);
+            try {
+                Files.move(tempFile, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            deleteQuietly(tempFile);
+        }
+        evict();
+    }
+
+    /**
+     * Removes the least recently used entries until the total size of the entries is within the
+     * maximum size. Entries removed concurrently by another process are ignored.
+     */
+    synchronized void evict() throws IOException {
+        final List<CacheEntry> entries = new ArrayList<>();
+        long totalSize = 0;
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + ENTRY_EXTENSION)) {
+            for (final Path entry : stream) {
+                try {
+                    final BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                    entries.add(new CacheEntry(entry, attributes.size(), attributes.lastModifiedTime()));
+                    totalSize += attributes.size();
+                } catch (final NoSuchFileException e) {
+                    //The entry was removed after it was listed
+                }
+            }
+        }
+        if (totalSize <= maxSize) {
+            return;
+        }
+        entries.sort(Comparator.comparing(entry -> entry.lastUsed));
+        for (final CacheEntry entry : entries) {
+            if (totalSize <= maxSize) {
+                return;
+            }
+            deleteQuietly(entry.file);
+            totalSize -= entry.size;
+        }
+    }
+
+    private Path toEntry(final HashCode key) {
+        return directory.resolve(key.toString() + ENTRY_EXTENSION);
+    }
+
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            //The file is removed by a later eviction
+        }
+    }
+
+    /**
+     * The number of entries retrieved from the cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * The number of retrievals which did not find a usable entry
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * The size and last use of a single entry, captured when deciding which entries to evict
+     */
+    private static final class CacheEntry {
+
+        private final Path file;
+        private final long size;
+        private final FileTime lastUsed;
+
+        private CacheEntry(final Path file, final long size, final FileTime lastUsed) {
+            this.file = file;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
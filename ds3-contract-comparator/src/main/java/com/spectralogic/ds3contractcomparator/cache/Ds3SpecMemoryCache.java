@@ -0,0 +1,166 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3contractcomparator.loader.Ds3SpecInputs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A bounded, in memory cache of parsed {@link Ds3ApiSpec}s for a long running process which loads
+ * the same contract files repeatedly. Each entry is keyed by the contract's absolute path, and the
+ * size and last modified time of the file, so a contract file which is rewritten is parsed again.
+ * For a contract within a zip file, the size and last modified time of the zip file are used.
+ *
+ * Unlike {@link Ds3SpecCache}, the contract file is not read when an entry is found. When the
+ * cache is full, the least recently used entries are removed. The cache may be shared by
+ * concurrent loads, and concurrent loads of the same contract parse it only once.
+ */
+public class Ds3SpecMemoryCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 32;
+
+    private final Cache<Key, Ds3ApiSpec> specs;
+
+    /**
+     * Creates a cache bounded by {@link #DEFAULT_MAX_ENTRIES}
+     */
+    public Ds3SpecMemoryCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param maxEntries the maximum number of parsed contracts which are retained
+     */
+    public Ds3SpecMemoryCache(final int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("The maximum number of cached specs must be positive, but was: " + maxEntries);
+        }
+        this.specs = CacheBuilder.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Retrieves the spec parsed from the contract file, parsing it if the file is not cached or
+     * has changed since it was cached
+     * @param location the contract file, or a zip entry path such as {@code bundle.zip!/contract.xml}
+     * @param generateInternal whether internal requests are included when the contract is parsed
+     * @param parse parses the contract file when it is not cached
+     */
+    public Ds3ApiSpec get(final Path location, final boolean generateInternal, final Callable<Ds3ApiSpec> parse) throws IOException {
+        try {
+            return specs.get(toKey(location, generateInternal), parse);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Unable to load contract: " + e.getCause().getMessage(), e.getCause());
+        } catch (final UncheckedExecutionException | ExecutionError e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static Key toKey(final Path location, final boolean generateInternal) throws IOException {
+        final String name = location.toAbsolutePath().normalize().toString();
+        final int separator = name.indexOf(Ds3SpecInputs.ZIP_ENTRY_SEPARATOR);
+        final Path file = separator >= 0 ? Paths.get(name.substring(0, separator)) : Paths.get(name);
+        final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return new Key(name, attributes.size(), attributes.lastModifiedTime().toMillis(), generateInternal);
+    }
+
+    /**
+     * Removes every entry
+     */
+    public void clear() {
+        specs.invalidateAll();
+    }
+
+    /**
+     * The number of specs currently retained
+     */
+    public long size() {
+        return specs.size();
+    }
+
+    /**
+     * The number of specs retrieved from the cache without parsing
+     */
+    public long getHits() {
+        return specs.stats().hitCount();
+    }
+
+    /**
+     * The number of retrievals which parsed the contract file
+     */
+    public long getMisses() {
+        return specs.stats().missCount();
+    }
+
+    /**
+     * Identifies a version of a contract file
+     */
+    private static final class Key {
+
+        private final String location;
+        private final long size;
+        private final long lastModified;
+        private final boolean generateInternal;
+
+        private Key(final String location, final long size, final long lastModified, final boolean generateInternal) {
+            this.location = location;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.generateInternal = generateInternal;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return size == key.size
+                    && lastModified == key.lastModified
+                    && generateInternal == key.generateInternal
+                    && location.equals(key.location);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(location, size, lastModified, generateInternal);
+        }
+    }
+}
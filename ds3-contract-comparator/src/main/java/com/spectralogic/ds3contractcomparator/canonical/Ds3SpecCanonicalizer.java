@@ -0,0 +1,233 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.canonical;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import static com.spectralogic.ds3contractcomparator.utils.ConcurrencyUtils.joinPartitions;
+import static com.spectralogic.ds3contractcomparator.utils.ConcurrencyUtils.submitPartitions;
+
+/**
+ * Sorts every keyed list within the requests and types of a {@link Ds3ApiSpec} by its unique key, so
+ * that the order in which a contract lists query params, response codes, response types, elements,
+ * annotations, annotation elements, enum constants and properties does not affect equality or
+ * fingerprints. Keys are ordered as by {@link com.spectralogic.ds3contractcomparator.utils.AlignmentUtils},
+ * ascending with null keys first, and entries with the same key keep their relative order.
+ *
+ * An entity whose lists are already sorted is returned as is, so canonicalizing a canonical spec
+ * creates no objects and preserves instances shared between specs.
+ */
+public final class Ds3SpecCanonicalizer {
+
+    private static final Comparator<Ds3Param> PARAM_ORDER = byKey(Ds3Param::getName);
+    private static final Comparator<Ds3ResponseCode> RESPONSE_CODE_ORDER = Comparator.comparingInt(Ds3ResponseCode::getCode);
+    private static final Comparator<Ds3ResponseType> RESPONSE_TYPE_ORDER = byKey(Ds3ResponseType::getType);
+    private static final Comparator<Ds3Element> ELEMENT_ORDER = byKey(Ds3Element::getName);
+    private static final Comparator<Ds3Annotation> ANNOTATION_ORDER = byKey(Ds3Annotation::getName);
+    private static final Comparator<Ds3AnnotationElement> ANNOTATION_ELEMENT_ORDER = byKey(Ds3AnnotationElement::getName);
+    private static final Comparator<Ds3EnumConstant> ENUM_CONSTANT_ORDER = byKey(Ds3EnumConstant::getName);
+    private static final Comparator<Ds3Property> PROPERTY_ORDER = byKey(Ds3Property::getName);
+
+    private Ds3SpecCanonicalizer() {
+        //pass
+    }
+
+    private static <T> Comparator<T> byKey(final Function<T, String> keyFunction) {
+        return Comparator.comparing(keyFunction, Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+
+    /**
+     * Canonicalizes every request and type of the spec on the calling thread
+     */
+    public static Ds3ApiSpec canonicalize(final Ds3ApiSpec spec) {
+        return canonicalize(spec, null, 1);
+    }
+
+    /**
+     * Canonicalizes every request and type of the spec. If an {@code executor} is specified, the
+     * requests and types are each split into {@code parallelism} partitions which are canonicalized
+     * concurrently. The spec itself is returned if all of its entities are already canonical.
+     */
+    public static Ds3ApiSpec canonicalize(
+            final Ds3ApiSpec spec,
+            @Nullable final ExecutorService executor,
+            final int parallelism) {
+        final ImmutableList<Ds3Request> requests = spec.getRequests();
+        final ImmutableList<Ds3Type> types = spec.getTypes() == null ? null : spec.getTypes().values().asList();
+
+        final ImmutableList<Ds3Request> canonicalRequests;
+        final ImmutableList<Ds3Type> canonicalTypes;
+        if (executor == null) {
+            canonicalRequests = map(requests, Ds3SpecCanonicalizer::canonicalize);
+            canonicalTypes = map(types, Ds3SpecCanonicalizer::canonicalize);
+        } else {
+            final ImmutableList<Future<ImmutableList<Ds3Request>>> requestPartitions = requests == null
+                    ? ImmutableList.of()
+                    : submitPartitions(executor, requests, parallelism, Ds3SpecCanonicalizer::canonicalize);
+            final ImmutableList<Future<ImmutableList<Ds3Type>>> typePartitions = types == null
+                    ? ImmutableList.of()
+                    : submitPartitions(executor, types, parallelism, Ds3SpecCanonicalizer::canonicalize);
+            canonicalRequests = requests == null ? null : sameOrCopy(requests, joinPartitions(requestPartitions));
+            canonicalTypes = types == null ? null : sameOrCopy(types, joinPartitions(typePartitions));
+        }
+
+        if (canonicalRequests == requests && canonicalTypes == types) {
+            return spec;
+        }
+        return new Ds3ApiSpec(canonicalRequests, canonicalTypes == types ? spec.getTypes() : toTypeMap(canonicalTypes));
+    }
+
+    public static Ds3Request canonicalize(final Ds3Request request) {
+        final ImmutableList<Ds3ResponseCode> responseCodes = sort(
+                map(request.getDs3ResponseCodes(), Ds3SpecCanonicalizer::canonicalize), RESPONSE_CODE_ORDER);
+        final ImmutableList<Ds3Param> optionalQueryParams = sort(request.getOptionalQueryParams(), PARAM_ORDER);
+        final ImmutableList<Ds3Param> requiredQueryParams = sort(request.getRequiredQueryParams(), PARAM_ORDER);
+        if (responseCodes == request.getDs3ResponseCodes()
+                && optionalQueryParams == request.getOptionalQueryParams()
+                && requiredQueryParams == request.getRequiredQueryParams()) {
+            return request;
+        }
+        return new Ds3Request(
+                request.getName(),
+                request.getHttpVerb(),
+                request.getClassification(),
+                request.getBucketRequirement(),
+                request.getObjectRequirement(),
+                request.getAction(),
+                request.getResource(),
+                request.getResourceType(),
+                request.getOperation(),
+                request.getIncludeInPath(),
+                responseCodes,
+                optionalQueryParams,
+                requiredQueryParams);
+    }
+
+    static Ds3ResponseCode canonicalize(final Ds3ResponseCode responseCode) {
+        final ImmutableList<Ds3ResponseType> responseTypes = sort(responseCode.getDs3ResponseTypes(), RESPONSE_TYPE_ORDER);
+        return responseTypes == responseCode.getDs3ResponseTypes()
+                ? responseCode
+                : new Ds3ResponseCode(responseCode.getCode(), responseTypes);
+    }
+
+    public static Ds3Type canonicalize(final Ds3Type type) {
+        final ImmutableList<Ds3Element> elements = sort(
+                map(type.getElements(), Ds3SpecCanonicalizer::canonicalize), ELEMENT_ORDER);
+        final ImmutableList<Ds3EnumConstant> enumConstants = sort(
+                map(type.getEnumConstants(), Ds3SpecCanonicalizer::canonicalize), ENUM_CONSTANT_ORDER);
+        if (elements == type.getElements() && enumConstants == type.getEnumConstants()) {
+            return type;
+        }
+        return new Ds3Type(type.getName(), type.getNameToMarshal(), elements, enumConstants);
+    }
+
+    static Ds3Element canonicalize(final Ds3Element element) {
+        final ImmutableList<Ds3Annotation> annotations = sort(
+                map(element.getDs3Annotations(), Ds3SpecCanonicalizer::canonicalize), ANNOTATION_ORDER);
+        return annotations == element.getDs3Annotations()
+                ? element
+                : new Ds3Element(element.getName(), element.getType(), element.getComponentType(), annotations, element.getNullable());
+    }
+
+    static Ds3Annotation canonicalize(final Ds3Annotation annotation) {
+        final ImmutableList<Ds3AnnotationElement> annotationElements = sort(
+                annotation.getDs3AnnotationElements(), ANNOTATION_ELEMENT_ORDER);
+        return annotationElements == annotation.getDs3AnnotationElements()
+                ? annotation
+                : new Ds3Annotation(annotation.getName(), annotationElements);
+    }
+
+    static Ds3EnumConstant canonicalize(final Ds3EnumConstant enumConstant) {
+        final ImmutableList<Ds3Property> properties = sort(enumConstant.getDs3Properties(), PROPERTY_ORDER);
+        return properties == enumConstant.getDs3Properties()
+                ? enumConstant
+                : new Ds3EnumConstant(enumConstant.getName(), properties);
+    }
+
+    /**
+     * Returns the list if it is null or already in order, otherwise a sorted copy
+     */
+    @Nullable
+    private static <T> ImmutableList<T> sort(@Nullable final ImmutableList<T> list, final Comparator<? super T> order) {
+        if (list == null || isOrdered(list, order)) {
+            return list;
+        }
+        final List<T> sorted = new ArrayList<>(list);
+        sorted.sort(order);
+        return ImmutableList.copyOf(sorted);
+    }
+
+    private static <T> boolean isOrdered(final ImmutableList<T> list, final Comparator<? super T> order) {
+        for (int i = 1; i < list.size(); i++) {
+            if (order.compare(list.get(i - 1), list.get(i)) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Applies the operator to every entry, returning the list itself if no entry was replaced
+     */
+    @Nullable
+    private static <T> ImmutableList<T> map(@Nullable final ImmutableList<T> list, final UnaryOperator<T> operator) {
+        if (list == null) {
+            return null;
+        }
+        ImmutableList.Builder<T> builder = null;
+        for (int i = 0; i < list.size(); i++) {
+            final T entry = list.get(i);
+            final T result = operator.apply(entry);
+            if (builder == null && result != entry) {
+                builder = ImmutableList.builder();
+                builder.addAll(list.subList(0, i));
+            }
+            if (builder != null) {
+                builder.add(result);
+            }
+        }
+        return builder == null ? list : builder.build();
+    }
+
+    /**
+     * Returns the original list if every canonical entry is the original entry
+     */
+    private static <T> ImmutableList<T> sameOrCopy(final ImmutableList<T> original, final ImmutableList<T> canonical) {
+        for (int i = 0; i < original.size(); i++) {
+            if (original.get(i) != canonical.get(i)) {
+                return canonical;
+            }
+        }
+        return original;
+    }
+
+    private static ImmutableMap<String, Ds3Type> toTypeMap(final ImmutableList<Ds3Type> types) {
+        final ImmutableMap.Builder<String, Ds3Type> builder = ImmutableMap.builder();
+        types.forEach(type -> builder.put(type.getName(), type));
+        return builder.build();
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.exceptions;
+
+/**
+ * A runtime exception thrown when a comparison cannot be completed, such as
+ * when a task performing part of a parallel comparison fails or is interrupted.
+ */
+public class ComparisonException extends RuntimeException {
+
+    public ComparisonException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.filter;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3autogen.api.models.enums.HttpVerb;
+import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Selects the requests and types of a {@link Ds3ApiSpec} which take part in a comparison. A request
+ * is included if its name, classification and http verb each match at least one of the patterns
+ * specified for that property, and a type is included if its name matches at least one of the type
+ * name patterns. A property without any patterns matches every value, so the filter without any
+ * patterns, {@link #all()}, includes every request and type.
+ *
+ * Each pattern is a glob, in which {@code *} matches any sequence of characters and {@code ?} matches
+ * a single character, unless it is prefixed with {@code regex:}. A pattern prefixed with {@code glob:}
+ * is also a glob. Names are matched case sensitively, while classifications and http verbs ignore case.
+ */
+public final class Ds3SpecFilter {
+
+    private static final String GLOB_PREFIX = "glob:";
+    private static final String REGEX_PREFIX = "regex:";
+
+    private static final Ds3SpecFilter ALL = builder().build();
+
+    private final ImmutableList<Pattern> requestNames;
+    private final ImmutableList<Pattern> classifications;
+    private final ImmutableList<Pattern> httpVerbs;
+    private final ImmutableList<Pattern> typeNames;
+    private final ImmutableList<String> criteria;
+
+    private Ds3SpecFilter(
+            final ImmutableList<Pattern> requestNames,
+            final ImmutableList<Pattern> classifications,
+            final ImmutableList<Pattern> httpVerbs,
+            final ImmutableList<Pattern> typeNames,
+            final ImmutableList<String> criteria) {
+        this.requestNames = requestNames;
+        this.classifications = classifications;
+        this.httpVerbs = httpVerbs;
+        this.typeNames = typeNames;
+        this.criteria = criteria;
+    }
+
+    /**
+     * Retrieves the filter which includes every request and type
+     */
+    public static Ds3SpecFilter all() {
+        return ALL;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns true if this filter includes every request and type
+     */
+    public boolean isAll() {
+        return requestNames.isEmpty() && classifications.isEmpty() && httpVerbs.isEmpty() && typeNames.isEmpty();
+    }
+
+    /**
+     * Returns true if every request is included
+     */
+    public boolean isAllRequests() {
+        return requestNames.isEmpty() && classifications.isEmpty() && httpVerbs.isEmpty();
+    }
+
+    /**
+     * Returns true if every type is included
+     */
+    public boolean isAllTypes() {
+        return typeNames.isEmpty();
+    }
+
+    /**
+     * Returns true if requests are only selected by name, so that a request can be
+     * filtered without knowing its classification or http verb
+     */
+    public boolean isRequestNameOnly() {
+        return classifications.isEmpty() && httpVerbs.isEmpty();
+    }
+
+    public boolean includesRequest(final Ds3Request request) {
+        return includesRequestName(request.getName())
+                && includesClassification(request.getClassification())
+                && includesHttpVerb(request.getHttpVerb());
+    }
+
+    public boolean includesRequestName(@Nullable final String name) {
+        return matches(requestNames, name);
+    }
+
+    public boolean includesClassification(@Nullable final Classification classification) {
+        return matches(classifications, classification == null ? null : classification.name());
+    }
+
+    public boolean includesHttpVerb(@Nullable final HttpVerb httpVerb) {
+        return matches(httpVerbs, httpVerb == null ? null : httpVerb.name());
+    }
+
+    public boolean includesType(final Ds3Type type) {
+        return includesTypeName(type.getName());
+    }
+
+    public boolean includesTypeName(@Nullable final String name) {
+        return matches(typeNames, name);
+    }
+
+    /**
+     * Creates a spec containing only the included requests and types. The spec itself is
+     * returned if this filter includes every request and type.
+     */
+    public Ds3ApiSpec apply(final Ds3ApiSpec spec) {
+        if (isAll()) {
+            return spec;
+        }
+        return new Ds3ApiSpec(filterRequests(spec.getRequests()), filterTypes(spec.getTypes()));
+    }
+
+    @Nullable
+    private ImmutableList<Ds3Request> filterRequests(@Nullable final ImmutableList<Ds3Request> requests) {
+        if (requests == null || isAllRequests()) {
+            return requests;
+        }
+        return requests.stream()
+                .filter(this::includesRequest)
+                .collect(GuavaCollectors.immutableList());
+    }
+
+    @Nullable
+    private ImmutableMap<String, Ds3Type> filterTypes(@Nullable final ImmutableMap<String, Ds3Type> types) {
+        if (types == null || isAllTypes()) {
+            return types;
+        }
+        final ImmutableMap.Builder<String, Ds3Type> builder = ImmutableMap.builder();
+        types.forEach((name, type) -> {
+            if (includesType(type)) {
+                builder.put(name, type);
+            }
+        });
+        return builder.build();
+    }
+
+    /**
+     * A value matches if there are no patterns, or if it matches any of the patterns. A null
+     * value only matches when there are no patterns.
+     */
+    private static boolean matches(final ImmutableList<Pattern> patterns, @Nullable final String value) {
+        if (patterns.isEmpty()) {
+            return true;
+        }
+        if (value == null) {
+            return false;
+        }
+        for (final Pattern pattern : patterns) {
+            if (pattern.matcher(value).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compiles a glob or {@code regex:} pattern
+     * @throws IllegalArgumentException if the regular expression is not valid
+     */
+    static Pattern compile(final String pattern, final boolean ignoreCase) {
+        final int flags = ignoreCase ? Pattern.CASE_INSENSITIVE : 0;
+        if (pattern.startsWith(REGEX_PREFIX)) {
+            try {
+                return Pattern.compile(pattern.substring(REGEX_PREFIX.length()), flags);
+            } catch (final PatternSyntaxException e) {
+                throw new IllegalArgumentException("Invalid filter pattern " + pattern + ": " + e.getDescription(), e);
+            }
+        }
+        final String glob = pattern.startsWith(GLOB_PREFIX) ? pattern.substring(GLOB_PREFIX.length()) : pattern;
+        return Pattern.compile(globToRegex(glob), flags);
+    }
+
+    private static String globToRegex(final String glob) {
+        final StringBuilder regex = new StringBuilder();
+        final StringBuilder literal = new StringBuilder();
+        for (final char c : glob.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return regex.toString();
+    }
+
+    /**
+     * Describes the patterns of this filter in the order they were added
+     */
+    @Override
+    public String toString() {
+        return isAll() ? "all" : String.join(", ", criteria);
+    }
+
+    public static final class Builder {
+
+        private final ImmutableList.Builder<Pattern> requestNames = ImmutableList.builder();
+        private final ImmutableList.Builder<Pattern> classifications = ImmutableList.builder();
+        private final ImmutableList.Builder<Pattern> httpVerbs = ImmutableList.builder();
+        private final ImmutableList.Builder<Pattern> typeNames = ImmutableList.builder();
+        private final ImmutableList.Builder<String> criteria = ImmutableList.builder();
+
+        private Builder() {
+            //pass
+        }
+
+        /**
+         * Includes requests whose name matches the pattern, such as {@code *.spectrads3.*}
+         */
+        public Builder withRequestName(final String pattern) {
+            requestNames.add(compile(pattern, false));
+            criteria.add("request name " + pattern);
+            return this;
+        }
+
+        /**
+         * Includes requests whose classification matches the pattern, such as {@code spectrads3}
+         */
+        public Builder withClassification(final String pattern) {
+            classifications.add(compile(pattern, true));
+            criteria.add("classification " + pattern);
+            return this;
+        }
+
+        /**
+         * Includes requests whose http verb matches the pattern, such as {@code GET}
+         */
+        public Builder withHttpVerb(final String pattern) {
+            httpVerbs.add(compile(pattern, true));
+            criteria.add("http verb " + pattern);
+            return this;
+        }
+
+        /**
+         * Includes types whose name matches the pattern, such as {@code com.spectralogic.s3.server.domain.*}
+         */
+        public Builder withTypeName(final String pattern) {
+            typeNames.add(compile(pattern, false));
+            criteria.add("type name " + pattern);
+            return this;
+        }
+
+        public Ds3SpecFilter build() {
+            return new Ds3SpecFilter(requestNames.build(), classifications.build(), httpVerbs.build(), typeNames.build(), criteria.build());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.fingerprint;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3contractcomparator.exceptions.ComparisonException;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Caches the {@link Ds3SpecFingerprints} of each {@link Ds3ApiSpec} so that a spec which
+ * participates in several comparisons is only fingerprinted once. Specs are keyed by
+ * identity and held weakly, so a cached entry is discarded once its spec is no longer in use.
+ */
+public class Ds3FingerprintCache {
+
+    private final Cache<Ds3ApiSpec, Ds3SpecFingerprints> cache = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    /**
+     * Retrieves the fingerprints of the spec, computing them if they are not already cached
+     * @param executor the executor used to compute the fingerprints, or null to compute them on the calling thread
+     */
+    public Ds3SpecFingerprints get(
+            final Ds3ApiSpec spec,
+            @Nullable final ExecutorService executor,
+            final int parallelism) {
+        try {
+            return cache.get(spec, () -> Ds3SpecFingerprints.compute(spec, executor, parallelism));
+        } catch (final ExecutionException e) {
+            throw new ComparisonException("Failed to fingerprint the Ds3ApiSpec", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.fingerprint;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Function;
+
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
+
+/**
+ * Computes stable 128-bit structural fingerprints of Ds3 contract entities. Fingerprints
+ * are Merkle-style: the fingerprint of an entity is computed from its own values and the
+ * fingerprints of its children. Two entities which are value equal always have the same
+ * fingerprint, so differing fingerprints prove that two entities differ.
+ */
+public final class Ds3Fingerprints {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private static final byte NULL_MARKER = 0;
+    private static final byte VALUE_MARKER = 1;
+
+    private Ds3Fingerprints() {
+        //pass
+    }
+
+    /**
+     * Computes the fingerprint of a {@link Ds3Request} including all parameters and response codes
+     */
+    public static HashCode fingerprint(final Ds3Request request) {
+        final Hasher hasher = HASH_FUNCTION.newHasher();
+        putString(hasher, request.getName());
+        putEnum(hasher, request.getHttpVerb());
+        putEnum(hasher, request.getClassification());
+        putEnum(hasher, request.getBucketRequirement());
+        putEnum(hasher, request.getObjectRequirement());
+        putEnum(hasher, request.getAction());
+        putEnum(hasher, request.getResource());
+        putEnum(hasher, request.getResourceType());
+        putEnum(hasher, request.getOperation());
+        hasher.putBoolean(request.getIncludeInPath());
+        putList(hasher, request.getDs3ResponseCodes(), Ds3Fingerprints::fingerprint);
+        putList(hasher, request.getOptionalQueryParams(), Ds3Fingerprints::fingerprint);
+        putList(hasher, request.getRequiredQueryParams(), Ds3Fingerprints::fingerprint);
+        return hasher.hash();
+    }
+
+    /**
+     * Computes the fingerprint of a {@link Ds3Param}
+     */
+    public static HashCode fingerprint(final Ds3Param param) {
+        final Hasher hasher = HASH_FUNCTION.newHasher();
+        putString(hasher, param.getName());
+        putString(hasher, param.getType());
+        hasher.putBoolean(param.getNullable());
+        return hasher.hash();
+    }
+
+    /**
+     * Computes the fingerprint of a {@link Ds3ResponseCode} including all response types
+     */
+    public static HashCode fingerprint(final Ds3ResponseCode responseCode) {
+        final Hasher hasher = HASH_FUNCTION.newHasher();
+        hasher.putInt(responseCode.getCode());
+        putList(hasher, responseCode.getDs3ResponseTypes(), Ds3Fingerprints::fingerprint);
+        return hasher.hash();
+    }
+
+    /**
+     * Computes the fingerprint of a {@link Ds3ResponseType}
+     */
+    public static HashCode fingerprint(final Ds3ResponseType responseType) {
+        final Hasher hasher = HASH_FUNCTION.newHasher();
+        putString(hasher, responseType.getType());
+        putString(hasher, responseType.getComponentType());
+        putString(hasher, responseType.getOriginalTypeName());
+        return hasher.hash();
+    }
+
+    /**
+     * Computes the fingerprint of a {@link Ds3Type} including all elements and enum constants
+     */
+    public static HashCode fingerprint(final Ds3Type type) {
+        final Hasher hasher = HASH_FUNCTION.newHasher();
+        putString(hasher, type.getName());
+        putString(hasher, type.getNameToMarshal());
+        putList(hasher, type.getElements(), Ds3Fingerprints::fingerprint);
+        putList(hasher, type.getEnumConstants(), Ds3Fingerprints::fingerprint);
+        return hasher.hash();
+    }
+
+    /**
+     * Computes the fingerprint of a {@link Ds3Element} including all annotations
+     */
+    public static HashCode fingerprint(final Ds3Element element) {
+        final Hasher hasher = HASH_FUNCTION.newHasher();
+        putString(hasher, element.getName());
+        putString(hasher, element.getType());
+        putString(hasher, element.getComponentType());
+        putList(hasher, element.getDs3Annotations(), Ds3Fingerprints::fingerprint);
+        hasher.putBoolean(element.getNullable());
+        return hasher.hash();
+    }
+
+    /**
+     * Computes the fingerprint of a {@link Ds3Annotation} including all annotation elements
+     */
+    public static HashCode fingerprint(final Ds3Annotation annotation) {
+        final Hasher hasher = HASH_FUNCTION.newHasher();
+        putString(hasher, annotation.getName());
+        putList(hasher, annotation.getDs3AnnotationElements(), Ds3Fingerprints::fingerprint);
+        return hasher.hash();
+    }
+
+    /**
+     * Computes the fingerprint of a {@link Ds3AnnotationElement}
+     */
+    public static HashCode fingerprint(final Ds3AnnotationElement annotationElement) {
+        final Hasher hasher = HASH_FUNCTION.newHasher();
+        putString(hasher, annotationElement.getName());
+        putString(hasher, annotationElement.getValue());
+        putString(hasher, annotationElement.getValueType());
+        return hasher.hash();
+    }
+
+    /**
+     * Computes the fingerprint of a {@link Ds3EnumConstant} including all properties
+     */
+    public static HashCode fingerprint(final Ds3EnumConstant enumConstant) {
+        final Hasher hasher = HASH_FUNCTION.newHasher();
+        putString(hasher, enumConstant.getName());
+        putList(hasher, enumConstant.getDs3Properties(), Ds3Fingerprints::fingerprint);
+        return hasher.hash();
+    }
+
+    /**
+     * Computes the fingerprint of a {@link Ds3Property}
+     */
+    public static HashCode fingerprint(final Ds3Property property) {
+        final Hasher hasher = HASH_FUNCTION.newHasher();
+        putString(hasher, property.getName());
+        putString(hasher, property.getValue());
+        putString(hasher, property.getValueType());
+        return hasher.hash();
+    }
+
+    /**
+     * Computes the root fingerprint of a whole {@link Ds3ApiSpec} from the fingerprints of its
+     * requests and types. Entries are hashed in name order, so the root fingerprint does not
+     * depend on the order in which the contract lists its requests and types.
+     */
+    public static HashCode rootFingerprint(final Ds3SpecFingerprints specFingerprints) {
+        final Hasher hasher = HASH_FUNCTION.newHasher();
+        putEntries(hasher, specFingerprints.getRequestFingerprints());
+        putEntries(hasher, specFingerprints.getTypeFingerprints());
+        return hasher.hash();
+    }
+
+    private static void putEntries(final Hasher hasher, final ImmutableMap<String, HashCode> fingerprints) {
+        hasher.putInt(fingerprints.size());
+        ImmutableSortedMap.copyOf(fingerprints).forEach((name, fingerprint) -> {
+            putString(hasher, name);
+            hasher.putBytes(fingerprint.asBytes());
+        });
+    }
+
+    /**
+     * Adds a possibly null string to the hash. The length is included so that
+     * adjacent strings cannot be shifted into each other.
+     */
+    private static void putString(final Hasher hasher, @Nullable final String value) {
+        if (value == null) {
+            hasher.putByte(NULL_MARKER);
+            return;
+        }
+        hasher.putByte(VALUE_MARKER)
+                .putInt(value.length())
+                .putUnencodedChars(value);
+    }
+
+    /**
+     * Adds a possibly null enum to the hash by its constant name
+     */
+    private static void putEnum(final Hasher hasher, @Nullable final Enum<?> value) {
+        putString(hasher, value == null ? null : value.name());
+    }
+
+    /**
+     * Adds the fingerprints of every entry within a list to the hash. A null
+     * list is treated the same as an empty list.
+     */
+    private static <T> void putList(
+            final Hasher hasher,
+            @Nullable final ImmutableList<T> list,
+            final Function<T, HashCode> fingerprintFunction) {
+        if (isEmpty(list)) {
+            hasher.putInt(0);
+            return;
+        }
+        hasher.putInt(list.size());
+        list.forEach(item -> hasher.putBytes(fingerprintFunction.apply(item).asBytes()));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.fingerprint;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.HashCode;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static com.google.common.collect.Maps.immutableEntry;
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
+import static com.spectralogic.ds3contractcomparator.utils.ConcurrencyUtils.joinPartitions;
+import static com.spectralogic.ds3contractcomparator.utils.ConcurrencyUtils.submitPartitions;
+
+/**
+ * Contains the structural fingerprints of every {@link Ds3Request} and {@link Ds3Type}
+ * within a single {@link Ds3ApiSpec}, keyed by name.
+ */
+public class Ds3SpecFingerprints {
+
+    private final ImmutableMap<String, HashCode> requestFingerprints;
+    private final ImmutableMap<String, HashCode> typeFingerprints;
+
+    public Ds3SpecFingerprints(
+            final ImmutableMap<String, HashCode> requestFingerprints,
+            final ImmutableMap<String, HashCode> typeFingerprints) {
+        this.requestFingerprints = requestFingerprints;
+        this.typeFingerprints = typeFingerprints;
+    }
+
+    /**
+     * Computes the fingerprints of all requests and types within the spec on the calling thread
+     */
+    public static Ds3SpecFingerprints compute(final Ds3ApiSpec spec) {
+        return compute(spec, null, 1);
+    }
+
+    /**
+     * Computes the fingerprints of all requests and types within the spec. If an {@code executor}
+     * is specified, the requests and types are each split into {@code parallelism} partitions
+     * which are fingerprinted concurrently.
+     */
+    public static Ds3SpecFingerprints compute(
+            final Ds3ApiSpec spec,
+            @Nullable final ExecutorService executor,
+            final int parallelism) {
+        final ImmutableList<Ds3Request> requests = isEmpty(spec.getRequests())
+                ? ImmutableList.of()
+                : spec.getRequests();
+        final ImmutableList<Ds3Type> types = isEmpty(spec.getTypes())
+                ? ImmutableList.of()
+                : spec.getTypes().values().asList();
+
+        if (executor == null) {
+            final ImmutableMap.Builder<String, HashCode> requestBuilder = ImmutableMap.builder();
+            requests.forEach(request -> requestBuilder.put(request.getName(), Ds3Fingerprints.fingerprint(request)));
+            final ImmutableMap.Builder<String, HashCode> typeBuilder = ImmutableMap.builder();
+            types.forEach(type -> typeBuilder.put(type.getName(), Ds3Fingerprints.fingerprint(type)));
+            return new Ds3SpecFingerprints(requestBuilder.build(), typeBuilder.build());
+        }
+
+        final ImmutableList<Future<ImmutableList<Map.Entry<String, HashCode>>>> requestPartitions = submitPartitions(
+                executor,
+                requests,
+                parallelism,
+                request -> immutableEntry(request.getName(), Ds3Fingerprints.fingerprint(request)));
+        final ImmutableList<Future<ImmutableList<Map.Entry<String, HashCode>>>> typePartitions = submitPartitions(
+                executor,
+                types,
+                parallelism,
+                type -> immutableEntry(type.getName(), Ds3Fingerprints.fingerprint(type)));
+
+        return new Ds3SpecFingerprints(
+                toMap(joinPartitions(requestPartitions)),
+                toMap(joinPartitions(typePartitions)));
+    }
+
+    private static ImmutableMap<String, HashCode> toMap(final ImmutableList<Map.Entry<String, HashCode>> entries) {
+        final ImmutableMap.Builder<String, HashCode> builder = ImmutableMap.builder();
+        entries.forEach(builder::put);
+        return builder.build();
+    }
+
+    /**
+     * Retrieves the fingerprint of the named {@link Ds3Request}, or null if the request is not within the spec
+     */
+    @Nullable
+    public HashCode getRequestFingerprint(final String requestName) {
+        return requestFingerprints.get(requestName);
+    }
+
+    /**
+     * Retrieves the fingerprint of the named {@link Ds3Type}, or null if the type is not within the spec
+     */
+    @Nullable
+    public HashCode getTypeFingerprint(final String typeName) {
+        return typeFingerprints.get(typeName);
+    }
+
+    public ImmutableMap<String, HashCode> getRequestFingerprints() {
+        return requestFingerprints;
+    }
+
+    public ImmutableMap<String, HashCode> getTypeFingerprints() {
+        return typeFingerprints;
+    }
+}
@@ -0,0 +1,371 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.ignore;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityKind;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A named set of contract fields which do not take part in a comparison. A profile ignores element
+ * annotations whose name ends with one of its annotation suffixes, and any of the fields within
+ * {@link #IGNORABLE_FIELDS}. {@link #apply(Ds3ApiSpec)} removes the ignored fields from every request
+ * and type of a spec before it is compared, so that equality, fingerprints and deltas never see them
+ * and entities which differ only in ignored fields are unchanged.
+ */
+public final class Ds3IgnoreProfile {
+
+    /**
+     * The fields which may be ignored, in the form {@code KIND.property} used by
+     * {@link com.spectralogic.ds3contractcomparator.models.delta.Ds3DeltaFactory}
+     */
+    public static final ImmutableSet<String> IGNORABLE_FIELDS = ImmutableSet.of(
+            "TYPE.nameToMarshal",
+            "ELEMENT.ds3Annotations",
+            "ELEMENT.nullable",
+            "ANNOTATION.ds3AnnotationElements",
+            "ENUM_CONSTANT.ds3Properties",
+            "PARAM.nullable",
+            "RESPONSE_TYPE.originalTypeName");
+
+    private static final String ANNOTATION_SUFFIXES_KEY = "annotationSuffixes";
+    private static final String FIELDS_KEY = "fields";
+    private static final String EXTENDS_KEY = "extends";
+
+    /**
+     * Ignores nothing
+     */
+    public static final Ds3IgnoreProfile NONE = builder("none").build();
+
+    /**
+     * Ignores the element annotations which rarely affect the API, such as sorting,
+     * validation, references, cascading deletes and default values
+     */
+    public static final Ds3IgnoreProfile ANNOTATIONS = builder("annotations")
+            .withAnnotationSuffixes(
+                    "SortBy",
+                    "MustMatchRegularExpression",
+                    "References",
+                    "DefaultBooleanValue",
+                    "DefaultEnumValue",
+                    "DefaultToCurrentDate",
+                    "DefaultStringValue",
+                    "DefaultLongValue",
+                    "DefaultIntegerValue",
+                    "DefaultDoubleValue",
+                    "CascadeDelete")
+            .build();
+
+    /**
+     * Ignores the fields which the simple printer does not print by default, which are the
+     * {@link #ANNOTATIONS} and the properties of enum constants
+     */
+    public static final Ds3IgnoreProfile SIMPLE_PRINTER = ANNOTATIONS.toBuilder("simple-printer")
+            .withField(Ds3EntityKind.ENUM_CONSTANT, "ds3Properties")
+            .build();
+
+    private static final ImmutableMap<String, Ds3IgnoreProfile> NAMED_PROFILES = ImmutableMap.of(
+            NONE.getName(), NONE,
+            ANNOTATIONS.getName(), ANNOTATIONS,
+            SIMPLE_PRINTER.getName(), SIMPLE_PRINTER);
+
+    private final String name;
+    private final ImmutableSet<String> annotationSuffixes;
+    private final ImmutableSet<String> fields;
+
+    private Ds3IgnoreProfile(final String name, final ImmutableSet<String> annotationSuffixes, final ImmutableSet<String> fields) {
+        this.name = name;
+        this.annotationSuffixes = annotationSuffixes;
+        this.fields = fields;
+    }
+
+    public static Builder builder(final String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Creates a builder of a profile with the name, which ignores everything ignored by this profile
+     */
+    public Builder toBuilder(final String name) {
+        final Builder builder = new Builder(name);
+        builder.annotationSuffixes.addAll(annotationSuffixes);
+        builder.fields.addAll(fields);
+        return builder;
+    }
+
+    /**
+     * Retrieves one of the predefined profiles: {@code none}, {@code annotations} or {@code simple-printer}
+     * @throws IllegalArgumentException if there is no profile with the name
+     */
+    public static Ds3IgnoreProfile named(final String name) {
+        final Ds3IgnoreProfile profile = NAMED_PROFILES.get(name);
+        if (profile == null) {
+            throw new IllegalArgumentException("Unknown ignore profile " + name + ", expected one of " + NAMED_PROFILES.keySet());
+        }
+        return profile;
+    }
+
+    public static ImmutableSet<String> getNames() {
+        return NAMED_PROFILES.keySet();
+    }
+
+    /**
+     * Reads a profile from a properties file. The {@code annotationSuffixes} and {@code fields} keys
+     * contain comma separated lists of annotation name suffixes and {@link #IGNORABLE_FIELDS}, and the
+     * optional {@code extends} key names a predefined profile whose ignored fields are included.
+     * The profile is named after the file.
+     * @throws IllegalArgumentException if the file contains an unknown profile or field
+     */
+    public static Ds3IgnoreProfile read(final Path file) throws IOException {
+        final Properties properties = new Properties();
+        try (final Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        final String fileName = file.getFileName().toString();
+        final String baseProfile = properties.getProperty(EXTENDS_KEY);
+        final Builder builder = baseProfile == null ? builder(fileName) : named(baseProfile.trim()).toBuilder(fileName);
+        builder.withAnnotationSuffixes(split(properties.getProperty(ANNOTATION_SUFFIXES_KEY)));
+        for (final String field : split(properties.getProperty(FIELDS_KEY))) {
+            builder.withField(field);
+        }
+        return builder.build();
+    }
+
+    private static String[] split(@Nullable final String value) {
+        if (value == null) {
+            return new String[0];
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(entry -> !entry.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ImmutableSet<String> getAnnotationSuffixes() {
+        return annotationSuffixes;
+    }
+
+    public ImmutableSet<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns true if this profile ignores nothing
+     */
+    public boolean isEmpty() {
+        return annotationSuffixes.isEmpty() && fields.isEmpty();
+    }
+
+    public boolean isIgnored(final Ds3EntityKind kind, final String property) {
+        return fields.contains(kind.name() + "." + property);
+    }
+
+    /**
+     * Returns true if the annotation is ignored, either because its name ends with an
+     * ignored suffix or because all element annotations are ignored
+     */
+    public boolean isIgnoredAnnotation(final String annotationName) {
+        if (isIgnored(Ds3EntityKind.ELEMENT, "ds3Annotations")) {
+            return true;
+        }
+        for (final String suffix : annotationSuffixes) {
+            if (annotationName.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates a spec whose requests and types do not contain the ignored fields. The spec
+     * itself is returned if this profile ignores nothing.
+     */
+    public Ds3ApiSpec apply(final Ds3ApiSpec spec) {
+        if (isEmpty()) {
+            return spec;
+        }
+        final ImmutableList<Ds3Request> requests = spec.getRequests() == null ? null : spec.getRequests().stream()
+                .map(this::apply)
+                .collect(GuavaCollectors.immutableList());
+        ImmutableMap<String, Ds3Type> types = null;
+        if (spec.getTypes() != null) {
+            final ImmutableMap.Builder<String, Ds3Type> builder = ImmutableMap.builder();
+            spec.getTypes().forEach((typeName, type) -> builder.put(typeName, apply(type)));
+            types = builder.build();
+        }
+        return new Ds3ApiSpec(requests, types);
+    }
+
+    /**
+     * Creates a request without the ignored fields, or returns the request itself if
+     * none of its fields are ignored
+     */
+    public Ds3Request apply(final Ds3Request request) {
+        final boolean ignoreParamNullable = isIgnored(Ds3EntityKind.PARAM, "nullable");
+        final boolean ignoreOriginalTypeName = isIgnored(Ds3EntityKind.RESPONSE_TYPE, "originalTypeName");
+        if (!ignoreParamNullable && !ignoreOriginalTypeName) {
+            return request;
+        }
+        final Function<Ds3Param, Ds3Param> paramFunction = param -> ignoreParamNullable
+                ? new Ds3Param(param.getName(), param.getType(), false)
+                : param;
+        final Function<Ds3ResponseType, Ds3ResponseType> responseTypeFunction = responseType -> ignoreOriginalTypeName
+                ? new Ds3ResponseType(responseType.getType(), responseType.getComponentType())
+                : responseType;
+        return new Ds3Request(
+                request.getName(),
+                request.getHttpVerb(),
+                request.getClassification(),
+                request.getBucketRequirement(),
+                request.getObjectRequirement(),
+                request.getAction(),
+                request.getResource(),
+                request.getResourceType(),
+                request.getOperation(),
+                request.getIncludeInPath(),
+                map(request.getDs3ResponseCodes(), code -> new Ds3ResponseCode(
+                        code.getCode(), map(code.getDs3ResponseTypes(), responseTypeFunction))),
+                map(request.getOptionalQueryParams(), paramFunction),
+                map(request.getRequiredQueryParams(), paramFunction));
+    }
+
+    /**
+     * Creates a type without the ignored fields, or returns the type itself if
+     * none of its fields are ignored
+     */
+    public Ds3Type apply(final Ds3Type type) {
+        if (annotationSuffixes.isEmpty()
+                && !isIgnored(Ds3EntityKind.TYPE, "nameToMarshal")
+                && !isIgnored(Ds3EntityKind.ELEMENT, "ds3Annotations")
+                && !isIgnored(Ds3EntityKind.ELEMENT, "nullable")
+                && !isIgnored(Ds3EntityKind.ANNOTATION, "ds3AnnotationElements")
+                && !isIgnored(Ds3EntityKind.ENUM_CONSTANT, "ds3Properties")) {
+            return type;
+        }
+        return new Ds3Type(
+                type.getName(),
+                isIgnored(Ds3EntityKind.TYPE, "nameToMarshal") ? null : type.getNameToMarshal(),
+                map(type.getElements(), this::applyToElement),
+                map(type.getEnumConstants(), this::applyToEnumConstant));
+    }
+
+    private Ds3Element applyToElement(final Ds3Element element) {
+        final ImmutableList<Ds3Annotation> annotations;
+        if (isIgnored(Ds3EntityKind.ELEMENT, "ds3Annotations") || element.getDs3Annotations() == null) {
+            annotations = null;
+        } else {
+            annotations = element.getDs3Annotations().stream()
+                    .filter(annotation -> !isIgnoredAnnotation(annotation.getName()))
+                    .map(this::applyToAnnotation)
+                    .collect(GuavaCollectors.immutableList());
+        }
+        return new Ds3Element(
+                element.getName(),
+                element.getType(),
+                element.getComponentType(),
+                annotations,
+                !isIgnored(Ds3EntityKind.ELEMENT, "nullable") && element.getNullable());
+    }
+
+    private Ds3Annotation applyToAnnotation(final Ds3Annotation annotation) {
+        return isIgnored(Ds3EntityKind.ANNOTATION, "ds3AnnotationElements")
+                ? new Ds3Annotation(annotation.getName(), null)
+                : annotation;
+    }
+
+    private Ds3EnumConstant applyToEnumConstant(final Ds3EnumConstant enumConstant) {
+        return isIgnored(Ds3EntityKind.ENUM_CONSTANT, "ds3Properties")
+                ? new Ds3EnumConstant(enumConstant.getName(), null)
+                : enumConstant;
+    }
+
+    @Nullable
+    private static <T> ImmutableList<T> map(@Nullable final ImmutableList<T> list, final Function<T, T> function) {
+        if (list == null) {
+            return null;
+        }
+        return list.stream()
+                .map(function)
+                .collect(GuavaCollectors.immutableList());
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    public static final class Builder {
+
+        private final String name;
+        private final Set<String> annotationSuffixes = new LinkedHashSet<>();
+        private final Set<String> fields = new LinkedHashSet<>();
+
+        private Builder(final String name) {
+            this.name = name;
+        }
+
+        /**
+         * Ignores element annotations whose name ends with any of the suffixes
+         */
+        public Builder withAnnotationSuffixes(final String... suffixes) {
+            annotationSuffixes.addAll(Arrays.asList(suffixes));
+            return this;
+        }
+
+        /**
+         * Ignores a field of a kind of entity
+         * @throws IllegalArgumentException if the field is not one of the {@link #IGNORABLE_FIELDS}
+         */
+        public Builder withField(final Ds3EntityKind kind, final String property) {
+            return withField(kind.name() + "." + property);
+        }
+
+        /**
+         * Ignores a field in the form {@code KIND.property}
+         * @throws IllegalArgumentException if the field is not one of the {@link #IGNORABLE_FIELDS}
+         */
+        public Builder withField(final String field) {
+            if (!IGNORABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Cannot ignore " + field + ", expected one of " + IGNORABLE_FIELDS);
+            }
+            fields.add(field);
+            return this;
+        }
+
+        public Ds3IgnoreProfile build() {
+            return new Ds3IgnoreProfile(name, ImmutableSet.copyOf(annotationSuffixes), ImmutableSet.copyOf(fields));
+        }
+    }
+}
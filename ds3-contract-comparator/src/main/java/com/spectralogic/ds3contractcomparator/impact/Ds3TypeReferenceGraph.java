@@ -0,0 +1,346 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.impact;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Element;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Param;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ResponseCode;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ResponseType;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3contractcomparator.fingerprint.Ds3SpecFingerprints;
+import com.spectralogic.ds3contractcomparator.models.Ds3TypeImpact;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
+
+/**
+ * The graph of references from each {@link Ds3Request} and {@link Ds3Type} to the types it uses.
+ * A request references the types of its response types and query params, and a type references
+ * the type and component type of its elements. Names which are not the name of a type within
+ * any of the specs, such as primitives, are not part of the graph.
+ *
+ * The requests affected by a type are found by traversing the reversed references. The strongly
+ * connected components of the reversed graph are found by Tarjan's algorithm, and the affected
+ * requests of each component are memoized once it completes, so that every type and reference
+ * is traversed at most once regardless of how many types are queried. This class is not thread safe.
+ */
+public final class Ds3TypeReferenceGraph {
+
+    private static final int UNVISITED = -1;
+
+    private final ImmutableList<String> typeNames;
+    private final ImmutableMap<String, Integer> typeIds;
+    private final ImmutableList<String> requestNames;
+    /** The ids of the types which reference each type */
+    private final int[][] referencingTypes;
+    /** The ids of the requests which directly reference each type */
+    private final BitSet[] referencingRequests;
+
+    private final int[] visitOrder;
+    private final int[] lowLink;
+    private final boolean[] onStack;
+    private final int[] componentOf;
+    private final List<BitSet> componentRequests = new ArrayList<>();
+    private final Deque<Integer> componentStack = new ArrayDeque<>();
+    private int visitCount = 0;
+
+    private Ds3TypeReferenceGraph(
+            final ImmutableList<String> typeNames,
+            final ImmutableMap<String, Integer> typeIds,
+            final ImmutableList<String> requestNames,
+            final int[][] referencingTypes,
+            final BitSet[] referencingRequests) {
+        this.typeNames = typeNames;
+        this.typeIds = typeIds;
+        this.requestNames = requestNames;
+        this.referencingTypes = referencingTypes;
+        this.referencingRequests = referencingRequests;
+
+        this.visitOrder = new int[typeNames.size()];
+        this.lowLink = new int[typeNames.size()];
+        this.onStack = new boolean[typeNames.size()];
+        this.componentOf = new int[typeNames.size()];
+        Arrays.fill(visitOrder, UNVISITED);
+        Arrays.fill(componentOf, UNVISITED);
+    }
+
+    /**
+     * Creates the reference graph of the specified specs
+     */
+    public static Ds3TypeReferenceGraph of(final Ds3ApiSpec... specs) {
+        final Builder builder = builder();
+        for (final Ds3ApiSpec spec : specs) {
+            builder.addSpec(spec);
+        }
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public ImmutableList<String> getTypeNames() {
+        return typeNames;
+    }
+
+    /**
+     * Retrieves the names of the requests which reference the named type, either directly or
+     * transitively through other types, in ascending order. If the type is not within the
+     * graph, then an empty set is returned.
+     */
+    public ImmutableSet<String> getAffectedRequests(final String typeName) {
+        final Integer typeId = typeIds.get(typeName);
+        if (typeId == null) {
+            return ImmutableSet.of();
+        }
+        final BitSet requests = affectedRequests(typeId);
+        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        requests.stream().forEach(requestId -> builder.add(requestNames.get(requestId)));
+        return builder.build();
+    }
+
+    /**
+     * Computes the requests affected by every type which was modified or deleted between two specs.
+     * A type changed if its fingerprint within the newer spec differs from the older spec, or if it
+     * does not exist within the newer spec. The changed types are in ascending order.
+     */
+    public Ds3TypeImpact computeImpact(
+            final Ds3SpecFingerprints oldFingerprints,
+            final Ds3SpecFingerprints newFingerprints) {
+        final Set<String> changedTypes = new TreeSet<>();
+        oldFingerprints.getTypeFingerprints().forEach((typeName, fingerprint) -> {
+            if (!fingerprint.equals(newFingerprints.getTypeFingerprint(typeName))) {
+                changedTypes.add(typeName);
+            }
+        });
+        if (changedTypes.isEmpty()) {
+            return Ds3TypeImpact.empty();
+        }
+        final ImmutableMap.Builder<String, ImmutableSet<String>> builder = ImmutableMap.builder();
+        changedTypes.forEach(typeName -> builder.put(typeName, getAffectedRequests(typeName)));
+        return new Ds3TypeImpact(builder.build());
+    }
+
+    /**
+     * Retrieves the memoized requests affected by a type, visiting the type first if needed
+     */
+    private BitSet affectedRequests(final int typeId) {
+        if (componentOf[typeId] == UNVISITED) {
+            visit(typeId);
+        }
+        return componentRequests.get(componentOf[typeId]);
+    }
+
+    /**
+     * Visits all types which transitively reference the {@code start} type using an iterative
+     * form of Tarjan's algorithm. Types which completed within a previous visit are not revisited.
+     */
+    private void visit(final int start) {
+        final Deque<int[]> callStack = new ArrayDeque<>();
+        push(start, callStack);
+        while (!callStack.isEmpty()) {
+            final int[] frame = callStack.peek();
+            final int typeId = frame[0];
+            final int[] edges = referencingTypes[typeId];
+            if (frame[1] < edges.length) {
+                final int next = edges[frame[1]++];
+                if (visitOrder[next] == UNVISITED) {
+                    push(next, callStack);
+                } else if (onStack[next]) {
+                    lowLink[typeId] = Math.min(lowLink[typeId], visitOrder[next]);
+                }
+                continue;
+            }
+            callStack.pop();
+            if (lowLink[typeId] == visitOrder[typeId]) {
+                completeComponent(typeId);
+            }
+            if (!callStack.isEmpty()) {
+                final int parent = callStack.peek()[0];
+                lowLink[parent] = Math.min(lowLink[parent], lowLink[typeId]);
+            }
+        }
+    }
+
+    private void push(final int typeId, final Deque<int[]> callStack) {
+        visitOrder[typeId] = visitCount;
+        lowLink[typeId] = visitCount;
+        visitCount++;
+        componentStack.push(typeId);
+        onStack[typeId] = true;
+        callStack.push(new int[] { typeId, 0 });
+    }
+
+    /**
+     * Pops the component rooted at {@code root} and computes its affected requests. Every
+     * component which references a member has already completed, so its requests are known.
+     */
+    private void completeComponent(final int root) {
+        final int component = componentRequests.size();
+        final List<Integer> members = new ArrayList<>();
+        int member;
+        do {
+            member = componentStack.pop();
+            onStack[member] = false;
+            componentOf[member] = component;
+            members.add(member);
+        } while (member != root);
+
+        final BitSet requests = new BitSet(requestNames.size());
+        for (final int typeId : members) {
+            requests.or(referencingRequests[typeId]);
+            for (final int referencingType : referencingTypes[typeId]) {
+                if (componentOf[referencingType] != component) {
+                    requests.or(componentRequests.get(componentOf[referencingType]));
+                }
+            }
+        }
+        componentRequests.add(requests);
+    }
+
+    /**
+     * Collects the references of one or more specs. A request or type which exists within
+     * several of the specs references the union of the types it references within each.
+     */
+    public static final class Builder {
+
+        private final Map<String, Set<String>> typeReferences = new LinkedHashMap<>();
+        private final Map<String, Set<String>> requestReferences = new HashMap<>();
+
+        private Builder() {
+            //pass
+        }
+
+        public Builder addSpec(final Ds3ApiSpec spec) {
+            if (!isEmpty(spec.getTypes())) {
+                spec.getTypes().values().forEach(this::addType);
+            }
+            if (!isEmpty(spec.getRequests())) {
+                spec.getRequests().forEach(this::addRequest);
+            }
+            return this;
+        }
+
+        /**
+         * Adds the references of a single type, so that a graph may be built while the types
+         * of a contract are streamed rather than held within a spec
+         */
+        public Builder addType(final Ds3Type type) {
+            final Set<String> references = typeReferences.computeIfAbsent(type.getName(), name -> new LinkedHashSet<>());
+            if (!isEmpty(type.getElements())) {
+                for (final Ds3Element element : type.getElements()) {
+                    addReference(references, element.getType());
+                    addReference(references, element.getComponentType());
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Adds the references of a single request
+         */
+        public Builder addRequest(final Ds3Request request) {
+            final Set<String> references = requestReferences.computeIfAbsent(request.getName(), name -> new LinkedHashSet<>());
+            if (!isEmpty(request.getDs3ResponseCodes())) {
+                for (final Ds3ResponseCode responseCode : request.getDs3ResponseCodes()) {
+                    if (!isEmpty(responseCode.getDs3ResponseTypes())) {
+                        for (final Ds3ResponseType responseType : responseCode.getDs3ResponseTypes()) {
+                            addReference(references, responseType.getType());
+                            addReference(references, responseType.getComponentType());
+                        }
+                    }
+                }
+            }
+            addParamReferences(references, request.getOptionalQueryParams());
+            addParamReferences(references, request.getRequiredQueryParams());
+            return this;
+        }
+
+        private static void addParamReferences(final Set<String> references, @Nullable final ImmutableList<Ds3Param> params) {
+            if (!isEmpty(params)) {
+                params.forEach(param -> addReference(references, param.getType()));
+            }
+        }
+
+        private static void addReference(final Set<String> references, @Nullable final String typeName) {
+            if (typeName != null) {
+                references.add(typeName);
+            }
+        }
+
+        /**
+         * Creates the graph, retaining only the references to types within the added specs
+         */
+        public Ds3TypeReferenceGraph build() {
+            final ImmutableList<String> typeNames = ImmutableList.copyOf(typeReferences.keySet());
+            final ImmutableMap.Builder<String, Integer> typeIdBuilder = ImmutableMap.builder();
+            for (int i = 0; i < typeNames.size(); i++) {
+                typeIdBuilder.put(typeNames.get(i), i);
+            }
+            final ImmutableMap<String, Integer> typeIds = typeIdBuilder.build();
+
+            final List<List<Integer>> referencingTypeLists = new ArrayList<>(typeNames.size());
+            typeNames.forEach(name -> referencingTypeLists.add(new ArrayList<>()));
+            typeReferences.forEach((typeName, references) -> {
+                final int typeId = typeIds.get(typeName);
+                references.forEach(reference -> {
+                    final Integer referencedId = typeIds.get(reference);
+                    if (referencedId != null) {
+                        referencingTypeLists.get(referencedId).add(typeId);
+                    }
+                });
+            });
+            final int[][] referencingTypes = new int[typeNames.size()][];
+            for (int i = 0; i < typeNames.size(); i++) {
+                referencingTypes[i] = referencingTypeLists.get(i).stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            // Request ids are assigned in ascending name order so that affected requests are sorted
+            final ImmutableList<String> requestNames = ImmutableList.copyOf(new TreeSet<>(requestReferences.keySet()));
+            final BitSet[] referencingRequests = new BitSet[typeNames.size()];
+            for (int i = 0; i < typeNames.size(); i++) {
+                referencingRequests[i] = new BitSet();
+            }
+            for (int requestId = 0; requestId < requestNames.size(); requestId++) {
+                for (final String reference : requestReferences.get(requestNames.get(requestId))) {
+                    final Integer referencedId = typeIds.get(reference);
+                    if (referencedId != null) {
+                        referencingRequests[referencedId].set(requestId);
+                    }
+                }
+            }
+            return new Ds3TypeReferenceGraph(typeNames, typeIds, requestNames, referencingTypes, referencingRequests);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.loader;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Utilities for examining contract files without parsing them
+ */
+public final class Ds3SpecFiles {
+
+    /** The largest region of a file which is mapped at once */
+    private static final long MAX_REGION_SIZE = 64L * 1024 * 1024;
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private Ds3SpecFiles() {
+        //pass
+    }
+
+    /**
+     * Computes the SHA-256 of the file's contents using a memory mapped read
+     */
+    public static HashCode hash(final Path file) throws IOException {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        final byte[] chunk = new byte[CHUNK_SIZE];
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            for (long position = 0; position < size; position += MAX_REGION_SIZE) {
+                final MappedByteBuffer region = channel.map(
+                        FileChannel.MapMode.READ_ONLY, position, Math.min(MAX_REGION_SIZE, size - position));
+                while (region.hasRemaining()) {
+                    final int length = Math.min(chunk.length, region.remaining());
+                    region.get(chunk, 0, length);
+                    hasher.putBytes(chunk, 0, length);
+                }
+            }
+        }
+        return hasher.hash();
+    }
+
+    /**
+     * Determines whether two contract files have identical contents. Files of different sizes are
+     * never identical, and are not read. Otherwise the SHA-256 of both files are compared. A location
+     * which is not a regular file, such as an entry within a zip file, is never considered identical.
+     */
+    public static boolean isIdentical(final Path oldFile, final Path newFile) throws IOException {
+        if (!Files.isRegularFile(oldFile) || !Files.isRegularFile(newFile)) {
+            return false;
+        }
+        if (Files.isSameFile(oldFile, newFile)) {
+            return true;
+        }
+        if (Files.size(oldFile) != Files.size(newFile)) {
+            return false;
+        }
+        return hash(oldFile).equals(hash(newFile));
+    }
+}
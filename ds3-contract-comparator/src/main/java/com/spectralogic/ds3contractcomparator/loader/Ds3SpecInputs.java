@@ -0,0 +1,192 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.loader;
+
+import com.github.luben.zstd.ZstdInputStream;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Enumeration;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Opens contract files which may be compressed. The compression is detected from the leading bytes
+ * of the file rather than its extension, and gzip and zstd files are decompressed as they are read.
+ * A contract within a zip file is located by a path such as {@code bundle.zip!/contract.xml}, or the
+ * zip file itself may be given if it contains a single file. A contract within a zip file may itself
+ * be compressed.
+ *
+ * Decompression runs on a separate thread which reads ahead of the caller, so that parsing overlaps
+ * with decompression. Uncompressed files are read directly.
+ */
+public final class Ds3SpecInputs {
+
+    /** Separates the path of a zip file from the name of an entry within it */
+    public static final String ZIP_ENTRY_SEPARATOR = "!/";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int READ_AHEAD_CHUNKS = 16;
+    private static final int HEADER_SIZE = 4;
+
+    private Ds3SpecInputs() {
+        //pass
+    }
+
+    /**
+     * The compression formats which are detected
+     */
+    public enum Compression {
+        NONE, GZIP, ZSTD, ZIP;
+
+        /**
+         * Detects the compression from the leading bytes of a file, which may be shorter than four bytes
+         */
+        public static Compression detect(final byte[] header, final int length) {
+            if (length >= 2 && (header[0] & 0xFF) == 0x1F && (header[1] & 0xFF) == 0x8B) {
+                return GZIP;
+            }
+            if (length >= 4 && (header[0] & 0xFF) == 0x28 && (header[1] & 0xFF) == 0xB5
+                    && (header[2] & 0xFF) == 0x2F && (header[3] & 0xFF) == 0xFD) {
+                return ZSTD;
+            }
+            if (length >= 4 && header[0] == 'P' && header[1] == 'K' && header[2] == 3 && header[3] == 4) {
+                return ZIP;
+            }
+            return NONE;
+        }
+    }
+
+    /**
+     * Opens the contract at the location, decompressing it if needed
+     * @param location the contract file, or a zip entry path such as {@code bundle.zip!/contract.xml}
+     */
+    public static InputStream open(final Path location) throws IOException {
+        final String name = location.toString();
+        final int separator = name.indexOf(ZIP_ENTRY_SEPARATOR);
+        if (separator >= 0) {
+            return openZipEntry(Paths.get(name.substring(0, separator)), name.substring(separator + ZIP_ENTRY_SEPARATOR.length()));
+        }
+
+        final InputStream input = new BufferedInputStream(Files.newInputStream(location), BUFFER_SIZE);
+        try {
+            if (detect(input) == Compression.ZIP) {
+                input.close();
+                return openZipEntry(location, null);
+            }
+            return decompress(input);
+        } catch (final IOException | RuntimeException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Detects the compression of the stream without consuming any bytes
+     */
+    private static Compression detect(final InputStream input) throws IOException {
+        final byte[] header = new byte[HEADER_SIZE];
+        input.mark(HEADER_SIZE);
+        int length = 0;
+        int count;
+        while (length < HEADER_SIZE && (count = input.read(header, length, HEADER_SIZE - length)) > 0) {
+            length += count;
+        }
+        input.reset();
+        return Compression.detect(header, length);
+    }
+
+    /**
+     * Wraps the stream in the decompressor its leading bytes call for
+     * @param input a stream which supports mark
+     */
+    private static InputStream decompress(final InputStream input) throws IOException {
+        switch (detect(input)) {
+            case GZIP:
+                return readAhead(new GZIPInputStream(input, BUFFER_SIZE));
+            case ZSTD:
+                return readAhead(new ZstdInputStream(input));
+            case ZIP:
+                throw new IOException("A zip file within a zip file is not supported");
+            default:
+                return input;
+        }
+    }
+
+    private static InputStream readAhead(final InputStream input) {
+        return new ReadAheadInputStream(input, BUFFER_SIZE, READ_AHEAD_CHUNKS);
+    }
+
+    /**
+     * Opens an entry within a zip file. The zip file is closed when the returned stream is closed.
+     * @param entryName the name of the entry, or null to open the only file within the zip file
+     */
+    private static InputStream openZipEntry(final Path zipPath, @Nullable final String entryName) throws IOException {
+        final ZipFile zipFile = new ZipFile(zipPath.toFile());
+        try {
+            final ZipEntry entry = entryName == null ? getOnlyEntry(zipFile, zipPath) : zipFile.getEntry(entryName);
+            if (entry == null || entry.isDirectory()) {
+                throw new NoSuchFileException(zipPath + ZIP_ENTRY_SEPARATOR + entryName);
+            }
+            final InputStream entryInput = new BufferedInputStream(new FilterInputStream(zipFile.getInputStream(entry)) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        zipFile.close();
+                    }
+                }
+            }, BUFFER_SIZE);
+            final InputStream decompressed = decompress(entryInput);
+            if (decompressed == entryInput && entry.getMethod() != ZipEntry.STORED) {
+                return readAhead(entryInput);
+            }
+            return decompressed;
+        } catch (final IOException | RuntimeException e) {
+            zipFile.close();
+            throw e;
+        }
+    }
+
+    private static ZipEntry getOnlyEntry(final ZipFile zipFile, final Path zipPath) throws IOException {
+        ZipEntry onlyEntry = null;
+        final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+            final ZipEntry entry = entries.nextElement();
+            if (entry.isDirectory()) {
+                continue;
+            }
+            if (onlyEntry != null) {
+                throw new IOException(zipPath + " contains more than one file, specify the contract as "
+                        + zipPath + ZIP_ENTRY_SEPARATOR + "<entry>");
+            }
+            onlyEntry = entry;
+        }
+        if (onlyEntry == null) {
+            throw new IOException(zipPath + " does not contain any files");
+        }
+        return onlyEntry;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.loader;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Thrown when a contract file cannot be read or parsed. The exception records the file
+ * that was being loaded and, when loading a pair of contracts, which side of the pair
+ * failed: "old" or "new".
+ */
+public class Ds3SpecLoadException extends IOException {
+
+    @Nullable
+    private final String side;
+    private final Path file;
+
+    public Ds3SpecLoadException(@Nullable final String side, final Path file, final Throwable cause) {
+        super((side == null ? "Unable to parse contract " : "Unable to parse the " + side + " contract ")
+                + file + ": " + cause.getMessage(), cause);
+        this.side = side;
+        this.file = file;
+    }
+
+    @Nullable
+    public String getSide() {
+        return side;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.loader;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashCode;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.spectralogic.ds3autogen.Ds3SpecParserImpl;
+import com.spectralogic.ds3autogen.api.Ds3SpecParser;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3contractcomparator.cache.Ds3SpecCache;
+import com.spectralogic.ds3contractcomparator.cache.Ds3SpecMemoryCache;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Loads contract files into {@link Ds3ApiSpec}s. When several contracts are loaded together,
+ * each is read and parsed on its own thread so that the file reads overlap, and the results
+ * are returned once every contract is ready. Compressed contracts, and contracts within zip files,
+ * are decompressed as they are parsed, see {@link Ds3SpecInputs}. A new parser is created for each file, so the
+ * parser implementation does not need to be thread safe. Every stream opened by the loader
+ * is closed before the load completes, whether or not parsing succeeds.
+ *
+ * When the loader has a {@link Ds3SpecCache}, each contract is decompressed into memory and its
+ * parsed spec is retrieved from the cache when the same contents have been parsed before.
+ * Otherwise the contract is parsed and stored in the cache. When the loader has a {@link Ds3SpecMemoryCache},
+ * it is consulted first, and a contract file which has not changed since it was last loaded is not read.
+ */
+public class Ds3SpecLoader {
+
+    private static final String OLD_SIDE = "old";
+    private static final String NEW_SIDE = "new";
+
+    private final Supplier<? extends Ds3SpecParser> parserFactory;
+    private final boolean generateInternal;
+    @Nullable
+    private final ExecutorService executor;
+    @Nullable
+    private final Ds3SpecCache cache;
+    @Nullable
+    private final Ds3SpecMemoryCache memoryCache;
+
+    /**
+     * Creates a loader which parses contracts with {@link Ds3SpecParserImpl}, including internal
+     * requests, and starts its own threads for each concurrent load
+     */
+    public Ds3SpecLoader() {
+        this(Ds3SpecParserImpl::new, true, null);
+    }
+
+    /**
+     * @param parserFactory creates the parser used for each contract file
+     * @param generateInternal whether internal requests are included in the parsed contracts
+     * @param executor runs the concurrent parses, or null to start new threads for each load.
+     *                 The loader does not shut down an executor it is given.
+     */
+    public Ds3SpecLoader(
+            final Supplier<? extends Ds3SpecParser> parserFactory,
+            final boolean generateInternal,
+            @Nullable final ExecutorService executor) {
+        this(parserFactory, generateInternal, executor, null);
+    }
+
+    /**
+     * @param parserFactory creates the parser used for each contract file
+     * @param generateInternal whether internal requests are included in the parsed contracts
+     * @param executor runs the concurrent parses, or null to start new threads for each load.
+     *                 The loader does not shut down an executor it is given.
+     * @param cache the cache of previously parsed contracts, or null to always parse
+     */
+    public Ds3SpecLoader(
+            final Supplier<? extends Ds3SpecParser> parserFactory,
+            final boolean generateInternal,
+            @Nullable final ExecutorService executor,
+            @Nullable final Ds3SpecCache cache) {
+        this(parserFactory, generateInternal, executor, cache, null);
+    }
+
+    /**
+     * @param parserFactory creates the parser used for each contract file
+     * @param generateInternal whether internal requests are included in the parsed contracts
+     * @param executor runs the concurrent parses, or null to start new threads for each load.
+     *                 The loader does not shut down an executor it is given.
+     * @param cache the cache of previously parsed contracts, or null to always parse
+     * @param memoryCache the in memory cache of previously loaded contract files, or null
+     */
+    public Ds3SpecLoader(
+            final Supplier<? extends Ds3SpecParser> parserFactory,
+            final boolean generateInternal,
+            @Nullable final ExecutorService executor,
+            @Nullable final Ds3SpecCache cache,
+            @Nullable final Ds3SpecMemoryCache memoryCache) {
+        this.parserFactory = parserFactory;
+        this.generateInternal = generateInternal;
+        this.executor = executor;
+        this.cache = cache;
+        this.memoryCache = memoryCache;
+    }
+
+    /**
+     * Loads a single contract on the calling thread
+     */
+    public Ds3ApiSpec load(final Path file) throws IOException {
+        return load(null, file);
+    }
+
+    /**
+     * Loads the older and newer versions of a contract concurrently. If either fails to load,
+     * the other load is cancelled and the failure identifies which contract could not be parsed.
+     */
+    public Ds3SpecPair loadPair(final Path oldFile, final Path newFile) throws IOException {
+        final ImmutableList<Ds3ApiSpec> specs = loadAll(ImmutableList.of(OLD_SIDE, NEW_SIDE), ImmutableList.of(oldFile, newFile));
+        return new Ds3SpecPair(specs.get(0), specs.get(1));
+    }
+
+    /**
+     * Loads every contract concurrently, returning them in the order of {@code files}. If any
+     * contract fails to load, the remaining loads are cancelled and the failure identifies the
+     * file which could not be parsed.
+     */
+    public ImmutableList<Ds3ApiSpec> loadAll(final ImmutableList<Path> files) throws IOException {
+        return loadAll(Collections.nCopies(files.size(), null), files);
+    }
+
+    /**
+     * Parses the last file on the calling thread and every other file on the executor
+     */
+    private ImmutableList<Ds3ApiSpec> loadAll(final List<String> sides, final ImmutableList<Path> files) throws IOException {
+        if (files.isEmpty()) {
+            return ImmutableList.of();
+        }
+        final int last = files.size() - 1;
+        final ExecutorService loadExecutor = executor != null || last == 0 ? executor : newLoadExecutor(last);
+        final List<Future<Ds3ApiSpec>> futures = new ArrayList<>(last);
+        try {
+            for (int i = 0; i < last; i++) {
+                final String side = sides.get(i);
+                final Path file = files.get(i);
+                futures.add(loadExecutor.submit(() -> load(side, file)));
+            }
+
+            final Ds3ApiSpec lastSpec;
+            try {
+                lastSpec = load(sides.get(last), files.get(last));
+            } catch (final IOException | RuntimeException e) {
+                cancelAll(futures);
+                throw e;
+            }
+
+            final ImmutableList.Builder<Ds3ApiSpec> builder = ImmutableList.builder();
+            for (final Future<Ds3ApiSpec> future : futures) {
+                builder.add(join(future, futures));
+            }
+            return builder.add(lastSpec).build();
+        } finally {
+            if (loadExecutor != executor) {
+                loadExecutor.shutdownNow();
+            }
+        }
+    }
+
+    private Ds3ApiSpec load(@Nullable final String side, final Path file) throws Ds3SpecLoadException {
+        try {
+            if (memoryCache != null) {
+                return memoryCache.get(file, generateInternal, () -> loadFile(file));
+            }
+            return loadFile(file);
+        } catch (final IOException | RuntimeException e) {
+            throw new Ds3SpecLoadException(side, file, e);
+        }
+    }
+
+    private Ds3ApiSpec loadFile(final Path file) throws IOException {
+        if (cache == null) {
+            try (final InputStream stream = Ds3SpecInputs.open(file)) {
+                return parserFactory.get().getSpec(stream, generateInternal);
+            }
+        }
+        return loadCached(file, cache);
+    }
+
+    private Ds3ApiSpec loadCached(final Path file, final Ds3SpecCache cache) throws IOException {
+        final byte[] contents;
+        try (final InputStream stream = Ds3SpecInputs.open(file)) {
+            contents = ByteStreams.toByteArray(stream);
+        }
+        final HashCode key = cache.keyOf(contents, generateInternal);
+        final Ds3ApiSpec cachedSpec = cache.get(key);
+        if (cachedSpec != null) {
+            return cachedSpec;
+        }
+        final Ds3ApiSpec spec = parserFactory.get().getSpec(new ByteArrayInputStream(contents), generateInternal);
+        try {
+            cache.put(key, spec);
+        } catch (final IOException e) {
+            //A cache which cannot be written does not prevent the contract from loading
+        }
+        return spec;
+    }
+
+    private static Ds3ApiSpec join(final Future<Ds3ApiSpec> future, final List<Future<Ds3ApiSpec>> futures) throws IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            cancelAll(futures);
+            Thread.currentThread().interrupt();
+            final InterruptedIOException interrupted = new InterruptedIOException("Interrupted while waiting for contracts to load");
+            interrupted.initCause(e);
+            throw interrupted;
+        } catch (final ExecutionException e) {
+            cancelAll(futures);
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Unable to load contract: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static ExecutorService newLoadExecutor(final int threads) {
+        return Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                .setNameFormat("ds3-spec-loader-%d")
+                .setDaemon(true)
+                .build());
+    }
+
+    /**
+     * Cancels all loads which have not yet completed
+     */
+    private static void cancelAll(final List<? extends Future<?>> futures) {
+        futures.forEach(future -> future.cancel(true));
+    }
+}
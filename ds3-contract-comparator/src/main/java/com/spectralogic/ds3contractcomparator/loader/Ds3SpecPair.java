@@ -0,0 +1,40 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.loader;
+
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+
+/**
+ * The older and newer versions of a contract loaded by {@link Ds3SpecLoader#loadPair}
+ */
+public class Ds3SpecPair {
+
+    private final Ds3ApiSpec oldSpec;
+    private final Ds3ApiSpec newSpec;
+
+    public Ds3SpecPair(final Ds3ApiSpec oldSpec, final Ds3ApiSpec newSpec) {
+        this.oldSpec = oldSpec;
+        this.newSpec = newSpec;
+    }
+
+    public Ds3ApiSpec getOldSpec() {
+        return oldSpec;
+    }
+
+    public Ds3ApiSpec getNewSpec() {
+        return newSpec;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.loader;
+
+import com.google.common.io.ByteStreams;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads a source stream ahead of its consumer on a separate thread, so that work performed while
+ * reading the source, such as decompression, overlaps with the consumer's work. The source is read
+ * in chunks into a bounded queue, which limits how far the producer may read ahead. A failure to
+ * read the source is thrown to the consumer once the chunks read before the failure are consumed.
+ */
+final class ReadAheadInputStream extends InputStream {
+
+    /** Marks the end of the source within the queue */
+    private static final byte[] END = new byte[0];
+
+    private final BlockingQueue<byte[]> chunks;
+    private final Thread producer;
+    private volatile IOException failure;
+
+    private byte[] chunk;
+    private int position;
+
+    /**
+     * Starts reading the source. The source is closed by the producer once it has been read
+     * fully, or once this stream is closed.
+     * @param chunkSize the number of bytes read from the source at a time
+     * @param maxChunks the maximum number of chunks read ahead of the consumer
+     */
+    ReadAheadInputStream(final InputStream source, final int chunkSize, final int maxChunks) {
+        this.chunks = new ArrayBlockingQueue<>(maxChunks);
+        this.producer = new Thread(() -> produce(source, chunkSize), "ds3-spec-read-ahead");
+        this.producer.setDaemon(true);
+        this.producer.start();
+    }
+
+    private void produce(final InputStream source, final int chunkSize) {
+        try (final InputStream input = source) {
+            int length;
+            do {
+                final byte[] buffer = new byte[chunkSize];
+                length = ByteStreams.read(input, buffer, 0, chunkSize);
+                if (length > 0) {
+                    chunks.put(length == chunkSize ? buffer : Arrays.copyOf(buffer, length));
+                }
+            } while (length == chunkSize);
+        } catch (final IOException e) {
+            failure = e;
+        } catch (final InterruptedException e) {
+            return; //The consumer closed the stream
+        }
+        try {
+            chunks.put(END);
+        } catch (final InterruptedException e) {
+            //The consumer closed the stream
+        }
+    }
+
+    /**
+     * Ensures the current chunk has unread bytes, returning false at the end of the source
+     */
+    private boolean fill() throws IOException {
+        if (chunk == END) {
+            return false;
+        }
+        if (chunk != null && position < chunk.length) {
+            return true;
+        }
+        try {
+            chunk = chunks.take();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the source to be read");
+        }
+        position = 0;
+        if (chunk == END) {
+            if (failure != null) {
+                throw new IOException(failure.getMessage(), failure);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return chunk[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        final int count = Math.min(length, chunk.length - position);
+        System.arraycopy(chunk, position, bytes, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return chunk == null || chunk == END ? 0 : chunk.length - position;
+    }
+
+    /**
+     * Stops the producer, which closes the source
+     */
+    @Override
+    public void close() {
+        chunk = END;
+        producer.interrupt();
+        chunks.clear();
+    }
+}
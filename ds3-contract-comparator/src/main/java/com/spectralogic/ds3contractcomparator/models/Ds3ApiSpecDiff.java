@@ -17,6 +17,7 @@ package com.spectralogic.ds3contractcomparator.models;
 
 import com.google.common.collect.ImmutableList;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3contractcomparator.breaking.BreakingChangeSummary;
 import com.spectralogic.ds3contractcomparator.models.request.AbstractDs3RequestDiff;
 import com.spectralogic.ds3contractcomparator.models.type.AbstractDs3TypeDiff;
 
@@ -27,12 +28,53 @@ public class Ds3ApiSpecDiff {
 
     final ImmutableList<AbstractDs3RequestDiff> requests;
     final ImmutableList<AbstractDs3TypeDiff> types;
+    final Ds3DiffSummary summary;
+    final Ds3TypeImpact impact;
+    final BreakingChangeSummary breakingChanges;
 
     public Ds3ApiSpecDiff(
             final ImmutableList<AbstractDs3RequestDiff> requests,
             final ImmutableList<AbstractDs3TypeDiff> types) {
+        this(requests, types, Ds3DiffSummary.of(requests, types));
+    }
+
+    /**
+     * Creates a spec diff whose summary was counted separately, which is used when
+     * the lists do not contain every request and type, such as unchanged entities
+     */
+    public Ds3ApiSpecDiff(
+            final ImmutableList<AbstractDs3RequestDiff> requests,
+            final ImmutableList<AbstractDs3TypeDiff> types,
+            final Ds3DiffSummary summary) {
+        this(requests, types, summary, Ds3TypeImpact.empty());
+    }
+
+    /**
+     * Creates a spec diff whose summary was counted separately and which contains the
+     * requests affected by each modified or deleted type
+     */
+    public Ds3ApiSpecDiff(
+            final ImmutableList<AbstractDs3RequestDiff> requests,
+            final ImmutableList<AbstractDs3TypeDiff> types,
+            final Ds3DiffSummary summary,
+            final Ds3TypeImpact impact) {
+        this(requests, types, summary, impact, BreakingChangeSummary.empty());
+    }
+
+    /**
+     * Creates a spec diff containing the type impact and the classification of every change
+     */
+    public Ds3ApiSpecDiff(
+            final ImmutableList<AbstractDs3RequestDiff> requests,
+            final ImmutableList<AbstractDs3TypeDiff> types,
+            final Ds3DiffSummary summary,
+            final Ds3TypeImpact impact,
+            final BreakingChangeSummary breakingChanges) {
         this.requests = requests;
         this.types = types;
+        this.summary = summary;
+        this.impact = impact;
+        this.breakingChanges = breakingChanges;
     }
 
     public ImmutableList<AbstractDs3RequestDiff> getRequests() {
@@ -42,4 +84,16 @@ public class Ds3ApiSpecDiff {
     public ImmutableList<AbstractDs3TypeDiff> getTypes() {
         return types;
     }
+
+    public Ds3DiffSummary getSummary() {
+        return summary;
+    }
+
+    public Ds3TypeImpact getImpact() {
+        return impact;
+    }
+
+    public BreakingChangeSummary getBreakingChanges() {
+        return breakingChanges;
+    }
 }
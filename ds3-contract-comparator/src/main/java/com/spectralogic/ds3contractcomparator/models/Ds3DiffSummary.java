@@ -0,0 +1,210 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.models;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableTable;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.request.AbstractDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.type.AbstractDs3TypeDiff;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Contains the number of requests and types of each {@link DiffStatus} between two
+ * {@link Ds3ApiSpec}, including unchanged entities which may not be retained within
+ * the {@link Ds3ApiSpecDiff}. Requests are additionally counted per {@link Classification}.
+ */
+public class Ds3DiffSummary {
+
+    private final ImmutableMap<DiffStatus, Integer> requestCounts;
+    private final ImmutableMap<DiffStatus, Integer> typeCounts;
+    private final ImmutableTable<Classification, DiffStatus, Integer> requestClassificationCounts;
+
+    public Ds3DiffSummary(
+            final ImmutableMap<DiffStatus, Integer> requestCounts,
+            final ImmutableMap<DiffStatus, Integer> typeCounts,
+            final ImmutableTable<Classification, DiffStatus, Integer> requestClassificationCounts) {
+        this.requestCounts = requestCounts;
+        this.typeCounts = typeCounts;
+        this.requestClassificationCounts = requestClassificationCounts;
+    }
+
+    /**
+     * Creates the summary of the diffs within two lists
+     */
+    public static Ds3DiffSummary of(
+            final ImmutableList<AbstractDs3RequestDiff> requests,
+            final ImmutableList<AbstractDs3TypeDiff> types) {
+        final Builder builder = builder();
+        requests.forEach(builder::addRequest);
+        types.forEach(builder::addType);
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a builder containing the counts of this summary
+     */
+    public Builder toBuilder() {
+        final Builder builder = new Builder();
+        builder.requestCounts.putAll(requestCounts);
+        builder.typeCounts.putAll(typeCounts);
+        requestClassificationCounts.rowMap().forEach((classification, counts) ->
+                builder.requestClassificationCounts.put(classification, new EnumMap<>(counts)));
+        return builder;
+    }
+
+    /**
+     * Retrieves the number of requests with the specified status
+     */
+    public int getRequestCount(final DiffStatus status) {
+        return requestCounts.getOrDefault(status, 0);
+    }
+
+    /**
+     * Retrieves the number of requests within the classification with the specified status
+     */
+    public int getRequestCount(final Classification classification, final DiffStatus status) {
+        final Integer count = requestClassificationCounts.get(classification, status);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Retrieves the number of types with the specified status
+     */
+    public int getTypeCount(final DiffStatus status) {
+        return typeCounts.getOrDefault(status, 0);
+    }
+
+    /**
+     * Retrieves the total number of requests within both contracts
+     */
+    public int getRequestTotal() {
+        return requestCounts.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Retrieves the total number of types within both contracts
+     */
+    public int getTypeTotal() {
+        return typeCounts.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Retrieves the classifications which contain at least one request
+     */
+    public ImmutableList<Classification> getClassifications() {
+        return ImmutableList.copyOf(requestClassificationCounts.rowKeySet());
+    }
+
+    /**
+     * Accumulates the counts of a {@link Ds3DiffSummary}. All methods are synchronized
+     * so that a single builder may be shared by concurrent comparison tasks.
+     */
+    public static class Builder {
+
+        private final Map<DiffStatus, Integer> requestCounts = new EnumMap<>(DiffStatus.class);
+        private final Map<DiffStatus, Integer> typeCounts = new EnumMap<>(DiffStatus.class);
+        private final Map<Classification, Map<DiffStatus, Integer>> requestClassificationCounts = new EnumMap<>(Classification.class);
+
+        private Builder() {
+            //pass
+        }
+
+        /**
+         * Counts a request diff using its status and the classification of the newest version of the request
+         */
+        public Builder addRequest(final AbstractDs3RequestDiff requestDiff) {
+            final Ds3Request request = requestDiff.getStatus() == DiffStatus.DELETED
+                    ? requestDiff.getOldDs3Request()
+                    : requestDiff.getNewDs3Request();
+            return addRequest(requestDiff.getStatus(), request.getClassification());
+        }
+
+        /**
+         * Counts a request with the specified status without requiring its diff
+         */
+        public synchronized Builder addRequest(final DiffStatus status, @Nullable final Classification classification) {
+            increment(requestCounts, status);
+            if (classification != null) {
+                increment(requestClassificationCounts.computeIfAbsent(classification, c -> new EnumMap<>(DiffStatus.class)), status);
+            }
+            return this;
+        }
+
+        /**
+         * Removes a request previously counted with the specified status
+         */
+        public synchronized Builder removeRequest(final DiffStatus status, @Nullable final Classification classification) {
+            decrement(requestCounts, status);
+            if (classification != null && requestClassificationCounts.containsKey(classification)) {
+                decrement(requestClassificationCounts.get(classification), status);
+            }
+            return this;
+        }
+
+        /**
+         * Counts a type diff using its status
+         */
+        public Builder addType(final AbstractDs3TypeDiff typeDiff) {
+            return addType(typeDiff.getStatus());
+        }
+
+        /**
+         * Counts a type with the specified status without requiring its diff
+         */
+        public synchronized Builder addType(final DiffStatus status) {
+            increment(typeCounts, status);
+            return this;
+        }
+
+        /**
+         * Removes a type previously counted with the specified status
+         */
+        public synchronized Builder removeType(final DiffStatus status) {
+            decrement(typeCounts, status);
+            return this;
+        }
+
+        public synchronized Ds3DiffSummary build() {
+            final ImmutableTable.Builder<Classification, DiffStatus, Integer> table = ImmutableTable.builder();
+            requestClassificationCounts.forEach((classification, counts) ->
+                    counts.forEach((status, count) -> table.put(classification, status, count)));
+            return new Ds3DiffSummary(
+                    ImmutableMap.copyOf(requestCounts),
+                    ImmutableMap.copyOf(typeCounts),
+                    table.build());
+        }
+
+        private static void increment(final Map<DiffStatus, Integer> counts, final DiffStatus status) {
+            counts.merge(status, 1, Integer::sum);
+        }
+
+        private static void decrement(final Map<DiffStatus, Integer> counts, final DiffStatus status) {
+            counts.computeIfPresent(status, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+}
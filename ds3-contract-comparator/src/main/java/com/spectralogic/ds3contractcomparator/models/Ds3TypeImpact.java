@@ -0,0 +1,95 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.models;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedSet;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+
+/**
+ * Contains the names of the {@link Ds3Request} affected by each {@link Ds3Type} which was
+ * modified or deleted between two {@link Ds3ApiSpec}. A request is affected by a type if
+ * it references the type, directly or through the elements of other types.
+ */
+public class Ds3TypeImpact {
+
+    private static final Ds3TypeImpact EMPTY = new Ds3TypeImpact(ImmutableMap.of());
+
+    private final ImmutableMap<String, ImmutableSet<String>> affectedRequests;
+
+    /**
+     * @param affectedRequests the names of the affected requests keyed by the name of each changed type
+     */
+    public Ds3TypeImpact(final ImmutableMap<String, ImmutableSet<String>> affectedRequests) {
+        this.affectedRequests = affectedRequests;
+    }
+
+    /**
+     * Retrieves the impact of a comparison in which no type was changed
+     */
+    public static Ds3TypeImpact empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Retrieves the names of all modified and deleted types
+     */
+    public ImmutableSet<String> getChangedTypes() {
+        return affectedRequests.keySet();
+    }
+
+    /**
+     * Retrieves the names of the requests affected by the named type, or an empty set if
+     * the type was not changed or is not referenced by any request
+     */
+    public ImmutableSet<String> getAffectedRequests(final String typeName) {
+        final ImmutableSet<String> requests = affectedRequests.get(typeName);
+        return requests == null ? ImmutableSet.of() : requests;
+    }
+
+    /**
+     * Retrieves the names of all requests affected by at least one changed type, in ascending order
+     */
+    public ImmutableSet<String> getAffectedRequests() {
+        final ImmutableSortedSet.Builder<String> builder = ImmutableSortedSet.naturalOrder();
+        affectedRequests.values().forEach(builder::addAll);
+        return builder.build();
+    }
+
+    /**
+     * Retrieves the names of the changed types which affect the named request, in ascending order
+     */
+    public ImmutableSet<String> getCausingTypes(final String requestName) {
+        final ImmutableSortedSet.Builder<String> builder = ImmutableSortedSet.naturalOrder();
+        affectedRequests.forEach((typeName, requests) -> {
+            if (requests.contains(requestName)) {
+                builder.add(typeName);
+            }
+        });
+        return builder.build();
+    }
+
+    public ImmutableMap<String, ImmutableSet<String>> getAffectedRequestsByType() {
+        return affectedRequests;
+    }
+
+    public boolean isEmpty() {
+        return affectedRequests.isEmpty();
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.models.delta;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+import com.spectralogic.ds3contractcomparator.utils.AlignedPair;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import static com.spectralogic.ds3contractcomparator.utils.AlignmentUtils.align;
+import static com.spectralogic.ds3contractcomparator.utils.AlignmentUtils.alignByInt;
+
+/**
+ * Computes the {@link Ds3EntityDelta} tree between two versions of a {@link Ds3Request}
+ * or {@link Ds3Type} in a single pass. Fields are added in the declaration order of the
+ * contract entity's properties, and list entries are aligned on their unique property in
+ * ascending order of that property.
+ */
+public final class Ds3DeltaFactory {
+
+    private Ds3DeltaFactory() {
+        //pass
+    }
+
+    /**
+     * Computes the delta between two versions of a {@link Ds3Request}. Either request
+     * may be null if it does not exist within that contract version, but not both.
+     */
+    public static Ds3EntityDelta toRequestDelta(@Nullable final Ds3Request oldRequest, @Nullable final Ds3Request newRequest) {
+        return new EntityDeltaBuilder<>(Ds3EntityKind.REQUEST, oldRequest, newRequest)
+                .value("name", Ds3Request::getName)
+                .value("httpVerb", Ds3Request::getHttpVerb)
+                .value("classification", Ds3Request::getClassification)
+                .value("bucketRequirement", Ds3Request::getBucketRequirement)
+                .value("objectRequirement", Ds3Request::getObjectRequirement)
+                .value("action", Ds3Request::getAction)
+                .value("resource", Ds3Request::getResource)
+                .value("resourceType", Ds3Request::getResourceType)
+                .value("operation", Ds3Request::getOperation)
+                .value("includeInPath", Ds3Request::getIncludeInPath)
+                .codeList("ds3ResponseCodes", Ds3Request::getDs3ResponseCodes, Ds3ResponseCode::getCode, Ds3DeltaFactory::toResponseCodeDelta)
+                .list("optionalQueryParams", Ds3Request::getOptionalQueryParams, Ds3Param::getName, Ds3DeltaFactory::toParamDelta)
+                .list("requiredQueryParams", Ds3Request::getRequiredQueryParams, Ds3Param::getName, Ds3DeltaFactory::toParamDelta)
+                .build();
+    }
+
+    static Ds3EntityDelta toParamDelta(@Nullable final Ds3Param oldParam, @Nullable final Ds3Param newParam) {
+        return new EntityDeltaBuilder<>(Ds3EntityKind.PARAM, oldParam, newParam)
+                .value("name", Ds3Param::getName)
+                .value("type", Ds3Param::getType)
+                .value("nullable", Ds3Param::getNullable)
+                .build();
+    }
+
+    static Ds3EntityDelta toResponseCodeDelta(@Nullable final Ds3ResponseCode oldCode, @Nullable final Ds3ResponseCode newCode) {
+        return new EntityDeltaBuilder<>(Ds3EntityKind.RESPONSE_CODE, oldCode, newCode)
+                .value("code", Ds3ResponseCode::getCode)
+                .list("ds3ResponseTypes", Ds3ResponseCode::getDs3ResponseTypes, Ds3ResponseType::getType, Ds3DeltaFactory::toResponseTypeDelta)
+                .build();
+    }
+
+    static Ds3EntityDelta toResponseTypeDelta(@Nullable final Ds3ResponseType oldType, @Nullable final Ds3ResponseType newType) {
+        return new EntityDeltaBuilder<>(Ds3EntityKind.RESPONSE_TYPE, oldType, newType)
+                .value("type", Ds3ResponseType::getType)
+                .value("componentType", Ds3ResponseType::getComponentType)
+                .value("originalTypeName", Ds3ResponseType::getOriginalTypeName)
+                .build();
+    }
+
+    /**
+     * Computes the delta between two versions of a {@link Ds3Type}. Either type may
+     * be null if it does not exist within that contract version, but not both.
+     */
+    public static Ds3EntityDelta toTypeDelta(@Nullable final Ds3Type oldType, @Nullable final Ds3Type newType) {
+        return new EntityDeltaBuilder<>(Ds3EntityKind.TYPE, oldType, newType)
+                .value("name", Ds3Type::getName)
+                .value("nameToMarshal", Ds3Type::getNameToMarshal)
+                .list("elements", Ds3Type::getElements, Ds3Element::getName, Ds3DeltaFactory::toElementDelta)
+                .list("enumConstants", Ds3Type::getEnumConstants, Ds3EnumConstant::getName, Ds3DeltaFactory::toEnumConstantDelta)
+                .build();
+    }
+
+    static Ds3EntityDelta toElementDelta(@Nullable final Ds3Element oldElement, @Nullable final Ds3Element newElement) {
+        return new EntityDeltaBuilder<>(Ds3EntityKind.ELEMENT, oldElement, newElement)
+                .value("name", Ds3Element::getName)
+                .value("type", Ds3Element::getType)
+                .value("componentType", Ds3Element::getComponentType)
+                .list("ds3Annotations", Ds3Element::getDs3Annotations, Ds3Annotation::getName, Ds3DeltaFactory::toAnnotationDelta)
+                .value("nullable", Ds3Element::getNullable)
+                .build();
+    }
+
+    static Ds3EntityDelta toAnnotationDelta(@Nullable final Ds3Annotation oldAnnotation, @Nullable final Ds3Annotation newAnnotation) {
+        return new EntityDeltaBuilder<>(Ds3EntityKind.ANNOTATION, oldAnnotation, newAnnotation)
+                .value("name", Ds3Annotation::getName)
+                .list("ds3AnnotationElements", Ds3Annotation::getDs3AnnotationElements, Ds3AnnotationElement::getName, Ds3DeltaFactory::toAnnotationElementDelta)
+                .build();
+    }
+
+    static Ds3EntityDelta toAnnotationElementDelta(
+            @Nullable final Ds3AnnotationElement oldElement,
+            @Nullable final Ds3AnnotationElement newElement) {
+        return new EntityDeltaBuilder<>(Ds3EntityKind.ANNOTATION_ELEMENT, oldElement, newElement)
+                .value("name", Ds3AnnotationElement::getName)
+                .value("value", Ds3AnnotationElement::getValue)
+                .value("valueType", Ds3AnnotationElement::getValueType)
+                .build();
+    }
+
+    static Ds3EntityDelta toEnumConstantDelta(@Nullable final Ds3EnumConstant oldEnum, @Nullable final Ds3EnumConstant newEnum) {
+        return new EntityDeltaBuilder<>(Ds3EntityKind.ENUM_CONSTANT, oldEnum, newEnum)
+                .value("name", Ds3EnumConstant::getName)
+                .list("ds3Properties", Ds3EnumConstant::getDs3Properties, Ds3Property::getName, Ds3DeltaFactory::toPropertyDelta)
+                .build();
+    }
+
+    static Ds3EntityDelta toPropertyDelta(@Nullable final Ds3Property oldProperty, @Nullable final Ds3Property newProperty) {
+        return new EntityDeltaBuilder<>(Ds3EntityKind.PROPERTY, oldProperty, newProperty)
+                .value("name", Ds3Property::getName)
+                .value("value", Ds3Property::getValue)
+                .value("valueType", Ds3Property::getValueType)
+                .build();
+    }
+
+    /**
+     * Computes the delta of every pair of aligned list entries
+     */
+    static <C> ImmutableList<Ds3EntityDelta> toEntryDeltas(
+            final ImmutableList<AlignedPair<C, C>> entries,
+            final BiFunction<C, C, Ds3EntityDelta> deltaFunction) {
+        final ImmutableList.Builder<Ds3EntityDelta> builder = ImmutableList.builder();
+        entries.forEach(entry -> builder.add(deltaFunction.apply(entry.getOld(), entry.getNew())));
+        return builder.build();
+    }
+
+    /**
+     * Accumulates the fields of a {@link Ds3EntityDelta} from two versions of a contract entity
+     */
+    private static final class EntityDeltaBuilder<T> {
+
+        private final Ds3EntityKind kind;
+        @Nullable
+        private final T oldEntity;
+        @Nullable
+        private final T newEntity;
+        private final ImmutableMap.Builder<String, Ds3DeltaNode> fields = ImmutableMap.builder();
+        private boolean changed = false;
+
+        private EntityDeltaBuilder(final Ds3EntityKind kind, @Nullable final T oldEntity, @Nullable final T newEntity) {
+            if (oldEntity == null && newEntity == null) {
+                throw new IllegalArgumentException("Cannot compute the delta between two null " + kind + " entities");
+            }
+            this.kind = kind;
+            this.oldEntity = oldEntity;
+            this.newEntity = newEntity;
+        }
+
+        private EntityDeltaBuilder<T> value(final String property, final Function<T, ?> getter) {
+            return add(new Ds3ValueDelta(property, toValue(oldEntity, getter), toValue(newEntity, getter)));
+        }
+
+        private <C> EntityDeltaBuilder<T> list(
+                final String property,
+                final Function<T, ImmutableList<C>> getter,
+                final Function<C, String> keyFunction,
+                final BiFunction<C, C, Ds3EntityDelta> deltaFunction) {
+            return list(property, getter, (oldList, newList) -> align(oldList, newList, keyFunction), deltaFunction);
+        }
+
+        /**
+         * Adds a list whose entries are uniquely identified by an int code
+         */
+        private <C> EntityDeltaBuilder<T> codeList(
+                final String property,
+                final Function<T, ImmutableList<C>> getter,
+                final ToIntFunction<C> codeFunction,
+                final BiFunction<C, C, Ds3EntityDelta> deltaFunction) {
+            return list(property, getter, (oldList, newList) -> alignByInt(oldList, newList, codeFunction), deltaFunction);
+        }
+
+        private <C> EntityDeltaBuilder<T> list(
+                final String property,
+                final Function<T, ImmutableList<C>> getter,
+                final BiFunction<ImmutableList<C>, ImmutableList<C>, ImmutableList<AlignedPair<C, C>>> aligner,
+                final BiFunction<C, C, Ds3EntityDelta> deltaFunction) {
+            final ImmutableList<C> oldList = oldEntity == null ? null : getter.apply(oldEntity);
+            final ImmutableList<C> newList = newEntity == null ? null : getter.apply(newEntity);
+            return add(new Ds3ListDelta(
+                    property,
+                    oldList != null,
+                    newList != null,
+                    toEntryDeltas(aligner.apply(oldList, newList), deltaFunction)));
+        }
+
+        private EntityDeltaBuilder<T> add(final Ds3DeltaNode field) {
+            fields.put(field.getProperty(), field);
+            changed |= field.getStatus() != DiffStatus.NO_CHANGE;
+            return this;
+        }
+
+        private static <T> String toValue(@Nullable final T entity, final Function<T, ?> getter) {
+            if (entity == null) {
+                return null;
+            }
+            final Object value = getter.apply(entity);
+            return value == null ? null : value.toString();
+        }
+
+        private Ds3EntityDelta build() {
+            final ImmutableMap<String, Ds3DeltaNode> builtFields = fields.build();
+            final Ds3ValueDelta uniqueField = (Ds3ValueDelta) builtFields.get(kind.getUniqueProperty());
+            final String key = uniqueField.getNewValue() != null ? uniqueField.getNewValue() : uniqueField.getOldValue();
+            return new Ds3EntityDelta(kind, key, toStatus(), builtFields);
+        }
+
+        private DiffStatus toStatus() {
+            if (oldEntity == null) {
+                return DiffStatus.ADDED;
+            }
+            if (newEntity == null) {
+                return DiffStatus.DELETED;
+            }
+            return changed ? DiffStatus.MODIFIED : DiffStatus.NO_CHANGE;
+        }
+    }
+}
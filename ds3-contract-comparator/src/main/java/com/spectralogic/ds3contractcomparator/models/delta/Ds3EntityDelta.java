@@ -0,0 +1,93 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.models.delta;
+
+import com.google.common.collect.ImmutableCollection;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Represents the change in a contract entity, such as a request, parameter or type element,
+ * between two contract versions. The fields are in the declaration order of the entity's
+ * properties, and can also be retrieved by property name.
+ */
+public class Ds3EntityDelta {
+
+    private final Ds3EntityKind kind;
+    private final String key;
+    private final DiffStatus status;
+    private final ImmutableMap<String, Ds3DeltaNode> fields;
+
+    /**
+     * @param key the value of the unique property which identifies this entity
+     */
+    public Ds3EntityDelta(
+            final Ds3EntityKind kind,
+            final String key,
+            final DiffStatus status,
+            final ImmutableMap<String, Ds3DeltaNode> fields) {
+        this.kind = kind;
+        this.key = key;
+        this.status = status;
+        this.fields = fields;
+    }
+
+    public Ds3EntityKind getKind() {
+        return kind;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public DiffStatus getStatus() {
+        return status;
+    }
+
+    public ImmutableCollection<Ds3DeltaNode> getFields() {
+        return fields.values();
+    }
+
+    /**
+     * Determines if the field is the property which uniquely identifies this entity
+     */
+    public boolean isUniqueProperty(final Ds3DeltaNode field) {
+        return kind.getUniqueProperty().equals(field.getProperty());
+    }
+
+    /**
+     * Retrieves the value field with the specified property name
+     * @throws IllegalArgumentException if the entity does not have a value field with the property name
+     */
+    public Ds3ValueDelta getValue(final String property) {
+        final Ds3DeltaNode field = fields.get(property);
+        if (field instanceof Ds3ValueDelta) {
+            return (Ds3ValueDelta) field;
+        }
+        throw new IllegalArgumentException(kind + " does not contain value property " + property);
+    }
+
+    /**
+     * Retrieves the list field with the specified property name
+     * @throws IllegalArgumentException if the entity does not have a list field with the property name
+     */
+    public Ds3ListDelta getList(final String property) {
+        final Ds3DeltaNode field = fields.get(property);
+        if (field instanceof Ds3ListDelta) {
+            return (Ds3ListDelta) field;
+        }
+        throw new IllegalArgumentException(kind + " does not contain list property " + property);
+    }
+}
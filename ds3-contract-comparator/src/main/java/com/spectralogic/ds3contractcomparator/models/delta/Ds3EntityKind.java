@@ -0,0 +1,43 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.models.delta;
+
+/**
+ * The kinds of contract entities represented by a {@link Ds3EntityDelta}, along with
+ * the name of the property which uniquely identifies an entity within a list
+ */
+public enum Ds3EntityKind {
+    REQUEST("name"),
+    PARAM("name"),
+    RESPONSE_CODE("code"),
+    RESPONSE_TYPE("type"),
+    TYPE("name"),
+    ELEMENT("name"),
+    ANNOTATION("name"),
+    ANNOTATION_ELEMENT("name"),
+    ENUM_CONSTANT("name"),
+    PROPERTY("name");
+
+    private final String uniqueProperty;
+
+    Ds3EntityKind(final String uniqueProperty) {
+        this.uniqueProperty = uniqueProperty;
+    }
+
+    public String getUniqueProperty() {
+        return uniqueProperty;
+    }
+}
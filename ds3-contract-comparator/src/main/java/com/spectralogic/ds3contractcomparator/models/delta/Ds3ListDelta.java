@@ -0,0 +1,79 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.models.delta;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Represents the change in a list property between two contract versions. The entries
+ * of both lists are aligned on their unique property and merged in ascending order of it,
+ * so an entry which only exists within one of the lists is placed among the others by its key.
+ */
+public class Ds3ListDelta extends Ds3DeltaNode {
+
+    private final boolean oldPresent;
+    private final boolean newPresent;
+    private final ImmutableList<Ds3EntityDelta> entries;
+    private final DiffStatus status;
+
+    /**
+     * @param oldPresent true if the list is non-null within the older contract version
+     * @param newPresent true if the list is non-null within the newer contract version
+     */
+    public Ds3ListDelta(
+            final String property,
+            final boolean oldPresent,
+            final boolean newPresent,
+            final ImmutableList<Ds3EntityDelta> entries) {
+        super(property);
+        this.oldPresent = oldPresent;
+        this.newPresent = newPresent;
+        this.entries = entries;
+        this.status = toStatus(oldPresent, newPresent, entries);
+    }
+
+    private static DiffStatus toStatus(
+            final boolean oldPresent,
+            final boolean newPresent,
+            final ImmutableList<Ds3EntityDelta> entries) {
+        if (!oldPresent && newPresent) {
+            return DiffStatus.ADDED;
+        }
+        if (oldPresent && !newPresent) {
+            return DiffStatus.DELETED;
+        }
+        final boolean changed = entries.stream()
+                .anyMatch(entry -> entry.getStatus() != DiffStatus.NO_CHANGE);
+        return changed ? DiffStatus.MODIFIED : DiffStatus.NO_CHANGE;
+    }
+
+    public boolean isOldPresent() {
+        return oldPresent;
+    }
+
+    public boolean isNewPresent() {
+        return newPresent;
+    }
+
+    public ImmutableList<Ds3EntityDelta> getEntries() {
+        return entries;
+    }
+
+    @Override
+    public DiffStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.models.delta;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Represents the change in a single valued property between two contract versions.
+ * Values are stored in their string form, and are null if the property does not exist
+ * within that contract version.
+ */
+public class Ds3ValueDelta extends Ds3DeltaNode {
+
+    @Nullable
+    private final String oldValue;
+    @Nullable
+    private final String newValue;
+    private final DiffStatus status;
+
+    public Ds3ValueDelta(final String property, @Nullable final String oldValue, @Nullable final String newValue) {
+        super(property);
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+        this.status = toStatus(oldValue, newValue);
+    }
+
+    private static DiffStatus toStatus(@Nullable final String oldValue, @Nullable final String newValue) {
+        if (Objects.equals(oldValue, newValue)) {
+            return DiffStatus.NO_CHANGE;
+        }
+        if (oldValue == null) {
+            return DiffStatus.ADDED;
+        }
+        if (newValue == null) {
+            return DiffStatus.DELETED;
+        }
+        return DiffStatus.MODIFIED;
+    }
+
+    @Nullable
+    public String getOldValue() {
+        return oldValue;
+    }
+
+    @Nullable
+    public String getNewValue() {
+        return newValue;
+    }
+
+    @Override
+    public DiffStatus getStatus() {
+        return status;
+    }
+}
@@ -15,8 +15,12 @@
 
 package com.spectralogic.ds3contractcomparator.models.request;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3DeltaFactory;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityDelta;
 
 /**
  * Represents a {@link Ds3Request} that changed between {@link Ds3ApiSpec} versions
@@ -25,12 +29,14 @@ public abstract class AbstractDs3RequestDiff implements Ds3RequestDiff {
 
     private final Ds3Request oldDs3Request;
     private final Ds3Request newDs3Request;
+    private final Supplier<Ds3EntityDelta> delta;
 
     public AbstractDs3RequestDiff(
             final Ds3Request oldDs3Request,
             final Ds3Request newDs3Request) {
         this.oldDs3Request = oldDs3Request;
         this.newDs3Request = newDs3Request;
+        this.delta = Suppliers.memoize(() -> Ds3DeltaFactory.toRequestDelta(oldDs3Request, newDs3Request));
     }
 
     @Override
@@ -42,4 +48,13 @@ public abstract class AbstractDs3RequestDiff implements Ds3RequestDiff {
     public Ds3Request getNewDs3Request() {
         return newDs3Request;
     }
+
+    /**
+     * Retrieves the field level delta between the {@link Ds3Request} versions. The delta is
+     * computed on first use and shared by all subsequent callers.
+     */
+    @Override
+    public Ds3EntityDelta getDelta() {
+        return delta.get();
+    }
 }
@@ -17,6 +17,7 @@ package com.spectralogic.ds3contractcomparator.models.request;
 
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
 
 /**
  * Represents a Ds3Request that exists in the older {@link Ds3ApiSpec} but
@@ -31,4 +32,9 @@ public class DeletedDs3RequestDiff extends AbstractDs3RequestDiff {
     public Ds3Request getNewDs3Request() {
         throw new UnsupportedOperationException("The new Ds3ApiSpec did not contain request handler " + getOldDs3Request().getName());
     }
+
+    @Override
+    public DiffStatus getStatus() {
+        return DiffStatus.DELETED;
+    }
 }
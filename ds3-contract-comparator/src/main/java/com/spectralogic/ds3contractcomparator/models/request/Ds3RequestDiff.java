@@ -17,6 +17,8 @@ package com.spectralogic.ds3contractcomparator.models.request;
 
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityDelta;
 
 /**
  * Interface for a {@link Ds3Request} that has changed between
@@ -25,4 +27,6 @@ import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
 public interface Ds3RequestDiff {
     Ds3Request getOldDs3Request();
     Ds3Request getNewDs3Request();
+    Ds3EntityDelta getDelta();
+    DiffStatus getStatus();
 }
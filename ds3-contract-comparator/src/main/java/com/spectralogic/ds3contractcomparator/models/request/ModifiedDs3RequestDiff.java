@@ -17,6 +17,7 @@ package com.spectralogic.ds3contractcomparator.models.request;
 
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
 
 
 /**
@@ -27,5 +28,9 @@ public class ModifiedDs3RequestDiff extends AbstractDs3RequestDiff {
     public ModifiedDs3RequestDiff(final Ds3Request oldDs3Request, final Ds3Request newDs3Request) {
         super(oldDs3Request, newDs3Request);
     }
-}
 
+    @Override
+    public DiffStatus getStatus() {
+        return DiffStatus.MODIFIED;
+    }
+}
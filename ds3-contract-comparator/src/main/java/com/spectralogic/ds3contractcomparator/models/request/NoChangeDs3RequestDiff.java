@@ -17,6 +17,7 @@ package com.spectralogic.ds3contractcomparator.models.request;
 
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
 
 /**
  * Represents a {@link Ds3Request} that has not changed between {@link Ds3ApiSpec} versions
@@ -25,4 +26,9 @@ public class NoChangeDs3RequestDiff extends AbstractDs3RequestDiff {
     public NoChangeDs3RequestDiff(final Ds3Request ds3Request) {
         super(ds3Request, ds3Request);
     }
+
+    @Override
+    public DiffStatus getStatus() {
+        return DiffStatus.NO_CHANGE;
+    }
 }
@@ -0,0 +1,47 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.models.request;
+
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+
+/**
+ * Represents a {@link Ds3Request} within the older {@link Ds3ApiSpec} that was paired by
+ * rename detection with a structurally similar {@link Ds3Request} of a different name
+ * within the newer {@link Ds3ApiSpec}. Printed as a modification of the older request.
+ */
+public class RenamedDs3RequestDiff extends ModifiedDs3RequestDiff {
+
+    private final double similarity;
+
+    public RenamedDs3RequestDiff(final Ds3Request oldDs3Request, final Ds3Request newDs3Request, final double similarity) {
+        super(oldDs3Request, newDs3Request);
+        this.similarity = similarity;
+    }
+
+    @Override
+    public DiffStatus getStatus() {
+        return DiffStatus.RENAMED;
+    }
+
+    /**
+     * The Jaccard similarity of the structural features of both requests
+     */
+    public double getSimilarity() {
+        return similarity;
+    }
+}
@@ -15,20 +15,26 @@
 
 package com.spectralogic.ds3contractcomparator.models.type;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3DeltaFactory;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityDelta;
 
 /**
  * Represents a {@link Ds3Type} that changed between {@link Ds3ApiSpec} versions
  */
-public class AbstractDs3TypeDiff implements Ds3TypeDiff {
+public abstract class AbstractDs3TypeDiff implements Ds3TypeDiff {
 
     private final Ds3Type oldDs3Type;
     private final Ds3Type newDs3Type;
+    private final Supplier<Ds3EntityDelta> delta;
 
     public AbstractDs3TypeDiff(final Ds3Type oldDs3Type, final Ds3Type newDs3Type) {
         this.oldDs3Type = oldDs3Type;
         this.newDs3Type = newDs3Type;
+        this.delta = Suppliers.memoize(() -> Ds3DeltaFactory.toTypeDelta(oldDs3Type, newDs3Type));
     }
 
     @Override
@@ -40,4 +46,13 @@ public class AbstractDs3TypeDiff implements Ds3TypeDiff {
     public Ds3Type getNewDs3Type() {
         return newDs3Type;
     }
+
+    /**
+     * Retrieves the field level delta between the {@link Ds3Type} versions. The delta is
+     * computed on first use and shared by all subsequent callers.
+     */
+    @Override
+    public Ds3EntityDelta getDelta() {
+        return delta.get();
+    }
 }
@@ -17,6 +17,7 @@ package com.spectralogic.ds3contractcomparator.models.type;
 
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
 
 /**
  * Represents a {@link Ds3Type} that exists in the newer {@link Ds3ApiSpec} but
@@ -31,4 +32,9 @@ public class AddedDs3TypeDiff extends AbstractDs3TypeDiff {
     public Ds3Type getOldDs3Type() {
         throw new UnsupportedOperationException("The older Ds3ApiSpec did not contain type: " + getNewDs3Type().getName());
     }
+
+    @Override
+    public DiffStatus getStatus() {
+        return DiffStatus.ADDED;
+    }
 }
@@ -17,6 +17,7 @@ package com.spectralogic.ds3contractcomparator.models.type;
 
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
 
 /**
  * Represents a {@link Ds3Type} that exists in the older {@link Ds3ApiSpec} but
@@ -31,4 +32,9 @@ public class DeletedDs3TypeDiff extends AbstractDs3TypeDiff {
     public Ds3Type getNewDs3Type() {
         throw new UnsupportedOperationException("The newer Ds3ApiSpec did not contain type: " + getOldDs3Type().getName());
     }
+
+    @Override
+    public DiffStatus getStatus() {
+        return DiffStatus.DELETED;
+    }
 }
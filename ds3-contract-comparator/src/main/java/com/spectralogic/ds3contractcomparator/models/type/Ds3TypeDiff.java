@@ -17,6 +17,8 @@ package com.spectralogic.ds3contractcomparator.models.type;
 
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityDelta;
 
 /**
  * Interface for a {@link Ds3Type} that has changed between
@@ -25,4 +27,6 @@ import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
 public interface Ds3TypeDiff {
     Ds3Type getOldDs3Type();
     Ds3Type getNewDs3Type();
+    Ds3EntityDelta getDelta();
+    DiffStatus getStatus();
 }
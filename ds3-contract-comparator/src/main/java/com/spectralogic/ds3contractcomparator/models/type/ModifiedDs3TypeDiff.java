@@ -17,6 +17,7 @@ package com.spectralogic.ds3contractcomparator.models.type;
 
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
 
 /**
  * Represents the modifications of a {@link Ds3Type} that differs
@@ -26,4 +27,9 @@ public class ModifiedDs3TypeDiff extends AbstractDs3TypeDiff {
     public ModifiedDs3TypeDiff(final Ds3Type oldDs3Type, final Ds3Type newDs3Type) {
         super(oldDs3Type, newDs3Type);
     }
+
+    @Override
+    public DiffStatus getStatus() {
+        return DiffStatus.MODIFIED;
+    }
 }
@@ -17,6 +17,7 @@ package com.spectralogic.ds3contractcomparator.models.type;
 
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
 
 /**
  * Represents a {@link Ds3Type} that has not changed between {@link Ds3ApiSpec} versions
@@ -25,4 +26,9 @@ public class NoChangeDs3TypeDiff extends AbstractDs3TypeDiff {
     public NoChangeDs3TypeDiff(final Ds3Type ds3Type) {
         super(ds3Type, ds3Type);
     }
+
+    @Override
+    public DiffStatus getStatus() {
+        return DiffStatus.NO_CHANGE;
+    }
 }
@@ -0,0 +1,47 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.models.type;
+
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+
+/**
+ * Represents a {@link Ds3Type} within the older {@link Ds3ApiSpec} that was paired by
+ * rename detection with a structurally similar {@link Ds3Type} of a different name
+ * within the newer {@link Ds3ApiSpec}. Printed as a modification of the older type.
+ */
+public class RenamedDs3TypeDiff extends ModifiedDs3TypeDiff {
+
+    private final double similarity;
+
+    public RenamedDs3TypeDiff(final Ds3Type oldDs3Type, final Ds3Type newDs3Type, final double similarity) {
+        super(oldDs3Type, newDs3Type);
+        this.similarity = similarity;
+    }
+
+    @Override
+    public DiffStatus getStatus() {
+        return DiffStatus.RENAMED;
+    }
+
+    /**
+     * The Jaccard similarity of the structural features of both types
+     */
+    public double getSimilarity() {
+        return similarity;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.names;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.spectralogic.ds3autogen.utils.NormalizingContractNamesUtil.removePath;
+
+/**
+ * A symbol table of the names used within a comparison, such as request, type, element and
+ * annotation names. Each distinct name is interned once and assigned a compact int id, and its
+ * simple name, with the path removed as by
+ * {@link com.spectralogic.ds3autogen.utils.NormalizingContractNamesUtil#removePath(String)}, is
+ * computed once and shared between all names with the same simple name. Looking up a name which
+ * was already interned performs no allocation. The table is thread safe, so it may be shared by
+ * a comparison running in parallel and the printers receiving its diffs.
+ */
+public class Ds3NameTable {
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final List<Entry> entriesById = new ArrayList<>();
+
+    /**
+     * Interns the name, returning its id. Ids are assigned in the order names are first interned.
+     */
+    public int intern(final String name) {
+        return toEntry(name).id;
+    }
+
+    /**
+     * Retrieves the interned instance of the name with the specified id
+     * @throws IllegalArgumentException if no name has the id
+     */
+    public String getName(final int id) {
+        return getEntry(id).name;
+    }
+
+    /**
+     * Retrieves the simple name of the name with the specified id
+     * @throws IllegalArgumentException if no name has the id
+     */
+    public String getSimpleName(final int id) {
+        return getEntry(id).simpleName;
+    }
+
+    /**
+     * Interns the name and retrieves its simple name, i.e. com.test.BucketObject becomes BucketObject.
+     * A null or empty name has an empty simple name.
+     */
+    public String simpleName(@Nullable final String name) {
+        if (name == null || name.isEmpty()) {
+            return "";
+        }
+        return toEntry(name).simpleName;
+    }
+
+    /**
+     * The number of distinct names within the table
+     */
+    public int size() {
+        synchronized (entriesById) {
+            return entriesById.size();
+        }
+    }
+
+    private Entry toEntry(final String name) {
+        final Entry entry = entries.get(name);
+        if (entry != null) {
+            return entry;
+        }
+        final String simpleName = removePath(name);
+        // The simple name of a name without a path is the name itself, and otherwise is the interned
+        // instance shared with every other name which has the same simple name
+        final String sharedSimpleName = simpleName.equals(name) ? name : toEntry(simpleName).name;
+        return entries.computeIfAbsent(name, key -> createEntry(key, sharedSimpleName));
+    }
+
+    private Entry createEntry(final String name, final String simpleName) {
+        synchronized (entriesById) {
+            final Entry entry = new Entry(entriesById.size(), name, simpleName);
+            entriesById.add(entry);
+            return entry;
+        }
+    }
+
+    private Entry getEntry(final int id) {
+        synchronized (entriesById) {
+            if (id < 0 || id >= entriesById.size()) {
+                throw new IllegalArgumentException("No name has the id: " + id);
+            }
+            return entriesById.get(id);
+        }
+    }
+
+    private static final class Entry {
+        private final int id;
+        private final String name;
+        private final String simpleName;
+
+        private Entry(final int id, final String name, final String simpleName) {
+            this.id = id;
+            this.name = name;
+            this.simpleName = simpleName;
+        }
+    }
+}
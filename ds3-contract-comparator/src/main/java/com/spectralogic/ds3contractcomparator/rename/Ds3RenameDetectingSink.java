@@ -0,0 +1,248 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.rename;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
+import com.spectralogic.ds3contractcomparator.Ds3SpecDiffSink;
+import com.spectralogic.ds3contractcomparator.breaking.BreakingChangeSummary;
+import com.spectralogic.ds3contractcomparator.models.Ds3DiffSummary;
+import com.spectralogic.ds3contractcomparator.models.Ds3TypeImpact;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.request.AbstractDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.request.AddedDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.request.DeletedDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.request.RenamedDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.type.AbstractDs3TypeDiff;
+import com.spectralogic.ds3contractcomparator.models.type.AddedDs3TypeDiff;
+import com.spectralogic.ds3contractcomparator.models.type.DeletedDs3TypeDiff;
+import com.spectralogic.ds3contractcomparator.models.type.RenamedDs3TypeDiff;
+
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link Ds3SpecDiffSink} which pairs deleted and added requests, and deleted and added types,
+ * whose structure is similar, and passes each pair to the wrapped sink as a single renamed diff.
+ * All other diffs are passed through as they are received. Deleted and added request diffs are
+ * held until the first type diff is received, and deleted and added type diffs are held until the
+ * summary is received, so the wrapped sink still receives all request diffs before any type diffs.
+ * Each renamed diff is passed in place of its deleted diff, followed by the unpaired added diffs.
+ */
+public class Ds3RenameDetectingSink implements Ds3SpecDiffSink {
+
+    private final Ds3SpecDiffSink sink;
+    private final double threshold;
+    private final Ds3NameTable names;
+
+    private final List<DeletedDs3RequestDiff> deletedRequests = new ArrayList<>();
+    private final List<AddedDs3RequestDiff> addedRequests = new ArrayList<>();
+    private final List<DeletedDs3TypeDiff> deletedTypes = new ArrayList<>();
+    private final List<AddedDs3TypeDiff> addedTypes = new ArrayList<>();
+
+    private final List<RenamedDs3RequestDiff> renamedRequests = new ArrayList<>();
+    private int renamedTypeCount = 0;
+    private boolean requestsFlushed = false;
+
+    /**
+     * @param threshold the minimum Jaccard similarity of the structural features of a deleted
+     *                  and an added entity for them to be reported as a rename, within (0, 1]
+     */
+    public Ds3RenameDetectingSink(final Ds3SpecDiffSink sink, final double threshold) {
+        this(sink, threshold, null);
+    }
+
+    /**
+     * @param threshold the minimum Jaccard similarity of the structural features of a deleted
+     *                  and an added entity for them to be reported as a rename, within (0, 1]
+     * @param names the name table of the comparison, or null to use a table private to this sink
+     */
+    public Ds3RenameDetectingSink(final Ds3SpecDiffSink sink, final double threshold, @Nullable final Ds3NameTable names) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("Rename threshold must be within (0, 1], but was: " + threshold);
+        }
+        this.sink = sink;
+        this.threshold = threshold;
+        this.names = names == null ? new Ds3NameTable() : names;
+    }
+
+    @Override
+    public void acceptRequestDiff(final AbstractDs3RequestDiff requestDiff) {
+        if (requestDiff instanceof DeletedDs3RequestDiff) {
+            deletedRequests.add((DeletedDs3RequestDiff) requestDiff);
+        } else if (requestDiff instanceof AddedDs3RequestDiff) {
+            addedRequests.add((AddedDs3RequestDiff) requestDiff);
+        } else {
+            sink.acceptRequestDiff(requestDiff);
+        }
+    }
+
+    @Override
+    public void acceptTypeDiff(final AbstractDs3TypeDiff typeDiff) {
+        flushRequests();
+        if (typeDiff instanceof DeletedDs3TypeDiff) {
+            deletedTypes.add((DeletedDs3TypeDiff) typeDiff);
+        } else if (typeDiff instanceof AddedDs3TypeDiff) {
+            addedTypes.add((AddedDs3TypeDiff) typeDiff);
+        } else {
+            sink.acceptTypeDiff(typeDiff);
+        }
+    }
+
+    /**
+     * Passes all held diffs to the wrapped sink before the impact, which is keyed by the
+     * names of the older types and so is unaffected by renames
+     */
+    @Override
+    public void acceptImpact(final Ds3TypeImpact impact) {
+        flush();
+        sink.acceptImpact(impact);
+    }
+
+    /**
+     * Breaking changes are classified before renames are detected, so a renamed entity is
+     * classified as both deleted and added
+     */
+    @Override
+    public void acceptBreakingChanges(final BreakingChangeSummary breakingChanges) {
+        flush();
+        sink.acceptBreakingChanges(breakingChanges);
+    }
+
+    /**
+     * Passes the summary to the wrapped sink with each rename counted as {@link DiffStatus#RENAMED}
+     * instead of as a deleted and an added entity
+     */
+    @Override
+    public void acceptSummary(final Ds3DiffSummary summary) {
+        flush();
+        final Ds3DiffSummary.Builder builder = summary.toBuilder();
+        renamedRequests.forEach(renamed -> builder
+                .removeRequest(DiffStatus.DELETED, renamed.getOldDs3Request().getClassification())
+                .removeRequest(DiffStatus.ADDED, renamed.getNewDs3Request().getClassification())
+                .addRequest(DiffStatus.RENAMED, renamed.getNewDs3Request().getClassification()));
+        for (int i = 0; i < renamedTypeCount; i++) {
+            builder.removeType(DiffStatus.DELETED)
+                    .removeType(DiffStatus.ADDED)
+                    .addType(DiffStatus.RENAMED);
+        }
+        sink.acceptSummary(builder.build());
+    }
+
+    @Override
+    public void complete() {
+        flush();
+        sink.complete();
+        renamedRequests.clear();
+        renamedTypeCount = 0;
+        requestsFlushed = false;
+    }
+
+    private void flush() {
+        flushRequests();
+        flushTypes();
+    }
+
+    private void flushRequests() {
+        if (requestsFlushed) {
+            return;
+        }
+        requestsFlushed = true;
+
+        final ImmutableList<RenameMatcher.Match> matches = RenameMatcher.match(
+                deletedRequests.stream()
+                        .map(diff -> Ds3RenameFeatures.toRequestFeatures(diff.getOldDs3Request(), names))
+                        .collect(GuavaCollectors.immutableList()),
+                addedRequests.stream()
+                        .map(diff -> Ds3RenameFeatures.toRequestFeatures(diff.getNewDs3Request(), names))
+                        .collect(GuavaCollectors.immutableList()),
+                threshold);
+        final Map<Integer, RenameMatcher.Match> byDeleted = toDeletedIndexMap(matches);
+        final ImmutableSet<Integer> pairedAdded = toAddedIndexSet(matches);
+
+        for (int i = 0; i < deletedRequests.size(); i++) {
+            final RenameMatcher.Match match = byDeleted.get(i);
+            if (match == null) {
+                sink.acceptRequestDiff(deletedRequests.get(i));
+            } else {
+                final RenamedDs3RequestDiff renamed = new RenamedDs3RequestDiff(
+                        deletedRequests.get(i).getOldDs3Request(),
+                        addedRequests.get(match.getAddedIndex()).getNewDs3Request(),
+                        match.getSimilarity());
+                renamedRequests.add(renamed);
+                sink.acceptRequestDiff(renamed);
+            }
+        }
+        for (int i = 0; i < addedRequests.size(); i++) {
+            if (!pairedAdded.contains(i)) {
+                sink.acceptRequestDiff(addedRequests.get(i));
+            }
+        }
+        deletedRequests.clear();
+        addedRequests.clear();
+    }
+
+    private void flushTypes() {
+        final ImmutableList<RenameMatcher.Match> matches = RenameMatcher.match(
+                deletedTypes.stream()
+                        .map(diff -> Ds3RenameFeatures.toTypeFeatures(diff.getOldDs3Type(), names))
+                        .collect(GuavaCollectors.immutableList()),
+                addedTypes.stream()
+                        .map(diff -> Ds3RenameFeatures.toTypeFeatures(diff.getNewDs3Type(), names))
+                        .collect(GuavaCollectors.immutableList()),
+                threshold);
+        final Map<Integer, RenameMatcher.Match> byDeleted = toDeletedIndexMap(matches);
+        final ImmutableSet<Integer> pairedAdded = toAddedIndexSet(matches);
+
+        for (int i = 0; i < deletedTypes.size(); i++) {
+            final RenameMatcher.Match match = byDeleted.get(i);
+            if (match == null) {
+                sink.acceptTypeDiff(deletedTypes.get(i));
+            } else {
+                renamedTypeCount++;
+                sink.acceptTypeDiff(new RenamedDs3TypeDiff(
+                        deletedTypes.get(i).getOldDs3Type(),
+                        addedTypes.get(match.getAddedIndex()).getNewDs3Type(),
+                        match.getSimilarity()));
+            }
+        }
+        for (int i = 0; i < addedTypes.size(); i++) {
+            if (!pairedAdded.contains(i)) {
+                sink.acceptTypeDiff(addedTypes.get(i));
+            }
+        }
+        deletedTypes.clear();
+        addedTypes.clear();
+    }
+
+    private static Map<Integer, RenameMatcher.Match> toDeletedIndexMap(final ImmutableList<RenameMatcher.Match> matches) {
+        final Map<Integer, RenameMatcher.Match> map = new HashMap<>();
+        matches.forEach(match -> map.put(match.getDeletedIndex(), match));
+        return map;
+    }
+
+    private static ImmutableSet<Integer> toAddedIndexSet(final ImmutableList<RenameMatcher.Match> matches) {
+        final ImmutableSet.Builder<Integer> builder = ImmutableSet.builder();
+        matches.forEach(match -> builder.add(match.getAddedIndex()));
+        return builder.build();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.rename;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Element;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3EnumConstant;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Param;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ResponseCode;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3contractcomparator.names.Ds3NameTable;
+import org.jetbrains.annotations.Nullable;
+
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.hasContent;
+
+/**
+ * Converts requests and types into the sets of structural features compared by rename
+ * detection. Each feature is a string combining a property and its value, such as a
+ * parameter name and type. The words of the entity's simple name are included so that
+ * entities with the same structure but unrelated names are less similar than a rename.
+ * Simple names are retrieved from a {@link Ds3NameTable} so that each is only computed once.
+ */
+public final class Ds3RenameFeatures {
+
+    private Ds3RenameFeatures() {
+        //pass
+    }
+
+    /**
+     * Retrieves the structural features of a {@link Ds3Request}
+     */
+    public static ImmutableSet<String> toRequestFeatures(final Ds3Request request, final Ds3NameTable names) {
+        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        addNameWords(builder, request.getName(), names);
+        addProperty(builder, "httpVerb:", request.getHttpVerb());
+        addProperty(builder, "classification:", request.getClassification());
+        addProperty(builder, "action:", request.getAction());
+        addProperty(builder, "resource:", request.getResource());
+        addProperty(builder, "resourceType:", request.getResourceType());
+        addProperty(builder, "operation:", request.getOperation());
+        addProperty(builder, "bucketRequirement:", request.getBucketRequirement());
+        addProperty(builder, "objectRequirement:", request.getObjectRequirement());
+        addParams(builder, "optional:", request.getOptionalQueryParams(), names);
+        addParams(builder, "required:", request.getRequiredQueryParams(), names);
+        if (hasContent(request.getDs3ResponseCodes())) {
+            for (final Ds3ResponseCode code : request.getDs3ResponseCodes()) {
+                builder.add("code:" + code.getCode());
+                if (hasContent(code.getDs3ResponseTypes())) {
+                    code.getDs3ResponseTypes().forEach(responseType ->
+                            builder.add("code:" + code.getCode() + ":" + names.simpleName(responseType.getType())));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Retrieves the structural features of a {@link Ds3Type}
+     */
+    public static ImmutableSet<String> toTypeFeatures(final Ds3Type type, final Ds3NameTable names) {
+        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        addNameWords(builder, type.getName(), names);
+        addProperty(builder, "nameToMarshal:", type.getNameToMarshal());
+        if (hasContent(type.getElements())) {
+            for (final Ds3Element element : type.getElements()) {
+                builder.add("element:" + element.getName() + ":" + names.simpleName(element.getType())
+                        + ":" + names.simpleName(element.getComponentType()));
+                if (hasContent(element.getDs3Annotations())) {
+                    element.getDs3Annotations().forEach(annotation ->
+                            builder.add("annotation:" + element.getName() + ":" + names.simpleName(annotation.getName())));
+                }
+            }
+        }
+        if (hasContent(type.getEnumConstants())) {
+            for (final Ds3EnumConstant constant : type.getEnumConstants()) {
+                builder.add("enum:" + constant.getName());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Adds a property with a value. Properties without a value are skipped so that
+     * sparsely populated entities are not considered similar due to missing values.
+     */
+    private static void addProperty(
+            final ImmutableSet.Builder<String> builder,
+            final String prefix,
+            @Nullable final Object value) {
+        if (value != null && !value.toString().isEmpty()) {
+            builder.add(prefix + value);
+        }
+    }
+
+    private static void addParams(
+            final ImmutableSet.Builder<String> builder,
+            final String prefix,
+            @Nullable final ImmutableList<Ds3Param> params,
+            final Ds3NameTable names) {
+        if (hasContent(params)) {
+            params.forEach(param -> builder.add(prefix + param.getName() + ":" + names.simpleName(param.getType())));
+        }
+    }
+
+    /**
+     * Adds each camel case word of the simple name, i.e. GetBucketRequestHandler
+     * contributes the words Get, Bucket, Request and Handler
+     */
+    static void addNameWords(
+            final ImmutableSet.Builder<String> builder,
+            @Nullable final String name,
+            final Ds3NameTable names) {
+        final String simpleName = names.simpleName(name);
+        if (simpleName.isEmpty()) {
+            return;
+        }
+        for (final String word : simpleName.split("(?<=[a-z0-9])(?=[A-Z])|_")) {
+            if (!word.isEmpty()) {
+                builder.add("word:" + word);
+            }
+        }
+    }
+}
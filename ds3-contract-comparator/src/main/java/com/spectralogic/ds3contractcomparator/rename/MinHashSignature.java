@@ -0,0 +1,88 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.rename;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A MinHash signature of a set of features. The fraction of positions at which two signatures
+ * agree estimates the Jaccard similarity of the two feature sets. The signature is split into
+ * {@link #BANDS} bands of {@link #ROWS} rows for locality sensitive hashing: two sets with a
+ * Jaccard similarity of s share at least one band hash with probability 1 - (1 - s^ROWS)^BANDS,
+ * which is above 0.98 for s = 0.7 and below 0.1 for s = 0.25.
+ */
+final class MinHashSignature {
+
+    static final int BANDS = 16;
+    static final int ROWS = 4;
+    static final int SIZE = BANDS * ROWS;
+
+    private static final HashFunction FEATURE_HASH = Hashing.murmur3_128();
+
+    /** Fixed seeds so that signatures are reproducible between runs */
+    private static final long[] SEEDS = new Random(0x5EC7_A1L).longs(SIZE).toArray();
+
+    private final long[] values;
+
+    private MinHashSignature(final long[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Computes the signature of a set of features. Each feature is hashed once, and
+     * the hash is remixed with each seed to simulate {@link #SIZE} hash functions.
+     */
+    static MinHashSignature of(final ImmutableSet<String> features) {
+        final long[] values = new long[SIZE];
+        Arrays.fill(values, Long.MAX_VALUE);
+        for (final String feature : features) {
+            final long hash = FEATURE_HASH.hashUnencodedChars(feature).asLong();
+            for (int i = 0; i < SIZE; i++) {
+                final long value = mix(hash ^ SEEDS[i]);
+                if (value < values[i]) {
+                    values[i] = value;
+                }
+            }
+        }
+        return new MinHashSignature(values);
+    }
+
+    /**
+     * Combines the rows of a band into a single hash. Hashes of different bands are not comparable.
+     */
+    long bandHash(final int band) {
+        long hash = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            hash = mix(hash * 31 + values[i]);
+        }
+        return hash;
+    }
+
+    /**
+     * The 64 bit finalizer of SplitMix64
+     */
+    private static long mix(final long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
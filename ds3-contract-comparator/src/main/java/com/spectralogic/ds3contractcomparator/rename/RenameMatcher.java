@@ -0,0 +1,139 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.rename;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Sets;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pairs deleted entities with added entities whose structural features are similar. Candidate
+ * pairs are found through the band hashes of their {@link MinHashSignature}, so only entities which
+ * share at least one band are compared. The exact Jaccard similarity of each candidate pair is then
+ * checked against the threshold, and pairs are assigned greedily from the most similar, such that
+ * each entity is part of at most one pair.
+ */
+final class RenameMatcher {
+
+    private RenameMatcher() {
+        //pass
+    }
+
+    /**
+     * A deleted and an added entity, identified by their index within the matched lists
+     */
+    static final class Match {
+        private final int deletedIndex;
+        private final int addedIndex;
+        private final double similarity;
+
+        Match(final int deletedIndex, final int addedIndex, final double similarity) {
+            this.deletedIndex = deletedIndex;
+            this.addedIndex = addedIndex;
+            this.similarity = similarity;
+        }
+
+        int getDeletedIndex() {
+            return deletedIndex;
+        }
+
+        int getAddedIndex() {
+            return addedIndex;
+        }
+
+        double getSimilarity() {
+            return similarity;
+        }
+    }
+
+    /**
+     * Pairs the feature sets of deleted entities with the feature sets of added entities
+     * whose Jaccard similarity is at least the threshold
+     */
+    static ImmutableList<Match> match(
+            final ImmutableList<ImmutableSet<String>> deleted,
+            final ImmutableList<ImmutableSet<String>> added,
+            final double threshold) {
+        if (deleted.isEmpty() || added.isEmpty()) {
+            return ImmutableList.of();
+        }
+
+        final ListMultimap<Long, Integer> buckets = ArrayListMultimap.create();
+        final List<MinHashSignature> deletedSignatures = new ArrayList<>(deleted.size());
+        for (int i = 0; i < deleted.size(); i++) {
+            final MinHashSignature signature = MinHashSignature.of(deleted.get(i));
+            deletedSignatures.add(signature);
+            if (!deleted.get(i).isEmpty()) {
+                for (int band = 0; band < MinHashSignature.BANDS; band++) {
+                    buckets.put(signature.bandHash(band), i);
+                }
+            }
+        }
+
+        final List<Match> candidates = new ArrayList<>();
+        for (int addedIndex = 0; addedIndex < added.size(); addedIndex++) {
+            final ImmutableSet<String> features = added.get(addedIndex);
+            if (features.isEmpty()) {
+                continue;
+            }
+            final MinHashSignature signature = MinHashSignature.of(features);
+            final Set<Integer> compared = new HashSet<>();
+            for (int band = 0; band < MinHashSignature.BANDS; band++) {
+                for (final int deletedIndex : buckets.get(signature.bandHash(band))) {
+                    if (compared.add(deletedIndex)) {
+                        final double similarity = jaccard(deleted.get(deletedIndex), features);
+                        if (similarity >= threshold) {
+                            candidates.add(new Match(deletedIndex, addedIndex, similarity));
+                        }
+                    }
+                }
+            }
+        }
+
+        candidates.sort(Comparator.comparingDouble(Match::getSimilarity).reversed()
+                .thenComparingInt(Match::getDeletedIndex)
+                .thenComparingInt(Match::getAddedIndex));
+
+        final Set<Integer> pairedDeleted = new HashSet<>();
+        final Set<Integer> pairedAdded = new HashSet<>();
+        final ImmutableList.Builder<Match> builder = ImmutableList.builder();
+        for (final Match candidate : candidates) {
+            if (!pairedDeleted.contains(candidate.getDeletedIndex()) && !pairedAdded.contains(candidate.getAddedIndex())) {
+                pairedDeleted.add(candidate.getDeletedIndex());
+                pairedAdded.add(candidate.getAddedIndex());
+                builder.add(candidate);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Computes the Jaccard similarity of two sets, the size of their intersection over the size of their union
+     */
+    static double jaccard(final Set<String> first, final Set<String> second) {
+        final int intersection = Sets.intersection(first, second).size();
+        final int union = first.size() + second.size() - intersection;
+        return union == 0 ? 0.0 : (double) intersection / union;
+    }
+}
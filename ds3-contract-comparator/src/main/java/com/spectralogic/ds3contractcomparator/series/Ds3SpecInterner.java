@@ -0,0 +1,65 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.series;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
+
+/**
+ * Shares identical requests and types between versions of a {@link Ds3ApiSpec}. Each spec is
+ * rebuilt so that every request or type which is equal to one within a previously interned spec
+ * is replaced by that earlier instance. When each spec is interned as soon as it is parsed, the
+ * parsed duplicates can be collected, and the memory held by a series of specs grows with the
+ * number of requests and types which changed rather than with the number of versions. Interned
+ * instances are held weakly, and are released once no interned spec refers to them.
+ * Interning is thread safe, so specs may be interned concurrently.
+ */
+public class Ds3SpecInterner {
+
+    private final Interner<Ds3Request> requests = Interners.newWeakInterner();
+    private final Interner<Ds3Type> types = Interners.newWeakInterner();
+
+    /**
+     * Creates a copy of the spec which shares all previously seen requests and types
+     */
+    public Ds3ApiSpec intern(final Ds3ApiSpec spec) {
+        return new Ds3ApiSpec(internRequests(spec.getRequests()), internTypes(spec.getTypes()));
+    }
+
+    private ImmutableList<Ds3Request> internRequests(final ImmutableList<Ds3Request> specRequests) {
+        if (specRequests == null) {
+            return null;
+        }
+        return specRequests.stream()
+                .map(requests::intern)
+                .collect(GuavaCollectors.immutableList());
+    }
+
+    private ImmutableMap<String, Ds3Type> internTypes(final ImmutableMap<String, Ds3Type> specTypes) {
+        if (specTypes == null) {
+            return null;
+        }
+        final ImmutableMap.Builder<String, Ds3Type> builder = ImmutableMap.builder();
+        specTypes.forEach((name, type) -> builder.put(name, types.intern(type)));
+        return builder.build();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.series;
+
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
+import com.spectralogic.ds3contractcomparator.ComparatorOptions;
+import com.spectralogic.ds3contractcomparator.Ds3ApiSpecComparator;
+import com.spectralogic.ds3contractcomparator.Ds3ApiSpecComparatorImpl;
+import com.spectralogic.ds3contractcomparator.Ds3ApiSpecDiffCollector;
+import com.spectralogic.ds3contractcomparator.Ds3SpecDiffSink;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static com.spectralogic.ds3contractcomparator.utils.ConcurrencyUtils.joinPartitions;
+import static com.spectralogic.ds3contractcomparator.utils.ConcurrencyUtils.submitPartitions;
+
+/**
+ * Compares an ordered series of contract versions, producing the diff between each pair of
+ * adjacent versions and the cumulative diff between the first and last versions. When an
+ * executor is configured, each pair is compared as a separate task on that executor. The
+ * comparison of a single pair runs on one thread, so the executor is never blocked waiting
+ * on its own tasks. All pairs share a single {@link Ds3ApiSpecComparatorImpl}, so each spec
+ * is fingerprinted only once although it participates in up to three comparisons.
+ * For memory to grow with the number of changes rather than the number of versions, the
+ * specs should be interned with a shared {@link Ds3SpecInterner} as they are loaded.
+ */
+public class Ds3SpecSeriesComparator {
+
+    private final Ds3ApiSpecComparator comparator;
+    @Nullable
+    private final ExecutorService executor;
+
+    public Ds3SpecSeriesComparator() {
+        this(ComparatorOptions.builder().build());
+    }
+
+    /**
+     * @param options the options of each pairwise comparison, and the executor on which pairs are compared
+     */
+    public Ds3SpecSeriesComparator(final ComparatorOptions options) {
+        this.executor = options.getExecutor();
+        this.comparator = new Ds3ApiSpecComparatorImpl(options.toBuilder()
+                .withExecutor(null)
+                .withParallelism(1)
+                .build());
+    }
+
+    /**
+     * Compares each pair of adjacent versions, and the first and last versions
+     * @throws IllegalArgumentException if the series contains fewer than two versions
+     */
+    public Ds3SpecSeriesDiff compare(final ImmutableList<Ds3SpecVersion> versions) {
+        final ImmutableList<Ds3SpecVersionDiff> diffs = forEachPair(toPairs(versions), pair -> {
+            final Ds3ApiSpecDiffCollector collector = new Ds3ApiSpecDiffCollector();
+            comparator.compare(pair.getOldVersion().getSpec(), pair.getNewVersion().getSpec(), collector);
+            return new Ds3SpecVersionDiff(pair.getOldVersion().getName(), pair.getNewVersion().getName(), collector.toDs3ApiSpecDiff());
+        });
+        final int adjacentCount = versions.size() - 1;
+        return new Ds3SpecSeriesDiff(diffs.subList(0, adjacentCount), diffs.get(diffs.size() - 1));
+    }
+
+    /**
+     * Compares each pair of adjacent versions, and the first and last versions, passing the diffs
+     * of each pair to the sink created for that pair by {@code sinkFactory}. Each sink is used by a
+     * single thread, but sinks of different pairs may be used concurrently. When the series contains
+     * only two versions, the cumulative diff is the adjacent diff and no additional sink is created.
+     * @throws IllegalArgumentException if the series contains fewer than two versions
+     */
+    public void compare(
+            final ImmutableList<Ds3SpecVersion> versions,
+            final BiFunction<Ds3SpecVersion, Ds3SpecVersion, Ds3SpecDiffSink> sinkFactory) {
+        forEachPair(toPairs(versions), pair -> {
+            comparator.compare(
+                    pair.getOldVersion().getSpec(),
+                    pair.getNewVersion().getSpec(),
+                    sinkFactory.apply(pair.getOldVersion(), pair.getNewVersion()));
+            return pair;
+        });
+    }
+
+    /**
+     * Creates the pairs of adjacent versions, followed by the pair of the first and last versions
+     * if it is not already an adjacent pair
+     */
+    static ImmutableList<VersionPair> toPairs(final ImmutableList<Ds3SpecVersion> versions) {
+        if (versions.size() < 2) {
+            throw new IllegalArgumentException("A series must contain at least two versions, but contained: " + versions.size());
+        }
+        final ImmutableList.Builder<VersionPair> builder = ImmutableList.builder();
+        for (int i = 1; i < versions.size(); i++) {
+            builder.add(new VersionPair(versions.get(i - 1), versions.get(i)));
+        }
+        if (versions.size() > 2) {
+            builder.add(new VersionPair(versions.get(0), versions.get(versions.size() - 1)));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Applies the function to each pair, concurrently if an executor is configured,
+     * and returns the results in the order of the pairs
+     */
+    private <R> ImmutableList<R> forEachPair(final ImmutableList<VersionPair> pairs, final Function<VersionPair, R> function) {
+        if (executor == null) {
+            return pairs.stream()
+                    .map(function)
+                    .collect(GuavaCollectors.immutableList());
+        }
+        return joinPartitions(submitPartitions(executor, pairs, pairs.size(), function));
+    }
+
+    /**
+     * Two versions of the series which are compared with each other
+     */
+    static final class VersionPair {
+        private final Ds3SpecVersion oldVersion;
+        private final Ds3SpecVersion newVersion;
+
+        private VersionPair(final Ds3SpecVersion oldVersion, final Ds3SpecVersion newVersion) {
+            this.oldVersion = oldVersion;
+            this.newVersion = newVersion;
+        }
+
+        Ds3SpecVersion getOldVersion() {
+            return oldVersion;
+        }
+
+        Ds3SpecVersion getNewVersion() {
+            return newVersion;
+        }
+    }
+}
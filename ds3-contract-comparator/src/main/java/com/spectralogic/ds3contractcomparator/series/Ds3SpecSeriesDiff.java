@@ -0,0 +1,48 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.series;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The differences within an ordered series of contract versions: the diff between each
+ * pair of adjacent versions, and the cumulative diff between the first and last versions
+ */
+public class Ds3SpecSeriesDiff {
+
+    private final ImmutableList<Ds3SpecVersionDiff> adjacentDiffs;
+    private final Ds3SpecVersionDiff cumulativeDiff;
+
+    public Ds3SpecSeriesDiff(final ImmutableList<Ds3SpecVersionDiff> adjacentDiffs, final Ds3SpecVersionDiff cumulativeDiff) {
+        this.adjacentDiffs = adjacentDiffs;
+        this.cumulativeDiff = cumulativeDiff;
+    }
+
+    /**
+     * The diff between each pair of adjacent versions, in the order of the series
+     */
+    public ImmutableList<Ds3SpecVersionDiff> getAdjacentDiffs() {
+        return adjacentDiffs;
+    }
+
+    /**
+     * The diff between the first and last versions of the series. When the series contains
+     * only two versions, this is the same as the single adjacent diff.
+     */
+    public Ds3SpecVersionDiff getCumulativeDiff() {
+        return cumulativeDiff;
+    }
+}
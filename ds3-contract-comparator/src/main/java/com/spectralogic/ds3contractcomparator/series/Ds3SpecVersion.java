@@ -0,0 +1,40 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.series;
+
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+
+/**
+ * A {@link Ds3ApiSpec} and the name of the contract version it was loaded from
+ */
+public class Ds3SpecVersion {
+
+    private final String name;
+    private final Ds3ApiSpec spec;
+
+    public Ds3SpecVersion(final String name, final Ds3ApiSpec spec) {
+        this.name = name;
+        this.spec = spec;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Ds3ApiSpec getSpec() {
+        return spec;
+    }
+}
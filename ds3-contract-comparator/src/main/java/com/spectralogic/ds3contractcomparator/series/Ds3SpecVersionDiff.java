@@ -0,0 +1,46 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.series;
+
+import com.spectralogic.ds3contractcomparator.models.Ds3ApiSpecDiff;
+
+/**
+ * The {@link Ds3ApiSpecDiff} between two named contract versions
+ */
+public class Ds3SpecVersionDiff {
+
+    private final String oldVersion;
+    private final String newVersion;
+    private final Ds3ApiSpecDiff specDiff;
+
+    public Ds3SpecVersionDiff(final String oldVersion, final String newVersion, final Ds3ApiSpecDiff specDiff) {
+        this.oldVersion = oldVersion;
+        this.newVersion = newVersion;
+        this.specDiff = specDiff;
+    }
+
+    public String getOldVersion() {
+        return oldVersion;
+    }
+
+    public String getNewVersion() {
+        return newVersion;
+    }
+
+    public Ds3ApiSpecDiff getSpecDiff() {
+        return specDiff;
+    }
+}
@@ -0,0 +1,487 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.stream;
+
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+import com.spectralogic.ds3autogen.api.models.enums.*;
+import com.spectralogic.ds3contractcomparator.filter.Ds3SpecFilter;
+import com.spectralogic.ds3contractcomparator.loader.Ds3SpecInputs;
+import org.jetbrains.annotations.Nullable;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Reads the {@link Ds3Request}s and {@link Ds3Type}s of a contract XML file one at a time using
+ * StAX, so that only the entity being read is held in memory. Each request is read from a
+ * {@code RequestHandler} element and each type from a {@code Type} element.
+ *
+ * Entities are read as they appear within the contract. The normalization applied by the
+ * {@code Ds3SpecParser}, such as converting request handler and type names into their SDK names
+ * and removing internal requests, is not applied. Two contracts read by this reader are
+ * therefore comparable with each other, but not with a spec created by the parser.
+ *
+ * The reader only moves forward. A contract lists its request handlers before its types, so one
+ * reader reads all of the requests and then all of the types in a single pass: reading requests
+ * stops at the first type and returns null, and reading types then starts from that type. Reading
+ * a type skips any requests before it which were never read, so a reader may also be used for the
+ * types alone. Once the requests have ended at a type, a request handler found after the types
+ * fails the read, rather than being skipped. This class is not thread safe.
+ *
+ * Entities excluded by the {@link Ds3SpecFilter} are skipped while reading, without creating them.
+ * A request handler whose name or classification is excluded is skipped as soon as its start is
+ * read, and one whose http verb is excluded as soon as its {@code Request} element is read.
+ */
+public class Ds3ContractReader implements Closeable {
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private final InputStream stream;
+    private final XMLStreamReader reader;
+    private final Ds3SpecFilter filter;
+    private boolean atType;
+    private boolean requestsEnded;
+
+    @FunctionalInterface
+    private interface EntityReader<T> {
+        T read() throws XMLStreamException;
+    }
+
+    /**
+     * Creates a reader of the contract within the stream. The stream is closed when the reader is closed.
+     */
+    public Ds3ContractReader(final InputStream stream) throws IOException {
+        this(stream, Ds3SpecFilter.all());
+    }
+
+    /**
+     * Creates a reader of the entities within the stream which are included by the filter
+     */
+    public Ds3ContractReader(final InputStream stream, final Ds3SpecFilter filter) throws IOException {
+        this.stream = stream;
+        this.filter = filter;
+        try {
+            this.reader = INPUT_FACTORY.createXMLStreamReader(stream);
+        } catch (final XMLStreamException e) {
+            stream.close();
+            throw new IOException("Unable to read contract: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Opens a reader of the contract file. A compressed contract, or a
+     * contract within a zip file, is decompressed as it is read.
+     * @see Ds3SpecInputs#open(Path)
+     */
+    public static Ds3ContractReader open(final Path file) throws IOException {
+        return open(file, Ds3SpecFilter.all());
+    }
+
+    /**
+     * Opens a reader of the entities within the contract file which are included by the filter
+     * @see #open(Path)
+     */
+    public static Ds3ContractReader open(final Path file, final Ds3SpecFilter filter) throws IOException {
+        return new Ds3ContractReader(Ds3SpecInputs.open(file), filter);
+    }
+
+    /**
+     * External entities and DTDs are never resolved, since a contract does not use them
+     */
+    private static XMLInputFactory createInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * Reads the next request, or returns null if there are no more requests before the types
+     * of the contract. The reader is then positioned at the first type.
+     */
+    @Nullable
+    public Ds3Request nextRequest() throws IOException {
+        if (atType) {
+            return null;
+        }
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "RequestHandler":
+                            final Ds3Request request = readRequest();
+                            if (request != null) {
+                                return request;
+                            }
+                            break;
+                        case "Type":
+                            atType = true;
+                            requestsEnded = true;
+                            return null;
+                        default:
+                            break;
+                    }
+                }
+            }
+            requestsEnded = true;
+            return null;
+        } catch (final XMLStreamException e) {
+            throw new IOException("Unable to read contract: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the next type, or returns null if there are no more types within the contract
+     * @throws IOException if a request handler follows the types after the requests have ended
+     */
+    @Nullable
+    public Ds3Type nextType() throws IOException {
+        try {
+            if (atType) {
+                atType = false;
+                final Ds3Type type = readType();
+                if (type != null) {
+                    return type;
+                }
+            }
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "Type":
+                            final Ds3Type type = readType();
+                            if (type != null) {
+                                return type;
+                            }
+                            break;
+                        case "RequestHandler":
+                            if (requestsEnded) {
+                                throw new IOException("The request handler " + getAttribute("Name")
+                                        + " follows the types of the contract");
+                            }
+                            skipElement();
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            }
+            return null;
+        } catch (final XMLStreamException e) {
+            throw new IOException("Unable to read contract: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        } catch (final XMLStreamException e) {
+            throw new IOException("Unable to close contract reader", e);
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * Reads a request handler, or skips it and returns null if it is excluded by the filter
+     */
+    @Nullable
+    private Ds3Request readRequest() throws XMLStreamException {
+        final String name = getAttribute("Name");
+        final Classification classification = getEnum(Classification.class, "Classification");
+        if (!filter.includesRequestName(name) || !filter.includesClassification(classification)) {
+            skipElement();
+            return null;
+        }
+        HttpVerb httpVerb = null;
+        Requirement bucketRequirement = null;
+        Requirement objectRequirement = null;
+        Action action = null;
+        Resource resource = null;
+        ResourceType resourceType = null;
+        Operation operation = null;
+        boolean includeInPath = false;
+        ImmutableList<Ds3ResponseCode> responseCodes = null;
+        ImmutableList<Ds3Param> optionalQueryParams = null;
+        ImmutableList<Ds3Param> requiredQueryParams = null;
+
+        while (nextChild()) {
+            switch (reader.getLocalName()) {
+                case "Request":
+                    httpVerb = getEnum(HttpVerb.class, "HttpVerb");
+                    if (!filter.includesHttpVerb(httpVerb)) {
+                        // Skips the rest of the Request element, and then the rest of the request handler
+                        skipElement();
+                        skipElement();
+                        return null;
+                    }
+                    bucketRequirement = getEnum(Requirement.class, "BucketRequirement");
+                    objectRequirement = getEnum(Requirement.class, "ObjectRequirement");
+                    action = getEnum(Action.class, "Action");
+                    resource = getEnum(Resource.class, "Resource");
+                    resourceType = getEnum(ResourceType.class, "ResourceType");
+                    operation = getEnum(Operation.class, "Operation");
+                    includeInPath = getBoolean("IncludeIdInPath");
+                    while (nextChild()) {
+                        switch (reader.getLocalName()) {
+                            case "OptionalQueryParams":
+                                optionalQueryParams = readList("Param", this::readParam);
+                                break;
+                            case "RequiredQueryParams":
+                                requiredQueryParams = readList("Param", this::readParam);
+                                break;
+                            default:
+                                skipElement();
+                        }
+                    }
+                    break;
+                case "ResponseCodes":
+                    responseCodes = readList("ResponseCode", this::readResponseCode);
+                    break;
+                default:
+                    skipElement();
+            }
+        }
+        if (httpVerb == null && !filter.includesHttpVerb(null)) {
+            return null;
+        }
+        return new Ds3Request(
+                name,
+                httpVerb,
+                classification,
+                bucketRequirement,
+                objectRequirement,
+                action,
+                resource,
+                resourceType,
+                operation,
+                includeInPath,
+                responseCodes,
+                optionalQueryParams,
+                requiredQueryParams);
+    }
+
+    private Ds3Param readParam() throws XMLStreamException {
+        final Ds3Param param = new Ds3Param(getAttribute("Name"), getAttribute("Type"), getBoolean("Nullable"));
+        skipElement();
+        return param;
+    }
+
+    /**
+     * Reads a response code, whose response types may be listed directly or within a
+     * {@code ResponseTypes} element
+     */
+    private Ds3ResponseCode readResponseCode() throws XMLStreamException {
+        final int code = getInt("Code");
+        final ImmutableList.Builder<Ds3ResponseType> responseTypes = ImmutableList.builder();
+        while (nextChild()) {
+            switch (reader.getLocalName()) {
+                case "ResponseType":
+                    responseTypes.add(readResponseType());
+                    break;
+                case "ResponseTypes":
+                    responseTypes.addAll(readList("ResponseType", this::readResponseType));
+                    break;
+                default:
+                    skipElement();
+            }
+        }
+        return new Ds3ResponseCode(code, responseTypes.build());
+    }
+
+    private Ds3ResponseType readResponseType() throws XMLStreamException {
+        final Ds3ResponseType responseType = new Ds3ResponseType(getAttribute("Type"), getAttribute("ComponentType"));
+        skipElement();
+        return responseType;
+    }
+
+    /**
+     * Reads a type, or skips it and returns null if it is excluded by the filter
+     */
+    @Nullable
+    private Ds3Type readType() throws XMLStreamException {
+        final String name = getAttribute("Name");
+        if (!filter.includesTypeName(name)) {
+            skipElement();
+            return null;
+        }
+        final String nameToMarshal = getAttribute("NameToMarshal");
+        ImmutableList<Ds3Element> elements = null;
+        ImmutableList<Ds3EnumConstant> enumConstants = null;
+
+        while (nextChild()) {
+            switch (reader.getLocalName()) {
+                case "Elements":
+                    elements = readList("Element", this::readElement);
+                    break;
+                case "EnumConstants":
+                    enumConstants = readList("EnumConstant", this::readEnumConstant);
+                    break;
+                default:
+                    skipElement();
+            }
+        }
+        return new Ds3Type(name, nameToMarshal, elements, enumConstants);
+    }
+
+    private Ds3Element readElement() throws XMLStreamException {
+        final String name = getAttribute("Name");
+        final String type = getAttribute("Type");
+        final String componentType = getAttribute("ComponentType");
+        final boolean nullable = getBoolean("Nullable");
+        ImmutableList<Ds3Annotation> annotations = null;
+
+        while (nextChild()) {
+            if (reader.getLocalName().equals("Annotations")) {
+                annotations = readList("Annotation", this::readAnnotation);
+            } else {
+                skipElement();
+            }
+        }
+        return new Ds3Element(name, type, componentType, annotations, nullable);
+    }
+
+    private Ds3Annotation readAnnotation() throws XMLStreamException {
+        final String name = getAttribute("Name");
+        ImmutableList<Ds3AnnotationElement> annotationElements = null;
+
+        while (nextChild()) {
+            if (reader.getLocalName().equals("AnnotationElements")) {
+                annotationElements = readList("AnnotationElement", this::readAnnotationElement);
+            } else {
+                skipElement();
+            }
+        }
+        return new Ds3Annotation(name, annotationElements);
+    }
+
+    private Ds3AnnotationElement readAnnotationElement() throws XMLStreamException {
+        final Ds3AnnotationElement annotationElement = new Ds3AnnotationElement(
+                getAttribute("Name"), getAttribute("Value"), getAttribute("ValueType"));
+        skipElement();
+        return annotationElement;
+    }
+
+    private Ds3EnumConstant readEnumConstant() throws XMLStreamException {
+        final String name = getAttribute("Name");
+        ImmutableList<Ds3Property> properties = null;
+
+        while (nextChild()) {
+            if (reader.getLocalName().equals("Properties")) {
+                properties = readList("Property", this::readProperty);
+            } else {
+                skipElement();
+            }
+        }
+        return new Ds3EnumConstant(name, properties);
+    }
+
+    private Ds3Property readProperty() throws XMLStreamException {
+        final Ds3Property property = new Ds3Property(getAttribute("Name"), getAttribute("Value"), getAttribute("ValueType"));
+        skipElement();
+        return property;
+    }
+
+    /**
+     * Reads every child of the current element with the item name, skipping any other children
+     */
+    private <T> ImmutableList<T> readList(final String itemName, final EntityReader<T> itemReader) throws XMLStreamException {
+        final ImmutableList.Builder<T> builder = ImmutableList.builder();
+        while (nextChild()) {
+            if (reader.getLocalName().equals(itemName)) {
+                builder.add(itemReader.read());
+            } else {
+                skipElement();
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Advances to the start of the next child of the current element. Returns false once the end
+     * of the current element is reached. Each child must be read or skipped up to its end before
+     * this is called again.
+     */
+    private boolean nextChild() throws XMLStreamException {
+        while (true) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Advances past the end of the current element, including all of its descendants
+     */
+    private void skipElement() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    @Nullable
+    private String getAttribute(final String attributeName) {
+        return reader.getAttributeValue(null, attributeName);
+    }
+
+    private boolean getBoolean(final String attributeName) {
+        return Boolean.parseBoolean(getAttribute(attributeName));
+    }
+
+    private int getInt(final String attributeName) throws XMLStreamException {
+        final String value = getAttribute(attributeName);
+        try {
+            return Integer.parseInt(value);
+        } catch (final NumberFormatException e) {
+            throw new XMLStreamException("The " + attributeName + " attribute is not an integer: " + value, reader.getLocation(), e);
+        }
+    }
+
+    /**
+     * Retrieves an attribute whose value is the name of an enum constant, ignoring case
+     */
+    @Nullable
+    private <E extends Enum<E>> E getEnum(final Class<E> enumClass, final String attributeName) throws XMLStreamException {
+        final String value = getAttribute(attributeName);
+        if (value == null) {
+            return null;
+        }
+        for (final E constant : enumClass.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(value)) {
+                return constant;
+            }
+        }
+        throw new XMLStreamException("Unknown " + enumClass.getSimpleName() + " " + value, reader.getLocation());
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.utils;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A single entry of two lists aligned by {@link AlignmentUtils}. Either the old or the
+ * new value is null if the key exists within only one of the lists, but not both.
+ */
+public final class AlignedPair<O, N> {
+
+    @Nullable
+    private final O oldValue;
+    @Nullable
+    private final N newValue;
+
+    AlignedPair(@Nullable final O oldValue, @Nullable final N newValue) {
+        if (oldValue == null && newValue == null) {
+            throw new IllegalArgumentException("An aligned pair cannot have two null values");
+        }
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    @Nullable
+    public O getOld() {
+        return oldValue;
+    }
+
+    @Nullable
+    public N getNew() {
+        return newValue;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.utils;
+
+import com.google.common.collect.ImmutableList;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
+
+/**
+ * Utilities for aligning the entries of an old and a new list of contract entities on a unique
+ * key. Both lists are sorted by key once and then walked together in a single merge pass, so no
+ * intermediate sets or maps are created. The resulting pairs are in ascending key order. If a key
+ * occurs more than once within a list, its entries are paired in the order they appear.
+ */
+public final class AlignmentUtils {
+
+    private AlignmentUtils() {
+        //pass
+    }
+
+    /**
+     * Aligns two lists of the same entity on the key computed by {@code keyFunction}.
+     * Either list may be null. Null keys are ordered first.
+     */
+    public static <T, K extends Comparable<? super K>> ImmutableList<AlignedPair<T, T>> align(
+            @Nullable final List<T> oldList,
+            @Nullable final List<T> newList,
+            final Function<? super T, ? extends K> keyFunction) {
+        return align(oldList, keyFunction, newList, keyFunction);
+    }
+
+    /**
+     * Aligns two lists whose entries may be of different classes, using a separate key function
+     * for each list. Either list may be null. Null keys are ordered first.
+     */
+    public static <O, N, K extends Comparable<? super K>> ImmutableList<AlignedPair<O, N>> align(
+            @Nullable final List<O> oldList,
+            final Function<? super O, ? extends K> oldKeyFunction,
+            @Nullable final List<N> newList,
+            final Function<? super N, ? extends K> newKeyFunction) {
+        final Comparator<K> comparator = Comparator.nullsFirst(Comparator.<K>naturalOrder());
+        final List<Keyed<O, K>> oldEntries = sortByKey(oldList, oldKeyFunction, comparator);
+        final List<Keyed<N, K>> newEntries = sortByKey(newList, newKeyFunction, comparator);
+
+        final ImmutableList.Builder<AlignedPair<O, N>> builder = ImmutableList.builder();
+        int oldIndex = 0;
+        int newIndex = 0;
+        while (oldIndex < oldEntries.size() || newIndex < newEntries.size()) {
+            final int order;
+            if (newIndex == newEntries.size()) {
+                order = -1;
+            } else if (oldIndex == oldEntries.size()) {
+                order = 1;
+            } else {
+                order = comparator.compare(oldEntries.get(oldIndex).key, newEntries.get(newIndex).key);
+            }
+
+            if (order < 0) {
+                builder.add(new AlignedPair<>(oldEntries.get(oldIndex++).value, null));
+            } else if (order > 0) {
+                builder.add(new AlignedPair<>(null, newEntries.get(newIndex++).value));
+            } else {
+                builder.add(new AlignedPair<>(oldEntries.get(oldIndex++).value, newEntries.get(newIndex++).value));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Aligns two lists of the same entity on a primitive int key, such as a response code.
+     * The keys are sorted as primitives without boxing. Either list may be null.
+     */
+    public static <T> ImmutableList<AlignedPair<T, T>> alignByInt(
+            @Nullable final List<T> oldList,
+            @Nullable final List<T> newList,
+            final ToIntFunction<? super T> keyFunction) {
+        final long[] oldEntries = sortByIntKey(oldList, keyFunction);
+        final long[] newEntries = sortByIntKey(newList, keyFunction);
+
+        final ImmutableList.Builder<AlignedPair<T, T>> builder = ImmutableList.builder();
+        int oldIndex = 0;
+        int newIndex = 0;
+        while (oldIndex < oldEntries.length || newIndex < newEntries.length) {
+            final int order;
+            if (newIndex == newEntries.length) {
+                order = -1;
+            } else if (oldIndex == oldEntries.length) {
+                order = 1;
+            } else {
+                order = Integer.compare(toKey(oldEntries[oldIndex]), toKey(newEntries[newIndex]));
+            }
+
+            if (order < 0) {
+                builder.add(new AlignedPair<>(oldList.get(toIndex(oldEntries[oldIndex++])), null));
+            } else if (order > 0) {
+                builder.add(new AlignedPair<>(null, newList.get(toIndex(newEntries[newIndex++]))));
+            } else {
+                builder.add(new AlignedPair<>(
+                        oldList.get(toIndex(oldEntries[oldIndex++])),
+                        newList.get(toIndex(newEntries[newIndex++]))));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Computes the key of every entry once and sorts the entries by key. The sort is
+     * stable, so entries with the same key remain in their original order.
+     */
+    private static <T, K> List<Keyed<T, K>> sortByKey(
+            @Nullable final List<T> list,
+            final Function<? super T, ? extends K> keyFunction,
+            final Comparator<K> comparator) {
+        if (isEmpty(list)) {
+            return ImmutableList.of();
+        }
+        final List<Keyed<T, K>> entries = new ArrayList<>(list.size());
+        list.forEach(item -> entries.add(new Keyed<>(keyFunction.apply(item), item)));
+        entries.sort((left, right) -> comparator.compare(left.key, right.key));
+        return entries;
+    }
+
+    /**
+     * Packs the key and index of every entry into a long, with the key in the upper bits,
+     * so that sorting the longs orders the entries by key and then by original position
+     */
+    private static <T> long[] sortByIntKey(@Nullable final List<T> list, final ToIntFunction<? super T> keyFunction) {
+        if (isEmpty(list)) {
+            return new long[0];
+        }
+        final long[] entries = new long[list.size()];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = ((long) keyFunction.applyAsInt(list.get(i)) << Integer.SIZE) | i;
+        }
+        Arrays.sort(entries);
+        return entries;
+    }
+
+    private static int toKey(final long entry) {
+        return (int) (entry >> Integer.SIZE);
+    }
+
+    private static int toIndex(final long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * An entry of a list together with its precomputed key
+     */
+    private static final class Keyed<T, K> {
+
+        @Nullable
+        private final K key;
+        private final T value;
+
+        private Keyed(@Nullable final K key, final T value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
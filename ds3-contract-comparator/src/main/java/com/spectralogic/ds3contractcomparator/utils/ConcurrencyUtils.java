@@ -0,0 +1,115 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.utils;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.spectralogic.ds3contractcomparator.exceptions.ComparisonException;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Utilities for splitting work across an {@link ExecutorService} while
+ * preserving the order of the original input.
+ */
+public final class ConcurrencyUtils {
+
+    private ConcurrencyUtils() {
+        //pass
+    }
+
+    /**
+     * Splits {@code items} into at most {@code partitions} contiguous partitions and submits
+     * a task per partition which applies {@code function} to every item within that partition.
+     * The returned futures are in the same order as the partitions, so joining them in order
+     * reproduces the order of {@code items}.
+     */
+    public static <T, R> ImmutableList<Future<ImmutableList<R>>> submitPartitions(
+            final ExecutorService executor,
+            final ImmutableList<T> items,
+            final int partitions,
+            final Function<T, R> function) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("The number of partitions must be positive, but was: " + partitions);
+        }
+        if (items.isEmpty()) {
+            return ImmutableList.of();
+        }
+        final int partitionSize = (items.size() + partitions - 1) / partitions;
+        final ImmutableList.Builder<Future<ImmutableList<R>>> builder = ImmutableList.builder();
+        for (final List<T> partition : Lists.partition(items, partitionSize)) {
+            builder.add(executor.submit(() -> applyToAll(partition, function)));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Applies {@code function} to every item within {@code items} on the calling thread
+     */
+    private static <T, R> ImmutableList<R> applyToAll(final List<T> items, final Function<T, R> function) {
+        final ImmutableList.Builder<R> builder = ImmutableList.builder();
+        items.forEach(item -> builder.add(function.apply(item)));
+        return builder.build();
+    }
+
+    /**
+     * Waits for all partition results and concatenates them in order. If any partition
+     * failed, all remaining partitions are cancelled. Unchecked exceptions thrown within
+     * a partition are re-thrown as is, all other failures are wrapped in a {@link ComparisonException}.
+     */
+    public static <R> ImmutableList<R> joinPartitions(final ImmutableList<Future<ImmutableList<R>>> futures) {
+        final ImmutableList.Builder<R> builder = ImmutableList.builder();
+        joinPartitions(futures, builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Waits for each partition result in order and passes its items to {@code consumer} as soon
+     * as that partition completes, so earlier results are consumed while later partitions are
+     * still running. Failures are handled in the same manner as {@link #joinPartitions(ImmutableList)}.
+     */
+    public static <R> void joinPartitions(
+            final ImmutableList<Future<ImmutableList<R>>> futures,
+            final Consumer<? super R> consumer) {
+        try {
+            for (final Future<ImmutableList<R>> future : futures) {
+                future.get().forEach(consumer);
+            }
+        } catch (final InterruptedException e) {
+            cancelAll(futures);
+            Thread.currentThread().interrupt();
+            throw new ComparisonException("Interrupted while waiting for comparison to complete", e);
+        } catch (final ExecutionException e) {
+            cancelAll(futures);
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ComparisonException("Comparison task failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Cancels all futures which have not yet completed
+     */
+    private static void cancelAll(final ImmutableList<? extends Future<?>> futures) {
+        futures.forEach(future -> future.cancel(true));
+    }
+}
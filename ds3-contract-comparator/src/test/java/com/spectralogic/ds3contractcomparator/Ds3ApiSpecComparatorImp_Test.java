@@ -15,32 +15,68 @@
 
 package com.spectralogic.ds3contractcomparator;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Annotation;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Element;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ResponseCode;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ResponseType;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3autogen.api.models.enums.HttpVerb;
 import com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures;
+import com.spectralogic.ds3contractcomparator.baseline.Ds3BaselineIndex;
+import com.spectralogic.ds3contractcomparator.baseline.Ds3BaselineIndexWriter;
+import com.spectralogic.ds3contractcomparator.breaking.BreakingChangeSummary;
+import com.spectralogic.ds3contractcomparator.breaking.Severity;
+import com.spectralogic.ds3contractcomparator.filter.Ds3SpecFilter;
+import com.spectralogic.ds3contractcomparator.ignore.Ds3IgnoreProfile;
 import com.spectralogic.ds3contractcomparator.models.Ds3ApiSpecDiff;
+import com.spectralogic.ds3contractcomparator.models.Ds3DiffSummary;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityDelta;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityKind;
 import com.spectralogic.ds3contractcomparator.models.request.AbstractDs3RequestDiff;
 import com.spectralogic.ds3contractcomparator.models.request.AddedDs3RequestDiff;
 import com.spectralogic.ds3contractcomparator.models.request.DeletedDs3RequestDiff;
 import com.spectralogic.ds3contractcomparator.models.request.NoChangeDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.request.RenamedDs3RequestDiff;
 import com.spectralogic.ds3contractcomparator.models.type.AbstractDs3TypeDiff;
 import com.spectralogic.ds3contractcomparator.models.type.AddedDs3TypeDiff;
 import com.spectralogic.ds3contractcomparator.models.type.DeletedDs3TypeDiff;
 import com.spectralogic.ds3contractcomparator.models.type.NoChangeDs3TypeDiff;
+import com.spectralogic.ds3contractcomparator.models.type.RenamedDs3TypeDiff;
+import com.spectralogic.ds3contractcomparator.utils.AlignedPair;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
 import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.*;
 import static com.spectralogic.ds3contractcomparator.Ds3ApiSpecComparatorImpl.compareDs3Requests;
 import static com.spectralogic.ds3contractcomparator.Ds3ApiSpecComparatorImpl.compareDs3Types;
-import static com.spectralogic.ds3contractcomparator.Ds3ApiSpecComparatorImpl.getTypeNameUnion;
+import static com.spectralogic.ds3contractcomparator.Ds3ApiSpecComparatorImpl.compareInParallel;
+import static com.spectralogic.ds3contractcomparator.Ds3ApiSpecComparatorImpl.alignRequests;
+import static com.spectralogic.ds3contractcomparator.Ds3ApiSpecComparatorImpl.alignTypes;
+import static com.spectralogic.ds3contractcomparator.Ds3ApiSpecComparatorImpl.streamDs3Requests;
+import static com.spectralogic.ds3contractcomparator.Ds3ApiSpecComparatorImpl.streamDs3Types;
 import static com.spectralogic.ds3contractcomparator.utils.TestDataFixture.createSimpleTestType;
+import static com.spectralogic.ds3contractcomparator.utils.TestDataFixture.createTestTypeElement;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.assertThat;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class Ds3ApiSpecComparatorImp_Test {
 
@@ -61,54 +97,29 @@ public class Ds3ApiSpecComparatorImp_Test {
     }
 
     @Test
-    public void toRequestMap_NullList_Test() {
-        final ImmutableMap<String, Ds3Request> result = Ds3ApiSpecComparatorImpl.toRequestMap(null);
-        assertThat(result, is(notNullValue()));
-        assertThat(result.size(), is(0));
-    }
-
-    @Test
-    public void toRequestMap_EmptyList_Test() {
-        final ImmutableMap<String, Ds3Request> result = Ds3ApiSpecComparatorImpl.toRequestMap(ImmutableList.of());
-        assertThat(result, is(notNullValue()));
-        assertThat(result.size(), is(0));
-    }
-
-    @Test
-    public void toRequestMap_FullList_Test() {
-        final ImmutableList<Ds3Request> requests = getTestRequests();
-        final ImmutableMap<String, Ds3Request> result = Ds3ApiSpecComparatorImpl.toRequestMap(requests);
-        assertThat(result, is(notNullValue()));
-        assertThat(result.size(), is(requests.size()));
-        requests.forEach(request -> assertTrue(result.containsKey(request.getName())));
-    }
-
-    @Test
-    public void getRequestNameUnion_NullLists_Test() {
-        final ImmutableSet<String> result = Ds3ApiSpecComparatorImpl.getRequestNameUnion(null, null);
-        assertThat(result, is(notNullValue()));
-        assertThat(result.size(), is(0));
-    }
-
-    @Test
-    public void getRequestNameUnion_EmptyLists_Test() {
-        final ImmutableSet<String> result = Ds3ApiSpecComparatorImpl.getRequestNameUnion(ImmutableList.of(), ImmutableList.of());
+    public void alignRequests_NullLists_Test() {
+        final ImmutableList<AlignedPair<Ds3Request, Ds3Request>> result = alignRequests(null, null);
         assertThat(result, is(notNullValue()));
         assertThat(result.size(), is(0));
     }
 
     @Test
-    public void getRequestNameUnion_FullLists_Test() {
+    public void alignRequests_FullLists_Test() {
         final ImmutableList<Ds3Request> oldRequests = getTestRequests();
         final ImmutableList<Ds3Request> newRequests = ImmutableList.of(
                 getBucketRequest(),
                 Ds3ModelFixtures.createBucketRequest());
 
-        final ImmutableSet<String> result = Ds3ApiSpecComparatorImpl.getRequestNameUnion(oldRequests, newRequests);
-        assertThat(result, is(notNullValue()));
+        final ImmutableList<AlignedPair<Ds3Request, Ds3Request>> result = alignRequests(oldRequests, newRequests);
         assertThat(result.size(), is(3));
-        oldRequests.forEach(request -> assertTrue(result.contains(request.getName())));
-        newRequests.forEach(request -> assertTrue(result.contains(request.getName())));
+
+        //Requests are aligned in ascending name order
+        assertThat(result.get(0).getOld(), is(getBucketRequest()));
+        assertThat(result.get(0).getNew(), is(getBucketRequest()));
+        assertThat(result.get(1).getOld(), is(nullValue()));
+        assertThat(result.get(1).getNew(), is(Ds3ModelFixtures.createBucketRequest()));
+        assertThat(result.get(2).getOld(), is(deleteBucketRequest()));
+        assertThat(result.get(2).getNew(), is(nullValue()));
     }
 
     @Test
@@ -147,52 +158,34 @@ public class Ds3ApiSpecComparatorImp_Test {
         final ImmutableList<AbstractDs3RequestDiff> result = compareDs3Requests(requests1, requests2);
         assertThat(result.size(), is(3));
 
-        assertThat(result.get(0), instanceOf(NoChangeDs3RequestDiff.class));
-        assertThat(result.get(0).getNewDs3Request().getName(), is("com.spectralogic.s3.server.handler.reqhandler.amazons3.bucket.GetBucketRequestHandler"));
-        assertThat(result.get(1), instanceOf(DeletedDs3RequestDiff.class));
-        assertThat(result.get(1).getOldDs3Request().getName(), is("com.spectralogic.s3.server.handler.reqhandler.spectrads3.bucket.DeleteBucketRequestHandler"));
-        assertThat(result.get(2), instanceOf(AddedDs3RequestDiff.class));
-        assertThat(result.get(2).getNewDs3Request().getName(), is("com.spectralogic.s3.server.handler.reqhandler.amazons3.HeadBucketRequestHandler"));
+        //Diffs are in ascending name order
+        assertThat(result.get(0), instanceOf(AddedDs3RequestDiff.class));
+        assertThat(result.get(0).getNewDs3Request().getName(), is("com.spectralogic.s3.server.handler.reqhandler.amazons3.HeadBucketRequestHandler"));
+        assertThat(result.get(1), instanceOf(NoChangeDs3RequestDiff.class));
+        assertThat(result.get(1).getNewDs3Request().getName(), is("com.spectralogic.s3.server.handler.reqhandler.amazons3.bucket.GetBucketRequestHandler"));
+        assertThat(result.get(2), instanceOf(DeletedDs3RequestDiff.class));
+        assertThat(result.get(2).getOldDs3Request().getName(), is("com.spectralogic.s3.server.handler.reqhandler.spectrads3.bucket.DeleteBucketRequestHandler"));
     }
 
     @Test
-    public void getTypeNameUnion_NullMaps_Test() {
-        final ImmutableSet<String> result = getTypeNameUnion(null, null);
+    public void alignTypes_NullMaps_Test() {
+        final ImmutableList<AlignedPair<Ds3Type, Ds3Type>> result = alignTypes(null, null);
         assertThat(result, is(notNullValue()));
         assertThat(result.size(), is(0));
     }
 
     @Test
-    public void getTypeNameUnion_EmptyMaps_Test() {
-        final ImmutableSet<String> result = getTypeNameUnion(ImmutableMap.of(), ImmutableMap.of());
-        assertThat(result, is(notNullValue()));
-        assertThat(result.size(), is(0));
-    }
-
-    @Test
-    public void getTypeNameUnion_FullMapsNoDiffs_Test() {
-        final ImmutableMap<String, Ds3Type> types = getTestTypes();
-
-        final ImmutableSet<String> result = getTypeNameUnion(types, types);
-        assertThat(result, is(notNullValue()));
-        assertThat(result.size(), is(types.size()));
-
-        types.keySet().forEach(name -> assertTrue(result.contains(name)));
-    }
-
-    @Test
-    public void getTypeNameUnion_FullMapsWithDiffs_Test() {
+    public void alignTypes_FullMapsWithDiffs_Test() {
         final ImmutableMap<String, Ds3Type> oldTypes = getTestTypes();
 
         final Ds3Type type = createSimpleTestType("com.test.NameUnionTestType", "");
         final ImmutableMap<String, Ds3Type> newTypes = ImmutableMap.of(type.getName(), type);
 
-        final ImmutableSet<String> result = getTypeNameUnion(oldTypes, newTypes);
-        assertThat(result, is(notNullValue()));
+        final ImmutableList<AlignedPair<Ds3Type, Ds3Type>> result = alignTypes(oldTypes, newTypes);
         assertThat(result.size(), is(3));
-
-        oldTypes.keySet().forEach(name -> assertTrue(result.contains(name)));
-        newTypes.keySet().forEach(name -> assertTrue(result.contains(name)));
+        assertThat(result.get(0).getOld(), is(oldTypes.get("TypeOne")));
+        assertThat(result.get(1).getOld(), is(oldTypes.get("TypeTwo")));
+        assertThat(result.get(2).getNew(), is(type));
     }
 
     @Test
@@ -236,10 +229,10 @@ public class Ds3ApiSpecComparatorImp_Test {
         assertThat(result.size(), is(3));
         assertThat(result.get(0), instanceOf(NoChangeDs3TypeDiff.class));
         assertThat(result.get(0).getNewDs3Type().getName(), is("TypeOne"));
-        assertThat(result.get(1), instanceOf(DeletedDs3TypeDiff.class));
-        assertThat(result.get(1).getOldDs3Type().getName(), is("TypeTwo"));
-        assertThat(result.get(2), instanceOf(AddedDs3TypeDiff.class));
-        assertThat(result.get(2).getNewDs3Type().getName(), is("TypeThree"));
+        assertThat(result.get(1), instanceOf(AddedDs3TypeDiff.class));
+        assertThat(result.get(1).getNewDs3Type().getName(), is("TypeThree"));
+        assertThat(result.get(2), instanceOf(DeletedDs3TypeDiff.class));
+        assertThat(result.get(2).getOldDs3Type().getName(), is("TypeTwo"));
     }
 
     @Test
@@ -274,4 +267,734 @@ public class Ds3ApiSpecComparatorImp_Test {
         result.getRequests().forEach(request -> assertThat(request, instanceOf(NoChangeDs3RequestDiff.class)));
         result.getTypes().forEach(type -> assertThat(type, instanceOf(NoChangeDs3TypeDiff.class)));
     }
+
+    private static ImmutableMap<String, Ds3Type> getManyTestTypes(final int count, final String nameToMarshal) {
+        final ImmutableMap.Builder<String, Ds3Type> builder = ImmutableMap.builder();
+        for (int i = 0; i < count; i++) {
+            final Ds3Type type = createSimpleTestType("com.test.Type" + i, i % 3 == 0 ? nameToMarshal : "");
+            builder.put(type.getName(), type);
+        }
+        return builder.build();
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void constructor_InvalidParallelism_Test() {
+        new Ds3ApiSpecComparatorImpl(0);
+    }
+
+    @Test
+    public void compareInParallel_EmptySpec_Test() {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Ds3ApiSpecDiff result = compareInParallel(
+                    new Ds3ApiSpec(null, null),
+                    new Ds3ApiSpec(ImmutableList.of(), ImmutableMap.of()),
+                    executor,
+                    4);
+
+            assertThat(result.getRequests().size(), is(0));
+            assertThat(result.getTypes().size(), is(0));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void compareInParallel_SameOrderAsSequential_Test() {
+        final Ds3ApiSpec oldSpec = new Ds3ApiSpec(getTestRequests(), getManyTestTypes(100, "Old"));
+        final Ds3ApiSpec newSpec = new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest(), getHeadBucketRequest()),
+                getManyTestTypes(103, "New"));
+
+        final Ds3ApiSpecDiff expected = comparator.compare(oldSpec, newSpec);
+
+        //A single thread with many partitions verifies the partitions are not waiting on each other
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Ds3ApiSpecDiff result = new Ds3ApiSpecComparatorImpl(executor, 7).compare(oldSpec, newSpec);
+
+            assertThat(result.getRequests().size(), is(expected.getRequests().size()));
+            for (int i = 0; i < expected.getRequests().size(); i++) {
+                assertThat(result.getRequests().get(i), instanceOf(expected.getRequests().get(i).getClass()));
+            }
+
+            assertThat(result.getTypes().size(), is(expected.getTypes().size()));
+            for (int i = 0; i < expected.getTypes().size(); i++) {
+                assertThat(result.getTypes().get(i), instanceOf(expected.getTypes().get(i).getClass()));
+                assertThat(result.getTypes().get(i).getNewDs3Type(), is(expected.getTypes().get(i).getNewDs3Type()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void compare_ForkJoinParallelism_Test() {
+        try (final Ds3ApiSpecComparatorImpl parallelComparator = new Ds3ApiSpecComparatorImpl(4)) {
+            final Ds3ApiSpecDiff result = parallelComparator.compare(
+                    new Ds3ApiSpec(getTestRequests(), getManyTestTypes(50, "")),
+                    new Ds3ApiSpec(getTestRequests(), getManyTestTypes(50, "")));
+
+            assertThat(result.getRequests().size(), is(2));
+            assertThat(result.getTypes().size(), is(50));
+            result.getRequests().forEach(request -> assertThat(request, instanceOf(NoChangeDs3RequestDiff.class)));
+            result.getTypes().forEach(type -> assertThat(type, instanceOf(NoChangeDs3TypeDiff.class)));
+        }
+    }
+
+    @Test
+    public void options_ParallelismWithoutExecutor_Test() {
+        final ComparatorOptions options = ComparatorOptions.builder().withParallelism(4).build();
+        assertThat(options.getExecutor(), is(nullValue()));
+    }
+
+    @Test
+    public void close_ShutsDownOwnedPool_Test() {
+        final Ds3ApiSpecComparatorImpl parallelComparator = new Ds3ApiSpecComparatorImpl(4);
+        parallelComparator.close();
+        try {
+            parallelComparator.compare(
+                    new Ds3ApiSpec(getTestRequests(), getManyTestTypes(50, "")),
+                    new Ds3ApiSpec(getTestRequests(), getManyTestTypes(50, "Changed")));
+            fail("Expected a closed comparator to reject parallel comparisons");
+        } catch (final RuntimeException e) {
+            assertThat(Throwables.getRootCause(e), instanceOf(RejectedExecutionException.class));
+        }
+    }
+
+    @Test
+    public void close_KeepsSpecifiedExecutor_Test() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            new Ds3ApiSpecComparatorImpl(executor, 4).close();
+            assertThat(executor.isShutdown(), is(false));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Records the order in which diffs are received by a {@link Ds3SpecDiffSink}
+     */
+    private static class RecordingSink implements Ds3SpecDiffSink {
+        private final List<Object> received = new ArrayList<>();
+        private Ds3DiffSummary summary;
+        private int completeCount = 0;
+
+        @Override
+        public void acceptRequestDiff(final AbstractDs3RequestDiff requestDiff) {
+            assertThat(completeCount, is(0));
+            received.add(requestDiff);
+        }
+
+        @Override
+        public void acceptTypeDiff(final AbstractDs3TypeDiff typeDiff) {
+            assertThat(completeCount, is(0));
+            received.add(typeDiff);
+        }
+
+        @Override
+        public void acceptSummary(final Ds3DiffSummary summary) {
+            assertThat(completeCount, is(0));
+            this.summary = summary;
+        }
+
+        @Override
+        public void complete() {
+            completeCount++;
+        }
+    }
+
+    private static void assertSameOrder(final RecordingSink sink, final Ds3ApiSpecDiff expected) {
+        assertThat(sink.completeCount, is(1));
+        assertThat(sink.received.size(), is(expected.getRequests().size() + expected.getTypes().size()));
+        for (int i = 0; i < expected.getRequests().size(); i++) {
+            final AbstractDs3RequestDiff request = (AbstractDs3RequestDiff) sink.received.get(i);
+            assertThat(request, instanceOf(expected.getRequests().get(i).getClass()));
+            assertThat(request.getDelta().getKey(), is(expected.getRequests().get(i).getDelta().getKey()));
+        }
+        for (int i = 0; i < expected.getTypes().size(); i++) {
+            final AbstractDs3TypeDiff type = (AbstractDs3TypeDiff) sink.received.get(expected.getRequests().size() + i);
+            assertThat(type, instanceOf(expected.getTypes().get(i).getClass()));
+            assertThat(type.getDelta().getKey(), is(expected.getTypes().get(i).getDelta().getKey()));
+        }
+    }
+
+    @Test
+    public void compare_Sink_Test() {
+        final Ds3ApiSpec oldSpec = new Ds3ApiSpec(getTestRequests(), getManyTestTypes(20, "Old"));
+        final Ds3ApiSpec newSpec = new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest(), getHeadBucketRequest()),
+                getManyTestTypes(23, "New"));
+
+        final RecordingSink sink = new RecordingSink();
+        comparator.compare(oldSpec, newSpec, sink);
+
+        assertSameOrder(sink, comparator.compare(oldSpec, newSpec));
+    }
+
+    @Test
+    public void compare_SinkInParallel_Test() {
+        final Ds3ApiSpec oldSpec = new Ds3ApiSpec(getTestRequests(), getManyTestTypes(20, "Old"));
+        final Ds3ApiSpec newSpec = new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest(), getHeadBucketRequest()),
+                getManyTestTypes(23, "New"));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final RecordingSink sink = new RecordingSink();
+            new Ds3ApiSpecComparatorImpl(executor, 5).compare(oldSpec, newSpec, sink);
+
+            assertSameOrder(sink, comparator.compare(oldSpec, newSpec));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void compare_DefaultSink_Test() {
+        final Ds3ApiSpecComparator defaultComparator = comparator::compare;
+        final Ds3ApiSpec oldSpec = new Ds3ApiSpec(getTestRequests(), getManyTestTypes(5, "Old"));
+        final Ds3ApiSpec newSpec = new Ds3ApiSpec(getTestRequests(), getManyTestTypes(6, "New"));
+
+        final RecordingSink sink = new RecordingSink();
+        defaultComparator.compare(oldSpec, newSpec, sink);
+
+        assertSameOrder(sink, comparator.compare(oldSpec, newSpec));
+    }
+
+    @Test
+    public void streamDs3Requests_Lazy_Test() {
+        final AtomicInteger comparisons = new AtomicInteger();
+        final Ds3RequestComparator countingComparator = (oldRequest, newRequest) -> {
+            comparisons.incrementAndGet();
+            return new Ds3RequestComparatorImpl().compare(oldRequest, newRequest);
+        };
+
+        final Stream<AbstractDs3RequestDiff> result = streamDs3Requests(
+                getTestRequests(),
+                ImmutableList.of(getBucketRequest(), getHeadBucketRequest()),
+                countingComparator);
+        assertThat(comparisons.get(), is(0));
+
+        final Iterator<AbstractDs3RequestDiff> iterator = result.iterator();
+        assertThat(iterator.next(), instanceOf(AddedDs3RequestDiff.class));
+        assertThat(comparisons.get(), is(1));
+        assertThat(iterator.next(), instanceOf(NoChangeDs3RequestDiff.class));
+        assertThat(iterator.next(), instanceOf(DeletedDs3RequestDiff.class));
+        assertThat(iterator.hasNext(), is(false));
+        assertThat(comparisons.get(), is(3));
+    }
+
+    @Test
+    public void streamDs3Types_NullMaps_Test() {
+        final long result = streamDs3Types(null, null, new Ds3TypeComparatorImpl()).count();
+        assertThat(result, is(0L));
+    }
+
+    private static ComparatorOptions.Builder changesOnlyOptions() {
+        return ComparatorOptions.builder()
+                .withParallelism(1)
+                .withChangesOnly(true);
+    }
+
+    private static void assertChangesOnly(final RecordingSink sink) {
+        assertThat(sink.completeCount, is(1));
+        sink.received.forEach(diff -> {
+            assertThat(diff, not(instanceOf(NoChangeDs3RequestDiff.class)));
+            assertThat(diff, not(instanceOf(NoChangeDs3TypeDiff.class)));
+        });
+
+        //getBucketRequest is unchanged, deleteBucketRequest is deleted, and getHeadBucketRequest is added
+        assertThat(sink.summary.getRequestCount(DiffStatus.NO_CHANGE), is(1));
+        assertThat(sink.summary.getRequestCount(DiffStatus.DELETED), is(1));
+        assertThat(sink.summary.getRequestCount(DiffStatus.ADDED), is(1));
+        assertThat(sink.summary.getRequestTotal(), is(3));
+
+        //Types 0 through 19 exist in both specs, and every third type has a modified nameToMarshal
+        assertThat(sink.summary.getTypeCount(DiffStatus.NO_CHANGE), is(13));
+        assertThat(sink.summary.getTypeCount(DiffStatus.MODIFIED), is(7));
+        assertThat(sink.summary.getTypeCount(DiffStatus.ADDED), is(3));
+        assertThat(sink.summary.getTypeTotal(), is(23));
+    }
+
+    @Test
+    public void compare_ChangesOnly_Test() {
+        final Ds3ApiSpec oldSpec = new Ds3ApiSpec(getTestRequests(), getManyTestTypes(20, "Old"));
+        final Ds3ApiSpec newSpec = new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest(), getHeadBucketRequest()),
+                getManyTestTypes(23, "New"));
+
+        final RecordingSink sink = new RecordingSink();
+        new Ds3ApiSpecComparatorImpl(changesOnlyOptions().build()).compare(oldSpec, newSpec, sink);
+
+        assertChangesOnly(sink);
+        assertThat(sink.received.size(), is(2 + 10));
+    }
+
+    @Test
+    public void compare_ChangesOnlyInParallel_Test() {
+        final Ds3ApiSpec oldSpec = new Ds3ApiSpec(getTestRequests(), getManyTestTypes(20, "Old"));
+        final Ds3ApiSpec newSpec = new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest(), getHeadBucketRequest()),
+                getManyTestTypes(23, "New"));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final RecordingSink sink = new RecordingSink();
+            new Ds3ApiSpecComparatorImpl(changesOnlyOptions()
+                    .withExecutor(executor)
+                    .withParallelism(5)
+                    .build()).compare(oldSpec, newSpec, sink);
+
+            assertChangesOnly(sink);
+            assertThat(sink.received.size(), is(2 + 10));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void compare_ChangesOnlyResultLists_Test() {
+        final Ds3ApiSpec spec = new Ds3ApiSpec(getTestRequests(), getManyTestTypes(10, ""));
+
+        final Ds3ApiSpecDiff result = new Ds3ApiSpecComparatorImpl(changesOnlyOptions().build()).compare(spec, spec);
+
+        assertThat(result.getRequests().size(), is(0));
+        assertThat(result.getTypes().size(), is(0));
+        assertThat(result.getSummary().getRequestCount(DiffStatus.NO_CHANGE), is(2));
+        assertThat(result.getSummary().getTypeCount(DiffStatus.NO_CHANGE), is(10));
+    }
+
+    @Test
+    public void compare_SummaryWithoutChangesOnly_Test() {
+        final Ds3ApiSpec oldSpec = new Ds3ApiSpec(getTestRequests(), getManyTestTypes(20, "Old"));
+        final Ds3ApiSpec newSpec = new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest(), getHeadBucketRequest()),
+                getManyTestTypes(23, "New"));
+
+        final RecordingSink sink = new RecordingSink();
+        comparator.compare(oldSpec, newSpec, sink);
+
+        assertThat(sink.received.size(), is(3 + 23));
+        assertThat(sink.summary.getRequestTotal(), is(3));
+        assertThat(sink.summary.getTypeCount(DiffStatus.NO_CHANGE), is(13));
+    }
+
+    @Test
+    public void compare_DetectRenames_Test() {
+        final Ds3Type oldType = createSimpleTestType("com.test.BucketDetails", "Bucket");
+        final Ds3Type newType = createSimpleTestType("com.test.BucketInfo", "Bucket");
+        final Ds3ApiSpec oldSpec = new Ds3ApiSpec(getTestRequests(), ImmutableMap.of(oldType.getName(), oldType));
+        final Ds3ApiSpec newSpec = new Ds3ApiSpec(getTestRequests(), ImmutableMap.of(newType.getName(), newType));
+
+        final Ds3ApiSpecDiff withoutRenames = comparator.compare(oldSpec, newSpec);
+        assertThat(withoutRenames.getTypes().size(), is(2));
+        assertThat(withoutRenames.getTypes().get(0), instanceOf(DeletedDs3TypeDiff.class));
+        assertThat(withoutRenames.getTypes().get(1), instanceOf(AddedDs3TypeDiff.class));
+
+        final Ds3ApiSpecDiff result = new Ds3ApiSpecComparatorImpl(ComparatorOptions.builder()
+                .withDetectRenames(true)
+                .withRenameThreshold(0.5)
+                .build()).compare(oldSpec, newSpec);
+
+        assertThat(result.getRequests().size(), is(2));
+        result.getRequests().forEach(request -> assertThat(request, not(instanceOf(RenamedDs3RequestDiff.class))));
+        assertThat(result.getTypes().size(), is(1));
+        assertThat(result.getTypes().get(0), instanceOf(RenamedDs3TypeDiff.class));
+        assertThat(result.getTypes().get(0).getOldDs3Type(), is(oldType));
+        assertThat(result.getTypes().get(0).getNewDs3Type(), is(newType));
+        assertThat(result.getSummary().getTypeCount(DiffStatus.RENAMED), is(1));
+        assertThat(result.getSummary().getTypeTotal(), is(1));
+    }
+
+    private static Ds3BaselineIndex toBaseline(final Ds3ApiSpec spec) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Ds3BaselineIndexWriter.write(spec, output);
+        return Ds3BaselineIndex.read(ByteBuffer.wrap(output.toByteArray()));
+    }
+
+    @Test
+    public void compare_Baseline_Test() throws IOException {
+        final Ds3ApiSpec oldSpec = new Ds3ApiSpec(getTestRequests(), getManyTestTypes(20, "Old"));
+        final Ds3ApiSpec newSpec = new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest(), getHeadBucketRequest()),
+                getManyTestTypes(23, "New"));
+
+        final Ds3ApiSpecDiff expected = comparator.compare(oldSpec, newSpec);
+        final Ds3ApiSpecDiff result = comparator.compare(toBaseline(oldSpec), newSpec);
+
+        assertThat(result.getRequests().size(), is(expected.getRequests().size()));
+        for (int i = 0; i < expected.getRequests().size(); i++) {
+            assertThat(result.getRequests().get(i).getClass(), equalTo((Object) expected.getRequests().get(i).getClass()));
+            assertThat(result.getRequests().get(i).getDelta().getKey(), is(expected.getRequests().get(i).getDelta().getKey()));
+            assertThat(result.getRequests().get(i).getDelta().getStatus(), is(expected.getRequests().get(i).getDelta().getStatus()));
+        }
+        assertThat(result.getTypes().size(), is(expected.getTypes().size()));
+        for (int i = 0; i < expected.getTypes().size(); i++) {
+            assertThat(result.getTypes().get(i).getClass(), equalTo((Object) expected.getTypes().get(i).getClass()));
+            final Ds3EntityDelta resultDelta = result.getTypes().get(i).getDelta();
+            final Ds3EntityDelta expectedDelta = expected.getTypes().get(i).getDelta();
+            assertThat(resultDelta.getKey(), is(expectedDelta.getKey()));
+            assertThat(resultDelta.getStatus(), is(expectedDelta.getStatus()));
+            assertThat(resultDelta.getValue("nameToMarshal").getOldValue(), is(expectedDelta.getValue("nameToMarshal").getOldValue()));
+            assertThat(resultDelta.getValue("nameToMarshal").getNewValue(), is(expectedDelta.getValue("nameToMarshal").getNewValue()));
+        }
+    }
+
+    @Test
+    public void compare_BaselineChangesOnly_Test() throws IOException {
+        final Ds3ApiSpec oldSpec = new Ds3ApiSpec(getTestRequests(), getManyTestTypes(20, "Old"));
+        final Ds3ApiSpec newSpec = new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest(), getHeadBucketRequest()),
+                getManyTestTypes(23, "New"));
+
+        final RecordingSink sink = new RecordingSink();
+        new Ds3ApiSpecComparatorImpl(changesOnlyOptions().withVerifyFingerprints(true).build())
+                .compare(toBaseline(oldSpec), newSpec, sink);
+
+        assertChangesOnly(sink);
+        assertThat(sink.received.size(), is(2 + 10));
+    }
+
+    private static Ds3ApiSpec getImpactTestSpec(final String nameToMarshal) {
+        final Ds3Request request = new Ds3Request("GetTestType", HttpVerb.GET, Classification.spectrads3,
+                null, null, null, null, null, null, false,
+                ImmutableList.of(new Ds3ResponseCode(200, ImmutableList.of(new Ds3ResponseType("com.test.TestType", null)))),
+                ImmutableList.of(), ImmutableList.of());
+        return new Ds3ApiSpec(
+                ImmutableList.of(request, getBucketRequest()),
+                ImmutableMap.of("com.test.TestType", createSimpleTestType("com.test.TestType", nameToMarshal)));
+    }
+
+    @Test
+    public void compare_TypeImpact_Test() {
+        final Ds3ApiSpecDiff result = comparator.compare(getImpactTestSpec("Old"), getImpactTestSpec("New"));
+        assertThat(result.getImpact().getChangedTypes().asList(), is(ImmutableList.of("com.test.TestType")));
+        assertThat(result.getImpact().getAffectedRequests("com.test.TestType").asList(), is(ImmutableList.of("GetTestType")));
+    }
+
+    @Test
+    public void compare_TypeImpactNoChange_Test() {
+        final Ds3ApiSpecDiff result = comparator.compare(getImpactTestSpec("Same"), getImpactTestSpec("Same"));
+        assertThat(result.getImpact().isEmpty(), is(true));
+    }
+
+    @Test
+    public void compare_BaselineTypeImpact_Test() throws IOException {
+        final Ds3ApiSpecDiff result = comparator.compare(toBaseline(getImpactTestSpec("Old")), getImpactTestSpec("New"));
+        assertThat(result.getImpact().getAffectedRequests().asList(), is(ImmutableList.of("GetTestType")));
+    }
+
+    @Test
+    public void compare_BreakingChanges_Test() {
+        final Ds3ApiSpec oldSpec = getImpactTestSpec("Old");
+        final Ds3ApiSpec newSpec = new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest(), getHeadBucketRequest()),
+                getImpactTestSpec("New").getTypes());
+
+        final BreakingChangeSummary result = comparator.compare(oldSpec, newSpec).getBreakingChanges();
+
+        assertThat(result.isBreaking(), is(true));
+        assertThat(result.getRequestNames(Severity.BREAKING).asList(), is(ImmutableList.of("GetTestType")));
+        assertThat(result.getRequestNames(Severity.NON_BREAKING).asList(),
+                is(ImmutableList.of(getHeadBucketRequest().getName())));
+        assertThat(result.getTypeNames(Severity.BREAKING).asList(), is(ImmutableList.of("com.test.TestType")));
+        assertThat(result.getChanges().get(0).getEntityKind(), is(Ds3EntityKind.REQUEST));
+        assertThat(result.getChanges(Severity.BREAKING).get(1).getPath(), is("nameToMarshal"));
+    }
+
+    @Test
+    public void compare_BreakingChangesInParallel_Test() {
+        final Ds3ApiSpec oldSpec = new Ds3ApiSpec(getTestRequests(), getManyTestTypes(20, "Old"));
+        final Ds3ApiSpec newSpec = new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest(), getHeadBucketRequest()),
+                getManyTestTypes(23, "New"));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final BreakingChangeSummary expected = comparator.compare(oldSpec, newSpec).getBreakingChanges();
+            final BreakingChangeSummary result = new Ds3ApiSpecComparatorImpl(changesOnlyOptions()
+                    .withExecutor(executor)
+                    .withParallelism(5)
+                    .build()).compare(oldSpec, newSpec).getBreakingChanges();
+
+            assertThat(result.getChanges().size(), is(expected.getChanges().size()));
+            for (int i = 0; i < expected.getChanges().size(); i++) {
+                assertThat(result.getChanges().get(i).toString(), is(expected.getChanges().get(i).toString()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void isCompatible_Test() {
+        assertThat(comparator.isCompatible(getImpactTestSpec("Same"), getImpactTestSpec("Same")), is(true));
+        assertThat(comparator.isCompatible(getImpactTestSpec("Old"), getImpactTestSpec("New")), is(false));
+        assertThat(comparator.checkCompatibility(getImpactTestSpec("Old"), getImpactTestSpec("New"))
+                .getBreakingChange().getEntityName(), is("com.test.TestType"));
+    }
+
+    private static void assertSameSummary(final Ds3DiffSummary result, final Ds3DiffSummary expected) {
+        for (final DiffStatus status : DiffStatus.values()) {
+            assertThat(result.getRequestCount(status), is(expected.getRequestCount(status)));
+            assertThat(result.getTypeCount(status), is(expected.getTypeCount(status)));
+        }
+        assertThat(result.getClassifications(), is(expected.getClassifications()));
+    }
+
+    @Test
+    public void compare_IdenticalRootFingerprint_Test() {
+        final Ds3ApiSpec oldSpec = new Ds3ApiSpec(getTestRequests(), getManyTestTypes(20, "Old"));
+        final Ds3ApiSpec newSpec = new Ds3ApiSpec(oldSpec.getRequests().reverse(), getManyTestTypes(20, "Old"));
+
+        final RecordingSink sink = new RecordingSink();
+        new Ds3ApiSpecComparatorImpl(changesOnlyOptions().build()).compare(oldSpec, newSpec, sink);
+
+        //Verifying fingerprints performs the full comparison
+        final RecordingSink expected = new RecordingSink();
+        new Ds3ApiSpecComparatorImpl(changesOnlyOptions().withVerifyFingerprints(true).build()).compare(oldSpec, newSpec, expected);
+
+        assertThat(sink.completeCount, is(1));
+        assertThat(sink.received.isEmpty(), is(true));
+        assertThat(sink.summary.getRequestCount(DiffStatus.NO_CHANGE), is(getTestRequests().size()));
+        assertThat(sink.summary.getTypeCount(DiffStatus.NO_CHANGE), is(20));
+        assertSameSummary(sink.summary, expected.summary);
+    }
+
+    @Test
+    public void compare_BaselineIdenticalRootFingerprint_Test() throws IOException {
+        final Ds3ApiSpec spec = new Ds3ApiSpec(getTestRequests(), getManyTestTypes(20, "Old"));
+
+        final RecordingSink sink = new RecordingSink();
+        new Ds3ApiSpecComparatorImpl(changesOnlyOptions().build()).compare(toBaseline(spec), spec, sink);
+
+        assertThat(sink.completeCount, is(1));
+        assertThat(sink.received.isEmpty(), is(true));
+        assertThat(sink.summary.getRequestCount(DiffStatus.NO_CHANGE), is(getTestRequests().size()));
+        assertThat(sink.summary.getTypeCount(DiffStatus.NO_CHANGE), is(20));
+    }
+
+    @Test
+    public void compare_IdenticalRootFingerprintAllDiffs_Test() {
+        final Ds3ApiSpec spec = new Ds3ApiSpec(getTestRequests(), getManyTestTypes(5, "Old"));
+
+        final Ds3ApiSpecDiff result = comparator.compare(spec, spec);
+
+        assertThat(result.getRequests().size(), is(getTestRequests().size()));
+        assertThat(result.getTypes().size(), is(5));
+        result.getRequests().forEach(diff -> assertThat(diff, instanceOf(NoChangeDs3RequestDiff.class)));
+    }
+
+    @Test
+    public void compareIdentical_Test() {
+        final Ds3ApiSpecDiffCollector collector = new Ds3ApiSpecDiffCollector();
+        comparator.compareIdentical(collector);
+        final Ds3ApiSpecDiff result = collector.toDs3ApiSpecDiff();
+
+        assertThat(result.getRequests().isEmpty(), is(true));
+        assertThat(result.getTypes().isEmpty(), is(true));
+        assertThat(result.getSummary().getRequestTotal(), is(0));
+        assertThat(result.getImpact().isEmpty(), is(true));
+        assertThat(result.getBreakingChanges().isBreaking(), is(false));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void options_InvalidRenameThreshold_Test() {
+        ComparatorOptions.builder().withRenameThreshold(1.5).build();
+    }
+
+    private static ComparatorOptions.Builder filterOptions() {
+        return changesOnlyOptions().withFilter(Ds3SpecFilter.builder()
+                .withClassification("amazons3")
+                .withTypeName("com.test.Type1*")
+                .build());
+    }
+
+    private static void assertFiltered(final RecordingSink sink) {
+        //deleteBucketRequest is spectrads3, getBucketRequest is unchanged and getHeadBucketRequest is added
+        assertThat(sink.summary.getRequestCount(DiffStatus.NO_CHANGE), is(1));
+        assertThat(sink.summary.getRequestCount(DiffStatus.ADDED), is(1));
+        assertThat(sink.summary.getRequestTotal(), is(2));
+
+        //Types 1 and 10 through 19 are included, of which types 12, 15 and 18 are modified
+        assertThat(sink.summary.getTypeCount(DiffStatus.NO_CHANGE), is(8));
+        assertThat(sink.summary.getTypeCount(DiffStatus.MODIFIED), is(3));
+        assertThat(sink.summary.getTypeTotal(), is(11));
+        assertThat(sink.received.size(), is(1 + 3));
+    }
+
+    @Test
+    public void compare_Filter_Test() {
+        final Ds3ApiSpec oldSpec = new Ds3ApiSpec(getTestRequests(), getManyTestTypes(20, "Old"));
+        final Ds3ApiSpec newSpec = new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest(), getHeadBucketRequest()),
+                getManyTestTypes(23, "New"));
+
+        final RecordingSink sink = new RecordingSink();
+        new Ds3ApiSpecComparatorImpl(filterOptions().build()).compare(oldSpec, newSpec, sink);
+
+        assertFiltered(sink);
+    }
+
+    @Test
+    public void compare_BaselineFilter_Test() throws IOException {
+        final Ds3ApiSpec oldSpec = new Ds3ApiSpec(getTestRequests(), getManyTestTypes(20, "Old"));
+        final Ds3ApiSpec newSpec = new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest(), getHeadBucketRequest()),
+                getManyTestTypes(23, "New"));
+
+        final RecordingSink sink = new RecordingSink();
+        new Ds3ApiSpecComparatorImpl(filterOptions().build()).compare(toBaseline(oldSpec), newSpec, sink);
+
+        assertFiltered(sink);
+    }
+
+    @Test
+    public void checkCompatibility_Filter_Test() {
+        final Ds3ApiSpec oldSpec = new Ds3ApiSpec(getTestRequests(), getManyTestTypes(20, "Old"));
+        final Ds3ApiSpec newSpec = new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest(), getHeadBucketRequest()),
+                getManyTestTypes(23, "New"));
+        final ComparatorOptions options = ComparatorOptions.builder()
+                .withFilter(Ds3SpecFilter.builder()
+                        .withClassification("amazons3")
+                        .withTypeName("com.test.Type1")
+                        .build())
+                .build();
+
+        assertThat(comparator.isCompatible(oldSpec, newSpec), is(false));
+        assertThat(new Ds3ApiSpecComparatorImpl(options).isCompatible(oldSpec, newSpec), is(true));
+    }
+
+    private static Ds3ApiSpec getAnnotatedSpec(final String annotationName) {
+        final Ds3Type type = createTestTypeElement("com.test.Annotated", new Ds3Element("Name", "java.lang.String", null,
+                ImmutableList.of(new Ds3Annotation(annotationName, ImmutableList.of())), false));
+        return new Ds3ApiSpec(getTestRequests(), ImmutableMap.of(type.getName(), type));
+    }
+
+    @Test
+    public void compare_IgnoreProfile_Test() {
+        final Ds3ApiSpec oldSpec = getAnnotatedSpec("com.test.SortBy");
+        final Ds3ApiSpec newSpec = getAnnotatedSpec("com.test.CascadeDelete");
+
+        assertThat(comparator.compare(oldSpec, newSpec).getSummary().getTypeCount(DiffStatus.MODIFIED), is(1));
+
+        final RecordingSink sink = new RecordingSink();
+        new Ds3ApiSpecComparatorImpl(changesOnlyOptions().withIgnoreProfile(Ds3IgnoreProfile.ANNOTATIONS).build())
+                .compare(oldSpec, newSpec, sink);
+
+        assertThat(sink.received.isEmpty(), is(true));
+        assertThat(sink.summary.getTypeCount(DiffStatus.NO_CHANGE), is(1));
+        assertThat(sink.summary.getRequestCount(DiffStatus.NO_CHANGE), is(2));
+    }
+
+    @Test
+    public void compare_BaselineIgnoreProfile_Test() throws IOException {
+        final Ds3ApiSpec oldSpec = getAnnotatedSpec("com.test.SortBy");
+        final Ds3ApiSpec newSpec = getAnnotatedSpec("com.test.CascadeDelete");
+
+        final RecordingSink sink = new RecordingSink();
+        new Ds3ApiSpecComparatorImpl(changesOnlyOptions().withIgnoreProfile(Ds3IgnoreProfile.ANNOTATIONS).build())
+                .compare(toBaseline(oldSpec), newSpec, sink);
+
+        assertThat(sink.received.isEmpty(), is(true));
+        assertThat(sink.summary.getTypeCount(DiffStatus.NO_CHANGE), is(1));
+    }
+
+    @Test
+    public void checkCompatibility_IgnoreProfile_Test() {
+        final ComparatorOptions options = ComparatorOptions.builder()
+                .withIgnoreProfile(Ds3IgnoreProfile.builder("test").withField("TYPE.nameToMarshal").build())
+                .build();
+
+        assertThat(comparator.isCompatible(getImpactTestSpec("Old"), getImpactTestSpec("New")), is(false));
+        assertThat(new Ds3ApiSpecComparatorImpl(options).isCompatible(getImpactTestSpec("Old"), getImpactTestSpec("New")), is(true));
+    }
+
+    private static Ds3ApiSpec getOrderedSpec(final String... elementNames) {
+        final ImmutableList.Builder<Ds3Element> elements = ImmutableList.builder();
+        for (final String elementName : elementNames) {
+            elements.add(new Ds3Element(elementName, "java.lang.String", null, ImmutableList.of(), false));
+        }
+        final Ds3Type type = new Ds3Type("com.test.Ordered", null, elements.build(), ImmutableList.of());
+        return new Ds3ApiSpec(getTestRequests(), ImmutableMap.of(type.getName(), type));
+    }
+
+    @Test
+    public void compare_Canonicalize_Test() {
+        final Ds3ApiSpec oldSpec = getOrderedSpec("Id", "Name");
+        final Ds3ApiSpec newSpec = getOrderedSpec("Name", "Id");
+
+        assertThat(comparator.compare(oldSpec, newSpec).getSummary().getTypeCount(DiffStatus.MODIFIED), is(1));
+
+        final RecordingSink sink = new RecordingSink();
+        new Ds3ApiSpecComparatorImpl(changesOnlyOptions().withCanonicalize(true).build())
+                .compare(oldSpec, newSpec, sink);
+
+        assertThat(sink.received.isEmpty(), is(true));
+        assertThat(sink.summary.getTypeCount(DiffStatus.NO_CHANGE), is(1));
+
+        final Ds3ApiSpecDiff result = new Ds3ApiSpecComparatorImpl(ComparatorOptions.builder().withCanonicalize(true).build())
+                .compare(oldSpec, newSpec);
+        assertThat(result.getTypes().get(0).getStatus(), is(DiffStatus.NO_CHANGE));
+        assertThat(result.getImpact().isEmpty(), is(true));
+    }
+
+    @Test
+    public void compare_CanonicalizeModified_Test() {
+        final Ds3ApiSpecDiff result = new Ds3ApiSpecComparatorImpl(ComparatorOptions.builder().withCanonicalize(true).build())
+                .compare(getOrderedSpec("Name", "Id"), getOrderedSpec("Type", "Id", "Name"));
+
+        assertThat(result.getSummary().getTypeCount(DiffStatus.MODIFIED), is(1));
+        assertThat(result.getImpact().getChangedTypes().asList(), is(ImmutableList.of("com.test.Ordered")));
+    }
+
+    @Test
+    public void compare_CanonicalizeRepeated_Test() {
+        final Ds3ApiSpecComparatorImpl canonicalComparator =
+                new Ds3ApiSpecComparatorImpl(ComparatorOptions.builder().withCanonicalize(true).build());
+        final Ds3ApiSpec oldSpec = getOrderedSpec("Name", "Id");
+
+        final Ds3ApiSpecDiff reordered = canonicalComparator.compare(oldSpec, getOrderedSpec("Id", "Name"));
+        final Ds3ApiSpecDiff modified = canonicalComparator.compare(oldSpec, getOrderedSpec("Type", "Id", "Name"));
+        final Ds3ApiSpecDiff reorderedAgain = canonicalComparator.compare(oldSpec, getOrderedSpec("Id", "Name"));
+
+        assertThat(reordered.getSummary().getTypeCount(DiffStatus.NO_CHANGE), is(1));
+        assertThat(modified.getSummary().getTypeCount(DiffStatus.MODIFIED), is(1));
+        assertThat(reorderedAgain.getSummary().getTypeCount(DiffStatus.NO_CHANGE), is(1));
+    }
+
+    @Test
+    public void compare_BaselineCanonicalize_Test() throws IOException {
+        final Ds3ApiSpec oldSpec = getOrderedSpec("Name", "Id");
+        final Ds3ApiSpec newSpec = getOrderedSpec("Id", "Name");
+        final Ds3BaselineIndex baseline = toBaseline(oldSpec);
+
+        assertThat(comparator.compare(baseline, newSpec).getSummary().getTypeCount(DiffStatus.MODIFIED), is(1));
+
+        final RecordingSink sink = new RecordingSink();
+        new Ds3ApiSpecComparatorImpl(changesOnlyOptions().withCanonicalize(true).build())
+                .compare(baseline, newSpec, sink);
+
+        assertThat(sink.received.isEmpty(), is(true));
+        assertThat(sink.summary.getTypeCount(DiffStatus.NO_CHANGE), is(1));
+        assertThat(sink.summary.getRequestCount(DiffStatus.NO_CHANGE), is(2));
+
+        final Ds3ApiSpecDiff result = new Ds3ApiSpecComparatorImpl(ComparatorOptions.builder().withCanonicalize(true).build())
+                .compare(baseline, newSpec);
+        assertThat(result.getTypes().get(0).getStatus(), is(DiffStatus.NO_CHANGE));
+        assertThat(result.getImpact().isEmpty(), is(true));
+    }
+
+    @Test
+    public void checkCompatibility_Canonicalize_Test() {
+        final ComparatorOptions options = ComparatorOptions.builder().withCanonicalize(true).build();
+        final Ds3ApiSpec oldSpec = getOrderedSpec("Id", "Name");
+        final Ds3ApiSpec newSpec = getOrderedSpec("Name", "Id");
+
+        assertThat(new Ds3ApiSpecComparatorImpl(options).checkCompatibility(oldSpec, newSpec).isCompatible(), is(true));
+        assertThat(new Ds3ApiSpecComparatorImpl(options).isCompatible(oldSpec, getOrderedSpec("Name")), is(false));
+    }
 }
@@ -0,0 +1,157 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3contractcomparator.models.Ds3ApiSpecDiff;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.request.AbstractDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.type.AbstractDs3TypeDiff;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.getBucketRequest;
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.getHeadBucketRequest;
+import static com.spectralogic.ds3contractcomparator.utils.TestDataFixture.createSimpleTestType;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class Ds3FanOutSink_Test {
+
+    private static final Ds3ApiSpec OLD_SPEC = new Ds3ApiSpec(
+            ImmutableList.of(getBucketRequest()),
+            ImmutableMap.of("com.test.TypeOne", createSimpleTestType("com.test.TypeOne", "")));
+
+    private static final Ds3ApiSpec NEW_SPEC = new Ds3ApiSpec(
+            ImmutableList.of(getBucketRequest(), getHeadBucketRequest()),
+            ImmutableMap.of(
+                    "com.test.TypeOne", createSimpleTestType("com.test.TypeOne", "TypeOne"),
+                    "com.test.TypeTwo", createSimpleTestType("com.test.TypeTwo", "")));
+
+    /**
+     * A sink which records the names of the calls it receives
+     */
+    private static class RecordingSink implements Ds3SpecDiffSink {
+
+        private final List<String> calls = new ArrayList<>();
+
+        @Override
+        public void acceptRequestDiff(final AbstractDs3RequestDiff requestDiff) {
+            calls.add("request");
+        }
+
+        @Override
+        public void acceptTypeDiff(final AbstractDs3TypeDiff typeDiff) {
+            calls.add("type");
+        }
+
+        @Override
+        public void complete() {
+            calls.add("complete");
+        }
+    }
+
+    @Test
+    public void compare_FanOut_Test() {
+        final Ds3ApiSpecDiffCollector expected = new Ds3ApiSpecDiffCollector();
+        new Ds3ApiSpecComparatorImpl().compare(OLD_SPEC, NEW_SPEC, expected);
+
+        final Ds3ApiSpecDiffCollector first = new Ds3ApiSpecDiffCollector();
+        final Ds3ApiSpecDiffCollector second = new Ds3ApiSpecDiffCollector();
+        new Ds3ApiSpecComparatorImpl().compare(OLD_SPEC, NEW_SPEC, new Ds3FanOutSink(ImmutableList.of(first, second)));
+
+        final Ds3ApiSpecDiff expectedDiff = expected.toDs3ApiSpecDiff();
+        final Ds3ApiSpecDiff firstDiff = first.toDs3ApiSpecDiff();
+        final Ds3ApiSpecDiff secondDiff = second.toDs3ApiSpecDiff();
+
+        assertThat(firstDiff.getRequests().size(), is(expectedDiff.getRequests().size()));
+        assertThat(firstDiff.getTypes().size(), is(expectedDiff.getTypes().size()));
+        for (int i = 0; i < firstDiff.getRequests().size(); i++) {
+            assertThat(secondDiff.getRequests().get(i), is(sameInstance(firstDiff.getRequests().get(i))));
+        }
+        for (int i = 0; i < firstDiff.getTypes().size(); i++) {
+            assertThat(secondDiff.getTypes().get(i), is(sameInstance(firstDiff.getTypes().get(i))));
+        }
+        assertThat(secondDiff.getSummary(), is(sameInstance(firstDiff.getSummary())));
+        assertThat(firstDiff.getSummary().getTypeCount(DiffStatus.MODIFIED), is(expectedDiff.getSummary().getTypeCount(DiffStatus.MODIFIED)));
+    }
+
+    @Test
+    public void complete_Order_Test() {
+        final RecordingSink sink = new RecordingSink();
+        final Ds3FanOutSink fanOut = new Ds3FanOutSink(ImmutableList.of(sink));
+        fanOut.acceptRequestDiff(null);
+        fanOut.acceptTypeDiff(null);
+        fanOut.acceptRequestDiff(null);
+        fanOut.complete();
+
+        assertThat(sink.calls, is(ImmutableList.of("request", "type", "request", "complete")));
+    }
+
+    @Test
+    public void complete_Concurrent_Test() {
+        // Each sink waits for the other to start completing, which only succeeds if they run at the same time
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        final Ds3SpecDiffSink waitingSink = new RecordingSink() {
+            @Override
+            public void complete() {
+                try {
+                    barrier.await(10, TimeUnit.SECONDS);
+                } catch (final Exception e) {
+                    throw new IllegalStateException("Sinks were not completed concurrently", e);
+                }
+            }
+        };
+        new Ds3FanOutSink(ImmutableList.of(waitingSink, waitingSink)).complete();
+    }
+
+    @Test
+    public void complete_SinkFails_Test() {
+        final IllegalStateException failure = new IllegalStateException("printer failed");
+        final RecordingSink failingSink = new RecordingSink() {
+            @Override
+            public void acceptTypeDiff(final AbstractDs3TypeDiff typeDiff) {
+                throw failure;
+            }
+        };
+        final RecordingSink sink = new RecordingSink();
+        final Ds3FanOutSink fanOut = new Ds3FanOutSink(ImmutableList.of(failingSink, sink));
+        fanOut.acceptRequestDiff(null);
+        fanOut.acceptTypeDiff(null);
+        fanOut.acceptRequestDiff(null);
+        try {
+            fanOut.complete();
+            fail("Expected the failure of the sink to be thrown");
+        } catch (final IllegalStateException e) {
+            assertThat(e, is(sameInstance(failure)));
+        }
+
+        assertThat(failingSink.calls, is(ImmutableList.of("request")));
+        assertThat(sink.calls, is(ImmutableList.of("request", "type", "request", "complete")));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void constructor_NoSinks_Test() {
+        new Ds3FanOutSink(ImmutableList.of());
+    }
+}
@@ -15,15 +15,19 @@
 
 package com.spectralogic.ds3contractcomparator;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.HashCode;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Param;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
 import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3contractcomparator.fingerprint.Ds3SpecFingerprints;
 import com.spectralogic.ds3contractcomparator.models.request.*;
 import org.junit.Test;
 
 import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.getBucketRequest;
 import static com.spectralogic.ds3autogen.testutil.Ds3ModelPartialDataFixture.createDs3RequestTestData;
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
 public class Ds3RequestComparatorImpl_Test {
@@ -83,4 +87,68 @@ public class Ds3RequestComparatorImpl_Test {
         final AbstractDs3RequestDiff result = comparator.compare(request1, request2);
         assertThat(result, instanceOf(ModifiedDs3RequestDiff.class));
     }
+
+    private static Ds3SpecFingerprints requestFingerprints(final String requestName, final long fingerprint) {
+        return new Ds3SpecFingerprints(
+                ImmutableMap.of(requestName, HashCode.fromLong(fingerprint)),
+                ImmutableMap.of());
+    }
+
+    @Test
+    public void compare_MatchingFingerprints_Test() {
+        final String requestName = "com.test.TestRequestHandler";
+        final Ds3Request request1 = createDs3RequestTestData(requestName, Classification.amazons3);
+        final Ds3Request request2 = createDs3RequestTestData(requestName, Classification.spectrads3);
+
+        final Ds3RequestComparatorImpl fingerprintComparator = new Ds3RequestComparatorImpl(
+                requestFingerprints(requestName, 1L),
+                requestFingerprints(requestName, 1L),
+                false);
+        assertThat(fingerprintComparator.compare(request1, request2), instanceOf(NoChangeDs3RequestDiff.class));
+    }
+
+    @Test
+    public void compare_MatchingFingerprintsVerified_Test() {
+        final String requestName = "com.test.TestRequestHandler";
+        final Ds3Request request1 = createDs3RequestTestData(requestName, Classification.amazons3);
+        final Ds3Request request2 = createDs3RequestTestData(requestName, Classification.spectrads3);
+
+        final Ds3RequestComparatorImpl fingerprintComparator = new Ds3RequestComparatorImpl(
+                requestFingerprints(requestName, 1L),
+                requestFingerprints(requestName, 1L),
+                true);
+        assertThat(fingerprintComparator.compare(request1, request2), instanceOf(ModifiedDs3RequestDiff.class));
+    }
+
+    @Test
+    public void compare_DifferentFingerprints_Test() {
+        final Ds3RequestComparatorImpl fingerprintComparator = new Ds3RequestComparatorImpl(
+                requestFingerprints(getBucketRequest().getName(), 1L),
+                requestFingerprints(getBucketRequest().getName(), 2L),
+                true);
+        assertThat(
+                fingerprintComparator.compare(getBucketRequest(), getBucketRequest()),
+                instanceOf(ModifiedDs3RequestDiff.class));
+    }
+
+    @Test
+    public void compare_MissingFingerprint_Test() {
+        final Ds3RequestComparatorImpl fingerprintComparator = new Ds3RequestComparatorImpl(
+                requestFingerprints("com.test.OtherRequest", 1L),
+                requestFingerprints(getBucketRequest().getName(), 2L),
+                false);
+        assertThat(
+                fingerprintComparator.compare(getBucketRequest(), getBucketRequest()),
+                instanceOf(NoChangeDs3RequestDiff.class));
+    }
+
+    @Test
+    public void isUnchanged_Test() {
+        assertThat(comparator.isUnchanged(getBucketRequest(), getBucketRequest()), is(true));
+        assertThat(comparator.isUnchanged(null, getBucketRequest()), is(false));
+        assertThat(comparator.isUnchanged(getBucketRequest(), null), is(false));
+        assertThat(comparator.isUnchanged(
+                createDs3RequestTestData("com.test.TestRequestHandler", Classification.amazons3),
+                createDs3RequestTestData("com.test.TestRequestHandler", Classification.spectrads3)), is(false));
+    }
 }
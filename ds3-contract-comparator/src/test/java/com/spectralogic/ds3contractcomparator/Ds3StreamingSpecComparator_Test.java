@@ -0,0 +1,223 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3contractcomparator.filter.Ds3SpecFilter;
+import com.spectralogic.ds3contractcomparator.models.Ds3ApiSpecDiff;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.stream.Ds3ContractReader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class Ds3StreamingSpecComparator_Test {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static String request(final String name, final String verb, final String responseType) {
+        return "<RequestHandler Classification=\"spectrads3\" Name=\"" + name + "\">"
+                + "<Request HttpVerb=\"" + verb + "\" IncludeIdInPath=\"false\"/>"
+                + "<ResponseCodes><ResponseCode Code=\"200\"><ResponseType Type=\"" + responseType + "\"/></ResponseCode></ResponseCodes>"
+                + "</RequestHandler>";
+    }
+
+    private static String type(final String name, final String elementName, final String elementType) {
+        return "<Type Name=\"" + name + "\"><Elements>"
+                + "<Element Name=\"" + elementName + "\" Type=\"" + elementType + "\"/>"
+                + "</Elements></Type>";
+    }
+
+    private Path createContract(final String requests, final String types) throws IOException {
+        final Path file = folder.newFile().toPath();
+        final String contract = "<Data><Contract><RequestHandlers>" + requests + "</RequestHandlers>"
+                + "<Types>" + types + "</Types></Contract></Data>";
+        Files.write(file, contract.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private Path getOldContract() throws IOException {
+        return createContract(
+                request("A.DeleteRequestHandler", "DELETE", "null")
+                        + request("B.GetRequestHandler", "GET", "com.test.Leaf")
+                        + request("C.PutRequestHandler", "PUT", "null"),
+                type("com.test.Container", "Leaf", "com.test.Leaf")
+                        + type("com.test.Leaf", "Name", "java.lang.String")
+                        + type("com.test.Removed", "Name", "java.lang.String"));
+    }
+
+    private Path getNewContract() throws IOException {
+        return createContract(
+                request("B.GetRequestHandler", "GET", "com.test.Leaf")
+                        + request("C.PutRequestHandler", "POST", "null")
+                        + request("D.HeadRequestHandler", "HEAD", "com.test.Container"),
+                type("com.test.Added", "Name", "java.lang.String")
+                        + type("com.test.Container", "Leaf", "com.test.Leaf")
+                        + type("com.test.Leaf", "Name", "java.util.UUID"));
+    }
+
+    /**
+     * Reads the whole contract so that the streaming comparison can be checked against the spec comparison
+     */
+    private static Ds3ApiSpec readSpec(final Path file) throws IOException {
+        final ImmutableList.Builder<Ds3Request> requests = ImmutableList.builder();
+        final ImmutableMap.Builder<String, Ds3Type> types = ImmutableMap.builder();
+        try (final Ds3ContractReader reader = Ds3ContractReader.open(file)) {
+            for (Ds3Request request = reader.nextRequest(); request != null; request = reader.nextRequest()) {
+                requests.add(request);
+            }
+            for (Ds3Type type = reader.nextType(); type != null; type = reader.nextType()) {
+                types.put(type.getName(), type);
+            }
+        }
+        return new Ds3ApiSpec(requests.build(), types.build());
+    }
+
+    private static Ds3ApiSpecDiff compare(final ComparatorOptions options, final Path oldFile, final Path newFile) throws IOException {
+        final Ds3ApiSpecDiffCollector collector = new Ds3ApiSpecDiffCollector();
+        new Ds3StreamingSpecComparator(options).compare(oldFile, newFile, collector);
+        return collector.toDs3ApiSpecDiff();
+    }
+
+    @Test
+    public void compare_MatchesSpecComparison_Test() throws IOException {
+        final Path oldFile = getOldContract();
+        final Path newFile = getNewContract();
+
+        final Ds3ApiSpecDiff result = compare(ComparatorOptions.builder().build(), oldFile, newFile);
+        final Ds3ApiSpecDiff expected = new Ds3ApiSpecComparatorImpl().compare(readSpec(oldFile), readSpec(newFile));
+
+        assertThat(result.getRequests().size(), is(4));
+        assertThat(result.getTypes().size(), is(4));
+        for (int i = 0; i < expected.getRequests().size(); i++) {
+            assertThat(result.getRequests().get(i).getStatus(), is(expected.getRequests().get(i).getStatus()));
+            assertThat(result.getRequests().get(i).getDelta().getKey(), is(expected.getRequests().get(i).getDelta().getKey()));
+        }
+        for (int i = 0; i < expected.getTypes().size(); i++) {
+            assertThat(result.getTypes().get(i).getStatus(), is(expected.getTypes().get(i).getStatus()));
+            assertThat(result.getTypes().get(i).getDelta().getKey(), is(expected.getTypes().get(i).getDelta().getKey()));
+        }
+        assertThat(result.getImpact().getChangedTypes(), is(expected.getImpact().getChangedTypes()));
+        assertThat(result.getImpact().getAffectedRequests(), is(expected.getImpact().getAffectedRequests()));
+        assertThat(result.getBreakingChanges().getChanges().size(), is(expected.getBreakingChanges().getChanges().size()));
+    }
+
+    @Test
+    public void compare_ChangesOnly_Test() throws IOException {
+        final Ds3ApiSpecDiff result = compare(
+                ComparatorOptions.builder().withChangesOnly(true).build(), getOldContract(), getNewContract());
+
+        assertThat(result.getRequests().size(), is(3));
+        assertThat(result.getTypes().size(), is(3));
+        assertThat(result.getSummary().getRequestCount(DiffStatus.NO_CHANGE), is(1));
+        assertThat(result.getSummary().getRequestCount(DiffStatus.DELETED), is(1));
+        assertThat(result.getSummary().getRequestCount(DiffStatus.MODIFIED), is(1));
+        assertThat(result.getSummary().getRequestCount(DiffStatus.ADDED), is(1));
+        assertThat(result.getSummary().getTypeCount(DiffStatus.NO_CHANGE), is(1));
+        assertThat(result.getSummary().getTypeCount(DiffStatus.DELETED), is(1));
+        assertThat(result.getSummary().getTypeCount(DiffStatus.MODIFIED), is(1));
+        assertThat(result.getSummary().getTypeCount(DiffStatus.ADDED), is(1));
+    }
+
+    @Test
+    public void compare_TypeImpact_Test() throws IOException {
+        final Ds3ApiSpecDiff result = compare(ComparatorOptions.builder().build(), getOldContract(), getNewContract());
+
+        // com.test.Leaf is referenced directly by B and through com.test.Container by D
+        assertThat(result.getImpact().getAffectedRequests("com.test.Leaf").asList(), is(ImmutableList.of(
+                "B.GetRequestHandler", "D.HeadRequestHandler")));
+    }
+
+    @Test
+    public void compare_SameContract_Test() throws IOException {
+        final Path file = getOldContract();
+        final Ds3ApiSpecDiff result = compare(ComparatorOptions.builder().withChangesOnly(true).build(), file, file);
+
+        assertThat(result.getRequests().isEmpty(), is(true));
+        assertThat(result.getTypes().isEmpty(), is(true));
+        assertThat(result.getImpact().isEmpty(), is(true));
+        assertThat(result.getSummary().getRequestCount(DiffStatus.NO_CHANGE), is(3));
+        assertThat(result.getSummary().getTypeCount(DiffStatus.NO_CHANGE), is(3));
+    }
+
+    @Test (expected = IOException.class)
+    public void compare_OutOfOrder_Test() throws IOException {
+        final Path outOfOrder = createContract(
+                request("B.GetRequestHandler", "GET", "null") + request("A.DeleteRequestHandler", "DELETE", "null"),
+                "");
+        compare(ComparatorOptions.builder().build(), getOldContract(), outOfOrder);
+    }
+
+    @Test (expected = IOException.class)
+    public void compare_RequestAfterTypes_Test() throws IOException {
+        final Path file = folder.newFile().toPath();
+        final String contract = "<Data><Contract>"
+                + "<Types>" + type("com.test.Leaf", "Name", "java.lang.String") + "</Types>"
+                + "<RequestHandlers>" + request("B.GetRequestHandler", "GET", "com.test.Leaf") + "</RequestHandlers>"
+                + "</Contract></Data>";
+        Files.write(file, contract.getBytes(StandardCharsets.UTF_8));
+        compare(ComparatorOptions.builder().build(), getOldContract(), file);
+    }
+
+    @Test
+    public void compare_Filter_Test() throws IOException {
+        final ComparatorOptions options = ComparatorOptions.builder()
+                .withFilter(Ds3SpecFilter.builder()
+                        .withHttpVerb("GET")
+                        .withHttpVerb("PUT")
+                        .withTypeName("*.Leaf")
+                        .build())
+                .build();
+        final Ds3ApiSpecDiff result = compare(options, getOldContract(), getNewContract());
+
+        // C changes its verb from PUT to POST, so only its older version is included
+        assertThat(result.getRequests().size(), is(2));
+        assertThat(result.getRequests().get(0).getStatus(), is(DiffStatus.NO_CHANGE));
+        assertThat(result.getRequests().get(1).getStatus(), is(DiffStatus.DELETED));
+        assertThat(result.getTypes().size(), is(1));
+        assertThat(result.getTypes().get(0).getDelta().getKey(), is("com.test.Leaf"));
+        assertThat(result.getImpact().getAffectedRequests("com.test.Leaf").asList(), is(ImmutableList.of("B.GetRequestHandler")));
+    }
+
+    @Test
+    public void compare_Canonicalize_Test() throws IOException {
+        final Path oldFile = createContract("", "<Type Name=\"com.test.Ordered\"><Elements>"
+                + "<Element Name=\"Id\" Type=\"java.util.UUID\"/><Element Name=\"Name\" Type=\"java.lang.String\"/>"
+                + "</Elements></Type>");
+        final Path newFile = createContract("", "<Type Name=\"com.test.Ordered\"><Elements>"
+                + "<Element Name=\"Name\" Type=\"java.lang.String\"/><Element Name=\"Id\" Type=\"java.util.UUID\"/>"
+                + "</Elements></Type>");
+
+        assertThat(compare(ComparatorOptions.builder().build(), oldFile, newFile).getTypes().get(0).getStatus(), is(DiffStatus.MODIFIED));
+
+        final Ds3ApiSpecDiff result = compare(ComparatorOptions.builder().withCanonicalize(true).build(), oldFile, newFile);
+        assertThat(result.getTypes().get(0).getStatus(), is(DiffStatus.NO_CHANGE));
+        assertThat(result.getImpact().isEmpty(), is(true));
+    }
+}
@@ -16,14 +16,18 @@
 package com.spectralogic.ds3contractcomparator;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.HashCode;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Element;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3EnumConstant;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Property;
+import com.spectralogic.ds3contractcomparator.fingerprint.Ds3SpecFingerprints;
 import com.spectralogic.ds3contractcomparator.models.type.*;
 import org.junit.Test;
 
 import static com.spectralogic.ds3contractcomparator.utils.TestDataFixture.*;
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
 public class Ds3TypeComparatorImpl_Test {
@@ -89,4 +93,54 @@ public class Ds3TypeComparatorImpl_Test {
                                 new Ds3Property("Property", "Value", "Type")))));
         assertThat(result, instanceOf(ModifiedDs3TypeDiff.class));
     }
+
+    private static Ds3SpecFingerprints typeFingerprints(final String typeName, final long fingerprint) {
+        return new Ds3SpecFingerprints(
+                ImmutableMap.of(),
+                ImmutableMap.of(typeName, HashCode.fromLong(fingerprint)));
+    }
+
+    @Test
+    public void compare_MatchingFingerprints_Test() {
+        final Ds3TypeComparatorImpl fingerprintComparator = new Ds3TypeComparatorImpl(
+                typeFingerprints("com.test.TestType", 1L),
+                typeFingerprints("com.test.TestType", 1L),
+                false);
+        final AbstractDs3TypeDiff result = fingerprintComparator.compare(
+                createSimpleTestType("OldNameToMarshal"),
+                createSimpleTestType("NewNameToMarshal"));
+        assertThat(result, instanceOf(NoChangeDs3TypeDiff.class));
+    }
+
+    @Test
+    public void compare_MatchingFingerprintsVerified_Test() {
+        final Ds3TypeComparatorImpl fingerprintComparator = new Ds3TypeComparatorImpl(
+                typeFingerprints("com.test.TestType", 1L),
+                typeFingerprints("com.test.TestType", 1L),
+                true);
+        final AbstractDs3TypeDiff result = fingerprintComparator.compare(
+                createSimpleTestType("OldNameToMarshal"),
+                createSimpleTestType("NewNameToMarshal"));
+        assertThat(result, instanceOf(ModifiedDs3TypeDiff.class));
+    }
+
+    @Test
+    public void compare_DifferentFingerprints_Test() {
+        final Ds3TypeComparatorImpl fingerprintComparator = new Ds3TypeComparatorImpl(
+                typeFingerprints("com.test.TestType", 1L),
+                typeFingerprints("com.test.TestType", 2L),
+                true);
+        final AbstractDs3TypeDiff result = fingerprintComparator.compare(
+                createSimpleTestType(),
+                createSimpleTestType());
+        assertThat(result, instanceOf(ModifiedDs3TypeDiff.class));
+    }
+
+    @Test
+    public void isUnchanged_Test() {
+        assertThat(comparator.isUnchanged(createSimpleTestType("com.test.Type", ""), createSimpleTestType("com.test.Type", "")), is(true));
+        assertThat(comparator.isUnchanged(null, createSimpleTestType("com.test.Type", "")), is(false));
+        assertThat(comparator.isUnchanged(createSimpleTestType("com.test.Type", ""), null), is(false));
+        assertThat(comparator.isUnchanged(createSimpleTestType("com.test.Type", ""), createSimpleTestType("com.test.Type", "Marshal")), is(false));
+    }
 }
@@ -0,0 +1,168 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.baseline;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+import com.spectralogic.ds3contractcomparator.fingerprint.Ds3Fingerprints;
+import com.spectralogic.ds3contractcomparator.fingerprint.Ds3SpecFingerprints;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.*;
+import static com.spectralogic.ds3contractcomparator.utils.TestDataFixture.createSimpleTestType;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class Ds3BaselineIndex_Test {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static Ds3ApiSpec getTestSpec() {
+        final Ds3Type elementType = new Ds3Type(
+                "com.test.ElementType",
+                "Element",
+                ImmutableList.of(
+                        new Ds3Element("Name", "java.lang.String", null, ImmutableList.of(
+                                new Ds3Annotation("com.spectralogic.util.marshal.ExcludeFromMarshaler", ImmutableList.of(
+                                        new Ds3AnnotationElement("Value", "Always", "java.lang.String")))), false),
+                        new Ds3Element("Items", "array", "java.util.UUID", null, true)),
+                null);
+        final Ds3Type enumType = new Ds3Type(
+                "com.test.EnumType",
+                null,
+                ImmutableList.of(),
+                ImmutableList.of(new Ds3EnumConstant("ONE", ImmutableList.of(
+                        new Ds3Property("HttpResponseCode", "400", "int"),
+                        new Ds3Property("Description", null, null)))));
+        final Ds3Type simpleType = createSimpleTestType("com.test.SimpleType", "");
+        return new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest(), deleteBucketRequest(), createBucketRequest()),
+                ImmutableMap.of(
+                        elementType.getName(), elementType,
+                        enumType.getName(), enumType,
+                        simpleType.getName(), simpleType));
+    }
+
+    private static byte[] toBytes(final Ds3ApiSpec spec) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Ds3BaselineIndexWriter.write(spec, output);
+        return output.toByteArray();
+    }
+
+    private static void assertBaseline(final Ds3BaselineIndex baseline, final Ds3ApiSpec spec) {
+        final Ds3SpecFingerprints fingerprints = Ds3SpecFingerprints.compute(spec);
+        assertThat(baseline.getRootFingerprint(), is(Ds3Fingerprints.rootFingerprint(fingerprints)));
+        assertThat(baseline.getFingerprints().getRequestFingerprints(), is(fingerprints.getRequestFingerprints()));
+        assertThat(baseline.getFingerprints().getTypeFingerprints(), is(fingerprints.getTypeFingerprints()));
+
+        assertThat(baseline.getRequestNames().asList(), is(ImmutableList.of(
+                getBucketRequest().getName(),
+                deleteBucketRequest().getName(),
+                createBucketRequest().getName())));
+        assertThat(baseline.getTypeNames().asList(), is(spec.getTypes().keySet().asList()));
+
+        spec.getRequests().forEach(request -> assertThat(baseline.getRequest(request.getName()), is(request)));
+        spec.getTypes().forEach((name, type) -> assertThat(baseline.getType(name), is(type)));
+    }
+
+    @Test
+    public void read_Buffer_Test() throws IOException {
+        final Ds3ApiSpec spec = getTestSpec();
+        assertBaseline(Ds3BaselineIndex.read(ByteBuffer.wrap(toBytes(spec))), spec);
+    }
+
+    @Test
+    public void read_File_Test() throws IOException {
+        final Ds3ApiSpec spec = getTestSpec();
+        final Path file = folder.newFile("baseline.idx").toPath();
+        Ds3BaselineIndexWriter.write(spec, file);
+
+        assertBaseline(Ds3BaselineIndex.read(file), spec);
+    }
+
+    @Test
+    public void read_EmptySpec_Test() throws IOException {
+        final Ds3BaselineIndex baseline = Ds3BaselineIndex.read(ByteBuffer.wrap(toBytes(new Ds3ApiSpec(null, null))));
+
+        assertThat(baseline.getRequestNames().isEmpty(), is(true));
+        assertThat(baseline.getTypeNames().isEmpty(), is(true));
+        assertThat(baseline.getRequest(getBucketRequest().getName()), is(nullValue()));
+    }
+
+    @Test
+    public void getRequest_NotInBaseline_Test() throws IOException {
+        final Ds3BaselineIndex baseline = Ds3BaselineIndex.read(ByteBuffer.wrap(toBytes(getTestSpec())));
+
+        assertThat(baseline.getRequest(getHeadBucketRequest().getName()), is(nullValue()));
+        assertThat(baseline.getType("com.test.MissingType"), is(nullValue()));
+    }
+
+    @Test
+    public void rootFingerprint_IndependentOfOrder_Test() throws IOException {
+        final Ds3ApiSpec spec = getTestSpec();
+        final Ds3ApiSpec reordered = new Ds3ApiSpec(spec.getRequests().reverse(), spec.getTypes());
+
+        assertThat(
+                Ds3BaselineIndex.read(ByteBuffer.wrap(toBytes(reordered))).getRootFingerprint(),
+                is(Ds3BaselineIndex.read(ByteBuffer.wrap(toBytes(spec))).getRootFingerprint()));
+    }
+
+    @Test
+    public void toSpec_Test() throws IOException {
+        final Ds3ApiSpec spec = getTestSpec();
+        final Ds3ApiSpec decoded = Ds3BaselineIndex.read(ByteBuffer.wrap(toBytes(spec))).toSpec();
+
+        assertThat(decoded.getRequests(), is(spec.getRequests()));
+        assertThat(decoded.getTypes(), is(spec.getTypes()));
+        assertThat(decoded.getTypes().keySet().asList(), is(spec.getTypes().keySet().asList()));
+    }
+
+    @Test
+    public void toSpec_EmptySpec_Test() throws IOException {
+        final Ds3ApiSpec decoded = Ds3BaselineIndex.read(ByteBuffer.wrap(toBytes(new Ds3ApiSpec(null, null)))).toSpec();
+
+        assertThat(decoded.getRequests().isEmpty(), is(true));
+        assertThat(decoded.getTypes().isEmpty(), is(true));
+    }
+
+    @Test (expected = IOException.class)
+    public void read_NotABaseline_Test() throws IOException {
+        Ds3BaselineIndex.read(ByteBuffer.wrap("<Data><Contract/></Data>".getBytes("UTF-8")));
+    }
+
+    @Test (expected = IOException.class)
+    public void read_UnsupportedVersion_Test() throws IOException {
+        final byte[] bytes = toBytes(getTestSpec());
+        ByteBuffer.wrap(bytes).putInt(Integer.BYTES, Ds3BaselineIndex.FORMAT_VERSION + 1);
+        Ds3BaselineIndex.read(ByteBuffer.wrap(bytes));
+    }
+
+    @Test (expected = IOException.class)
+    public void read_Truncated_Test() throws IOException {
+        final byte[] bytes = toBytes(getTestSpec());
+        final ByteBuffer truncated = ByteBuffer.wrap(bytes, 0, bytes.length / 2);
+        Ds3BaselineIndex.read(truncated);
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.breaking;
+
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3autogen.api.models.enums.HttpVerb;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityKind;
+import org.junit.Test;
+
+import static com.spectralogic.ds3contractcomparator.models.delta.Ds3DeltaFactory.toRequestDelta;
+import static com.spectralogic.ds3contractcomparator.models.delta.Ds3DeltaFactory.toTypeDelta;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class BreakingChangeClassifier_Test {
+
+    private final BreakingChangeClassifier classifier = new BreakingChangeClassifier(BreakingChangeRules.defaults());
+
+    private static Ds3Request createRequest(
+            final ImmutableList<Ds3ResponseCode> codes,
+            final ImmutableList<Ds3Param> optionalParams,
+            final ImmutableList<Ds3Param> requiredParams) {
+        return new Ds3Request("com.test.GetThingRequest", HttpVerb.GET, Classification.spectrads3,
+                null, null, null, null, null, null, false, codes, optionalParams, requiredParams);
+    }
+
+    private static ImmutableList<Ds3ResponseCode> getCodes(final int... codes) {
+        final ImmutableList.Builder<Ds3ResponseCode> builder = ImmutableList.builder();
+        for (final int code : codes) {
+            builder.add(new Ds3ResponseCode(code, ImmutableList.of(new Ds3ResponseType("com.test.Thing", null))));
+        }
+        return builder.build();
+    }
+
+    private static Ds3Type createType(final ImmutableList<Ds3Element> elements, final ImmutableList<Ds3EnumConstant> enumConstants) {
+        return new Ds3Type("com.test.Thing", null, elements, enumConstants);
+    }
+
+    @Test
+    public void classify_DeletedRequest_Test() {
+        final Ds3Request request = createRequest(getCodes(200), ImmutableList.of(), ImmutableList.of());
+        final ImmutableList<BreakingChange> result = classifier.classify(toRequestDelta(request, null));
+
+        assertThat(result.size(), is(1));
+        assertThat(result.get(0).getSeverity(), is(Severity.BREAKING));
+        assertThat(result.get(0).getEntityKind(), is(Ds3EntityKind.REQUEST));
+        assertThat(result.get(0).getEntityName(), is("com.test.GetThingRequest"));
+        assertThat(result.get(0).getStatus(), is(DiffStatus.DELETED));
+        assertThat(result.get(0).getProperty(), is(nullValue()));
+        assertThat(result.get(0).getPath(), is(""));
+    }
+
+    @Test
+    public void classify_AddedRequest_Test() {
+        final Ds3Request request = createRequest(getCodes(200), ImmutableList.of(), ImmutableList.of());
+        final ImmutableList<BreakingChange> result = classifier.classify(toRequestDelta(null, request));
+
+        assertThat(result.size(), is(1));
+        assertThat(result.get(0).getSeverity(), is(Severity.NON_BREAKING));
+        assertThat(result.get(0).getStatus(), is(DiffStatus.ADDED));
+    }
+
+    @Test
+    public void classify_NoChange_Test() {
+        final Ds3Request request = createRequest(getCodes(200), ImmutableList.of(), ImmutableList.of());
+        assertThat(classifier.classify(toRequestDelta(request, request)).isEmpty(), is(true));
+    }
+
+    @Test
+    public void classify_Params_Test() {
+        final Ds3Request oldRequest = createRequest(
+                getCodes(200),
+                ImmutableList.of(new Ds3Param("Marker", "java.lang.String", true), new Ds3Param("Limit", "int", false)),
+                ImmutableList.of(new Ds3Param("Id", "java.util.UUID", false)));
+        final Ds3Request newRequest = createRequest(
+                getCodes(200),
+                ImmutableList.of(new Ds3Param("Limit", "long", true), new Ds3Param("Offset", "int", true)),
+                ImmutableList.of(new Ds3Param("Name", "java.lang.String", false)));
+
+        final ImmutableList<BreakingChange> result = classifier.classify(toRequestDelta(oldRequest, newRequest));
+
+        assertThat(result.size(), is(6));
+
+        assertThat(result.get(0).getPath(), is("optionalQueryParams[Limit].type"));
+        assertThat(result.get(0).getSeverity(), is(Severity.BREAKING));
+        assertThat(result.get(0).getKind(), is(Ds3EntityKind.PARAM));
+        assertThat(result.get(0).getStatus(), is(DiffStatus.MODIFIED));
+        assertThat(result.get(0).getOldValue(), is("int"));
+        assertThat(result.get(0).getNewValue(), is("long"));
+
+        assertThat(result.get(1).getPath(), is("optionalQueryParams[Limit].nullable"));
+        assertThat(result.get(1).getSeverity(), is(Severity.NON_BREAKING));
+
+        assertThat(result.get(2).getPath(), is("optionalQueryParams[Marker]"));
+        assertThat(result.get(2).getStatus(), is(DiffStatus.DELETED));
+        assertThat(result.get(2).getSeverity(), is(Severity.BREAKING));
+
+        assertThat(result.get(3).getPath(), is("optionalQueryParams[Offset]"));
+        assertThat(result.get(3).getStatus(), is(DiffStatus.ADDED));
+        assertThat(result.get(3).getSeverity(), is(Severity.NON_BREAKING));
+
+        assertThat(result.get(4).getPath(), is("requiredQueryParams[Id]"));
+        assertThat(result.get(4).getStatus(), is(DiffStatus.DELETED));
+        assertThat(result.get(4).getSeverity(), is(Severity.BREAKING));
+
+        assertThat(result.get(5).getPath(), is("requiredQueryParams[Name]"));
+        assertThat(result.get(5).getStatus(), is(DiffStatus.ADDED));
+        assertThat(result.get(5).getSeverity(), is(Severity.BREAKING));
+    }
+
+    @Test
+    public void classify_ResponseCodes_Test() {
+        final Ds3Request oldRequest = createRequest(getCodes(200, 404), ImmutableList.of(), ImmutableList.of());
+        final Ds3Request newRequest = createRequest(getCodes(200, 409), ImmutableList.of(), ImmutableList.of());
+
+        final ImmutableList<BreakingChange> result = classifier.classify(toRequestDelta(oldRequest, newRequest));
+
+        assertThat(result.size(), is(2));
+        assertThat(result.get(0).getPath(), is("ds3ResponseCodes[404]"));
+        assertThat(result.get(0).getSeverity(), is(Severity.BREAKING));
+        assertThat(result.get(1).getPath(), is("ds3ResponseCodes[409]"));
+        assertThat(result.get(1).getSeverity(), is(Severity.NON_BREAKING));
+    }
+
+    @Test
+    public void classify_RequestValue_Test() {
+        final Ds3Request oldRequest = createRequest(getCodes(200), ImmutableList.of(), ImmutableList.of());
+        final Ds3Request newRequest = new Ds3Request("com.test.GetThingRequest", HttpVerb.PUT, Classification.spectrads3,
+                null, null, null, null, null, null, false, getCodes(200), ImmutableList.of(), ImmutableList.of());
+
+        final ImmutableList<BreakingChange> result = classifier.classify(toRequestDelta(oldRequest, newRequest));
+
+        assertThat(result.size(), is(1));
+        assertThat(result.get(0).getPath(), is("httpVerb"));
+        assertThat(result.get(0).getSeverity(), is(Severity.BREAKING));
+        assertThat(result.get(0).toString(), is("BREAKING MODIFIED com.test.GetThingRequest httpVerb: GET -> PUT"));
+    }
+
+    @Test
+    public void classify_Type_Test() {
+        final Ds3Type oldType = createType(
+                ImmutableList.of(
+                        new Ds3Element("Name", "java.lang.String", null, ImmutableList.of(
+                                new Ds3Annotation("com.test.Annotation", ImmutableList.of())), false)),
+                ImmutableList.of(new Ds3EnumConstant("ONE", null), new Ds3EnumConstant("TWO", null)));
+        final Ds3Type newType = createType(
+                ImmutableList.of(
+                        new Ds3Element("Name", "java.util.UUID", null, ImmutableList.of(), false)),
+                ImmutableList.of(new Ds3EnumConstant("ONE", null), new Ds3EnumConstant("THREE", null)));
+
+        final ImmutableList<BreakingChange> result = classifier.classify(toTypeDelta(oldType, newType));
+
+        assertThat(result.size(), is(4));
+        assertThat(result.get(0).getPath(), is("elements[Name].type"));
+        assertThat(result.get(0).getSeverity(), is(Severity.BREAKING));
+        assertThat(result.get(0).getEntityKind(), is(Ds3EntityKind.TYPE));
+        assertThat(result.get(1).getPath(), is("elements[Name].ds3Annotations[com.test.Annotation]"));
+        assertThat(result.get(1).getSeverity(), is(Severity.INFORMATIONAL));
+        assertThat(result.get(2).getPath(), is("enumConstants[THREE]"));
+        assertThat(result.get(2).getSeverity(), is(Severity.NON_BREAKING));
+        assertThat(result.get(3).getPath(), is("enumConstants[TWO]"));
+        assertThat(result.get(3).getSeverity(), is(Severity.BREAKING));
+    }
+
+    @Test
+    public void findFirst_Test() {
+        final Ds3Request oldRequest = createRequest(
+                getCodes(200),
+                ImmutableList.of(new Ds3Param("Limit", "int", false)),
+                ImmutableList.of(new Ds3Param("Id", "java.util.UUID", false)));
+        final Ds3Request newRequest = createRequest(
+                getCodes(200),
+                ImmutableList.of(new Ds3Param("Limit", "int", true)),
+                ImmutableList.of());
+
+        final BreakingChange result = classifier.findFirst(toRequestDelta(oldRequest, newRequest), Severity.BREAKING);
+
+        assertThat(result.getPath(), is("requiredQueryParams[Id]"));
+        assertThat(classifier.findFirst(toRequestDelta(oldRequest, newRequest), Severity.NON_BREAKING).getPath(),
+                is("optionalQueryParams[Limit].nullable"));
+        assertThat(classifier.findFirst(toRequestDelta(oldRequest, newRequest), Severity.INFORMATIONAL), is(nullValue()));
+    }
+
+    @Test
+    public void classify_CustomRules_Test() {
+        final BreakingChangeClassifier custom = new BreakingChangeClassifier(BreakingChangeRules.defaults().toBuilder()
+                .add(Ds3EntityKind.RESPONSE_CODE, "ds3ResponseCodes", DiffStatus.DELETED, Severity.NON_BREAKING)
+                .build());
+        final Ds3Request oldRequest = createRequest(getCodes(200, 404), ImmutableList.of(), ImmutableList.of());
+        final Ds3Request newRequest = createRequest(getCodes(200), ImmutableList.of(), ImmutableList.of());
+
+        final ImmutableList<BreakingChange> result = custom.classify(toRequestDelta(oldRequest, newRequest));
+
+        assertThat(result.size(), is(1));
+        assertThat(result.get(0).getSeverity(), is(Severity.NON_BREAKING));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.breaking;
+
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityKind;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class BreakingChangeRules_Test {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void classify_Defaults_Test() {
+        final BreakingChangeRules rules = BreakingChangeRules.defaults();
+        assertThat(rules.classify(Ds3EntityKind.PARAM, "requiredQueryParams", DiffStatus.ADDED), is(Severity.BREAKING));
+        assertThat(rules.classify(Ds3EntityKind.PARAM, "optionalQueryParams", DiffStatus.ADDED), is(Severity.NON_BREAKING));
+        assertThat(rules.classify(Ds3EntityKind.ELEMENT, "type", DiffStatus.MODIFIED), is(Severity.BREAKING));
+        assertThat(rules.classify(Ds3EntityKind.ELEMENT, "nullable", DiffStatus.MODIFIED), is(Severity.NON_BREAKING));
+        assertThat(rules.classify(Ds3EntityKind.ENUM_CONSTANT, "enumConstants", DiffStatus.DELETED), is(Severity.BREAKING));
+        assertThat(rules.classify(Ds3EntityKind.PROPERTY, "value", DiffStatus.MODIFIED), is(Severity.INFORMATIONAL));
+    }
+
+    @Test
+    public void classify_SpecificPropertyTakesPrecedence_Test() {
+        final BreakingChangeRules rules = BreakingChangeRules.builder()
+                .add(Ds3EntityKind.ELEMENT, "nullable", DiffStatus.MODIFIED, Severity.INFORMATIONAL)
+                .add(Ds3EntityKind.ELEMENT, null, DiffStatus.MODIFIED, Severity.BREAKING)
+                .build();
+        assertThat(rules.classify(Ds3EntityKind.ELEMENT, "nullable", DiffStatus.MODIFIED), is(Severity.INFORMATIONAL));
+        assertThat(rules.classify(Ds3EntityKind.ELEMENT, "type", DiffStatus.MODIFIED), is(Severity.BREAKING));
+    }
+
+    @Test
+    public void classify_LastRuleTakesPrecedence_Test() {
+        final BreakingChangeRules rules = BreakingChangeRules.builder()
+                .add(Ds3EntityKind.TYPE, null, DiffStatus.DELETED, Severity.BREAKING)
+                .add(Ds3EntityKind.TYPE, null, DiffStatus.DELETED, Severity.NON_BREAKING)
+                .build();
+        assertThat(rules.classify(Ds3EntityKind.TYPE, null, DiffStatus.DELETED), is(Severity.NON_BREAKING));
+    }
+
+    @Test
+    public void classify_DefaultSeverity_Test() {
+        final BreakingChangeRules rules = BreakingChangeRules.builder()
+                .withDefaultSeverity(Severity.BREAKING)
+                .build();
+        assertThat(rules.getRules().isEmpty(), is(true));
+        assertThat(rules.classify(Ds3EntityKind.ANNOTATION, "ds3Annotations", DiffStatus.ADDED), is(Severity.BREAKING));
+    }
+
+    @Test
+    public void addProperties_Test() {
+        final Properties properties = new Properties();
+        properties.setProperty("RESPONSE_CODE.DELETED", "NON_BREAKING");
+        properties.setProperty("ANNOTATION.ds3Annotations.ADDED", " BREAKING ");
+        properties.setProperty("default", "NON_BREAKING");
+
+        final BreakingChangeRules rules = BreakingChangeRules.defaults().toBuilder()
+                .addProperties(properties)
+                .build();
+
+        assertThat(rules.classify(Ds3EntityKind.RESPONSE_CODE, "ds3ResponseCodes", DiffStatus.DELETED), is(Severity.NON_BREAKING));
+        assertThat(rules.classify(Ds3EntityKind.ANNOTATION, "ds3Annotations", DiffStatus.ADDED), is(Severity.BREAKING));
+        assertThat(rules.classify(Ds3EntityKind.ANNOTATION, "ds3Annotations", DiffStatus.DELETED), is(Severity.NON_BREAKING));
+        assertThat(rules.classify(Ds3EntityKind.TYPE, null, DiffStatus.DELETED), is(Severity.BREAKING));
+    }
+
+    @Test
+    public void addProperties_File_Test() throws IOException {
+        final Path file = folder.newFile("rules.properties").toPath();
+        Files.write(file, ImmutableList.of("# Renamed enum constants are tolerated", "ENUM_CONSTANT.DELETED = NON_BREAKING"), StandardCharsets.UTF_8);
+
+        final BreakingChangeRules rules = BreakingChangeRules.defaults().toBuilder()
+                .addProperties(file)
+                .build();
+
+        assertThat(rules.classify(Ds3EntityKind.ENUM_CONSTANT, "enumConstants", DiffStatus.DELETED), is(Severity.NON_BREAKING));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void addProperties_UnknownKind_Test() {
+        final Properties properties = new Properties();
+        properties.setProperty("OPERATION.DELETED", "BREAKING");
+        BreakingChangeRules.builder().addProperties(properties);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void addProperties_UnknownSeverity_Test() {
+        final Properties properties = new Properties();
+        properties.setProperty("TYPE.DELETED", "FATAL");
+        BreakingChangeRules.builder().addProperties(properties);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void addProperties_MalformedKey_Test() {
+        final Properties properties = new Properties();
+        properties.setProperty("TYPE", "BREAKING");
+        BreakingChangeRules.builder().addProperties(properties);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.breaking;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3autogen.api.models.enums.HttpVerb;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityKind;
+import org.junit.Test;
+
+import static com.spectralogic.ds3contractcomparator.utils.TestDataFixture.createSimpleTestType;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class Ds3CompatibilityChecker_Test {
+
+    private final Ds3CompatibilityChecker checker = new Ds3CompatibilityChecker();
+
+    private static Ds3Request createRequest(
+            final String name,
+            final HttpVerb httpVerb,
+            final ImmutableList<Ds3Param> optionalParams,
+            final ImmutableList<Ds3Param> requiredParams) {
+        return new Ds3Request(name, httpVerb, Classification.spectrads3, null, null, null, null, null, null, false,
+                ImmutableList.of(new Ds3ResponseCode(200, ImmutableList.of(new Ds3ResponseType("null", null)))),
+                optionalParams, requiredParams);
+    }
+
+    private static Ds3ApiSpec createSpec(final ImmutableList<Ds3Request> requests, final Ds3Type... types) {
+        final ImmutableMap.Builder<String, Ds3Type> builder = ImmutableMap.builder();
+        for (final Ds3Type type : types) {
+            builder.put(type.getName(), type);
+        }
+        return new Ds3ApiSpec(requests, builder.build());
+    }
+
+    private static Ds3ApiSpec getTestSpec() {
+        return createSpec(
+                ImmutableList.of(
+                        createRequest("com.test.GetThingRequest", HttpVerb.GET, ImmutableList.of(),
+                                ImmutableList.of(new Ds3Param("Id", "java.util.UUID", false))),
+                        createRequest("com.test.PutThingRequest", HttpVerb.PUT, ImmutableList.of(), ImmutableList.of())),
+                createSimpleTestType("com.test.Thing", "Thing"),
+                createSimpleTestType("com.test.Other", "Other"));
+    }
+
+    @Test
+    public void check_Identical_Test() {
+        final Ds3CompatibilityResult result = checker.check(getTestSpec(), getTestSpec());
+        assertThat(result.isCompatible(), is(true));
+        assertThat(result.getBreakingChange(), is(nullValue()));
+        assertThat(result.toString(), is("Compatible"));
+    }
+
+    @Test
+    public void check_EmptySpecs_Test() {
+        assertThat(checker.check(new Ds3ApiSpec(null, null), new Ds3ApiSpec(null, null)).isCompatible(), is(true));
+    }
+
+    @Test
+    public void check_DeletedRequest_Test() {
+        final Ds3ApiSpec newSpec = createSpec(
+                ImmutableList.of(getTestSpec().getRequests().get(1)),
+                createSimpleTestType("com.test.Thing", "Thing"),
+                createSimpleTestType("com.test.Other", "Other"));
+
+        final Ds3CompatibilityResult result = checker.check(getTestSpec(), newSpec);
+
+        assertThat(result.isCompatible(), is(false));
+        assertThat(result.getBreakingChange().getEntityKind(), is(Ds3EntityKind.REQUEST));
+        assertThat(result.getBreakingChange().getEntityName(), is("com.test.GetThingRequest"));
+        assertThat(result.getBreakingChange().getStatus(), is(DiffStatus.DELETED));
+    }
+
+    @Test
+    public void check_AddedEntitiesAreCompatible_Test() {
+        final Ds3ApiSpec newSpec = createSpec(
+                ImmutableList.of(
+                        getTestSpec().getRequests().get(0),
+                        getTestSpec().getRequests().get(1),
+                        createRequest("com.test.DeleteThingRequest", HttpVerb.DELETE, ImmutableList.of(), ImmutableList.of())),
+                createSimpleTestType("com.test.Thing", "Thing"),
+                createSimpleTestType("com.test.Other", "Other"),
+                createSimpleTestType("com.test.New", "New"));
+
+        assertThat(checker.check(getTestSpec(), newSpec).isCompatible(), is(true));
+    }
+
+    @Test
+    public void check_AddedOptionalParamIsCompatible_Test() {
+        final Ds3ApiSpec newSpec = createSpec(
+                ImmutableList.of(
+                        createRequest("com.test.GetThingRequest", HttpVerb.GET,
+                                ImmutableList.of(new Ds3Param("Limit", "int", true)),
+                                ImmutableList.of(new Ds3Param("Id", "java.util.UUID", false))),
+                        getTestSpec().getRequests().get(1)),
+                createSimpleTestType("com.test.Thing", "Thing"),
+                createSimpleTestType("com.test.Other", "Other"));
+
+        assertThat(checker.check(getTestSpec(), newSpec).isCompatible(), is(true));
+    }
+
+    @Test
+    public void check_DeletedRequiredParam_Test() {
+        final Ds3ApiSpec newSpec = createSpec(
+                ImmutableList.of(
+                        createRequest("com.test.GetThingRequest", HttpVerb.GET, ImmutableList.of(), ImmutableList.of()),
+                        getTestSpec().getRequests().get(1)),
+                createSimpleTestType("com.test.Thing", "Thing"),
+                createSimpleTestType("com.test.Other", "Other"));
+
+        final Ds3CompatibilityResult result = checker.check(getTestSpec(), newSpec);
+
+        assertThat(result.isCompatible(), is(false));
+        assertThat(result.getBreakingChange().getPath(), is("requiredQueryParams[Id]"));
+        assertThat(result.getBreakingChange().getKind(), is(Ds3EntityKind.PARAM));
+    }
+
+    @Test
+    public void check_NamesBeforeFields_Test() {
+        final Ds3ApiSpec newSpec = createSpec(
+                ImmutableList.of(
+                        createRequest("com.test.GetThingRequest", HttpVerb.HEAD, ImmutableList.of(),
+                                ImmutableList.of(new Ds3Param("Id", "java.util.UUID", false))),
+                        getTestSpec().getRequests().get(1)),
+                createSimpleTestType("com.test.Thing", "Thing"));
+
+        final Ds3CompatibilityResult result = checker.check(getTestSpec(), newSpec);
+
+        assertThat(result.isCompatible(), is(false));
+        assertThat(result.getBreakingChange().getEntityKind(), is(Ds3EntityKind.TYPE));
+        assertThat(result.getBreakingChange().getEntityName(), is("com.test.Other"));
+    }
+
+    @Test
+    public void check_ModifiedType_Test() {
+        final Ds3ApiSpec newSpec = createSpec(
+                getTestSpec().getRequests(),
+                createSimpleTestType("com.test.Thing", "Renamed"),
+                createSimpleTestType("com.test.Other", "Other"));
+
+        final Ds3CompatibilityResult result = checker.check(getTestSpec(), newSpec);
+
+        assertThat(result.isCompatible(), is(false));
+        assertThat(result.getBreakingChange().getEntityName(), is("com.test.Thing"));
+        assertThat(result.getBreakingChange().getPath(), is("nameToMarshal"));
+    }
+
+    @Test
+    public void check_CustomRules_Test() {
+        final Ds3CompatibilityChecker custom = new Ds3CompatibilityChecker(BreakingChangeRules.defaults().toBuilder()
+                .add(Ds3EntityKind.TYPE, null, DiffStatus.DELETED, Severity.NON_BREAKING)
+                .build());
+        final Ds3ApiSpec newSpec = createSpec(getTestSpec().getRequests(), createSimpleTestType("com.test.Thing", "Thing"));
+
+        assertThat(checker.check(getTestSpec(), newSpec).isCompatible(), is(false));
+        assertThat(custom.check(getTestSpec(), newSpec).isCompatible(), is(true));
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.cache;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.HashCode;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.getBucketRequest;
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.getHeadBucketRequest;
+import static com.spectralogic.ds3contractcomparator.utils.TestDataFixture.createSimpleTestType;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class Ds3SpecCache_Test {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static Ds3ApiSpec getTestSpec(final String typeName) {
+        return new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest(), getHeadBucketRequest()),
+                ImmutableMap.of(typeName, createSimpleTestType(typeName, "")));
+    }
+
+    private static byte[] toBytes(final String contents) {
+        return contents.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Ds3SpecCache createCache(final long maxSize) throws IOException {
+        return new Ds3SpecCache(folder.getRoot().toPath().resolve("cache"), maxSize, "1.0");
+    }
+
+    private static long countEntries(final Ds3SpecCache cache) throws IOException {
+        try (final Stream<Path> entries = Files.list(cache.getDirectory())) {
+            return entries.count();
+        }
+    }
+
+    @Test
+    public void get_Miss_Test() throws IOException {
+        final Ds3SpecCache cache = createCache(Ds3SpecCache.DEFAULT_MAX_SIZE);
+
+        assertThat(cache.get(cache.keyOf(toBytes("<Data/>"), true)), is(nullValue()));
+        assertThat(cache.getHits(), is(0L));
+        assertThat(cache.getMisses(), is(1L));
+    }
+
+    @Test
+    public void get_Hit_Test() throws IOException {
+        final Ds3SpecCache cache = createCache(Ds3SpecCache.DEFAULT_MAX_SIZE);
+        final Ds3ApiSpec spec = getTestSpec("com.test.Type");
+        final HashCode key = cache.keyOf(toBytes("<Data/>"), true);
+        cache.put(key, spec);
+
+        final Ds3ApiSpec cachedSpec = cache.get(key);
+
+        assertThat(cachedSpec, is(notNullValue()));
+        assertThat(cachedSpec.getRequests(), is(spec.getRequests()));
+        assertThat(cachedSpec.getTypes(), is(spec.getTypes()));
+        assertThat(cache.getHits(), is(1L));
+        assertThat(cache.getMisses(), is(0L));
+    }
+
+    @Test
+    public void get_SharedDirectory_Test() throws IOException {
+        final Ds3SpecCache cache = createCache(Ds3SpecCache.DEFAULT_MAX_SIZE);
+        final HashCode key = cache.keyOf(toBytes("<Data/>"), true);
+        cache.put(key, getTestSpec("com.test.Type"));
+
+        final Ds3SpecCache otherCache = createCache(Ds3SpecCache.DEFAULT_MAX_SIZE);
+        assertThat(otherCache.get(key), is(notNullValue()));
+    }
+
+    @Test
+    public void get_CorruptEntry_Test() throws IOException {
+        final Ds3SpecCache cache = createCache(Ds3SpecCache.DEFAULT_MAX_SIZE);
+        final HashCode key = cache.keyOf(toBytes("<Data/>"), true);
+        cache.put(key, getTestSpec("com.test.Type"));
+        Files.write(cache.getDirectory().resolve(key.toString() + ".spec"), toBytes("corrupt"));
+
+        assertThat(cache.get(key), is(nullValue()));
+        assertThat(cache.getMisses(), is(1L));
+        assertThat(countEntries(cache), is(0L));
+    }
+
+    @Test
+    public void keyOf_Test() throws IOException {
+        final Ds3SpecCache cache = createCache(Ds3SpecCache.DEFAULT_MAX_SIZE);
+        final HashCode key = cache.keyOf(toBytes("<Data/>"), true);
+
+        assertThat(cache.keyOf(toBytes("<Data/>"), true), is(key));
+        assertThat(cache.keyOf(toBytes("<Data></Data>"), true), is(not(key)));
+        assertThat(cache.keyOf(toBytes("<Data/>"), false), is(not(key)));
+        assertThat(key.bits(), is(256));
+    }
+
+    @Test
+    public void keyOf_ParserVersion_Test() throws IOException {
+        final Path directory = folder.getRoot().toPath().resolve("cache");
+        final HashCode key = new Ds3SpecCache(directory, Ds3SpecCache.DEFAULT_MAX_SIZE, "1.0").keyOf(toBytes("<Data/>"), true);
+
+        assertThat(new Ds3SpecCache(directory, Ds3SpecCache.DEFAULT_MAX_SIZE, "2.0").keyOf(toBytes("<Data/>"), true), is(not(key)));
+    }
+
+    @Test
+    public void parserVersion_Unversioned_Test() throws IOException {
+        // The test classes are in a class directory whose package records no version
+        final String version = Ds3SpecCache.parserVersion(Ds3SpecCache_Test.class);
+
+        assertThat(version, startsWith("sha256:"));
+        assertThat(Ds3SpecCache.parserVersion(Ds3SpecCache_Test.class), is(version));
+    }
+
+    @Test
+    public void digestOf_Directory_Test() throws IOException {
+        final Path classes = folder.newFolder("classes").toPath();
+        Files.createDirectories(classes.resolve("com/test"));
+        Files.write(classes.resolve("com/test/Parser.class"), toBytes("parser"));
+        final HashCode digest = Ds3SpecCache.digestOf(classes);
+
+        assertThat(Ds3SpecCache.digestOf(classes), is(digest));
+        Files.write(classes.resolve("com/test/Parser.class"), toBytes("changed parser"));
+        assertThat(Ds3SpecCache.digestOf(classes), is(not(digest)));
+    }
+
+    @Test
+    public void digestOf_Jar_Test() throws IOException {
+        final Path jar = folder.getRoot().toPath().resolve("parser.jar");
+        Files.write(jar, toBytes("parser"));
+        final HashCode digest = Ds3SpecCache.digestOf(jar);
+
+        Files.write(jar, toBytes("changed parser"));
+        assertThat(Ds3SpecCache.digestOf(jar), is(not(digest)));
+    }
+
+    @Test
+    public void put_EvictsLeastRecentlyUsed_Test() throws IOException {
+        final Ds3SpecCache unbounded = createCache(Ds3SpecCache.DEFAULT_MAX_SIZE);
+        final HashCode firstKey = unbounded.keyOf(toBytes("first"), true);
+        final HashCode secondKey = unbounded.keyOf(toBytes("second"), true);
+        final HashCode thirdKey = unbounded.keyOf(toBytes("third"), true);
+        unbounded.put(firstKey, getTestSpec("com.test.First"));
+        unbounded.put(secondKey, getTestSpec("com.test.Second"));
+        final long entrySize = Files.size(unbounded.getDirectory().resolve(firstKey.toString() + ".spec"));
+
+        // The first entry was used most recently, so the second entry is evicted
+        Files.setLastModifiedTime(unbounded.getDirectory().resolve(firstKey.toString() + ".spec"), FileTime.fromMillis(3000));
+        Files.setLastModifiedTime(unbounded.getDirectory().resolve(secondKey.toString() + ".spec"), FileTime.fromMillis(1000));
+
+        final Ds3SpecCache cache = createCache(entrySize * 2 + entrySize / 2);
+        cache.put(thirdKey, getTestSpec("com.test.Third"));
+
+        assertThat(countEntries(cache), is(2L));
+        assertThat(cache.get(firstKey), is(notNullValue()));
+        assertThat(cache.get(secondKey), is(nullValue()));
+        assertThat(cache.get(thirdKey), is(notNullValue()));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void constructor_InvalidMaxSize_Test() throws IOException {
+        createCache(0);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.cache;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.getBucketRequest;
+import static com.spectralogic.ds3contractcomparator.utils.TestDataFixture.createSimpleTestType;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class Ds3SpecMemoryCache_Test {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicInteger parses = new AtomicInteger();
+
+    private static Ds3ApiSpec getTestSpec(final String typeName) {
+        return new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest()),
+                ImmutableMap.of(typeName, createSimpleTestType(typeName, "")));
+    }
+
+    private Path createContract(final String contents) throws IOException {
+        final Path file = folder.newFile().toPath();
+        Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private Ds3ApiSpec get(final Ds3SpecMemoryCache cache, final Path file, final String typeName) throws IOException {
+        return cache.get(file, true, () -> {
+            parses.incrementAndGet();
+            return getTestSpec(typeName);
+        });
+    }
+
+    @Test
+    public void get_Hit_Test() throws IOException {
+        final Ds3SpecMemoryCache cache = new Ds3SpecMemoryCache();
+        final Path file = createContract("<Data/>");
+
+        final Ds3ApiSpec spec = get(cache, file, "com.test.Type");
+        assertThat(get(cache, file, "com.test.Type"), is(sameInstance(spec)));
+
+        assertThat(parses.get(), is(1));
+        assertThat(cache.getHits(), is(1L));
+        assertThat(cache.getMisses(), is(1L));
+        assertThat(cache.size(), is(1L));
+    }
+
+    @Test
+    public void get_GenerateInternal_Test() throws IOException {
+        final Ds3SpecMemoryCache cache = new Ds3SpecMemoryCache();
+        final Path file = createContract("<Data/>");
+
+        get(cache, file, "com.test.Type");
+        cache.get(file, false, () -> {
+            parses.incrementAndGet();
+            return getTestSpec("com.test.Type");
+        });
+
+        assertThat(parses.get(), is(2));
+    }
+
+    @Test
+    public void get_ModifiedFile_Test() throws IOException {
+        final Ds3SpecMemoryCache cache = new Ds3SpecMemoryCache();
+        final Path file = createContract("<Data/>");
+        get(cache, file, "com.test.Type");
+
+        Files.write(file, "<Data></Data>".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+        final Ds3ApiSpec spec = get(cache, file, "com.test.OtherType");
+
+        assertThat(parses.get(), is(2));
+        assertThat(spec.getTypes().keySet(), hasItem("com.test.OtherType"));
+    }
+
+    @Test
+    public void get_Evicts_Test() throws IOException {
+        final Ds3SpecMemoryCache cache = new Ds3SpecMemoryCache(1);
+        final Path firstFile = createContract("<Data/>");
+        final Path secondFile = createContract("<Data/>");
+
+        get(cache, firstFile, "com.test.Type");
+        get(cache, secondFile, "com.test.Type");
+        get(cache, firstFile, "com.test.Type");
+
+        assertThat(parses.get(), is(3));
+        assertThat(cache.size(), is(1L));
+    }
+
+    @Test
+    public void get_ParseFails_Test() throws IOException {
+        final Ds3SpecMemoryCache cache = new Ds3SpecMemoryCache();
+        final Path file = createContract("<Data/>");
+        try {
+            cache.get(file, true, () -> {
+                throw new IOException("malformed contract");
+            });
+            fail("Expected the parse to fail");
+        } catch (final IOException e) {
+            assertThat(e.getMessage(), is("malformed contract"));
+        }
+
+        get(cache, file, "com.test.Type");
+        assertThat(parses.get(), is(1));
+    }
+
+    @Test (expected = IOException.class)
+    public void get_MissingFile_Test() throws IOException {
+        get(new Ds3SpecMemoryCache(), folder.getRoot().toPath().resolve("missing.xml"), "com.test.Type");
+    }
+
+    @Test
+    public void clear_Test() throws IOException {
+        final Ds3SpecMemoryCache cache = new Ds3SpecMemoryCache();
+        final Path file = createContract("<Data/>");
+        get(cache, file, "com.test.Type");
+
+        cache.clear();
+        get(cache, file, "com.test.Type");
+
+        assertThat(parses.get(), is(2));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void constructor_NonPositiveMaxEntries_Test() {
+        new Ds3SpecMemoryCache(0);
+    }
+}
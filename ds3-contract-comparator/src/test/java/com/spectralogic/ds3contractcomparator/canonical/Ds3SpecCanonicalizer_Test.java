@@ -0,0 +1,220 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.canonical;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3autogen.api.models.enums.HttpVerb;
+import com.spectralogic.ds3contractcomparator.fingerprint.Ds3Fingerprints;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class Ds3SpecCanonicalizer_Test {
+
+    private static Ds3Request getRequest(
+            final ImmutableList<Ds3ResponseCode> responseCodes,
+            final ImmutableList<Ds3Param> optionalParams) {
+        return new Ds3Request(
+                "com.test.Request",
+                HttpVerb.GET,
+                Classification.spectrads3,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                false,
+                responseCodes,
+                optionalParams,
+                ImmutableList.of(new Ds3Param("Required", "java.lang.String", false)));
+    }
+
+    private static Ds3Type getType(final ImmutableList<Ds3Element> elements) {
+        return new Ds3Type("com.test.Type", null, elements, ImmutableList.of());
+    }
+
+    private static Ds3Element getElement(final String name, final ImmutableList<Ds3Annotation> annotations) {
+        return new Ds3Element(name, "java.lang.String", null, annotations, false);
+    }
+
+    @Test
+    public void canonicalizeRequest_Test() {
+        final Ds3Request request = getRequest(
+                ImmutableList.of(
+                        new Ds3ResponseCode(404, ImmutableList.of(new Ds3ResponseType("com.test.Error", null))),
+                        new Ds3ResponseCode(200, ImmutableList.of(
+                                new Ds3ResponseType("com.test.B", null),
+                                new Ds3ResponseType("com.test.A", null)))),
+                ImmutableList.of(
+                        new Ds3Param("Zeta", "int", false),
+                        new Ds3Param("Alpha", "int", true)));
+
+        final Ds3Request result = Ds3SpecCanonicalizer.canonicalize(request);
+
+        assertThat(result.getDs3ResponseCodes().get(0).getCode(), is(200));
+        assertThat(result.getDs3ResponseCodes().get(0).getDs3ResponseTypes().get(0).getType(), is("com.test.A"));
+        assertThat(result.getDs3ResponseCodes().get(1).getCode(), is(404));
+        assertThat(result.getOptionalQueryParams().get(0).getName(), is("Alpha"));
+        assertThat(result.getOptionalQueryParams().get(1).getName(), is("Zeta"));
+        assertThat(result.getRequiredQueryParams(), sameInstance(request.getRequiredQueryParams()));
+        assertThat(result.getName(), is(request.getName()));
+        assertThat(result.getHttpVerb(), is(request.getHttpVerb()));
+    }
+
+    @Test
+    public void canonicalizeRequest_Ordered_Test() {
+        final Ds3Request request = getRequest(
+                ImmutableList.of(new Ds3ResponseCode(200, ImmutableList.of(new Ds3ResponseType("com.test.A", null)))),
+                ImmutableList.of(new Ds3Param("Alpha", "int", true), new Ds3Param("Zeta", "int", false)));
+
+        assertThat(Ds3SpecCanonicalizer.canonicalize(request), sameInstance(request));
+    }
+
+    @Test
+    public void canonicalizeRequest_NullLists_Test() {
+        final Ds3Request request = getRequest(null, null);
+
+        assertThat(Ds3SpecCanonicalizer.canonicalize(request), sameInstance(request));
+    }
+
+    @Test
+    public void canonicalizeType_Test() {
+        final Ds3Type type = getType(ImmutableList.of(
+                getElement("Name", ImmutableList.of()),
+                getElement("Id", ImmutableList.of(
+                        new Ds3Annotation("com.test.SortBy", ImmutableList.of(
+                                new Ds3AnnotationElement("Value", "2", "java.lang.Integer"),
+                                new Ds3AnnotationElement("Direction", "ASCENDING", "java.lang.String"))),
+                        new Ds3Annotation("com.test.CascadeDelete", ImmutableList.of())))));
+
+        final Ds3Type result = Ds3SpecCanonicalizer.canonicalize(type);
+
+        assertThat(result.getElements().get(0).getName(), is("Id"));
+        assertThat(result.getElements().get(1), sameInstance(type.getElements().get(0)));
+        final Ds3Element id = result.getElements().get(0);
+        assertThat(id.getDs3Annotations().get(0).getName(), is("com.test.CascadeDelete"));
+        assertThat(id.getDs3Annotations().get(1).getName(), is("com.test.SortBy"));
+        assertThat(id.getDs3Annotations().get(1).getDs3AnnotationElements().get(0).getName(), is("Direction"));
+    }
+
+    @Test
+    public void canonicalizeType_EnumConstants_Test() {
+        final Ds3Type type = new Ds3Type("com.test.Enum", "Enum", ImmutableList.of(), ImmutableList.of(
+                new Ds3EnumConstant("ZETA", ImmutableList.of(
+                        new Ds3Property("Value", "26", "int"),
+                        new Ds3Property("Description", "Last", "java.lang.String"))),
+                new Ds3EnumConstant("ALPHA", null)));
+
+        final Ds3Type result = Ds3SpecCanonicalizer.canonicalize(type);
+
+        assertThat(result.getEnumConstants().get(0).getName(), is("ALPHA"));
+        assertThat(result.getEnumConstants().get(1).getName(), is("ZETA"));
+        assertThat(result.getEnumConstants().get(1).getDs3Properties().get(0).getName(), is("Description"));
+        assertThat(result.getNameToMarshal(), is(type.getNameToMarshal()));
+    }
+
+    @Test
+    public void canonicalizeType_DuplicateKeysKeepOrder_Test() {
+        final Ds3Type type = getType(ImmutableList.of(
+                getElement("Name", ImmutableList.of()),
+                new Ds3Element("Id", "long", null, ImmutableList.of(), false),
+                new Ds3Element("Id", "java.util.UUID", null, ImmutableList.of(), false)));
+
+        final Ds3Type result = Ds3SpecCanonicalizer.canonicalize(type);
+
+        assertThat(result.getElements().get(0).getType(), is("long"));
+        assertThat(result.getElements().get(1).getType(), is("java.util.UUID"));
+        assertThat(result.getElements().get(2).getName(), is("Name"));
+    }
+
+    @Test
+    public void canonicalizeType_NullNamesFirst_Test() {
+        final Ds3Type type = getType(ImmutableList.of(
+                getElement("Name", ImmutableList.of()),
+                getElement(null, ImmutableList.of())));
+
+        assertThat(Ds3SpecCanonicalizer.canonicalize(type).getElements().get(0).getName(), is(nullValue()));
+    }
+
+    @Test
+    public void canonicalize_ReorderedFingerprintsMatch_Test() {
+        final Ds3Type type = getType(ImmutableList.of(
+                getElement("Name", ImmutableList.of()),
+                getElement("Id", ImmutableList.of())));
+        final Ds3Type reordered = getType(ImmutableList.of(
+                getElement("Id", ImmutableList.of()),
+                getElement("Name", ImmutableList.of())));
+
+        assertThat(Ds3Fingerprints.fingerprint(type), not(Ds3Fingerprints.fingerprint(reordered)));
+        assertThat(Ds3SpecCanonicalizer.canonicalize(type), is(Ds3SpecCanonicalizer.canonicalize(reordered)));
+        assertThat(
+                Ds3Fingerprints.fingerprint(Ds3SpecCanonicalizer.canonicalize(type)),
+                is(Ds3Fingerprints.fingerprint(Ds3SpecCanonicalizer.canonicalize(reordered))));
+    }
+
+    @Test
+    public void canonicalizeSpec_Canonical_Test() {
+        final Ds3Type type = getType(ImmutableList.of(getElement("Id", ImmutableList.of())));
+        final Ds3ApiSpec spec = new Ds3ApiSpec(
+                ImmutableList.of(getRequest(null, null)),
+                ImmutableMap.of(type.getName(), type));
+
+        assertThat(Ds3SpecCanonicalizer.canonicalize(spec), sameInstance(spec));
+    }
+
+    @Test
+    public void canonicalizeSpec_NullLists_Test() {
+        final Ds3ApiSpec spec = new Ds3ApiSpec(null, null);
+
+        assertThat(Ds3SpecCanonicalizer.canonicalize(spec), sameInstance(spec));
+    }
+
+    @Test
+    public void canonicalizeSpec_Parallel_Test() throws InterruptedException {
+        final Ds3Type ordered = new Ds3Type("com.test.Ordered", null,
+                ImmutableList.of(getElement("Id", ImmutableList.of())), ImmutableList.of());
+        final Ds3Type unordered = getType(ImmutableList.of(
+                getElement("Name", ImmutableList.of()),
+                getElement("Id", ImmutableList.of())));
+        final Ds3Request request = getRequest(null, ImmutableList.of(
+                new Ds3Param("Zeta", "int", false),
+                new Ds3Param("Alpha", "int", true)));
+        final Ds3ApiSpec spec = new Ds3ApiSpec(
+                ImmutableList.of(request),
+                ImmutableMap.of(ordered.getName(), ordered, unordered.getName(), unordered));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Ds3ApiSpec result = Ds3SpecCanonicalizer.canonicalize(spec, executor, 2);
+
+            assertThat(result, is(Ds3SpecCanonicalizer.canonicalize(spec)));
+            assertThat(result.getRequests().get(0).getOptionalQueryParams().get(0).getName(), is("Alpha"));
+            assertThat(result.getTypes().get("com.test.Ordered"), sameInstance(ordered));
+            assertThat(result.getTypes().get("com.test.Type").getElements().get(0).getName(), is("Id"));
+            assertThat(result.getTypes().keySet().asList(), is(spec.getTypes().keySet().asList()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.filter;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3autogen.api.models.enums.HttpVerb;
+import org.junit.Test;
+
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.*;
+import static com.spectralogic.ds3contractcomparator.utils.TestDataFixture.createSimpleTestType;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class Ds3SpecFilter_Test {
+
+    private static Ds3ApiSpec getTestSpec() {
+        final Ds3Type domainType = createSimpleTestType("com.spectralogic.s3.server.domain.Bucket", "");
+        final Ds3Type otherType = createSimpleTestType("com.spectralogic.util.Other", "");
+        return new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest(), deleteBucketRequest(), createBucketRequest(), getHeadBucketRequest()),
+                ImmutableMap.of(domainType.getName(), domainType, otherType.getName(), otherType));
+    }
+
+    @Test
+    public void all_Test() {
+        final Ds3SpecFilter filter = Ds3SpecFilter.all();
+        final Ds3ApiSpec spec = getTestSpec();
+
+        assertThat(filter.isAll(), is(true));
+        assertThat(filter.apply(spec), sameInstance(spec));
+        assertThat(filter.includesRequestName(null), is(true));
+        assertThat(filter.toString(), is("all"));
+    }
+
+    @Test
+    public void globRequestName_Test() {
+        final Ds3SpecFilter filter = Ds3SpecFilter.builder().withRequestName("*.spectrads3.*").build();
+
+        assertThat(filter.isAll(), is(false));
+        assertThat(filter.isAllTypes(), is(true));
+        assertThat(filter.isRequestNameOnly(), is(true));
+        assertThat(filter.includesRequest(deleteBucketRequest()), is(true));
+        assertThat(filter.includesRequest(getBucketRequest()), is(false));
+        assertThat(filter.includesRequestName(null), is(false));
+    }
+
+    @Test
+    public void globSingleCharacter_Test() {
+        final Ds3SpecFilter filter = Ds3SpecFilter.builder().withTypeName("glob:com.test.Type?").build();
+
+        assertThat(filter.includesTypeName("com.test.Type1"), is(true));
+        assertThat(filter.includesTypeName("com.test.Type12"), is(false));
+        assertThat(filter.includesTypeName("comXtest.Type1"), is(false));
+    }
+
+    @Test
+    public void regexRequestName_Test() {
+        final Ds3SpecFilter filter = Ds3SpecFilter.builder().withRequestName("regex:.*\\.(Get|Head)\\w*RequestHandler").build();
+
+        assertThat(filter.includesRequest(getBucketRequest()), is(true));
+        assertThat(filter.includesRequest(getHeadBucketRequest()), is(true));
+        assertThat(filter.includesRequest(deleteBucketRequest()), is(false));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void invalidRegex_Test() {
+        Ds3SpecFilter.builder().withRequestName("regex:(unclosed");
+    }
+
+    @Test
+    public void classificationAndHttpVerb_Test() {
+        final Ds3SpecFilter filter = Ds3SpecFilter.builder()
+                .withClassification("SpectraDS3")
+                .withHttpVerb("delete")
+                .withHttpVerb("PO*")
+                .build();
+
+        assertThat(filter.isRequestNameOnly(), is(false));
+        assertThat(filter.includesClassification(Classification.spectrads3), is(true));
+        assertThat(filter.includesClassification(Classification.amazons3), is(false));
+        assertThat(filter.includesHttpVerb(HttpVerb.POST), is(true));
+        assertThat(filter.includesHttpVerb(HttpVerb.GET), is(false));
+        assertThat(filter.includesRequest(deleteBucketRequest()), is(true));
+        assertThat(filter.includesRequest(createBucketRequest()), is(true));
+        assertThat(filter.includesRequest(getBucketRequest()), is(false));
+        assertThat(filter.includesHttpVerb(null), is(false));
+    }
+
+    @Test
+    public void apply_Test() {
+        final Ds3SpecFilter filter = Ds3SpecFilter.builder()
+                .withClassification("amazons3")
+                .withTypeName("com.spectralogic.s3.server.domain.*")
+                .build();
+
+        final Ds3ApiSpec result = filter.apply(getTestSpec());
+
+        assertThat(result.getRequests(), is(ImmutableList.of(getBucketRequest(), getHeadBucketRequest())));
+        assertThat(result.getTypes().keySet().asList(), is(ImmutableList.of("com.spectralogic.s3.server.domain.Bucket")));
+    }
+
+    @Test
+    public void apply_RequestsOnly_Test() {
+        final Ds3ApiSpec spec = getTestSpec();
+        final Ds3ApiSpec result = Ds3SpecFilter.builder().withHttpVerb("GET").build().apply(spec);
+
+        assertThat(result.getRequests(), is(ImmutableList.of(getBucketRequest())));
+        assertThat(result.getTypes(), sameInstance(spec.getTypes()));
+    }
+
+    @Test
+    public void apply_NullSpec_Test() {
+        final Ds3ApiSpec result = Ds3SpecFilter.builder().withRequestName("*").withTypeName("*").build()
+                .apply(new Ds3ApiSpec(null, null));
+
+        assertThat(result.getRequests(), is(nullValue()));
+        assertThat(result.getTypes(), is(nullValue()));
+    }
+
+    @Test
+    public void toString_Test() {
+        final Ds3SpecFilter filter = Ds3SpecFilter.builder()
+                .withClassification("spectrads3")
+                .withTypeName("com.test.*")
+                .build();
+
+        assertThat(filter.toString(), is("classification spectrads3, type name com.test.*"));
+    }
+
+    @Test
+    public void globQuotesRegexCharacters_Test() {
+        final Ds3SpecFilter filter = Ds3SpecFilter.builder().withRequestName("a.b[c]*").build();
+
+        assertThat(filter.includesRequestName("a.b[c]Handler"), is(true));
+        assertThat(filter.includesRequestName("aXbcHandler"), is(false));
+    }
+
+    @Test
+    public void includesType_Test() {
+        final Ds3Request request = getBucketRequest();
+        final Ds3SpecFilter filter = Ds3SpecFilter.builder().withTypeName("*.domain.*").build();
+
+        assertThat(filter.includesRequest(request), is(true));
+        assertThat(filter.includesType(createSimpleTestType("com.spectralogic.s3.server.domain.Bucket", "")), is(true));
+        assertThat(filter.includesType(createSimpleTestType("com.spectralogic.util.Other", "")), is(false));
+    }
+}
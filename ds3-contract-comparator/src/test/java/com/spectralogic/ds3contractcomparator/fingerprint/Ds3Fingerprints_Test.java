@@ -0,0 +1,141 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.fingerprint;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.*;
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelPartialDataFixture.createDs3RequestTestData;
+import static com.spectralogic.ds3contractcomparator.fingerprint.Ds3Fingerprints.fingerprint;
+import static com.spectralogic.ds3contractcomparator.utils.TestDataFixture.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class Ds3Fingerprints_Test {
+
+    @Test
+    public void fingerprint_SameRequest_Test() {
+        assertThat(fingerprint(getBucketRequest()), is(fingerprint(getBucketRequest())));
+    }
+
+    @Test
+    public void fingerprint_DifferentRequests_Test() {
+        assertThat(fingerprint(getBucketRequest()), not(fingerprint(deleteBucketRequest())));
+    }
+
+    @Test
+    public void fingerprint_ModifiedRequestHeader_Test() {
+        final String requestName = "com.test.TestRequestHandler";
+        assertThat(
+                fingerprint(createDs3RequestTestData(requestName, Classification.amazons3)),
+                not(fingerprint(createDs3RequestTestData(requestName, Classification.spectrads3))));
+    }
+
+    @Test
+    public void fingerprint_ModifiedRequestParam_Test() {
+        final Ds3Request request1 = createDs3RequestTestData(
+                false,
+                ImmutableList.of(new Ds3Param("TypeName", "Boolean", false)),
+                ImmutableList.of());
+        final Ds3Request request2 = createDs3RequestTestData(
+                false,
+                ImmutableList.of(new Ds3Param("TypeName", "boolean", false)),
+                ImmutableList.of());
+        assertThat(fingerprint(request1), not(fingerprint(request2)));
+    }
+
+    @Test
+    public void fingerprint_SameType_Test() {
+        assertThat(fingerprint(createSimpleTestType()), is(fingerprint(createSimpleTestType())));
+    }
+
+    @Test
+    public void fingerprint_ModifiedEnumProperty_Test() {
+        final Ds3Type type1 = createTestTypeEnum("", new Ds3EnumConstant(
+                "ENUM", ImmutableList.of(new Ds3Property("Name", "Value", "ValueType"))));
+        final Ds3Type type2 = createTestTypeEnum("", new Ds3EnumConstant(
+                "ENUM", ImmutableList.of(new Ds3Property("Name", "ChangedValue", "ValueType"))));
+        assertThat(fingerprint(type1), not(fingerprint(type2)));
+    }
+
+    @Test
+    public void fingerprint_ModifiedElementNullable_Test() {
+        final Ds3Type type1 = createTestTypeElement(new Ds3Element("Name", "Type", "", false));
+        final Ds3Type type2 = createTestTypeElement(new Ds3Element("Name", "Type", "", true));
+        assertThat(fingerprint(type1), not(fingerprint(type2)));
+    }
+
+    @Test
+    public void fingerprint_ShiftedStrings_Test() {
+        final Ds3Param param1 = new Ds3Param("ab", "c", false);
+        final Ds3Param param2 = new Ds3Param("a", "bc", false);
+        assertThat(fingerprint(param1), not(fingerprint(param2)));
+    }
+
+    @Test
+    public void fingerprint_NullAndEmptyString_Test() {
+        final Ds3ResponseType responseType1 = new Ds3ResponseType("Type", null);
+        final Ds3ResponseType responseType2 = new Ds3ResponseType("Type", "");
+        assertThat(fingerprint(responseType1), not(fingerprint(responseType2)));
+    }
+
+    @Test
+    public void compute_EmptySpec_Test() {
+        final Ds3SpecFingerprints result = Ds3SpecFingerprints.compute(new Ds3ApiSpec(null, null));
+        assertThat(result.getRequestFingerprints().size(), is(0));
+        assertThat(result.getTypeFingerprints().size(), is(0));
+    }
+
+    @Test
+    public void compute_ParallelSameAsSequential_Test() {
+        final Ds3ApiSpec spec = new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest(), deleteBucketRequest(), createBucketRequest(), getHeadBucketRequest()),
+                ImmutableMap.of(
+                        "com.test.TypeOne", createSimpleTestType("com.test.TypeOne", "One"),
+                        "com.test.TypeTwo", createSimpleTestType("com.test.TypeTwo", "Two"),
+                        "com.test.TypeThree", createSimpleTestType("com.test.TypeThree", "Three")));
+
+        final Ds3SpecFingerprints expected = Ds3SpecFingerprints.compute(spec);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Ds3SpecFingerprints result = Ds3SpecFingerprints.compute(spec, executor, 3);
+            assertThat(result.getRequestFingerprints(), is(expected.getRequestFingerprints()));
+            assertThat(result.getTypeFingerprints(), is(expected.getTypeFingerprints()));
+            assertThat(result.getRequestFingerprint(getBucketRequest().getName()), is(fingerprint(getBucketRequest())));
+            assertThat(result.getTypeFingerprint("com.test.Unknown"), is(nullValue()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void cache_SameSpec_Test() {
+        final Ds3ApiSpec spec = new Ds3ApiSpec(ImmutableList.of(getBucketRequest()), ImmutableMap.of());
+        final Ds3FingerprintCache cache = new Ds3FingerprintCache();
+        final Ds3SpecFingerprints first = cache.get(spec, null, 1);
+        assertThat(cache.get(spec, null, 1), sameInstance(first));
+        assertThat(
+                cache.get(new Ds3ApiSpec(ImmutableList.of(getBucketRequest()), ImmutableMap.of()), null, 1),
+                not(sameInstance(first)));
+    }
+}
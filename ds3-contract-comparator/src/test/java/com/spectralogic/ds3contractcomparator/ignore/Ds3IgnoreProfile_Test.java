@@ -0,0 +1,172 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.ignore;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3autogen.api.models.enums.HttpVerb;
+import com.spectralogic.ds3contractcomparator.models.delta.Ds3EntityKind;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.spectralogic.ds3contractcomparator.utils.TestDataFixture.createTestTypeElement;
+import static com.spectralogic.ds3contractcomparator.utils.TestDataFixture.createTestTypeEnum;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class Ds3IgnoreProfile_Test {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static Ds3Element createElement(final boolean nullable, final String... annotationNames) {
+        final ImmutableList.Builder<Ds3Annotation> annotations = ImmutableList.builder();
+        for (final String annotationName : annotationNames) {
+            annotations.add(new Ds3Annotation(annotationName, ImmutableList.of(
+                    new Ds3AnnotationElement("Value", "value", "java.lang.String"))));
+        }
+        return new Ds3Element("Name", "java.lang.String", null, annotations.build(), nullable);
+    }
+
+    private static Ds3Request createRequest(final boolean nullable, final String originalTypeName) {
+        return new Ds3Request("com.test.GetRequestHandler", HttpVerb.GET, Classification.spectrads3,
+                null, null, null, null, null, null, false,
+                ImmutableList.of(new Ds3ResponseCode(200, ImmutableList.of(
+                        new Ds3ResponseType("com.test.Type", null, originalTypeName)))),
+                ImmutableList.of(new Ds3Param("Marker", "java.lang.String", nullable)),
+                null);
+    }
+
+    @Test
+    public void named_Test() {
+        assertThat(Ds3IgnoreProfile.named("none"), sameInstance(Ds3IgnoreProfile.NONE));
+        assertThat(Ds3IgnoreProfile.named("annotations"), sameInstance(Ds3IgnoreProfile.ANNOTATIONS));
+        assertThat(Ds3IgnoreProfile.named("simple-printer"), sameInstance(Ds3IgnoreProfile.SIMPLE_PRINTER));
+        assertThat(Ds3IgnoreProfile.NONE.isEmpty(), is(true));
+        assertThat(Ds3IgnoreProfile.SIMPLE_PRINTER.isIgnored(Ds3EntityKind.ENUM_CONSTANT, "ds3Properties"), is(true));
+        assertThat(Ds3IgnoreProfile.SIMPLE_PRINTER.getAnnotationSuffixes(), is(Ds3IgnoreProfile.ANNOTATIONS.getAnnotationSuffixes()));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void named_Unknown_Test() {
+        Ds3IgnoreProfile.named("unknown");
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void withField_NotIgnorable_Test() {
+        Ds3IgnoreProfile.builder("test").withField(Ds3EntityKind.TYPE, "name");
+    }
+
+    @Test
+    public void isIgnoredAnnotation_Test() {
+        assertThat(Ds3IgnoreProfile.ANNOTATIONS.isIgnoredAnnotation("com.test.SortBy"), is(true));
+        assertThat(Ds3IgnoreProfile.ANNOTATIONS.isIgnoredAnnotation("com.test.DefaultStringValue"), is(true));
+        assertThat(Ds3IgnoreProfile.ANNOTATIONS.isIgnoredAnnotation("com.test.CustomMarshaledName"), is(false));
+        assertThat(Ds3IgnoreProfile.NONE.isIgnoredAnnotation("com.test.SortBy"), is(false));
+    }
+
+    @Test
+    public void apply_None_Test() {
+        final Ds3ApiSpec spec = new Ds3ApiSpec(ImmutableList.of(createRequest(true, "Type")), ImmutableMap.of());
+        assertThat(Ds3IgnoreProfile.NONE.apply(spec), sameInstance(spec));
+    }
+
+    @Test
+    public void apply_Annotations_Test() {
+        final Ds3Type type = createTestTypeElement(createElement(true, "com.test.SortBy", "com.test.CustomMarshaledName"));
+
+        final Ds3Type result = Ds3IgnoreProfile.ANNOTATIONS.apply(type);
+
+        assertThat(result.getName(), is(type.getName()));
+        assertThat(result.getNameToMarshal(), is(type.getNameToMarshal()));
+        assertThat(result.getElements().get(0).getNullable(), is(true));
+        assertThat(result.getElements().get(0).getDs3Annotations().size(), is(1));
+        assertThat(result.getElements().get(0).getDs3Annotations().get(0).getName(), is("com.test.CustomMarshaledName"));
+        assertThat(result, is(Ds3IgnoreProfile.ANNOTATIONS.apply(
+                createTestTypeElement(createElement(true, "com.test.CustomMarshaledName", "com.test.CascadeDelete")))));
+    }
+
+    @Test
+    public void apply_TypeFields_Test() {
+        final Ds3IgnoreProfile profile = Ds3IgnoreProfile.builder("test")
+                .withField(Ds3EntityKind.TYPE, "nameToMarshal")
+                .withField("ELEMENT.nullable")
+                .withField("ANNOTATION.ds3AnnotationElements")
+                .build();
+
+        final Ds3Type result = profile.apply(createTestTypeElement(createElement(true, "com.test.SortBy")));
+
+        assertThat(result.getNameToMarshal(), is(nullValue()));
+        assertThat(result.getElements().get(0).getNullable(), is(false));
+        assertThat(result.getElements().get(0).getDs3Annotations().get(0).getDs3AnnotationElements(), is(nullValue()));
+    }
+
+    @Test
+    public void apply_EnumConstantProperties_Test() {
+        final Ds3Type type = createTestTypeEnum("Marshal", new Ds3EnumConstant("ONE", ImmutableList.of(
+                new Ds3Property("Code", "1", "int"))));
+
+        final Ds3Type result = Ds3IgnoreProfile.SIMPLE_PRINTER.apply(type);
+
+        assertThat(result.getEnumConstants().get(0).getName(), is("ONE"));
+        assertThat(result.getEnumConstants().get(0).getDs3Properties(), is(nullValue()));
+        assertThat(Ds3IgnoreProfile.NONE.apply(type), sameInstance(type));
+    }
+
+    @Test
+    public void apply_Request_Test() {
+        final Ds3IgnoreProfile profile = Ds3IgnoreProfile.builder("test")
+                .withField("PARAM.nullable")
+                .withField("RESPONSE_TYPE.originalTypeName")
+                .build();
+
+        assertThat(profile.apply(createRequest(true, "Old")), is(profile.apply(createRequest(false, "New"))));
+        assertThat(profile.apply(createRequest(true, "Old")).getOptionalQueryParams().get(0).getNullable(), is(false));
+        final Ds3Request request = createRequest(true, "Old");
+        assertThat(Ds3IgnoreProfile.ANNOTATIONS.apply(request), sameInstance(request));
+    }
+
+    @Test
+    public void read_Test() throws IOException {
+        final Path file = folder.getRoot().toPath().resolve("team.properties");
+        Files.write(file, ("extends=annotations\n"
+                + "annotationSuffixes=Internal, Deprecated\n"
+                + "fields=TYPE.nameToMarshal\n").getBytes(StandardCharsets.UTF_8));
+
+        final Ds3IgnoreProfile profile = Ds3IgnoreProfile.read(file);
+
+        assertThat(profile.getName(), is("team.properties"));
+        assertThat(profile.isIgnoredAnnotation("com.test.SortBy"), is(true));
+        assertThat(profile.isIgnoredAnnotation("com.test.Deprecated"), is(true));
+        assertThat(profile.isIgnored(Ds3EntityKind.TYPE, "nameToMarshal"), is(true));
+        assertThat(profile.isIgnored(Ds3EntityKind.ENUM_CONSTANT, "ds3Properties"), is(false));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void read_UnknownField_Test() throws IOException {
+        final Path file = folder.getRoot().toPath().resolve("bad.properties");
+        Files.write(file, "fields=TYPE.elements\n".getBytes(StandardCharsets.UTF_8));
+        Ds3IgnoreProfile.read(file);
+    }
+}
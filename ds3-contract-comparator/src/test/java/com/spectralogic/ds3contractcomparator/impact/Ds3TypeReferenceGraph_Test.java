@@ -0,0 +1,177 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.impact;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3autogen.api.models.enums.HttpVerb;
+import com.spectralogic.ds3contractcomparator.fingerprint.Ds3SpecFingerprints;
+import com.spectralogic.ds3contractcomparator.models.Ds3TypeImpact;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class Ds3TypeReferenceGraph_Test {
+
+    private static Ds3Element createElement(final String name, final String type, final String componentType) {
+        return new Ds3Element(name, type, componentType, ImmutableList.of(), false);
+    }
+
+    private static Ds3Type createType(final String name, final Ds3Element... elements) {
+        return new Ds3Type(name, null, ImmutableList.copyOf(elements), ImmutableList.of());
+    }
+
+    private static Ds3Request createRequest(
+            final String name,
+            final ImmutableList<Ds3ResponseType> responseTypes,
+            final ImmutableList<Ds3Param> params) {
+        return new Ds3Request(name, HttpVerb.GET, Classification.spectrads3, null, null, null, null, null, null,
+                false, ImmutableList.of(new Ds3ResponseCode(200, responseTypes)), params, ImmutableList.of());
+    }
+
+    private static Ds3ApiSpec createSpec(final ImmutableList<Ds3Request> requests, final Ds3Type... types) {
+        final ImmutableMap.Builder<String, Ds3Type> builder = ImmutableMap.builder();
+        for (final Ds3Type type : types) {
+            builder.put(type.getName(), type);
+        }
+        return new Ds3ApiSpec(requests, builder.build());
+    }
+
+    /**
+     * Types: B contains a list of A, C and D reference each other and D contains an A,
+     * and E is an enum only used as a query param
+     */
+    private static Ds3ApiSpec getTestSpec() {
+        return createSpec(
+                ImmutableList.of(
+                        createRequest("GetA", ImmutableList.of(new Ds3ResponseType("com.test.A", null)), ImmutableList.of()),
+                        createRequest("ListB", ImmutableList.of(new Ds3ResponseType("array", "com.test.B")), ImmutableList.of()),
+                        createRequest("GetD", ImmutableList.of(new Ds3ResponseType("com.test.D", null)), ImmutableList.of()),
+                        createRequest("PutE", ImmutableList.of(new Ds3ResponseType("null", null)),
+                                ImmutableList.of(new Ds3Param("Mode", "com.test.E", true))),
+                        createRequest("Head", ImmutableList.of(), ImmutableList.of())),
+                createType("com.test.A", createElement("Name", "java.lang.String", null)),
+                createType("com.test.B", createElement("Items", "array", "com.test.A")),
+                createType("com.test.C",
+                        createElement("Self", "com.test.C", null),
+                        createElement("Other", "com.test.D", null)),
+                createType("com.test.D",
+                        createElement("Parent", "com.test.C", null),
+                        createElement("Leaf", "com.test.A", null)),
+                createType("com.test.E"));
+    }
+
+    @Test
+    public void getAffectedRequests_Direct_Test() {
+        final Ds3TypeReferenceGraph graph = Ds3TypeReferenceGraph.of(getTestSpec());
+        assertThat(graph.getAffectedRequests("com.test.E"), is(ImmutableSet.of("PutE")));
+    }
+
+    @Test
+    public void getAffectedRequests_Transitive_Test() {
+        final Ds3TypeReferenceGraph graph = Ds3TypeReferenceGraph.of(getTestSpec());
+        assertThat(graph.getAffectedRequests("com.test.A").asList(), is(ImmutableList.of("GetA", "GetD", "ListB")));
+        assertThat(graph.getAffectedRequests("com.test.B"), is(ImmutableSet.of("ListB")));
+    }
+
+    @Test
+    public void getAffectedRequests_Cycle_Test() {
+        final Ds3TypeReferenceGraph graph = Ds3TypeReferenceGraph.of(getTestSpec());
+        assertThat(graph.getAffectedRequests("com.test.C"), is(ImmutableSet.of("GetD")));
+        assertThat(graph.getAffectedRequests("com.test.D"), is(ImmutableSet.of("GetD")));
+        assertThat(graph.getAffectedRequests("com.test.A").asList(), is(ImmutableList.of("GetA", "GetD", "ListB")));
+    }
+
+    @Test
+    public void getAffectedRequests_UnknownType_Test() {
+        final Ds3TypeReferenceGraph graph = Ds3TypeReferenceGraph.of(getTestSpec());
+        assertThat(graph.getAffectedRequests("java.lang.String").isEmpty(), is(true));
+        assertThat(graph.getAffectedRequests("com.test.Unknown").isEmpty(), is(true));
+    }
+
+    @Test
+    public void getAffectedRequests_EmptySpec_Test() {
+        final Ds3TypeReferenceGraph graph = Ds3TypeReferenceGraph.of(new Ds3ApiSpec(null, null));
+        assertThat(graph.getTypeNames().isEmpty(), is(true));
+        assertThat(graph.getAffectedRequests("com.test.A").isEmpty(), is(true));
+    }
+
+    @Test
+    public void getAffectedRequests_MultipleSpecs_Test() {
+        final Ds3ApiSpec oldSpec = createSpec(
+                ImmutableList.of(createRequest("GetOld", ImmutableList.of(new Ds3ResponseType("com.test.A", null)), ImmutableList.of())),
+                createType("com.test.A"));
+        final Ds3ApiSpec newSpec = createSpec(
+                ImmutableList.of(createRequest("GetNew", ImmutableList.of(new Ds3ResponseType("com.test.B", null)), ImmutableList.of())),
+                createType("com.test.A"),
+                createType("com.test.B", createElement("A", "com.test.A", null)));
+        final Ds3TypeReferenceGraph graph = Ds3TypeReferenceGraph.of(oldSpec, newSpec);
+        assertThat(graph.getAffectedRequests("com.test.A").asList(), is(ImmutableList.of("GetNew", "GetOld")));
+    }
+
+    @Test
+    public void getAffectedRequests_LongChain_Test() {
+        final int length = 50_000;
+        final Ds3Type[] types = new Ds3Type[length];
+        types[0] = createType("com.test.Type0");
+        for (int i = 1; i < length; i++) {
+            types[i] = createType("com.test.Type" + i, createElement("Child", "com.test.Type" + (i - 1), null));
+        }
+        final Ds3ApiSpec spec = createSpec(
+                ImmutableList.of(createRequest("GetRoot",
+                        ImmutableList.of(new Ds3ResponseType("com.test.Type" + (length - 1), null)),
+                        ImmutableList.of())),
+                types);
+        final Ds3TypeReferenceGraph graph = Ds3TypeReferenceGraph.of(spec);
+        assertThat(graph.getAffectedRequests("com.test.Type0"), is(ImmutableSet.of("GetRoot")));
+        assertThat(graph.getAffectedRequests("com.test.Type" + (length / 2)), is(ImmutableSet.of("GetRoot")));
+    }
+
+    @Test
+    public void computeImpact_Test() {
+        final Ds3ApiSpec oldSpec = getTestSpec();
+        final Ds3ApiSpec newSpec = createSpec(
+                oldSpec.getRequests(),
+                createType("com.test.A", createElement("Name", "java.lang.String", null), createElement("Id", "java.util.UUID", null)),
+                oldSpec.getTypes().get("com.test.B"),
+                oldSpec.getTypes().get("com.test.C"),
+                oldSpec.getTypes().get("com.test.D"),
+                createType("com.test.F"));
+
+        final Ds3TypeImpact impact = Ds3TypeReferenceGraph.of(oldSpec, newSpec).computeImpact(
+                Ds3SpecFingerprints.compute(oldSpec),
+                Ds3SpecFingerprints.compute(newSpec));
+
+        assertThat(impact.getChangedTypes().asList(), is(ImmutableList.of("com.test.A", "com.test.E")));
+        assertThat(impact.getAffectedRequests("com.test.A").asList(), is(ImmutableList.of("GetA", "GetD", "ListB")));
+        assertThat(impact.getAffectedRequests("com.test.E"), is(ImmutableSet.of("PutE")));
+        assertThat(impact.getAffectedRequests("com.test.F").isEmpty(), is(true));
+        assertThat(impact.getAffectedRequests().asList(), is(ImmutableList.of("GetA", "GetD", "ListB", "PutE")));
+        assertThat(impact.getCausingTypes("GetD"), is(ImmutableSet.of("com.test.A")));
+    }
+
+    @Test
+    public void computeImpact_NoChange_Test() {
+        final Ds3ApiSpec spec = getTestSpec();
+        final Ds3SpecFingerprints fingerprints = Ds3SpecFingerprints.compute(spec);
+        final Ds3TypeImpact impact = Ds3TypeReferenceGraph.of(spec).computeImpact(fingerprints, fingerprints);
+        assertThat(impact.isEmpty(), is(true));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.loader;
+
+import com.google.common.hash.Hashing;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class Ds3SpecFiles_Test {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Path createFile(final byte[] contents) throws IOException {
+        final Path file = folder.newFile().toPath();
+        Files.write(file, contents);
+        return file;
+    }
+
+    private Path createFile(final String contents) throws IOException {
+        return createFile(contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void hash_Test() throws IOException {
+        final byte[] contents = new byte[200 * 1024 + 7];
+        for (int i = 0; i < contents.length; i++) {
+            contents[i] = (byte) (i * 31);
+        }
+        assertThat(Ds3SpecFiles.hash(createFile(contents)), is(Hashing.sha256().hashBytes(contents)));
+    }
+
+    @Test
+    public void hash_EmptyFile_Test() throws IOException {
+        assertThat(Ds3SpecFiles.hash(createFile(new byte[0])), is(Hashing.sha256().hashBytes(new byte[0])));
+    }
+
+    @Test
+    public void isIdentical_Test() throws IOException {
+        assertThat(Ds3SpecFiles.isIdentical(createFile("<Data><Contract/></Data>"), createFile("<Data><Contract/></Data>")), is(true));
+    }
+
+    @Test
+    public void isIdentical_SameFile_Test() throws IOException {
+        final Path file = createFile("<Data><Contract/></Data>");
+        assertThat(Ds3SpecFiles.isIdentical(file, file), is(true));
+    }
+
+    @Test
+    public void isIdentical_SameSizeDifferentContents_Test() throws IOException {
+        assertThat(Ds3SpecFiles.isIdentical(createFile("<Data><Contract/></Data>"), createFile("<Data><Contrast/></Data>")), is(false));
+    }
+
+    @Test
+    public void isIdentical_DifferentSize_Test() throws IOException {
+        assertThat(Ds3SpecFiles.isIdentical(createFile("<Data><Contract/></Data>"), createFile("<Data/>")), is(false));
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.loader;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import com.google.common.io.ByteStreams;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class Ds3SpecInputs_Test {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static final byte[] CONTRACT = "<Data><Contract/></Data>".getBytes(StandardCharsets.UTF_8);
+
+    @FunctionalInterface
+    private interface Compressor {
+        OutputStream wrap(OutputStream output) throws IOException;
+    }
+
+    private static byte[] compress(final byte[] contents, final Compressor compressor) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final OutputStream output = compressor.wrap(bytes)) {
+            output.write(contents);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Contents larger than several read ahead chunks
+     */
+    private static byte[] getLargeContract() {
+        final StringBuilder builder = new StringBuilder("<Data><Contract><Types>");
+        for (int i = 0; i < 50000; i++) {
+            builder.append("<Type Name=\"com.test.Type").append(i).append("\"/>");
+        }
+        return builder.append("</Types></Contract></Data>").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Path createFile(final String name, final byte[] contents) throws IOException {
+        final Path file = folder.getRoot().toPath().resolve(name);
+        Files.write(file, contents);
+        return file;
+    }
+
+    private Path createZip(final String name, final String... entries) throws IOException {
+        final Path file = folder.getRoot().toPath().resolve(name);
+        try (final ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+            for (int i = 0; i < entries.length; i += 2) {
+                zip.putNextEntry(new ZipEntry(entries[i]));
+                if (entries[i + 1] != null) {
+                    zip.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                }
+                zip.closeEntry();
+            }
+        }
+        return file;
+    }
+
+    private static byte[] read(final Path location) throws IOException {
+        try (final InputStream input = Ds3SpecInputs.open(location)) {
+            return ByteStreams.toByteArray(input);
+        }
+    }
+
+    @Test
+    public void open_Uncompressed_Test() throws IOException {
+        assertThat(read(createFile("contract.xml", CONTRACT)), is(CONTRACT));
+    }
+
+    @Test
+    public void open_Empty_Test() throws IOException {
+        assertThat(read(createFile("contract.xml", new byte[0])).length, is(0));
+    }
+
+    @Test
+    public void open_Gzip_Test() throws IOException {
+        final byte[] contract = getLargeContract();
+        assertThat(read(createFile("contract.xml.gz", compress(contract, GZIPOutputStream::new))), is(contract));
+    }
+
+    @Test
+    public void open_Zstd_Test() throws IOException {
+        final byte[] contract = getLargeContract();
+        assertThat(read(createFile("contract.xml.zst", compress(contract, ZstdOutputStream::new))), is(contract));
+    }
+
+    @Test
+    public void open_CompressionDetectedFromContents_Test() throws IOException {
+        assertThat(read(createFile("contract.xml", compress(CONTRACT, GZIPOutputStream::new))), is(CONTRACT));
+    }
+
+    @Test
+    public void open_ZipEntry_Test() throws IOException {
+        final Path zip = createZip("bundle.zip", "readme.txt", "readme", "contracts/", null, "contracts/contract.xml", "<Data/>");
+        assertThat(read(Paths.get(zip + "!/contracts/contract.xml")), is("<Data/>".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void open_ZipWithOneFile_Test() throws IOException {
+        final Path zip = createZip("bundle.zip", "contracts/", null, "contracts/contract.xml", "<Data/>");
+        assertThat(read(zip), is("<Data/>".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void open_CompressedZipEntry_Test() throws IOException {
+        final Path zip = folder.getRoot().toPath().resolve("bundle.zip");
+        try (final ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(zip))) {
+            output.putNextEntry(new ZipEntry("contract.xml.gz"));
+            output.write(compress(CONTRACT, GZIPOutputStream::new));
+            output.closeEntry();
+        }
+        assertThat(read(Paths.get(zip + "!/contract.xml.gz")), is(CONTRACT));
+    }
+
+    @Test (expected = IOException.class)
+    public void open_ZipWithSeveralFiles_Test() throws IOException {
+        read(createZip("bundle.zip", "one.xml", "<Data/>", "two.xml", "<Data/>"));
+    }
+
+    @Test (expected = NoSuchFileException.class)
+    public void open_MissingZipEntry_Test() throws IOException {
+        final Path zip = createZip("bundle.zip", "contract.xml", "<Data/>");
+        read(Paths.get(zip + "!/missing.xml"));
+    }
+
+    @Test (expected = IOException.class)
+    public void open_CorruptGzip_Test() throws IOException {
+        final byte[] compressed = compress(getLargeContract(), GZIPOutputStream::new);
+        for (int i = compressed.length / 2; i < compressed.length; i++) {
+            compressed[i] = 0;
+        }
+        read(createFile("contract.xml.gz", compressed));
+    }
+
+    @Test
+    public void detect_Test() {
+        assertThat(Ds3SpecInputs.Compression.detect(new byte[] {0x1F, (byte) 0x8B, 8, 0}, 4), is(Ds3SpecInputs.Compression.GZIP));
+        assertThat(Ds3SpecInputs.Compression.detect(new byte[] {0x28, (byte) 0xB5, 0x2F, (byte) 0xFD}, 4), is(Ds3SpecInputs.Compression.ZSTD));
+        assertThat(Ds3SpecInputs.Compression.detect(new byte[] {'P', 'K', 3, 4}, 4), is(Ds3SpecInputs.Compression.ZIP));
+        assertThat(Ds3SpecInputs.Compression.detect(new byte[] {'<', 'D', 'a', 't'}, 4), is(Ds3SpecInputs.Compression.NONE));
+        assertThat(Ds3SpecInputs.Compression.detect(new byte[] {0x1F, 0, 0, 0}, 1), is(Ds3SpecInputs.Compression.NONE));
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.loader;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.Ds3SpecParser;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3contractcomparator.cache.Ds3SpecCache;
+import com.spectralogic.ds3contractcomparator.cache.Ds3SpecMemoryCache;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.getBucketRequest;
+import static com.spectralogic.ds3contractcomparator.utils.TestDataFixture.createSimpleTestType;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class Ds3SpecLoader_Test {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Creates a contract file whose content is the name of the single type in its spec
+     */
+    private Path createContract(final String typeName) throws IOException {
+        final Path file = folder.newFile().toPath();
+        Files.write(file, typeName.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    /**
+     * A parser which creates a spec containing the type named by the stream, and which
+     * fails if the stream contains "fail"
+     */
+    private static Ds3ApiSpec parse(final InputStream stream) throws IOException {
+        final String typeName = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8)).readLine();
+        if (typeName.equals("fail")) {
+            throw new IOException("malformed contract");
+        }
+        return new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest()),
+                ImmutableMap.of(typeName, createSimpleTestType(typeName, "")));
+    }
+
+    private static Ds3SpecLoader createLoader(final Ds3SpecParser parser) {
+        return new Ds3SpecLoader(() -> parser, true, null);
+    }
+
+    @Test
+    public void load_Test() throws IOException {
+        final Ds3ApiSpec spec = createLoader((stream, generateInternal) -> parse(stream)).load(createContract("com.test.Type"));
+        assertThat(spec.getTypes().keySet(), hasItem("com.test.Type"));
+    }
+
+    @Test
+    public void loadPair_Test() throws IOException {
+        final Ds3SpecPair specs = createLoader((stream, generateInternal) -> parse(stream))
+                .loadPair(createContract("com.test.OldType"), createContract("com.test.NewType"));
+
+        assertThat(specs.getOldSpec().getTypes().keySet(), hasItem("com.test.OldType"));
+        assertThat(specs.getNewSpec().getTypes().keySet(), hasItem("com.test.NewType"));
+    }
+
+    @Test
+    public void loadPair_ParsesConcurrently_Test() throws IOException {
+        // Each parse waits for the other to start, which only succeeds if they run at the same time
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        final Ds3SpecPair specs = createLoader((stream, generateInternal) -> {
+            try {
+                barrier.await(10, TimeUnit.SECONDS);
+            } catch (final Exception e) {
+                throw new IOException("Contracts were not parsed concurrently", e);
+            }
+            return parse(stream);
+        }).loadPair(createContract("com.test.OldType"), createContract("com.test.NewType"));
+
+        assertThat(specs.getOldSpec().getTypes().keySet(), hasItem("com.test.OldType"));
+        assertThat(specs.getNewSpec().getTypes().keySet(), hasItem("com.test.NewType"));
+    }
+
+    @Test
+    public void loadPair_OldFails_Test() throws IOException {
+        final Path oldFile = createContract("fail");
+        try {
+            createLoader((stream, generateInternal) -> parse(stream)).loadPair(oldFile, createContract("com.test.NewType"));
+            fail("Expected the old contract to fail to load");
+        } catch (final Ds3SpecLoadException e) {
+            assertThat(e.getSide(), is("old"));
+            assertThat(e.getFile(), is(oldFile));
+            assertThat(e.getMessage(), containsString("Unable to parse the old contract " + oldFile));
+            assertThat(e.getMessage(), containsString("malformed contract"));
+        }
+    }
+
+    @Test
+    public void loadPair_NewFails_Test() throws IOException {
+        final Path newFile = createContract("fail");
+        try {
+            createLoader((stream, generateInternal) -> parse(stream)).loadPair(createContract("com.test.OldType"), newFile);
+            fail("Expected the new contract to fail to load");
+        } catch (final Ds3SpecLoadException e) {
+            assertThat(e.getSide(), is("new"));
+            assertThat(e.getFile(), is(newFile));
+        }
+    }
+
+    @Test
+    public void loadPair_MissingFile_Test() throws IOException {
+        final Path oldFile = folder.getRoot().toPath().resolve("missing.xml");
+        try {
+            createLoader((stream, generateInternal) -> parse(stream)).loadPair(oldFile, createContract("com.test.NewType"));
+            fail("Expected the old contract to fail to load");
+        } catch (final Ds3SpecLoadException e) {
+            assertThat(e.getSide(), is("old"));
+            assertThat(e.getFile(), is(oldFile));
+        }
+    }
+
+    @Test
+    public void loadPair_ClosesStreams_Test() throws IOException {
+        final List<InputStream> streams = Collections.synchronizedList(new ArrayList<>());
+        final Ds3SpecParser parser = (stream, generateInternal) -> {
+            streams.add(stream);
+            return parse(stream);
+        };
+
+        createLoader(parser).loadPair(createContract("com.test.OldType"), createContract("com.test.NewType"));
+        assertThat(streams.size(), is(2));
+
+        // The old contract may be cancelled before its stream is opened, so only the opened streams are checked
+        try {
+            createLoader(parser).loadPair(createContract("com.test.OldType"), createContract("fail"));
+            fail("Expected the new contract to fail to load");
+        } catch (final Ds3SpecLoadException e) {
+            // expected
+        }
+
+        for (final InputStream stream : streams) {
+            try {
+                stream.read();
+                fail("Expected the stream to be closed");
+            } catch (final IOException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void loadAll_Test() throws IOException {
+        final ImmutableList<Ds3ApiSpec> specs = createLoader((stream, generateInternal) -> parse(stream)).loadAll(ImmutableList.of(
+                createContract("com.test.TypeOne"),
+                createContract("com.test.TypeTwo"),
+                createContract("com.test.TypeThree")));
+
+        assertThat(specs.size(), is(3));
+        assertThat(specs.get(0).getTypes().keySet(), hasItem("com.test.TypeOne"));
+        assertThat(specs.get(1).getTypes().keySet(), hasItem("com.test.TypeTwo"));
+        assertThat(specs.get(2).getTypes().keySet(), hasItem("com.test.TypeThree"));
+    }
+
+    @Test
+    public void loadAll_Fails_Test() throws IOException {
+        final Path failFile = createContract("fail");
+        try {
+            createLoader((stream, generateInternal) -> parse(stream)).loadAll(ImmutableList.of(
+                    createContract("com.test.TypeOne"), failFile, createContract("com.test.TypeThree")));
+            fail("Expected the second contract to fail to load");
+        } catch (final Ds3SpecLoadException e) {
+            assertThat(e.getSide(), is(nullValue()));
+            assertThat(e.getFile(), is(failFile));
+            assertThat(e.getMessage(), containsString("Unable to parse contract " + failFile));
+        }
+    }
+
+    @Test
+    public void load_Cached_Test() throws IOException {
+        final AtomicInteger parses = new AtomicInteger();
+        final Ds3SpecCache cache = new Ds3SpecCache(folder.newFolder("cache").toPath(), Ds3SpecCache.DEFAULT_MAX_SIZE, "1.0");
+        final Ds3SpecLoader loader = new Ds3SpecLoader(() -> (stream, generateInternal) -> {
+            parses.incrementAndGet();
+            return parse(stream);
+        }, true, null, cache);
+
+        final Path file = createContract("com.test.Type");
+        final Ds3ApiSpec spec = loader.load(file);
+        final Ds3ApiSpec cachedSpec = loader.load(createContract("com.test.Type"));
+
+        assertThat(parses.get(), is(1));
+        assertThat(cache.getMisses(), is(1L));
+        assertThat(cache.getHits(), is(1L));
+        assertThat(cachedSpec.getTypes(), is(spec.getTypes()));
+
+        loader.load(createContract("com.test.OtherType"));
+        assertThat(parses.get(), is(2));
+        assertThat(cache.getMisses(), is(2L));
+    }
+
+    @Test
+    public void loadPair_MemoryCached_Test() throws IOException {
+        final AtomicInteger parses = new AtomicInteger();
+        final Ds3SpecMemoryCache memoryCache = new Ds3SpecMemoryCache();
+        final Ds3SpecLoader loader = new Ds3SpecLoader(() -> (stream, generateInternal) -> {
+            parses.incrementAndGet();
+            return parse(stream);
+        }, true, null, null, memoryCache);
+
+        final Path oldFile = createContract("com.test.OldType");
+        final Path newFile = createContract("com.test.NewType");
+        final Ds3SpecPair specs = loader.loadPair(oldFile, newFile);
+        final Ds3SpecPair cachedSpecs = loader.loadPair(oldFile, newFile);
+
+        assertThat(parses.get(), is(2));
+        assertThat(memoryCache.getHits(), is(2L));
+        assertThat(cachedSpecs.getOldSpec(), is(sameInstance(specs.getOldSpec())));
+        assertThat(cachedSpecs.getNewSpec(), is(sameInstance(specs.getNewSpec())));
+    }
+
+    @Test
+    public void load_MemoryCachedFails_Test() throws IOException {
+        final Path file = createContract("fail");
+        try {
+            new Ds3SpecLoader(() -> (stream, generateInternal) -> parse(stream), true, null, null, new Ds3SpecMemoryCache()).load(file);
+            fail("Expected the contract to fail to load");
+        } catch (final Ds3SpecLoadException e) {
+            assertThat(e.getFile(), is(file));
+            assertThat(e.getMessage(), containsString("malformed contract"));
+        }
+    }
+
+    @Test
+    public void loadAll_Empty_Test() throws IOException {
+        assertThat(createLoader((stream, generateInternal) -> parse(stream)).loadAll(ImmutableList.of()).isEmpty(), is(true));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.loader;
+
+import com.google.common.io.ByteStreams;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class ReadAheadInputStream_Test {
+
+    private static byte[] getContents(final int length) {
+        final byte[] contents = new byte[length];
+        for (int i = 0; i < length; i++) {
+            contents[i] = (byte) (i * 7);
+        }
+        return contents;
+    }
+
+    @Test
+    public void read_Test() throws IOException {
+        final byte[] contents = getContents(10000);
+        try (final InputStream input = new ReadAheadInputStream(new ByteArrayInputStream(contents), 64, 4)) {
+            assertThat(ByteStreams.toByteArray(input), is(contents));
+            assertThat(input.read(), is(-1));
+        }
+    }
+
+    @Test
+    public void read_ExactChunks_Test() throws IOException {
+        final byte[] contents = getContents(256);
+        try (final InputStream input = new ReadAheadInputStream(new ByteArrayInputStream(contents), 64, 2)) {
+            assertThat(ByteStreams.toByteArray(input), is(contents));
+        }
+    }
+
+    @Test
+    public void read_SingleBytes_Test() throws IOException {
+        final byte[] contents = getContents(100);
+        try (final InputStream input = new ReadAheadInputStream(new ByteArrayInputStream(contents), 16, 2)) {
+            for (final byte expected : contents) {
+                assertThat(input.read(), is(expected & 0xFF));
+            }
+            assertThat(input.read(), is(-1));
+        }
+    }
+
+    @Test
+    public void read_SourceFails_Test() throws IOException {
+        final InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("corrupt source");
+            }
+        };
+        final byte[] contents = getContents(100);
+        try (final InputStream input = new ReadAheadInputStream(
+                new SequenceInputStream(new ByteArrayInputStream(contents), failing), 100, 2)) {
+            final byte[] read = new byte[100];
+            ByteStreams.readFully(input, read);
+            assertThat(read, is(contents));
+            input.read();
+            fail("Expected the failure of the source to be thrown");
+        } catch (final IOException e) {
+            assertThat(e.getMessage(), is("corrupt source"));
+        }
+    }
+
+    @Test
+    public void close_ClosesSource_Test() throws Exception {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final InputStream source = new InputStream() {
+            @Override
+            public int read() {
+                return 1;
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        final InputStream input = new ReadAheadInputStream(source, 16, 2);
+        assertThat(input.read(), is(1));
+        input.close();
+
+        for (int i = 0; i < 100 && !closed.get(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(closed.get(), is(true));
+        assertThat(input.read(), is(-1));
+    }
+}
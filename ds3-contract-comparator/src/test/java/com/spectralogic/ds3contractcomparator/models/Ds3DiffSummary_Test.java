@@ -0,0 +1,92 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.models;
+
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.request.AbstractDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.request.AddedDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.request.DeletedDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.request.ModifiedDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.request.NoChangeDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.type.AbstractDs3TypeDiff;
+import com.spectralogic.ds3contractcomparator.models.type.AddedDs3TypeDiff;
+import com.spectralogic.ds3contractcomparator.models.type.NoChangeDs3TypeDiff;
+import org.junit.Test;
+
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelPartialDataFixture.createDs3RequestTestData;
+import static com.spectralogic.ds3contractcomparator.utils.TestDataFixture.createSimpleTestType;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class Ds3DiffSummary_Test {
+
+    @Test
+    public void of_Test() {
+        final Ds3Request amazonRequest = createDs3RequestTestData("com.test.AmazonRequest", Classification.amazons3);
+        final Ds3Request spectraRequest = createDs3RequestTestData("com.test.SpectraRequest", Classification.spectrads3);
+        final ImmutableList<AbstractDs3RequestDiff> requests = ImmutableList.of(
+                new NoChangeDs3RequestDiff(amazonRequest),
+                new AddedDs3RequestDiff(spectraRequest),
+                new DeletedDs3RequestDiff(amazonRequest),
+                new ModifiedDs3RequestDiff(
+                        createDs3RequestTestData("com.test.SpectraRequest", Classification.amazons3),
+                        spectraRequest));
+        final ImmutableList<AbstractDs3TypeDiff> types = ImmutableList.of(
+                new NoChangeDs3TypeDiff(createSimpleTestType("com.test.TypeOne", "")),
+                new AddedDs3TypeDiff(createSimpleTestType("com.test.TypeTwo", "")));
+
+        final Ds3DiffSummary result = Ds3DiffSummary.of(requests, types);
+
+        assertThat(result.getRequestTotal(), is(4));
+        assertThat(result.getRequestCount(DiffStatus.MODIFIED), is(1));
+        assertThat(result.getRequestCount(Classification.amazons3, DiffStatus.NO_CHANGE), is(1));
+        assertThat(result.getRequestCount(Classification.amazons3, DiffStatus.DELETED), is(1));
+        assertThat(result.getRequestCount(Classification.amazons3, DiffStatus.MODIFIED), is(0));
+        assertThat(result.getRequestCount(Classification.spectrads3, DiffStatus.MODIFIED), is(1));
+        assertThat(result.getRequestCount(Classification.spectrads3, DiffStatus.ADDED), is(1));
+        assertThat(result.getRequestCount(Classification.spectrainternal, DiffStatus.ADDED), is(0));
+        assertThat(result.getClassifications().size(), is(2));
+        assertThat(result.getClassifications(), hasItems(Classification.amazons3, Classification.spectrads3));
+
+        assertThat(result.getTypeTotal(), is(2));
+        assertThat(result.getTypeCount(DiffStatus.NO_CHANGE), is(1));
+        assertThat(result.getTypeCount(DiffStatus.ADDED), is(1));
+        assertThat(result.getTypeCount(DiffStatus.DELETED), is(0));
+    }
+
+    @Test
+    public void builder_NullClassification_Test() {
+        final Ds3DiffSummary result = Ds3DiffSummary.builder()
+                .addRequest(DiffStatus.NO_CHANGE, null)
+                .addType(DiffStatus.MODIFIED)
+                .build();
+
+        assertThat(result.getRequestCount(DiffStatus.NO_CHANGE), is(1));
+        assertThat(result.getClassifications().size(), is(0));
+        assertThat(result.getTypeCount(DiffStatus.MODIFIED), is(1));
+    }
+
+    @Test
+    public void emptySpecDiff_Test() {
+        final Ds3DiffSummary result = new Ds3ApiSpecDiff(ImmutableList.of(), ImmutableList.of()).getSummary();
+        assertThat(result.getRequestTotal(), is(0));
+        assertThat(result.getTypeTotal(), is(0));
+    }
+}
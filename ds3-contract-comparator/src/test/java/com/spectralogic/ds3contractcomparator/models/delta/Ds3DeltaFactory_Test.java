@@ -0,0 +1,186 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.models.delta;
+
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Element;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3EnumConstant;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Param;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3contractcomparator.models.request.ModifiedDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.type.AddedDs3TypeDiff;
+import org.junit.Test;
+
+import java.util.stream.Collectors;
+
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.getBucketRequest;
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelPartialDataFixture.createDs3RequestTestData;
+import static com.spectralogic.ds3contractcomparator.utils.TestDataFixture.createSimpleTestType;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class Ds3DeltaFactory_Test {
+
+    @Test (expected = IllegalArgumentException.class)
+    public void toRequestDelta_BothNull_Test() {
+        Ds3DeltaFactory.toRequestDelta(null, null);
+    }
+
+    @Test
+    public void toRequestDelta_Added_Test() {
+        final Ds3EntityDelta result = Ds3DeltaFactory.toRequestDelta(null, getBucketRequest());
+        assertThat(result.getStatus(), is(DiffStatus.ADDED));
+        assertThat(result.getKind(), is(Ds3EntityKind.REQUEST));
+        assertThat(result.getKey(), is(getBucketRequest().getName()));
+        assertThat(result.getValue("name").getOldValue(), is(nullValue()));
+        assertThat(result.getValue("name").getNewValue(), is(getBucketRequest().getName()));
+        assertThat(result.getValue("name").getStatus(), is(DiffStatus.ADDED));
+        assertThat(result.getList("ds3ResponseCodes").getStatus(), is(DiffStatus.ADDED));
+    }
+
+    @Test
+    public void toRequestDelta_Deleted_Test() {
+        final Ds3EntityDelta result = Ds3DeltaFactory.toRequestDelta(getBucketRequest(), null);
+        assertThat(result.getStatus(), is(DiffStatus.DELETED));
+        assertThat(result.getValue("httpVerb").getOldValue(), is(getBucketRequest().getHttpVerb().toString()));
+        assertThat(result.getValue("httpVerb").getNewValue(), is(nullValue()));
+    }
+
+    @Test
+    public void toRequestDelta_NoChange_Test() {
+        final Ds3EntityDelta result = Ds3DeltaFactory.toRequestDelta(getBucketRequest(), getBucketRequest());
+        assertThat(result.getStatus(), is(DiffStatus.NO_CHANGE));
+        result.getFields().forEach(field -> assertThat(field.getStatus(), is(DiffStatus.NO_CHANGE)));
+    }
+
+    @Test
+    public void toRequestDelta_FieldOrder_Test() {
+        final Ds3EntityDelta result = Ds3DeltaFactory.toRequestDelta(getBucketRequest(), getBucketRequest());
+        final String properties = result.getFields().stream()
+                .map(Ds3DeltaNode::getProperty)
+                .collect(Collectors.joining(","));
+        assertThat(properties, is("name,httpVerb,classification,bucketRequirement,objectRequirement,action,"
+                + "resource,resourceType,operation,includeInPath,ds3ResponseCodes,optionalQueryParams,requiredQueryParams"));
+        assertThat(result.isUniqueProperty(result.getValue("name")), is(true));
+        assertThat(result.isUniqueProperty(result.getValue("action")), is(false));
+    }
+
+    @Test
+    public void toRequestDelta_ModifiedParams_Test() {
+        final Ds3Request oldRequest = createDs3RequestTestData(
+                false,
+                ImmutableList.of(
+                        new Ds3Param("Unchanged", "String", false),
+                        new Ds3Param("Changed", "int", false),
+                        new Ds3Param("Removed", "String", false)),
+                ImmutableList.of());
+        final Ds3Request newRequest = createDs3RequestTestData(
+                false,
+                ImmutableList.of(
+                        new Ds3Param("Added", "String", true),
+                        new Ds3Param("Changed", "long", false),
+                        new Ds3Param("Unchanged", "String", false)),
+                ImmutableList.of());
+
+        final Ds3EntityDelta result = Ds3DeltaFactory.toRequestDelta(oldRequest, newRequest);
+        assertThat(result.getStatus(), is(DiffStatus.MODIFIED));
+        assertThat(result.getValue("name").getStatus(), is(DiffStatus.NO_CHANGE));
+
+        final Ds3ListDelta params = result.getList("optionalQueryParams");
+        assertThat(params.getStatus(), is(DiffStatus.MODIFIED));
+        assertThat(params.getEntries().size(), is(4));
+
+        //Entries are aligned in ascending order of their unique property
+        assertThat(params.getEntries().get(0).getKey(), is("Added"));
+        assertThat(params.getEntries().get(0).getStatus(), is(DiffStatus.ADDED));
+        assertThat(params.getEntries().get(1).getKey(), is("Changed"));
+        assertThat(params.getEntries().get(1).getStatus(), is(DiffStatus.MODIFIED));
+        assertThat(params.getEntries().get(1).getValue("type").getOldValue(), is("int"));
+        assertThat(params.getEntries().get(1).getValue("type").getNewValue(), is("long"));
+        assertThat(params.getEntries().get(1).getValue("nullable").getStatus(), is(DiffStatus.NO_CHANGE));
+        assertThat(params.getEntries().get(2).getKey(), is("Removed"));
+        assertThat(params.getEntries().get(2).getStatus(), is(DiffStatus.DELETED));
+        assertThat(params.getEntries().get(3).getKey(), is("Unchanged"));
+        assertThat(params.getEntries().get(3).getStatus(), is(DiffStatus.NO_CHANGE));
+    }
+
+    @Test
+    public void toTypeDelta_ModifiedElements_Test() {
+        final Ds3Type oldType = new Ds3Type(
+                "com.test.Type",
+                "Type",
+                ImmutableList.of(new Ds3Element("Element", "java.lang.String", null, false)),
+                ImmutableList.of());
+        final Ds3Type newType = new Ds3Type(
+                "com.test.Type",
+                "Type",
+                ImmutableList.of(new Ds3Element("Element", "java.lang.String", null, true)),
+                ImmutableList.of());
+
+        final Ds3EntityDelta result = Ds3DeltaFactory.toTypeDelta(oldType, newType);
+        assertThat(result.getStatus(), is(DiffStatus.MODIFIED));
+        assertThat(result.getKind(), is(Ds3EntityKind.TYPE));
+        assertThat(result.getList("enumConstants").getStatus(), is(DiffStatus.NO_CHANGE));
+
+        final Ds3EntityDelta element = result.getList("elements").getEntries().get(0);
+        assertThat(element.getKind(), is(Ds3EntityKind.ELEMENT));
+        assertThat(element.getStatus(), is(DiffStatus.MODIFIED));
+        assertThat(element.getValue("componentType").getStatus(), is(DiffStatus.NO_CHANGE));
+        assertThat(element.getValue("nullable").getOldValue(), is("false"));
+        assertThat(element.getValue("nullable").getNewValue(), is("true"));
+    }
+
+    @Test
+    public void toTypeDelta_NullList_Test() {
+        final Ds3Type oldType = new Ds3Type("com.test.Type", "Type", null, null);
+        final Ds3Type newType = new Ds3Type(
+                "com.test.Type",
+                "Type",
+                null,
+                ImmutableList.of(new Ds3EnumConstant("VALUE", null)));
+
+        final Ds3EntityDelta result = Ds3DeltaFactory.toTypeDelta(oldType, newType);
+        final Ds3ListDelta enumConstants = result.getList("enumConstants");
+        assertThat(enumConstants.getStatus(), is(DiffStatus.ADDED));
+        assertThat(enumConstants.isOldPresent(), is(false));
+        assertThat(enumConstants.isNewPresent(), is(true));
+        assertThat(enumConstants.getEntries().get(0).getStatus(), is(DiffStatus.ADDED));
+        assertThat(result.getList("elements").getEntries().isEmpty(), is(true));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void getValue_UnknownProperty_Test() {
+        Ds3DeltaFactory.toTypeDelta(createSimpleTestType(), null).getValue("unknown");
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void getList_ValueProperty_Test() {
+        Ds3DeltaFactory.toTypeDelta(createSimpleTestType(), null).getList("name");
+    }
+
+    @Test
+    public void getDelta_Memoized_Test() {
+        final ModifiedDs3RequestDiff requestDiff = new ModifiedDs3RequestDiff(getBucketRequest(), getBucketRequest());
+        assertThat(requestDiff.getDelta(), sameInstance(requestDiff.getDelta()));
+
+        final AddedDs3TypeDiff typeDiff = new AddedDs3TypeDiff(createSimpleTestType());
+        assertThat(typeDiff.getDelta().getStatus(), is(DiffStatus.ADDED));
+        assertThat(typeDiff.getDelta(), sameInstance(typeDiff.getDelta()));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.names;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class Ds3NameTable_Test {
+
+    @Test
+    public void intern_Test() {
+        final Ds3NameTable names = new Ds3NameTable();
+        final int id = names.intern("com.test.BucketObject");
+
+        assertThat(names.intern(new String("com.test.BucketObject")), is(id));
+        assertThat(names.getName(id), is("com.test.BucketObject"));
+        assertThat(names.getSimpleName(id), is("BucketObject"));
+        assertThat(names.intern("com.test.Bucket"), not(id));
+    }
+
+    @Test
+    public void intern_SharesInstances_Test() {
+        final Ds3NameTable names = new Ds3NameTable();
+        final String name = "com.test.BucketObject";
+        names.intern(name);
+
+        assertThat(names.getName(names.intern(new String(name))), sameInstance(name));
+    }
+
+    @Test
+    public void simpleName_Test() {
+        final Ds3NameTable names = new Ds3NameTable();
+
+        assertThat(names.simpleName("com.test.BucketObject"), is("BucketObject"));
+        assertThat(names.simpleName("BucketObject"), is("BucketObject"));
+        assertThat(names.simpleName("java.lang.String"), is("String"));
+    }
+
+    @Test
+    public void simpleName_NullAndEmpty_Test() {
+        final Ds3NameTable names = new Ds3NameTable();
+
+        assertThat(names.simpleName(null), is(""));
+        assertThat(names.simpleName(""), is(""));
+        assertThat(names.size(), is(0));
+    }
+
+    @Test
+    public void simpleName_Shared_Test() {
+        final Ds3NameTable names = new Ds3NameTable();
+        final String first = names.simpleName("com.test.one.Bucket");
+        final String second = names.simpleName("com.test.two.Bucket");
+
+        assertThat(second, sameInstance(first));
+        assertThat(names.simpleName("com.test.one.Bucket"), sameInstance(first));
+        assertThat(names.simpleName("Bucket"), sameInstance(first));
+        assertThat(names.size(), is(3));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void getName_UnknownId_Test() {
+        new Ds3NameTable().getName(0);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void getSimpleName_NegativeId_Test() {
+        new Ds3NameTable().getSimpleName(-1);
+    }
+
+    @Test
+    public void intern_Concurrent_Test() throws Exception {
+        final Ds3NameTable names = new Ds3NameTable();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        names.simpleName("com.test.Type" + i);
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(names.size(), is(1000));
+        for (int id = 0; id < names.size(); id++) {
+            assertThat(names.intern(names.getName(id)), is(id));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.rename;
+
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Element;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Param;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3autogen.api.models.enums.HttpVerb;
+import com.spectralogic.ds3contractcomparator.Ds3SpecDiffSink;
+import com.spectralogic.ds3contractcomparator.models.Ds3DiffSummary;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.request.AbstractDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.request.AddedDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.request.DeletedDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.request.NoChangeDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.request.RenamedDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.type.AbstractDs3TypeDiff;
+import com.spectralogic.ds3contractcomparator.models.type.AddedDs3TypeDiff;
+import com.spectralogic.ds3contractcomparator.models.type.DeletedDs3TypeDiff;
+import com.spectralogic.ds3contractcomparator.models.type.RenamedDs3TypeDiff;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class Ds3RenameDetectingSink_Test {
+
+    /**
+     * Records all diffs and the summary received by a {@link Ds3SpecDiffSink}
+     */
+    private static class RecordingSink implements Ds3SpecDiffSink {
+        private final List<Object> received = new ArrayList<>();
+        private Ds3DiffSummary summary;
+        private boolean complete = false;
+
+        @Override
+        public void acceptRequestDiff(final AbstractDs3RequestDiff requestDiff) {
+            received.add(requestDiff);
+        }
+
+        @Override
+        public void acceptTypeDiff(final AbstractDs3TypeDiff typeDiff) {
+            received.add(typeDiff);
+        }
+
+        @Override
+        public void acceptSummary(final Ds3DiffSummary summary) {
+            this.summary = summary;
+        }
+
+        @Override
+        public void complete() {
+            complete = true;
+        }
+    }
+
+    private static Ds3Request createRequest(final String name, final HttpVerb httpVerb, final String... params) {
+        final ImmutableList.Builder<Ds3Param> builder = ImmutableList.builder();
+        for (final String param : params) {
+            builder.add(new Ds3Param(param, "java.lang.String", false));
+        }
+        return new Ds3Request(name, httpVerb, Classification.spectrads3, null, null, null, null, null, null,
+                false, ImmutableList.of(), builder.build(), ImmutableList.of());
+    }
+
+    private static Ds3Type createType(final String name, final String... elements) {
+        final ImmutableList.Builder<Ds3Element> builder = ImmutableList.builder();
+        for (final String element : elements) {
+            builder.add(new Ds3Element(element, "java.lang.String", null, false));
+        }
+        return new Ds3Type(name, "Data", builder.build(), ImmutableList.of());
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void constructor_InvalidThreshold_Test() {
+        new Ds3RenameDetectingSink(new RecordingSink(), 0);
+    }
+
+    @Test
+    public void renamedRequestsAndTypes_Test() {
+        final Ds3Request unchanged = createRequest("com.test.GetServiceRequestHandler", HttpVerb.GET);
+        final Ds3Request oldRequest = createRequest("com.test.GetBucketRequestHandler", HttpVerb.GET, "Marker", "MaxKeys", "Prefix");
+        final Ds3Request newRequest = createRequest("com.test.GetBucketSpectraS3RequestHandler", HttpVerb.GET, "Marker", "MaxKeys", "Prefix");
+        final Ds3Request deletedRequest = createRequest("com.test.DeleteObjectRequestHandler", HttpVerb.DELETE, "VersionId");
+        final Ds3Type oldType = createType("com.test.BucketDetails", "Name", "Owner", "CreationDate", "Id", "DataPolicyId");
+        final Ds3Type newType = createType("com.test.BucketInfo", "Name", "Owner", "CreationDate", "Id", "DataPolicyId");
+        final Ds3Type addedType = createType("com.test.JobNode", "EndPoint", "HttpPort", "HttpsPort");
+
+        final RecordingSink recorder = new RecordingSink();
+        final Ds3RenameDetectingSink sink = new Ds3RenameDetectingSink(recorder, 0.7);
+
+        sink.acceptRequestDiff(new NoChangeDs3RequestDiff(unchanged));
+        sink.acceptRequestDiff(new DeletedDs3RequestDiff(oldRequest));
+        sink.acceptRequestDiff(new DeletedDs3RequestDiff(deletedRequest));
+        sink.acceptRequestDiff(new AddedDs3RequestDiff(newRequest));
+        assertThat(recorder.received.size(), is(1));
+
+        sink.acceptTypeDiff(new DeletedDs3TypeDiff(oldType));
+        //All request diffs are passed on before the first type diff
+        assertThat(recorder.received.size(), is(3));
+        sink.acceptTypeDiff(new AddedDs3TypeDiff(addedType));
+        sink.acceptTypeDiff(new AddedDs3TypeDiff(newType));
+
+        sink.acceptSummary(Ds3DiffSummary.builder()
+                .addRequest(DiffStatus.NO_CHANGE, Classification.spectrads3)
+                .addRequest(DiffStatus.DELETED, Classification.spectrads3)
+                .addRequest(DiffStatus.DELETED, Classification.spectrads3)
+                .addRequest(DiffStatus.ADDED, Classification.spectrads3)
+                .addType(DiffStatus.DELETED)
+                .addType(DiffStatus.ADDED)
+                .addType(DiffStatus.ADDED)
+                .build());
+        sink.complete();
+
+        assertThat(recorder.complete, is(true));
+        assertThat(recorder.received.size(), is(5));
+        assertThat(recorder.received.get(0), instanceOf(NoChangeDs3RequestDiff.class));
+        assertThat(recorder.received.get(1), instanceOf(RenamedDs3RequestDiff.class));
+        assertThat(recorder.received.get(2), instanceOf(DeletedDs3RequestDiff.class));
+        assertThat(recorder.received.get(3), instanceOf(RenamedDs3TypeDiff.class));
+        assertThat(recorder.received.get(4), instanceOf(AddedDs3TypeDiff.class));
+
+        final RenamedDs3RequestDiff renamedRequest = (RenamedDs3RequestDiff) recorder.received.get(1);
+        assertThat(renamedRequest.getOldDs3Request(), is(oldRequest));
+        assertThat(renamedRequest.getNewDs3Request(), is(newRequest));
+        assertThat(renamedRequest.getDelta().getValue("name").getStatus(), is(DiffStatus.MODIFIED));
+
+        final RenamedDs3TypeDiff renamedType = (RenamedDs3TypeDiff) recorder.received.get(3);
+        assertThat(renamedType.getOldDs3Type(), is(oldType));
+        assertThat(renamedType.getNewDs3Type(), is(newType));
+
+        assertThat(recorder.summary.getRequestCount(DiffStatus.RENAMED), is(1));
+        assertThat(recorder.summary.getRequestCount(Classification.spectrads3, DiffStatus.RENAMED), is(1));
+        assertThat(recorder.summary.getRequestCount(DiffStatus.DELETED), is(1));
+        assertThat(recorder.summary.getRequestCount(DiffStatus.ADDED), is(0));
+        assertThat(recorder.summary.getRequestTotal(), is(3));
+        assertThat(recorder.summary.getTypeCount(DiffStatus.RENAMED), is(1));
+        assertThat(recorder.summary.getTypeCount(DiffStatus.DELETED), is(0));
+        assertThat(recorder.summary.getTypeCount(DiffStatus.ADDED), is(1));
+    }
+
+    @Test
+    public void noSimilarEntities_Test() {
+        final RecordingSink recorder = new RecordingSink();
+        final Ds3RenameDetectingSink sink = new Ds3RenameDetectingSink(recorder, 0.7);
+
+        sink.acceptRequestDiff(new DeletedDs3RequestDiff(createRequest("com.test.DeleteObjectRequestHandler", HttpVerb.DELETE, "VersionId")));
+        sink.acceptRequestDiff(new AddedDs3RequestDiff(createRequest("com.test.GetBucketRequestHandler", HttpVerb.GET, "Marker")));
+        sink.complete();
+
+        assertThat(recorder.received.size(), is(2));
+        assertThat(recorder.received.get(0), instanceOf(DeletedDs3RequestDiff.class));
+        assertThat(recorder.received.get(1), instanceOf(AddedDs3RequestDiff.class));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.rename;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import static com.spectralogic.ds3contractcomparator.rename.RenameMatcher.jaccard;
+import static com.spectralogic.ds3contractcomparator.rename.RenameMatcher.match;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class RenameMatcher_Test {
+
+    private static ImmutableSet<String> features(final String prefix, final int count) {
+        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        for (int i = 0; i < count; i++) {
+            builder.add(prefix + i);
+        }
+        return builder.build();
+    }
+
+    private static ImmutableSet<String> union(final ImmutableSet<String> first, final ImmutableSet<String> second) {
+        return ImmutableSet.<String>builder().addAll(first).addAll(second).build();
+    }
+
+    @Test
+    public void jaccard_Test() {
+        assertThat(jaccard(ImmutableSet.of(), ImmutableSet.of()), is(0.0));
+        assertThat(jaccard(ImmutableSet.of("a", "b"), ImmutableSet.of("a", "b")), is(1.0));
+        assertThat(jaccard(ImmutableSet.of("a", "b", "c"), ImmutableSet.of("b", "c", "d")), is(0.5));
+        assertThat(jaccard(ImmutableSet.of("a"), ImmutableSet.of("b")), is(0.0));
+    }
+
+    @Test
+    public void match_Empty_Test() {
+        assertThat(match(ImmutableList.of(), ImmutableList.of(features("a", 3)), 0.7).size(), is(0));
+        assertThat(match(ImmutableList.of(features("a", 3)), ImmutableList.of(), 0.7).size(), is(0));
+    }
+
+    @Test
+    public void match_EmptyFeatures_Test() {
+        assertThat(match(ImmutableList.of(ImmutableSet.of()), ImmutableList.of(ImmutableSet.of()), 0.7).size(), is(0));
+    }
+
+    @Test
+    public void match_SimilarPair_Test() {
+        final ImmutableSet<String> shared = features("shared", 18);
+        final ImmutableList<ImmutableSet<String>> deleted = ImmutableList.of(
+                features("unrelated", 20),
+                union(shared, ImmutableSet.of("oldName")));
+        final ImmutableList<ImmutableSet<String>> added = ImmutableList.of(
+                union(shared, ImmutableSet.of("newName")),
+                features("other", 20));
+
+        final ImmutableList<RenameMatcher.Match> result = match(deleted, added, 0.7);
+
+        assertThat(result.size(), is(1));
+        assertThat(result.get(0).getDeletedIndex(), is(1));
+        assertThat(result.get(0).getAddedIndex(), is(0));
+        assertThat(result.get(0).getSimilarity(), is(18.0 / 20.0));
+    }
+
+    @Test
+    public void match_BelowThreshold_Test() {
+        final ImmutableSet<String> shared = features("shared", 5);
+        final ImmutableList<RenameMatcher.Match> result = match(
+                ImmutableList.of(union(shared, features("old", 5))),
+                ImmutableList.of(union(shared, features("new", 5))),
+                0.7);
+        assertThat(result.size(), is(0));
+    }
+
+    @Test
+    public void match_OneToOne_Test() {
+        final ImmutableSet<String> shared = features("shared", 20);
+        final ImmutableList<RenameMatcher.Match> result = match(
+                ImmutableList.of(shared),
+                ImmutableList.of(union(shared, ImmutableSet.of("extra")), shared),
+                0.7);
+
+        assertThat(result.size(), is(1));
+        assertThat(result.get(0).getAddedIndex(), is(1));
+        assertThat(result.get(0).getSimilarity(), is(1.0));
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.series;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import org.junit.Test;
+
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.deleteBucketRequest;
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.getBucketRequest;
+import static com.spectralogic.ds3contractcomparator.utils.TestDataFixture.createSimpleTestType;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class Ds3SpecInterner_Test {
+
+    @Test
+    public void intern_NullSpec_Test() {
+        final Ds3ApiSpec result = new Ds3SpecInterner().intern(new Ds3ApiSpec(null, null));
+        assertThat(result.getRequests(), is(nullValue()));
+        assertThat(result.getTypes(), is(nullValue()));
+    }
+
+    @Test
+    public void intern_SharesEqualEntities_Test() {
+        final Ds3SpecInterner interner = new Ds3SpecInterner();
+        final Ds3Type type1 = createSimpleTestType("com.test.Type", "");
+        final Ds3Type modifiedType = createSimpleTestType("com.test.Type", "Modified");
+
+        final Ds3ApiSpec first = interner.intern(new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest(), deleteBucketRequest()),
+                ImmutableMap.of(type1.getName(), type1)));
+        final Ds3ApiSpec second = interner.intern(new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest(), deleteBucketRequest()),
+                ImmutableMap.of(type1.getName(), createSimpleTestType("com.test.Type", ""))));
+        final Ds3ApiSpec third = interner.intern(new Ds3ApiSpec(
+                ImmutableList.of(getBucketRequest()),
+                ImmutableMap.of(modifiedType.getName(), modifiedType)));
+
+        assertThat(second.getRequests().get(0), sameInstance(first.getRequests().get(0)));
+        assertThat(second.getRequests().get(1), sameInstance(first.getRequests().get(1)));
+        assertThat(third.getRequests().get(0), sameInstance(first.getRequests().get(0)));
+        assertThat(second.getTypes().get("com.test.Type"), sameInstance(type1));
+
+        assertThat(third.getTypes().get("com.test.Type"), is(modifiedType));
+        assertThat(third.getTypes().get("com.test.Type"), not(sameInstance(type1)));
+    }
+}
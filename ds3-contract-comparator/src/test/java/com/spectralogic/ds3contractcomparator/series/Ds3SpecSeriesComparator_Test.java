@@ -0,0 +1,154 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.series;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3contractcomparator.ComparatorOptions;
+import com.spectralogic.ds3contractcomparator.Ds3ApiSpecDiffCollector;
+import com.spectralogic.ds3contractcomparator.models.Ds3ApiSpecDiff;
+import com.spectralogic.ds3contractcomparator.models.delta.DiffStatus;
+import com.spectralogic.ds3contractcomparator.models.request.AddedDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.request.DeletedDs3RequestDiff;
+import com.spectralogic.ds3contractcomparator.models.type.ModifiedDs3TypeDiff;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.deleteBucketRequest;
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.getBucketRequest;
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.getHeadBucketRequest;
+import static com.spectralogic.ds3contractcomparator.utils.TestDataFixture.createSimpleTestType;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class Ds3SpecSeriesComparator_Test {
+
+    /**
+     * Version 1 contains GetBucket and DeleteBucket, version 2 removes DeleteBucket,
+     * version 3 adds HeadBucket, and version 4 modifies the only type
+     */
+    private static ImmutableList<Ds3SpecVersion> getTestSeries() {
+        final Ds3SpecInterner interner = new Ds3SpecInterner();
+        final Ds3Type type = createSimpleTestType("com.test.Type", "");
+        final Ds3Type modifiedType = createSimpleTestType("com.test.Type", "Modified");
+        return ImmutableList.of(
+                new Ds3SpecVersion("v1", interner.intern(new Ds3ApiSpec(
+                        ImmutableList.of(getBucketRequest(), deleteBucketRequest()),
+                        ImmutableMap.of(type.getName(), type)))),
+                new Ds3SpecVersion("v2", interner.intern(new Ds3ApiSpec(
+                        ImmutableList.of(getBucketRequest()),
+                        ImmutableMap.of(type.getName(), type)))),
+                new Ds3SpecVersion("v3", interner.intern(new Ds3ApiSpec(
+                        ImmutableList.of(getBucketRequest(), getHeadBucketRequest()),
+                        ImmutableMap.of(type.getName(), type)))),
+                new Ds3SpecVersion("v4", interner.intern(new Ds3ApiSpec(
+                        ImmutableList.of(getBucketRequest(), getHeadBucketRequest()),
+                        ImmutableMap.of(modifiedType.getName(), modifiedType)))));
+    }
+
+    private static void assertSeriesDiff(final Ds3SpecSeriesDiff result) {
+        assertThat(result.getAdjacentDiffs().size(), is(3));
+
+        final Ds3ApiSpecDiff first = result.getAdjacentDiffs().get(0).getSpecDiff();
+        assertThat(result.getAdjacentDiffs().get(0).getOldVersion(), is("v1"));
+        assertThat(result.getAdjacentDiffs().get(0).getNewVersion(), is("v2"));
+        assertThat(first.getRequests().size(), is(1));
+        assertThat(first.getRequests().get(0), instanceOf(DeletedDs3RequestDiff.class));
+        assertThat(first.getTypes().size(), is(0));
+
+        final Ds3ApiSpecDiff second = result.getAdjacentDiffs().get(1).getSpecDiff();
+        assertThat(second.getRequests().size(), is(1));
+        assertThat(second.getRequests().get(0), instanceOf(AddedDs3RequestDiff.class));
+
+        final Ds3ApiSpecDiff third = result.getAdjacentDiffs().get(2).getSpecDiff();
+        assertThat(third.getRequests().size(), is(0));
+        assertThat(third.getTypes().size(), is(1));
+        assertThat(third.getTypes().get(0), instanceOf(ModifiedDs3TypeDiff.class));
+
+        final Ds3SpecVersionDiff cumulative = result.getCumulativeDiff();
+        assertThat(cumulative.getOldVersion(), is("v1"));
+        assertThat(cumulative.getNewVersion(), is("v4"));
+        assertThat(cumulative.getSpecDiff().getSummary().getRequestCount(DiffStatus.NO_CHANGE), is(1));
+        assertThat(cumulative.getSpecDiff().getSummary().getRequestCount(DiffStatus.DELETED), is(1));
+        assertThat(cumulative.getSpecDiff().getSummary().getRequestCount(DiffStatus.ADDED), is(1));
+        assertThat(cumulative.getSpecDiff().getSummary().getTypeCount(DiffStatus.MODIFIED), is(1));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void compare_SingleVersion_Test() {
+        new Ds3SpecSeriesComparator().compare(ImmutableList.of(getTestSeries().get(0)));
+    }
+
+    @Test
+    public void compare_Test() {
+        final Ds3SpecSeriesComparator comparator = new Ds3SpecSeriesComparator(ComparatorOptions.builder()
+                .withChangesOnly(true)
+                .build());
+        assertSeriesDiff(comparator.compare(getTestSeries()));
+    }
+
+    @Test
+    public void compare_InParallel_Test() {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Ds3SpecSeriesComparator comparator = new Ds3SpecSeriesComparator(ComparatorOptions.builder()
+                    .withExecutor(executor)
+                    .withParallelism(4)
+                    .withChangesOnly(true)
+                    .build());
+            assertSeriesDiff(comparator.compare(getTestSeries()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void compare_TwoVersions_Test() {
+        final Ds3SpecSeriesDiff result = new Ds3SpecSeriesComparator().compare(getTestSeries().subList(0, 2));
+        assertThat(result.getAdjacentDiffs().size(), is(1));
+        assertThat(result.getCumulativeDiff(), sameInstance(result.getAdjacentDiffs().get(0)));
+    }
+
+    @Test
+    public void compare_SinkFactory_Test() {
+        final Map<String, Ds3ApiSpecDiffCollector> collectors = new ConcurrentHashMap<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            new Ds3SpecSeriesComparator(ComparatorOptions.builder().withExecutor(executor).build())
+                    .compare(getTestSeries(), (oldVersion, newVersion) -> {
+                        final Ds3ApiSpecDiffCollector collector = new Ds3ApiSpecDiffCollector();
+                        collectors.put(oldVersion.getName() + "_to_" + newVersion.getName(), collector);
+                        return collector;
+                    });
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(collectors.size(), is(4));
+        assertThat(collectors.get("v1_to_v2").toDs3ApiSpecDiff().getRequests().size(), is(2));
+        assertThat(collectors.get("v2_to_v3").toDs3ApiSpecDiff().getRequests().size(), is(2));
+        assertThat(collectors.get("v3_to_v4").toDs3ApiSpecDiff().getTypes().size(), is(1));
+        assertThat(collectors.get("v1_to_v4").toDs3ApiSpecDiff().getRequests().size(), is(3));
+    }
+}
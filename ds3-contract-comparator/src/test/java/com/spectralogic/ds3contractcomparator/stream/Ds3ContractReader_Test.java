@@ -0,0 +1,254 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.stream;
+
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+import com.spectralogic.ds3autogen.api.models.enums.*;
+import com.spectralogic.ds3contractcomparator.filter.Ds3SpecFilter;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class Ds3ContractReader_Test {
+
+    private static final String CONTRACT = "<Data><Contract>"
+            + "<RequestHandlers>"
+            + "<RequestHandler Classification=\"amazons3\" Name=\"com.test.GetBucketRequestHandler\">"
+            + "<Request Action=\"LIST\" BucketRequirement=\"REQUIRED\" HttpVerb=\"GET\" IncludeIdInPath=\"false\""
+            + " ObjectRequirement=\"NOT_ALLOWED\">"
+            + "<OptionalQueryParams>"
+            + "<Param Name=\"Delimiter\" Type=\"java.lang.String\"/>"
+            + "<Param Name=\"MaxKeys\" Type=\"int\"/>"
+            + "</OptionalQueryParams>"
+            + "<RequiredQueryParams/>"
+            + "</Request>"
+            + "<ResponseCodes>"
+            + "<ResponseCode Code=\"200\"><ResponseType Type=\"com.test.ListBucketResult\"/></ResponseCode>"
+            + "<ResponseCode Code=\"404\"><ResponseType Type=\"com.test.Error\" ComponentType=\"com.test.Detail\"/></ResponseCode>"
+            + "</ResponseCodes>"
+            + "<Version>1.0</Version>"
+            + "</RequestHandler>"
+            + "<RequestHandler Classification=\"spectrads3\" Name=\"com.test.AllocateJobChunkRequestHandler\">"
+            + "<Request Action=\"MODIFY\" HttpVerb=\"PUT\" IncludeIdInPath=\"true\" Operation=\"ALLOCATE\""
+            + " Resource=\"JOB\" ResourceType=\"NON_SINGLETON\">"
+            + "<RequiredQueryParams><Param Name=\"Operation\" Type=\"com.test.Operation\" Nullable=\"true\"/></RequiredQueryParams>"
+            + "</Request>"
+            + "</RequestHandler>"
+            + "</RequestHandlers>"
+            + "<Types>"
+            + "<Type Name=\"com.test.ListBucketResult\" NameToMarshal=\"ListBucketResult\">"
+            + "<Elements>"
+            + "<Element Name=\"Name\" Type=\"java.lang.String\" Nullable=\"true\">"
+            + "<Annotations><Annotation Name=\"com.test.CustomMarshaledName\">"
+            + "<AnnotationElements><AnnotationElement Name=\"Value\" Value=\"BucketName\" ValueType=\"java.lang.String\"/></AnnotationElements>"
+            + "</Annotation></Annotations>"
+            + "</Element>"
+            + "<Element Name=\"Objects\" Type=\"array\" ComponentType=\"com.test.Contents\"/>"
+            + "</Elements>"
+            + "</Type>"
+            + "<Type Name=\"com.test.Operation\">"
+            + "<EnumConstants>"
+            + "<EnumConstant Name=\"ALLOCATE\"><Properties><Property Name=\"Code\" Value=\"1\" ValueType=\"int\"/></Properties></EnumConstant>"
+            + "<EnumConstant Name=\"VERIFY\"/>"
+            + "</EnumConstants>"
+            + "</Type>"
+            + "</Types>"
+            + "</Contract></Data>";
+
+    private static Ds3ContractReader createReader(final String contract) throws IOException {
+        return new Ds3ContractReader(new ByteArrayInputStream(contract.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void nextRequest_Test() throws IOException {
+        try (final Ds3ContractReader reader = createReader(CONTRACT)) {
+            final Ds3Request getBucket = reader.nextRequest();
+            assertThat(getBucket.getName(), is("com.test.GetBucketRequestHandler"));
+            assertThat(getBucket.getClassification(), is(Classification.amazons3));
+            assertThat(getBucket.getHttpVerb(), is(HttpVerb.GET));
+            assertThat(getBucket.getAction(), is(Action.LIST));
+            assertThat(getBucket.getBucketRequirement(), is(Requirement.REQUIRED));
+            assertThat(getBucket.getObjectRequirement(), is(Requirement.NOT_ALLOWED));
+            assertThat(getBucket.getResource(), is(nullValue()));
+            assertThat(getBucket.getOperation(), is(nullValue()));
+            assertThat(getBucket.getIncludeInPath(), is(false));
+            assertThat(getBucket.getOptionalQueryParams(), is(ImmutableList.of(
+                    new Ds3Param("Delimiter", "java.lang.String", false),
+                    new Ds3Param("MaxKeys", "int", false))));
+            assertThat(getBucket.getRequiredQueryParams().isEmpty(), is(true));
+            assertThat(getBucket.getDs3ResponseCodes(), is(ImmutableList.of(
+                    new Ds3ResponseCode(200, ImmutableList.of(new Ds3ResponseType("com.test.ListBucketResult", null))),
+                    new Ds3ResponseCode(404, ImmutableList.of(new Ds3ResponseType("com.test.Error", "com.test.Detail"))))));
+
+            final Ds3Request allocate = reader.nextRequest();
+            assertThat(allocate.getName(), is("com.test.AllocateJobChunkRequestHandler"));
+            assertThat(allocate.getClassification(), is(Classification.spectrads3));
+            assertThat(allocate.getOperation(), is(Operation.ALLOCATE));
+            assertThat(allocate.getResource(), is(Resource.JOB));
+            assertThat(allocate.getResourceType(), is(ResourceType.NON_SINGLETON));
+            assertThat(allocate.getIncludeInPath(), is(true));
+            assertThat(allocate.getOptionalQueryParams(), is(nullValue()));
+            assertThat(allocate.getRequiredQueryParams(), is(ImmutableList.of(new Ds3Param("Operation", "com.test.Operation", true))));
+            assertThat(allocate.getDs3ResponseCodes(), is(nullValue()));
+
+            assertThat(reader.nextRequest(), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void nextType_Test() throws IOException {
+        try (final Ds3ContractReader reader = createReader(CONTRACT)) {
+            final Ds3Type listBucketResult = reader.nextType();
+            assertThat(listBucketResult.getName(), is("com.test.ListBucketResult"));
+            assertThat(listBucketResult.getNameToMarshal(), is("ListBucketResult"));
+            assertThat(listBucketResult.getElements(), is(ImmutableList.of(
+                    new Ds3Element("Name", "java.lang.String", null, ImmutableList.of(
+                            new Ds3Annotation("com.test.CustomMarshaledName", ImmutableList.of(
+                                    new Ds3AnnotationElement("Value", "BucketName", "java.lang.String")))), true),
+                    new Ds3Element("Objects", "array", "com.test.Contents", null, false))));
+            assertThat(listBucketResult.getEnumConstants(), is(nullValue()));
+
+            final Ds3Type operation = reader.nextType();
+            assertThat(operation.getName(), is("com.test.Operation"));
+            assertThat(operation.getNameToMarshal(), is(nullValue()));
+            assertThat(operation.getEnumConstants(), is(ImmutableList.of(
+                    new Ds3EnumConstant("ALLOCATE", ImmutableList.of(new Ds3Property("Code", "1", "int"))),
+                    new Ds3EnumConstant("VERIFY", null))));
+
+            assertThat(reader.nextType(), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void nextType_SkipsRequests_Test() throws IOException {
+        try (final Ds3ContractReader reader = createReader(CONTRACT)) {
+            assertThat(reader.nextRequest().getName(), is("com.test.GetBucketRequestHandler"));
+            assertThat(reader.nextType().getName(), is("com.test.ListBucketResult"));
+            assertThat(reader.nextRequest(), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void nextRequest_ThenTypes_Test() throws IOException {
+        try (final Ds3ContractReader reader = createReader(CONTRACT)) {
+            assertThat(reader.nextRequest().getName(), is("com.test.GetBucketRequestHandler"));
+            assertThat(reader.nextRequest().getName(), is("com.test.AllocateJobChunkRequestHandler"));
+            assertThat(reader.nextRequest(), is(nullValue()));
+            assertThat(reader.nextRequest(), is(nullValue()));
+            assertThat(reader.nextType().getName(), is("com.test.ListBucketResult"));
+            assertThat(reader.nextType().getName(), is("com.test.Operation"));
+            assertThat(reader.nextType(), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void nextRequest_ThenFilteredTypes_Test() throws IOException {
+        final Ds3SpecFilter filter = Ds3SpecFilter.builder()
+                .withRequestName("*.DeleteBucketRequestHandler")
+                .withTypeName("*.Operation")
+                .build();
+        try (final Ds3ContractReader reader = createReader(CONTRACT, filter)) {
+            assertThat(reader.nextRequest(), is(nullValue()));
+            assertThat(reader.nextType().getName(), is("com.test.Operation"));
+            assertThat(reader.nextType(), is(nullValue()));
+        }
+    }
+
+    @Test (expected = IOException.class)
+    public void nextType_RequestAfterTypes_Test() throws IOException {
+        try (final Ds3ContractReader reader = createReader("<Data><Contract>"
+                + "<Types><Type Name=\"com.test.Operation\"/></Types>"
+                + "<RequestHandlers><RequestHandler Classification=\"spectrads3\" Name=\"com.test.GetRequestHandler\"/></RequestHandlers>"
+                + "</Contract></Data>")) {
+            assertThat(reader.nextRequest(), is(nullValue()));
+            assertThat(reader.nextType().getName(), is("com.test.Operation"));
+            reader.nextType();
+        }
+    }
+
+    @Test
+    public void nextRequest_EmptyContract_Test() throws IOException {
+        try (final Ds3ContractReader reader = createReader("<Data><Contract/></Data>")) {
+            assertThat(reader.nextRequest(), is(nullValue()));
+            assertThat(reader.nextType(), is(nullValue()));
+        }
+    }
+
+    @Test (expected = IOException.class)
+    public void nextRequest_UnknownEnum_Test() throws IOException {
+        try (final Ds3ContractReader reader = createReader(
+                "<Data><RequestHandler Name=\"Test\"><Request HttpVerb=\"FETCH\"/></RequestHandler></Data>")) {
+            reader.nextRequest();
+        }
+    }
+
+    @Test (expected = IOException.class)
+    public void nextRequest_InvalidResponseCode_Test() throws IOException {
+        try (final Ds3ContractReader reader = createReader(
+                "<Data><RequestHandler Name=\"Test\"><ResponseCodes><ResponseCode Code=\"OK\"/></ResponseCodes></RequestHandler></Data>")) {
+            reader.nextRequest();
+        }
+    }
+
+    @Test (expected = IOException.class)
+    public void nextType_Malformed_Test() throws IOException {
+        try (final Ds3ContractReader reader = createReader("<Data><Types><Type Name=\"Test\"><Elements></Types></Data>")) {
+            reader.nextType();
+        }
+    }
+
+    private static Ds3ContractReader createReader(final String contract, final Ds3SpecFilter filter) throws IOException {
+        return new Ds3ContractReader(new ByteArrayInputStream(contract.getBytes(StandardCharsets.UTF_8)), filter);
+    }
+
+    @Test
+    public void nextRequest_FilterClassification_Test() throws IOException {
+        try (final Ds3ContractReader reader = createReader(CONTRACT, Ds3SpecFilter.builder().withClassification("spectrads3").build())) {
+            assertThat(reader.nextRequest().getName(), is("com.test.AllocateJobChunkRequestHandler"));
+            assertThat(reader.nextRequest(), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void nextRequest_FilterHttpVerb_Test() throws IOException {
+        try (final Ds3ContractReader reader = createReader(CONTRACT, Ds3SpecFilter.builder().withHttpVerb("GET").build())) {
+            final Ds3Request getBucket = reader.nextRequest();
+            assertThat(getBucket.getName(), is("com.test.GetBucketRequestHandler"));
+            assertThat(getBucket.getDs3ResponseCodes().size(), is(2));
+            assertThat(reader.nextRequest(), is(nullValue()));
+        }
+        try (final Ds3ContractReader reader = createReader(CONTRACT, Ds3SpecFilter.builder().withHttpVerb("PUT").build())) {
+            assertThat(reader.nextRequest().getName(), is("com.test.AllocateJobChunkRequestHandler"));
+            assertThat(reader.nextRequest(), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void nextType_FilterName_Test() throws IOException {
+        try (final Ds3ContractReader reader = createReader(CONTRACT, Ds3SpecFilter.builder().withTypeName("*.Operation").build())) {
+            final Ds3Type operation = reader.nextType();
+            assertThat(operation.getName(), is("com.test.Operation"));
+            assertThat(operation.getEnumConstants().size(), is(2));
+            assertThat(reader.nextType(), is(nullValue()));
+        }
+    }
+}
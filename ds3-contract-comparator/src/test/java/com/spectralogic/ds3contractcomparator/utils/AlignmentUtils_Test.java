@@ -0,0 +1,152 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2016-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3contractcomparator.utils;
+
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Param;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ResponseCode;
+import org.junit.Test;
+
+import java.util.function.Function;
+
+import static com.spectralogic.ds3contractcomparator.utils.AlignmentUtils.align;
+import static com.spectralogic.ds3contractcomparator.utils.AlignmentUtils.alignByInt;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class AlignmentUtils_Test {
+
+    private static final Ds3Param PARAM_A = new Ds3Param("A", "int", false);
+    private static final Ds3Param PARAM_B_OLD = new Ds3Param("B", "int", false);
+    private static final Ds3Param PARAM_B_NEW = new Ds3Param("B", "long", false);
+    private static final Ds3Param PARAM_C = new Ds3Param("C", "int", false);
+    private static final Ds3Param PARAM_D = new Ds3Param("D", "int", false);
+
+    @Test
+    public void align_NullLists_Test() {
+        final ImmutableList<AlignedPair<Ds3Param, Ds3Param>> result = align(null, null, Ds3Param::getName);
+        assertThat(result.size(), is(0));
+    }
+
+    @Test
+    public void align_NullOld_Test() {
+        final ImmutableList<AlignedPair<Ds3Param, Ds3Param>> result = align(
+                null,
+                ImmutableList.of(PARAM_C, PARAM_A),
+                Ds3Param::getName);
+
+        assertThat(result.size(), is(2));
+        assertThat(result.get(0).getOld(), is(nullValue()));
+        assertThat(result.get(0).getNew(), is(PARAM_A));
+        assertThat(result.get(1).getOld(), is(nullValue()));
+        assertThat(result.get(1).getNew(), is(PARAM_C));
+    }
+
+    @Test
+    public void align_Test() {
+        final ImmutableList<AlignedPair<Ds3Param, Ds3Param>> result = align(
+                ImmutableList.of(PARAM_D, PARAM_B_OLD, PARAM_A),
+                ImmutableList.of(PARAM_C, PARAM_A, PARAM_B_NEW),
+                Ds3Param::getName);
+
+        assertThat(result.size(), is(4));
+        assertThat(result.get(0).getOld(), is(PARAM_A));
+        assertThat(result.get(0).getNew(), is(PARAM_A));
+        assertThat(result.get(1).getOld(), is(PARAM_B_OLD));
+        assertThat(result.get(1).getNew(), is(PARAM_B_NEW));
+        assertThat(result.get(2).getOld(), is(nullValue()));
+        assertThat(result.get(2).getNew(), is(PARAM_C));
+        assertThat(result.get(3).getOld(), is(PARAM_D));
+        assertThat(result.get(3).getNew(), is(nullValue()));
+    }
+
+    @Test
+    public void align_DuplicateKeys_Test() {
+        final Ds3Param otherA = new Ds3Param("A", "long", true);
+        final ImmutableList<AlignedPair<Ds3Param, Ds3Param>> result = align(
+                ImmutableList.of(PARAM_A, otherA),
+                ImmutableList.of(otherA),
+                Ds3Param::getName);
+
+        assertThat(result.size(), is(2));
+        assertThat(result.get(0).getOld(), is(PARAM_A));
+        assertThat(result.get(0).getNew(), is(otherA));
+        assertThat(result.get(1).getOld(), is(otherA));
+        assertThat(result.get(1).getNew(), is(nullValue()));
+    }
+
+    @Test
+    public void align_NullKeys_Test() {
+        final Ds3Param unnamed = new Ds3Param(null, "int", false);
+        final ImmutableList<AlignedPair<Ds3Param, Ds3Param>> result = align(
+                ImmutableList.of(PARAM_A, unnamed),
+                ImmutableList.of(unnamed),
+                Ds3Param::getName);
+
+        assertThat(result.size(), is(2));
+        assertThat(result.get(0).getOld(), is(unnamed));
+        assertThat(result.get(0).getNew(), is(unnamed));
+        assertThat(result.get(1).getOld(), is(PARAM_A));
+    }
+
+    @Test
+    public void align_DifferentClasses_Test() {
+        final ImmutableList<AlignedPair<String, Ds3Param>> result = align(
+                ImmutableList.of("B", "A"),
+                Function.identity(),
+                ImmutableList.of(PARAM_C, PARAM_A),
+                Ds3Param::getName);
+
+        assertThat(result.size(), is(3));
+        assertThat(result.get(0).getOld(), is("A"));
+        assertThat(result.get(0).getNew(), is(PARAM_A));
+        assertThat(result.get(1).getOld(), is("B"));
+        assertThat(result.get(1).getNew(), is(nullValue()));
+        assertThat(result.get(2).getOld(), is(nullValue()));
+        assertThat(result.get(2).getNew(), is(PARAM_C));
+    }
+
+    @Test
+    public void alignByInt_Test() {
+        final Ds3ResponseCode ok = new Ds3ResponseCode(200, ImmutableList.of());
+        final Ds3ResponseCode notFound = new Ds3ResponseCode(404, ImmutableList.of());
+        final Ds3ResponseCode conflict = new Ds3ResponseCode(409, ImmutableList.of());
+        final Ds3ResponseCode negative = new Ds3ResponseCode(-1, ImmutableList.of());
+
+        final ImmutableList<AlignedPair<Ds3ResponseCode, Ds3ResponseCode>> result = alignByInt(
+                ImmutableList.of(notFound, ok, negative),
+                ImmutableList.of(conflict, ok),
+                Ds3ResponseCode::getCode);
+
+        assertThat(result.size(), is(4));
+        assertThat(result.get(0).getOld(), is(negative));
+        assertThat(result.get(0).getNew(), is(nullValue()));
+        assertThat(result.get(1).getOld(), is(ok));
+        assertThat(result.get(1).getNew(), is(ok));
+        assertThat(result.get(2).getOld(), is(notFound));
+        assertThat(result.get(2).getNew(), is(nullValue()));
+        assertThat(result.get(3).getOld(), is(nullValue()));
+        assertThat(result.get(3).getNew(), is(conflict));
+    }
+
+    @Test
+    public void alignByInt_NullLists_Test() {
+        final ImmutableList<AlignedPair<Ds3ResponseCode, Ds3ResponseCode>> result = alignByInt(
+                null, null, Ds3ResponseCode::getCode);
+        assertThat(result.size(), is(0));
+    }
+}